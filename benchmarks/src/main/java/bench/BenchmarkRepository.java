@@ -0,0 +1,59 @@
+package bench;
+
+import util.GitRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 임시 저장소를 만들고 정리하는 도우미 클래스
+ */
+final class BenchmarkRepository {
+
+    /** 파일을 나눠 담을 디렉토리 수 (디렉토리당 파일 수 = 파일 수 / 100) */
+    private static final int DIRECTORY_COUNT = 100;
+
+    private BenchmarkRepository() {
+    }
+
+    /**
+     * 빈 저장소(.git/objects, .git/refs)를 임시 디렉토리에 만들고 현재 저장소로 엽니다.
+     *
+     * @return 작업 트리 루트
+     */
+    static Path create() throws IOException {
+        Path root = Files.createTempDirectory("git-bench-");
+        Files.createDirectories(root.resolve(".git").resolve("objects"));
+        Files.createDirectories(root.resolve(".git").resolve("refs").resolve("heads"));
+        Files.write(root.resolve(".git").resolve("HEAD"), "ref: refs/heads/main\n".getBytes(StandardCharsets.UTF_8));
+        GitRepository.open(root);
+        return root;
+    }
+
+    /**
+     * 작업 트리에 작은 텍스트 파일 fileCount개를 dir0..dir99에 나눠 만듭니다.
+     */
+    static void generateFiles(Path root, int fileCount) throws IOException {
+        for (int i = 0; i < fileCount; i++) {
+            Path dir = root.resolve("dir" + (i % DIRECTORY_COUNT));
+            if (i < DIRECTORY_COUNT) {
+                Files.createDirectories(dir);
+            }
+            Files.write(dir.resolve("file" + i + ".txt"), ("file " + i + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 임시 저장소를 모두 삭제합니다.
+     */
+    static void delete(Path root) throws IOException {
+        if (root == null) return;
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.FileUtil;
+import util.GitObjectUtil;
+import util.HashUtil;
+import util.ObjectId;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 객체 압축 해제(GitObjectUtil.decompressGitObject)와 loose 객체 쓰기(GitObjectUtil.writeGitObject) 벤치마크
+ *
+ * writeGitObject는 두 번째 호출부터 같은 객체가 이미 있으므로, 압축하지 않고 존재 확인만 하고
+ * 돌아가는 경로(ObjectWriter의 short-circuit)를 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompressionBenchmark {
+
+    /** 객체 본문 크기 (바이트) */
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private Path root;
+    private byte[] object;
+    private byte[] compressed;
+    private ObjectId id;
+
+    @Setup
+    public void setUp() throws IOException {
+        root = BenchmarkRepository.create();
+
+        byte[] content = sourceLikeContent(size);
+        object = FileUtil.concatenate(("blob " + content.length + "\0").getBytes(StandardCharsets.UTF_8), content);
+        id = HashUtil.computeSHA1(object);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(object);
+        }
+        compressed = out.toByteArray();
+    }
+
+    /**
+     * 소스 코드처럼 어느 정도 압축되는 내용 (무작위 단어의 나열)을 만듭니다.
+     */
+    static byte[] sourceLikeContent(int size) {
+        String[] words = {"public", "static", "void", "return", "final", "class", "import", "byte", "int", "new"};
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(size + 16);
+        while (text.length() < size) {
+            text.append(words[random.nextInt(words.length)]).append(random.nextInt(8) == 0 ? '\n' : ' ');
+        }
+        return text.substring(0, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkRepository.delete(root);
+    }
+
+    @Benchmark
+    public byte[] decompressGitObject() {
+        return GitObjectUtil.decompressGitObject(compressed);
+    }
+
+    @Benchmark
+    public void writeGitObject() {
+        GitObjectUtil.writeGitObject(id, object);
+    }
+}
@@ -0,0 +1,78 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.CompressionUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 압축 수준(core.compression / core.looseCompression)별 CPU 시간과 압축 크기 벤치마크
+ *
+ * {@link CompressionUtil#deflate}로 객체 하나를 압축하는 시간을 측정합니다. 출력은 버리는 스트림으로 보내므로
+ * 파일 I/O 없이 압축에 드는 CPU 시간만 남습니다. (단일 스레드 평균 시간 = 객체당 CPU 시간)
+ * 수준별 압축 결과 크기는 준비 단계에서 한 번 계산해 출력합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeflateLevelBenchmark {
+
+    /** 압축 수준 */
+    @Param({"0", "1", "3", "6", "9"})
+    public int level;
+
+    /** 객체 본문 크기 (바이트) */
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private byte[] content;
+    private final CountingOutputStream sink = new CountingOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        content = CompressionBenchmark.sourceLikeContent(size);
+        sink.count = 0;
+        CompressionUtil.deflate(content, 0, content.length, level, sink);
+        System.out.println("level " + level + ", " + size + " bytes -> " + sink.count + " bytes ("
+            + (sink.count * 100 / size) + "%)");
+    }
+
+    @Benchmark
+    public long deflate() throws IOException {
+        sink.count = 0;
+        CompressionUtil.deflate(content, 0, content.length, level, sink);
+        return sink.count;
+    }
+
+    /**
+     * 쓴 바이트 수만 세는 스트림
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
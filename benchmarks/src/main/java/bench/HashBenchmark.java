@@ -0,0 +1,47 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.HashUtil;
+import util.ObjectId;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 객체 해시 계산(HashUtil.computeSHA1) 벤치마크
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashBenchmark {
+
+    /** 해시할 데이터 크기 (바이트) */
+    @Param({"64", "4096", "65536"})
+    public int size;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        data = new byte[size];
+        new Random(42).nextBytes(data);
+    }
+
+    @Benchmark
+    public ObjectId computeSHA1() {
+        return HashUtil.computeSHA1(data);
+    }
+}
@@ -0,0 +1,61 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.HashUtil;
+import util.ObjectId;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 16진수 변환(HashUtil.hexToBytes/bytesToHex, ObjectId.fromHex/name) 벤치마크
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HexBenchmark {
+
+    private byte[] raw;
+    private String hex;
+    private ObjectId id;
+
+    @Setup
+    public void setUp() {
+        raw = new byte[ObjectId.RAW_LENGTH];
+        new Random(42).nextBytes(raw);
+        hex = HashUtil.bytesToHex(raw);
+        id = ObjectId.fromRaw(raw);
+    }
+
+    @Benchmark
+    public byte[] hexToBytes() {
+        return HashUtil.hexToBytes(hex);
+    }
+
+    @Benchmark
+    public String bytesToHex() {
+        return HashUtil.bytesToHex(raw);
+    }
+
+    @Benchmark
+    public ObjectId objectIdFromHex() {
+        return ObjectId.fromHex(hex);
+    }
+
+    @Benchmark
+    public String objectIdName() {
+        return id.name();
+    }
+}
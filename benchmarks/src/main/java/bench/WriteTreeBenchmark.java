@@ -0,0 +1,90 @@
+package bench;
+
+import command.WriteTreeCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 생성한 작업 트리에서 write-tree 전체 실행을 측정하는 벤치마크
+ *
+ * - cold: 실행마다 .git/index를 지워 모든 파일을 다시 읽고 해시 (객체 파일은 이미 있으므로 새로 기록하지 않음)
+ * - warm: 인덱스의 stat 정보와 cache-tree를 재사용하는 변경 없는 실행
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WriteTreeBenchmark {
+
+    private static final String[] ARGS = {"write-tree"};
+
+    /**
+     * 파일을 만든 작업 트리 (벤치마크 전체에서 공유)
+     */
+    @State(Scope.Benchmark)
+    public static class Repository {
+        /** 작업 트리의 파일 수 */
+        @Param({"1000", "10000", "100000"})
+        public int files;
+
+        Path root;
+        private PrintStream originalOut;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            root = BenchmarkRepository.create();
+            BenchmarkRepository.generateFiles(root, files);
+
+            // write-tree가 출력하는 트리 SHA는 버림
+            originalOut = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            new WriteTreeCommand().execute(ARGS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            System.setOut(originalOut);
+            BenchmarkRepository.delete(root);
+        }
+    }
+
+    /**
+     * 실행 직전에 인덱스를 지워 stat 캐시 없이 실행하게 만드는 상태
+     */
+    @State(Scope.Thread)
+    public static class WithoutIndex {
+        @Setup(Level.Invocation)
+        public void deleteIndex(Repository repository) throws IOException {
+            Files.deleteIfExists(repository.root.resolve(".git").resolve("index"));
+        }
+    }
+
+    @Benchmark
+    public void cold(Repository repository, WithoutIndex withoutIndex) {
+        new WriteTreeCommand().execute(ARGS);
+    }
+
+    @Benchmark
+    public void warm(Repository repository) {
+        new WriteTreeCommand().execute(ARGS);
+    }
+}
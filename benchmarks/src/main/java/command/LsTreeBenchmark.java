@@ -0,0 +1,78 @@
+package command;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.TreeIterator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 트리 본문 파싱(TreeIterator)과 ls-tree 출력(LsTreeCommand.TreeLister) 벤치마크
+ *
+ * TreeLister가 패키지 전용이므로 command 패키지에 둡니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LsTreeBenchmark {
+
+    /** 트리 엔트리 수 */
+    @Param({"100", "1000", "10000"})
+    public int entries;
+
+    private byte[] treeContent;
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        byte[] sha = new byte[20];
+        ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        for (int i = 0; i < entries; i++) {
+            random.nextBytes(sha);
+            String mode = i % 10 == 0 ? "40000" : "100644";
+            tree.write((mode + " entry-" + i + (i % 10 == 0 ? "" : ".java")).getBytes(StandardCharsets.UTF_8));
+            tree.write(0);
+            tree.write(sha);
+        }
+        treeContent = tree.toByteArray();
+    }
+
+    @Benchmark
+    public void iterateEntries(Blackhole blackhole) {
+        TreeIterator iterator = new TreeIterator(treeContent);
+        while (iterator.next()) {
+            blackhole.consume(iterator.getMode());
+            blackhole.consume(iterator.getNameLength());
+            blackhole.consume(iterator.getIdOffset());
+        }
+    }
+
+    @Benchmark
+    public void listTree() throws IOException {
+        new LsTreeCommand.TreeLister(out, false, false, false, false).listContent(treeContent);
+    }
+
+    @Benchmark
+    public void listTreeNameOnly() throws IOException {
+        new LsTreeCommand.TreeLister(out, false, false, true, false).listContent(treeContent);
+    }
+}
@@ -0,0 +1,91 @@
+#!/bin/sh
+#
+# fat jar용 AppCDS 아카이브(codecrafters-git.jsa)를 만듭니다.
+#
+# 임시 저장소에서 모든 명령어를 한 번씩 실행하며 읽어 들인 클래스 목록(람다 프록시 포함)을 모은 뒤,
+# 그 목록으로 정적 CDS 아카이브를 덤프합니다. 아카이브를 지정해 실행하면 JDK와 이 프로젝트의 클래스를
+# 파싱/검증하지 않고 공유 메모리에서 바로 매핑하므로 명령 한 번의 시작 시간이 줄어듭니다.
+#
+# 아카이브는 jar 경로와 수정 시각에 묶여 있으므로 jar를 다시 빌드하면 다시 만들어야 합니다.
+# (맞지 않는 아카이브는 JVM이 무시하고 평소처럼 실행)
+#
+# 사용법: scripts/build_cds.sh [jar 경로]
+#   실행: java -XX:SharedArchiveFile=<jar 디렉토리>/codecrafters-git.jsa -jar <jar 경로> <명령어> ...
+
+set -e
+
+JAR=$(cd "$(dirname "${1:-/tmp/codecrafters-build-git-java/codecrafters-git.jar}")" && pwd)/$(basename "${1:-codecrafters-git.jar}")
+ARCHIVE="${JAR%.jar}.jsa"
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+n=0
+train() {
+  n=$((n + 1))
+  java -XX:DumpLoadedClassList="$WORK/$n.classlist" -jar "$JAR" "$@"
+}
+
+mkdir "$WORK/repo"
+cd "$WORK/repo"
+train init > /dev/null
+i=0
+while [ "$i" -lt 200 ]; do
+  mkdir -p "dir$((i % 10))"
+  echo "file $i" > "dir$((i % 10))/f$i.txt"
+  i=$((i + 1))
+done
+chmod +x dir0/f0.txt
+printf '*.log\nbuild/\n!keep.log\n' > .gitignore
+mkdir build
+echo "ignored" > build/out.o
+echo "ignored" > dir1/debug.log
+echo "kept" > dir1/keep.log
+
+blob=$(train hash-object -w dir1/f1.txt)
+tree=$(train write-tree)
+train write-tree > /dev/null
+commit=$(train commit-tree "$tree" -m "cds training")
+echo "ref: refs/heads/main" > .git/HEAD
+mkdir -p .git/refs/heads
+echo "$commit" > .git/refs/heads/main
+
+train cat-file -p "$blob" > /dev/null
+train cat-file -t "$tree" > /dev/null
+train cat-file -s "$commit" > /dev/null
+train cat-file -p "$tree" > /dev/null
+printf '%s\n%s\n' "$commit" "$tree" | train cat-file --batch > /dev/null
+train ls-tree "$tree" > /dev/null
+train ls-tree -r -t -l "$commit" > /dev/null
+printf 'blob\nmark :1\ndata 3\nfi\n\ncommit refs/heads/import\nmark :2\ncommitter cds <cds@example.com> 1700000000 +0000\ndata 3\nfi\nM 100644 :1 dir/file\n\n' \
+  | train fast-import --quiet
+train commit-graph write --reachable
+train rev-list --count --all > /dev/null
+train rev-list main > /dev/null
+train log -n 1 > /dev/null
+train log --oneline import > /dev/null
+train merge-base main import > /dev/null
+train diff-tree -r --name-status main import > /dev/null
+train status > /dev/null
+train read-tree main
+train checkout import > /dev/null
+train checkout main > /dev/null
+train read-tree -u --reset main
+train fsck > /dev/null
+
+# clone과 index-pack은 로컬 복제에 git upload-pack이 필요하므로 git이 있을 때만 학습
+if command -v git > /dev/null 2>&1; then
+  cd "$WORK"
+  train clone "$WORK/repo/.git" clone > /dev/null
+  pack=$(ls clone/.git/objects/pack/*.pack | head -n 1)
+  cp "$pack" "$WORK/copy.pack"
+  train index-pack "$WORK/copy.pack" > /dev/null
+fi
+
+# 주석을 빼고 합친 뒤 처음 나온 순서대로 중복 제거
+cat "$WORK"/*.classlist | grep -v '^#' | awk '!seen[$0]++' > "$WORK/all.classlist"
+
+java -Xshare:dump -XX:SharedClassListFile="$WORK/all.classlist" -XX:SharedArchiveFile="$ARCHIVE" \
+  -cp "$JAR" > "$WORK/dump.log" 2>&1 || { cat "$WORK/dump.log"; exit 1; }
+
+echo "classes: $(grep -vc '^@' "$WORK/all.classlist")"
+echo "archive: $ARCHIVE ($(du -h "$ARCHIVE" | cut -f1))"
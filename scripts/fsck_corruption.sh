@@ -0,0 +1,82 @@
+#!/bin/sh
+#
+# fsck가 손상된 저장소를 예외로 죽지 않고 문제로 보고하는지 확인합니다.
+#
+# fast-import로 팩 하나와 loose 객체가 있는 저장소를 만들고, 경우마다 복사본을 망가뜨린 뒤 fsck를 실행합니다.
+# 각 경우 fsck는 실패해야 하며, 표준 오류에 기대한 문제가 나오고 검사를 끝까지 마쳐야 합니다.
+# (마지막 요약 예외 "객체 검사에서 문제를 찾았습니다"가 나와야 하고, 다른 예외로 중간에 죽으면 실패)
+#
+# 사용법: scripts/fsck_corruption.sh [jar 경로]
+
+set -e
+
+# 표준 오류의 한글 메시지를 grep으로 찾으므로 UTF-8로 출력
+export LC_ALL=C.UTF-8
+
+JAR=$(cd "$(dirname "${1:-/tmp/codecrafters-build-git-java/codecrafters-git.jar}")" && pwd)/$(basename "${1:-codecrafters-git.jar}")
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+mkdir "$WORK/base"
+cd "$WORK/base"
+java -jar "$JAR" init > /dev/null
+{
+  i=0
+  while [ "$i" -lt 50 ]; do
+    content="file $i $(printf '%0200d' "$i")"
+    printf 'blob\nmark :%d\ndata %d\n%s\n' "$((i + 1))" "${#content}" "$content"
+    i=$((i + 1))
+  done
+  printf 'commit refs/heads/main\nmark :100\ncommitter fsck <fsck@example.com> 1700000000 +0000\ndata 5\nfirst\n'
+  i=0
+  while [ "$i" -lt 50 ]; do
+    printf 'M 100644 :%d dir%d/f%d.txt\n' "$((i + 1))" "$((i % 5))" "$i"
+    i=$((i + 1))
+  done
+  printf '\n'
+} | java -jar "$JAR" fast-import --quiet
+echo "ref: refs/heads/main" > .git/HEAD
+echo "loose" > loose.txt
+java -jar "$JAR" hash-object -w loose.txt > /dev/null
+java -jar "$JAR" fsck > /dev/null
+
+PACK=$(cd .git/objects/pack && ls *.pack | head -n 1)
+SIZE=$(wc -c < ".git/objects/pack/$PACK")
+
+failed=0
+# check <이름> <기대하는 표준 오류 패턴> <저장소를 망가뜨리는 명령>
+check() {
+  rm -rf "$WORK/repo"
+  cp -r "$WORK/base" "$WORK/repo"
+  (cd "$WORK/repo/.git/objects/pack" && chmod u+w "$PACK" && eval "$3")
+  if (cd "$WORK/repo" && java -jar "$JAR" fsck > "$WORK/out" 2> "$WORK/err"); then
+    echo "FAIL $1: fsck가 성공했습니다."
+    failed=1
+  elif ! grep -q "$2" "$WORK/err"; then
+    echo "FAIL $1: 표준 오류에 '$2'가 없습니다."
+    cat "$WORK/err"
+    failed=1
+  elif ! grep -q "객체 검사에서 문제를 찾았습니다" "$WORK/err"; then
+    echo "FAIL $1: 검사를 마치지 못하고 중단됐습니다."
+    cat "$WORK/err"
+    failed=1
+  else
+    echo "ok   $1"
+  fi
+}
+
+middle=$((SIZE / 2))
+check "비트 반전" "CRC32가 인덱스와 일치하지 않습니다" \
+  "printf '\\377' | dd of=\"\$PACK\" bs=1 seek=$middle count=1 conv=notrunc 2> /dev/null"
+check "끝 5000바이트 잘림" "손상된 객체" \
+  "truncate -s $((SIZE - 5000)) \"\$PACK\""
+check "트레일러만 잘림" "팩 체크섬이 일치하지 않습니다" \
+  "truncate -s $((SIZE - 10)) \"\$PACK\""
+check "10바이트만 남음" "손상된 팩" \
+  "truncate -s 10 \"\$PACK\""
+check "빈 팩" "손상된 팩" \
+  "truncate -s 0 \"\$PACK\""
+check "인덱스 잘림" "손상된 팩" \
+  "truncate -s 100 \"\${PACK%.pack}.idx\""
+
+exit "$failed"
@@ -0,0 +1,20 @@
+#!/bin/sh
+#
+# JMH 벤치마크 모듈(benchmarks/)을 빌드하고 GC 프로파일러와 함께 실행합니다.
+# 결과는 시간별 JSON 파일로 남기므로 이전 결과와 비교해 성능 회귀를 추적할 수 있습니다.
+#
+# 사용법: scripts/run_benchmarks.sh [JMH 옵션...]
+#   예) scripts/run_benchmarks.sh Hex                      # 이름에 Hex가 들어간 벤치마크만
+#       scripts/run_benchmarks.sh -p files=1000 WriteTree  # write-tree를 1k 파일로만
+
+set -e
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+RESULTS="$ROOT/benchmarks/results"
+mkdir -p "$RESULTS"
+
+(cd "$ROOT/benchmarks" && mvn -B -q package)
+
+OUTPUT="$RESULTS/jmh-$(date +%Y%m%d-%H%M%S).json"
+java -jar "$ROOT/benchmarks/target/benchmarks.jar" -prof gc -rf json -rff "$OUTPUT" "$@"
+echo "결과: $OUTPUT"
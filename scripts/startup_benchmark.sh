@@ -0,0 +1,85 @@
+#!/bin/sh
+#
+# 명령어별로 JVM을 새로 띄워 실행했을 때의 시작 지연을 측정합니다.
+#
+# - first: 실행 시작부터 표준 출력의 첫 바이트가 나올 때까지 (time-to-first-output)
+# - total: 프로세스가 끝날 때까지
+# 각 명령어를 여러 번 실행해 중앙값(ms)을 출력합니다. jar 옆에 CDS 아카이브(scripts/build_cds.sh로 생성)가
+# 있으면 아카이브를 쓴 경우도 함께 측정합니다.
+#
+# 사용법: scripts/startup_benchmark.sh [반복 횟수] [jar 경로]
+
+set -e
+
+RUNS=${1:-20}
+JAR=$(cd "$(dirname "${2:-/tmp/codecrafters-build-git-java/codecrafters-git.jar}")" && pwd)/$(basename "${2:-codecrafters-git.jar}")
+ARCHIVE="${JAR%.jar}.jsa"
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+# 측정용 저장소 준비
+mkdir "$WORK/repo"
+cd "$WORK/repo"
+java -jar "$JAR" init > /dev/null
+i=0
+while [ "$i" -lt 500 ]; do
+  mkdir -p "dir$((i % 20))"
+  echo "file $i" > "dir$((i % 20))/f$i.txt"
+  i=$((i + 1))
+done
+BLOB=$(java -jar "$JAR" hash-object -w dir0/f0.txt)
+TREE=$(java -jar "$JAR" write-tree)
+COMMIT=$(java -jar "$JAR" commit-tree "$TREE" -m "startup benchmark")
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# measure <라벨> <JVM 옵션> <명령어 인자...>
+measure() {
+  label=$1
+  jvm_opts=$2
+  shift 2
+  : > "$WORK/first.ms"
+  : > "$WORK/total.ms"
+  run=0
+  while [ "$run" -lt "$RUNS" ]; do
+    # init은 매번 새 디렉토리에서 실행
+    if [ "$1" = "init" ]; then
+      rm -rf "$WORK/init" && mkdir "$WORK/init" && cd "$WORK/init"
+    fi
+    start=$(date +%s%N)
+    # shellcheck disable=SC2086
+    java $jvm_opts -jar "$JAR" "$@" | {
+      dd bs=1 count=1 of=/dev/null 2> /dev/null
+      date +%s%N > "$WORK/first.ns"
+      cat > /dev/null
+    }
+    end=$(date +%s%N)
+    echo $(( ($(cat "$WORK/first.ns") - start) / 1000000 )) >> "$WORK/first.ms"
+    echo $(( (end - start) / 1000000 )) >> "$WORK/total.ms"
+    cd "$WORK/repo"
+    run=$((run + 1))
+  done
+  printf '%-28s %-8s %8s %8s\n' "$label" "$MODE" "$(median < "$WORK/first.ms")" "$(median < "$WORK/total.ms")"
+}
+
+measure_all() {
+  measure "init" "$1" init
+  measure "hash-object -w" "$1" hash-object -w dir1/f1.txt
+  measure "cat-file -p (blob)" "$1" cat-file -p "$BLOB"
+  measure "cat-file -t" "$1" cat-file -t "$COMMIT"
+  measure "ls-tree" "$1" ls-tree "$TREE"
+  measure "ls-tree -r" "$1" ls-tree -r "$TREE"
+  measure "write-tree" "$1" write-tree
+  measure "commit-tree" "$1" commit-tree "$TREE" -p "$COMMIT" -m "again"
+}
+
+echo "runs: $RUNS, jar: $JAR"
+printf '%-28s %-8s %8s %8s\n' "command" "mode" "first" "total"
+MODE=default
+measure_all ""
+if [ -f "$ARCHIVE" ]; then
+  MODE=cds
+  measure_all "-XX:SharedArchiveFile=$ARCHIVE"
+fi
@@ -0,0 +1,36 @@
+#!/bin/sh
+#
+# write-tree 실행 중 힙 할당량을 측정합니다.
+#
+# Epsilon GC는 메모리를 회수하지 않으므로 종료 시점의 힙 사용량이 곧 실행 중 할당한 총량입니다.
+# 인덱스가 없는 첫 실행(모든 파일 해시)과 인덱스가 있는 두 번째 실행(stat 캐시 재사용),
+# 파일 하나를 고친 뒤의 세 번째 실행(cache-tree 재사용)을 차례로 측정합니다.
+#
+# 사용법: scripts/write_tree_alloc.sh [파일 수] [jar 경로]
+
+set -e
+
+FILES=${1:-10000}
+JAR=$(cd "$(dirname "${2:-/tmp/codecrafters-build-git-java/codecrafters-git.jar}")" && pwd)/$(basename "${2:-codecrafters-git.jar}")
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+cd "$WORK"
+java -jar "$JAR" init > /dev/null
+i=0
+while [ "$i" -lt "$FILES" ]; do
+  dir="dir$((i % 100))"
+  mkdir -p "$dir"
+  echo "file $i" > "$dir/f$i.txt"
+  i=$((i + 1))
+done
+
+measure() {
+  java -XX:+UnlockExperimentalVMOptions -XX:+UseEpsilonGC -Xms4g -Xmx4g -Xlog:gc:stderr \
+    -jar "$JAR" write-tree -j 1 2>&1 >/dev/null | sed -n 's/.*committed, \([^ ]*\) .*/\1/p' | tail -n 1
+}
+
+echo "files: $FILES"
+echo "cold  (인덱스 없음):      $(measure)"
+echo "warm  (변경 없음):        $(measure)"
+echo "file  (dir0/f0.txt 수정): $(echo changed >> dir0/f0.txt; measure)"
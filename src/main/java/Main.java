@@ -1,5 +1,7 @@
 import command.GitCommand;
 import command.GitCommandFactory;
+import util.DaemonClient;
+import util.ObjectCache;
 
 import java.util.Arrays;
 
@@ -17,6 +19,21 @@ import java.util.Arrays;
  * - write-tree: 현재 디렉토리의 트리 객체 생성
  * - commit-tree: 커밋 객체 생성
  * - clone: 원격 저장소 복제
+ * - index-pack: 팩 파일 인덱스(.idx) 생성
+ * - daemon: 명령 요청을 받아 처리하는 상주 JVM 실행
+ * - fast-import: 스트림의 객체와 커밋을 팩 하나에 기록
+ * - commit-graph: 커밋 그래프 파일 생성
+ * - rev-list: 커밋 목록/개수 출력
+ * - log: 커밋 히스토리 출력
+ * - merge-base: 두 커밋의 공통 조상 출력
+ * - diff-tree: 두 트리(또는 커밋과 부모)의 차이 출력
+ * - status: 작업 트리와 HEAD의 차이 출력
+ * - read-tree: 트리를 인덱스(와 작업 트리)로 읽기
+ * - checkout: 브랜치/커밋으로 작업 트리 전환
+ * - fsck: 객체 무결성과 연결성 검사
+ *
+ * GIT_DAEMON_SOCKET 환경 변수가 설정되어 있으면 명령을 그 소켓의 데몬에 전달하고,
+ * 데몬이 실행 중이 아니면 직접 실행합니다.
  */
 public class Main {
     public static void main(String[] args) {
@@ -26,10 +43,20 @@ public class Main {
         }
 
         final String commandName = args[0];
+        if (System.getenv(DaemonClient.SOCKET_ENV) != null && !commandName.equals("daemon")) {
+            int exitCode = DaemonClient.forward(DaemonClient.defaultSocketPath(), args);
+            if (exitCode != DaemonClient.NOT_CONNECTED) {
+                System.exit(exitCode);
+            }
+        }
+
         GitCommand command = GitCommandFactory.getCommand(commandName);
         
         if (command != null) {
             command.execute(args);
+            if (System.getenv("GIT_TRACE_OBJECT_CACHE") != null) {
+                System.err.println(ObjectCache.getInstance().describe());
+            }
         } else {
             System.err.println("알 수 없는 명령어: " + commandName);
             printUsage();
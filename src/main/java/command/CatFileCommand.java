@@ -1,32 +1,126 @@
 package command;
 
 import util.GitObjectUtil;
+import util.ObjectId;
+import util.ObjectInfo;
+import util.ObjectStream;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * git cat-file 명령어 구현
+ *
+ * 사용법:
+ * - cat-file (-p | -t | -s) &lt;객체 해시&gt; : 본문(트리는 ls-tree 형식), 타입, 크기 출력
+ * - cat-file --batch [--buffer]       : 표준 입력의 객체 해시마다 "&lt;sha&gt; &lt;type&gt; &lt;size&gt;" 헤더와 본문 출력
+ * - cat-file --batch-check [--buffer] : 표준 입력의 객체 해시마다 헤더만 출력
+ *
+ * 배치 모드는 한 프로세스에서 팩 목록, 델타 기준 캐시, Inflater를 재사용하며 객체를 연달아 읽습니다.
+ * 없는 객체는 "&lt;입력&gt; missing"을 출력합니다.
  */
 public class CatFileCommand implements GitCommand {
-    
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
     @Override
     public void execute(String[] args) {
+        if (args.length >= 2 && (args[1].equals("--batch") || args[1].equals("--batch-check"))) {
+            boolean buffered = args.length >= 3 && args[2].equals("--buffer");
+            runBatch(args[1].equals("--batch"), buffered);
+            return;
+        }
+
         if (args.length < 3) {
             System.out.println("cat-file 명령어에는 충분한 인수가 필요합니다.");
             return;
         }
-        
+
         catFile(args);
     }
-    
+
     /**
-     * 지정된 객체의 내용을 출력합니다.
+     * 지정된 객체의 내용(-p), 타입(-t) 또는 크기(-s)를 출력합니다.
+     * -t, -s는 헤더만 읽고, -p는 본문을 고정 크기 버퍼로 표준 출력에 흘려보내므로
+     * 바이너리 내용이 손상되지 않고 객체 크기와 관계없이 메모리 사용량이 일정합니다.
      * 
      * @param args 명령어 인수
      */
     private void catFile(String[] args) {
+        final String option = args[1];
         final String objectHash = args[2];
-        
-        byte[] data = GitObjectUtil.readGitObjectFile(objectHash);
-        String decompressedContent = GitObjectUtil.decompressGitObject(data);
-        System.out.print(decompressedContent.substring(decompressedContent.indexOf("\0") + 1));
+        final ObjectId id = ObjectId.fromHex(objectHash);
+
+        if (option.equals("-t") || option.equals("-s")) {
+            ObjectInfo info = GitObjectUtil.readObjectInfo(id);
+            if (info == null) {
+                throw new RuntimeException("객체를 찾을 수 없습니다: " + objectHash);
+            }
+            System.out.println(option.equals("-t") ? info.getType() : String.valueOf(info.getSize()));
+            return;
+        }
+        if (!option.equals("-p")) {
+            System.out.println("지원하지 않는 cat-file 옵션입니다: " + option);
+            return;
+        }
+
+        // loose 객체와 팩 파일에 저장된 객체를 모두 읽을 수 있음
+        try (ObjectStream stream = GitObjectUtil.openObject(id)) {
+            if (stream.getType().equals("tree")) {
+                // 트리는 Git과 같이 ls-tree 형식으로 출력
+                OutputStream out = new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE);
+                new LsTreeCommand.TreeLister(out, false, false, false, false).listContent(stream.readAllBytes());
+                out.flush();
+            } else {
+                stream.transferTo(System.out);
+            }
+            System.out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("객체 출력 실패: " + objectHash, e);
+        }
+    }
+
+    /**
+     * 표준 입력에서 객체 해시를 한 줄씩 읽어 차례로 출력합니다.
+     * 출력은 버퍼에 모았다가 더 읽을 입력이 없을 때(--buffer면 끝날 때) 내보내므로,
+     * 파이프로 한 줄씩 주고받는 호출자도 기다리지 않고 응답을 받습니다.
+     *
+     * @param withContent true면 본문까지 출력 (--batch), false면 헤더만 출력 (--batch-check)
+     * @param buffered true면 입력이 끝날 때까지 출력을 내보내지 않음 (--buffer)
+     */
+    private void runBatch(boolean withContent, boolean buffered) {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        OutputStream out = new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE);
+
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String hash = line.trim();
+                ObjectId id = ObjectId.isValidHex(hash) ? ObjectId.fromHex(hash) : null;
+                ObjectInfo info = id != null ? GitObjectUtil.readObjectInfo(id) : null;
+                if (info == null) {
+                    out.write((line + " missing\n").getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write((hash + " " + info.getType() + " " + info.getSize() + "\n").getBytes(StandardCharsets.US_ASCII));
+                    if (withContent) {
+                        try (ObjectStream stream = GitObjectUtil.openObject(id)) {
+                            stream.transferTo(out);
+                        }
+                        out.write('\n');
+                    }
+                }
+
+                if (!buffered && !in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("cat-file 배치 출력 실패", e);
+        }
     }
-} 
\ No newline at end of file
+}
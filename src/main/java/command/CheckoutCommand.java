@@ -0,0 +1,97 @@
+package command;
+
+import util.CheckoutUtil;
+import util.GitIndex;
+import util.GitObjectUtil;
+import util.ObjectId;
+import util.RefUtil;
+import util.RevWalk;
+
+/**
+ * git checkout 명령어 구현 (브랜치/커밋 전환)
+ *
+ * 사용법: checkout [-f] [-j N | --jobs=N] &lt;브랜치 | 커밋&gt;
+ * - -f   : 로컬 변경이나 추적하지 않는 파일이 있어도 덮어씀
+ * - -j N : 병렬 처리 수준 (기본값: CPU 코어 수)
+ *
+ * 작업 트리를 커밋의 트리로 바꾸고 HEAD를 옮깁니다. refs/heads 아래의 브랜치 이름이면 HEAD가 그 브랜치를 가리키고,
+ * 그 밖의 리비전이면 HEAD를 커밋 ID로 분리합니다.
+ * 인덱스의 stat 정보와 SHA가 이미 대상과 같은 파일은 쓰지 않으므로, 가까운 커밋 사이의 전환은 바뀐 파일만 씁니다.
+ * ({@link CheckoutUtil#checkoutTree(ObjectId, GitIndex, boolean, int)})
+ */
+public class CheckoutCommand implements GitCommand {
+
+    @Override
+    public void execute(String[] args) {
+        boolean force = false;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        String target = null;
+        for (int i = 1; i < args.length; i++) {
+            String value = null;
+            switch (args[i]) {
+                case "-f":
+                case "--force":
+                    force = true;
+                    break;
+                case "-j":
+                case "--jobs":
+                    if (i + 1 < args.length) {
+                        value = args[++i];
+                    }
+                    break;
+                default:
+                    if (args[i].startsWith("--jobs=")) {
+                        value = args[i].substring("--jobs=".length());
+                    } else if (args[i].startsWith("-")) {
+                        System.out.println("지원하지 않는 checkout 옵션입니다: " + args[i]);
+                        return;
+                    } else if (target == null) {
+                        target = args[i];
+                    } else {
+                        System.out.println("checkout 명령어에는 브랜치나 커밋을 하나만 줄 수 있습니다.");
+                        return;
+                    }
+            }
+            if (value != null) {
+                try {
+                    parallelism = Math.max(1, Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("잘못된 병렬 처리 수준: " + value, e);
+                }
+            }
+        }
+        if (target == null) {
+            System.out.println("checkout 명령어에는 브랜치나 커밋이 필요합니다.");
+            return;
+        }
+
+        String branch = "refs/heads/" + target;
+        ObjectId branchId = RefUtil.readRef(branch);
+        ObjectId commitId = GitObjectUtil.peelToCommit(branchId != null ? branchId : resolve(target));
+        ObjectId treeId = GitObjectUtil.peelToTree(commitId);
+
+        CheckoutUtil.checkoutTree(treeId, GitIndex.read(), force, parallelism).write();
+        if (branchId != null) {
+            RefUtil.writeSymbolicRef("HEAD", branch);
+            System.out.println("브랜치로 전환했습니다: " + target);
+        } else {
+            RefUtil.writeRef("HEAD", commitId);
+            System.out.println("HEAD를 커밋으로 분리했습니다: " + commitId.name());
+        }
+    }
+
+    /**
+     * 리비전 표현식을 객체 ID로 해석합니다. ~N, ^N이 붙으면 커밋으로 따라갑니다.
+     */
+    private ObjectId resolve(String spec) {
+        if (spec.indexOf('~') >= 0 || spec.indexOf('^') >= 0) {
+            RevWalk walk = new RevWalk();
+            return walk.getId(walk.parseRevision(spec));
+        }
+        ObjectId id = RefUtil.resolveRevision(spec);
+        if (id == null) {
+            throw new IllegalArgumentException("알 수 없는 리비전입니다: " + spec);
+        }
+        return id;
+    }
+}
@@ -1,42 +1,185 @@
 package command;
 
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.errors.GitAPIException;
+import util.CheckoutUtil;
+import util.GitConfig;
+import util.GitObjectUtil;
+import util.GitRepository;
+import util.ObjectId;
+import util.PackIndexer;
+import util.RefUtil;
+import util.UploadPackClient;
+import util.UploadPackClient.RemoteRef;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 /**
  * git clone 명령어 구현
+ *
+ * Git 프로토콜 v2로 원격 저장소(로컬 경로, file://, http(s)://)에서 참조 목록과 팩을 받아
+ * 팩을 객체 저장소에 바로 기록(index-pack)한 뒤, HEAD를 작업 트리에 체크아웃합니다.
+ *
+ * 원격 브랜치는 refs/remotes/origin/*, 태그는 refs/tags/*로 packed-refs에 기록하고,
+ * HEAD가 가리키는 브랜치만 로컬 브랜치로 만듭니다.
  */
 public class CloneCommand implements GitCommand {
-    
+
+    private static final String REMOTE_NAME = "origin";
+    private static final String DEFAULT_BRANCH = "main";
+
     @Override
     public void execute(String[] args) {
         if (args.length < 3) {
             System.out.println("clone 명령어에는 저장소 URL과 대상 디렉토리가 필요합니다.");
             return;
         }
-        
+
         String repoUrl = args[1];
         String targetDir = args[2];
         cloneRepository(repoUrl, targetDir);
     }
-    
+
     /**
      * 원격 저장소를 복제합니다.
-     * 
+     *
      * @param repoUrl 저장소 URL
      * @param targetDir 대상 디렉토리
      */
     private void cloneRepository(String repoUrl, String targetDir) {
+        Path target = GitRepository.resolve(targetDir);
+        // 로컬 경로는 복제한 저장소 안에서도 찾을 수 있도록 절대 경로로 기록
+        if (!repoUrl.contains("://")) {
+            repoUrl = GitRepository.resolve(repoUrl).toAbsolutePath().toString();
+        }
         try {
-            Git.cloneRepository()
-                .setURI(repoUrl)
-                .setDirectory(new File(targetDir))
-                .call();
-            System.out.println("저장소 복제가 완료되었습니다: " + targetDir);
-        } catch (GitAPIException e) {
-            throw new RuntimeException("저장소 복제 실패: " + e.getMessage(), e);
+            if (Files.exists(target) && !isEmptyDirectory(target)) {
+                throw new IllegalStateException("대상 디렉토리가 이미 존재하며 비어 있지 않습니다: " + targetDir);
+            }
+            initRepository(target, repoUrl);
+        } catch (IOException e) {
+            throw new RuntimeException("저장소 초기화 실패: " + targetDir, e);
         }
+        GitRepository.open(target);
+
+        try (UploadPackClient client = UploadPackClient.open(repoUrl)) {
+            List<RemoteRef> refs = client.listRefs();
+            if (refs.isEmpty()) {
+                RefUtil.writeSymbolicRef("HEAD", "refs/heads/" + DEFAULT_BRANCH);
+                System.out.println("빈 저장소를 복제했습니다: " + targetDir);
+                return;
+            }
+
+            Set<ObjectId> wants = new LinkedHashSet<>();
+            for (RemoteRef ref : refs) {
+                wants.add(ref.getObjectId());
+            }
+            try (InputStream pack = client.fetch(wants)) {
+                int threads = GitConfig.getInt("pack.threads", 0);
+                if (threads <= 0) {
+                    threads = Runtime.getRuntime().availableProcessors();
+                }
+                new PackIndexer(threads).indexPackStream(pack, GitRepository.getPackDir());
+            }
+            GitObjectUtil.reloadPacks();
+
+            ObjectId headCommit = writeRefs(refs);
+            if (headCommit != null) {
+                CheckoutUtil.checkoutTree(GitObjectUtil.peelToTree(headCommit)).write();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("저장소 복제 실패: " + repoUrl, e);
+        }
+        System.out.println("저장소 복제가 완료되었습니다: " + targetDir);
+    }
+
+    private boolean isEmptyDirectory(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return false;
+        }
+        try (Stream<Path> children = Files.list(path)) {
+            return children.findAny().isEmpty();
+        }
+    }
+
+    /**
+     * 대상 디렉토리에 빈 저장소(.git)와 원격 설정을 만듭니다.
+     */
+    private void initRepository(Path target, String repoUrl) throws IOException {
+        Path gitDir = target.resolve(".git");
+        Files.createDirectories(gitDir.resolve("objects").resolve("pack"));
+        Files.createDirectories(gitDir.resolve("refs").resolve("heads"));
+        Files.createDirectories(gitDir.resolve("refs").resolve("tags"));
+
+        String config = "[core]\n"
+            + "\trepositoryformatversion = 0\n"
+            + "\tfilemode = true\n"
+            + "\tbare = false\n"
+            + "\tlogallrefupdates = true\n"
+            + "[remote \"" + REMOTE_NAME + "\"]\n"
+            + "\turl = " + repoUrl + "\n"
+            + "\tfetch = +refs/heads/*:refs/remotes/" + REMOTE_NAME + "/*\n";
+        Files.write(gitDir.resolve("config"), config.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 원격 참조를 로컬 참조로 기록합니다.
+     *
+     * @return 체크아웃할 HEAD 커밋 ID, HEAD가 없으면 null
+     */
+    private ObjectId writeRefs(List<RemoteRef> refs) throws IOException {
+        SortedMap<String, ObjectId> packedRefs = new TreeMap<>();
+        Map<String, ObjectId> peeled = new HashMap<>();
+        RemoteRef head = null;
+
+        for (RemoteRef ref : refs) {
+            String name = ref.getName();
+            if (name.equals("HEAD")) {
+                head = ref;
+                continue;
+            }
+            String localName = name.startsWith("refs/heads/")
+                ? "refs/remotes/" + REMOTE_NAME + "/" + name.substring("refs/heads/".length())
+                : name;
+            packedRefs.put(localName, ref.getObjectId());
+            if (ref.getPeeled() != null) {
+                peeled.put(localName, ref.getPeeled());
+            }
+        }
+        RefUtil.writePackedRefs(packedRefs, peeled);
+
+        if (head == null) {
+            RefUtil.writeSymbolicRef("HEAD", "refs/heads/" + DEFAULT_BRANCH);
+            return null;
+        }
+        String target = head.getSymrefTarget();
+        if (target == null || !target.startsWith("refs/heads/")) {
+            // 원격 HEAD가 브랜치를 가리키지 않으면 분리된 HEAD로 체크아웃
+            RefUtil.writeRef("HEAD", head.getObjectId());
+            return head.getObjectId();
+        }
+
+        String branch = target.substring("refs/heads/".length());
+        RefUtil.writeRef(target, head.getObjectId());
+        RefUtil.writeSymbolicRef("HEAD", target);
+        RefUtil.writeSymbolicRef("refs/remotes/" + REMOTE_NAME + "/HEAD", "refs/remotes/" + REMOTE_NAME + "/" + branch);
+
+        String branchConfig = "[branch \"" + branch + "\"]\n"
+            + "\tremote = " + REMOTE_NAME + "\n"
+            + "\tmerge = " + target + "\n";
+        Files.write(GitRepository.getGitDir().resolve("config"), branchConfig.getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+        return head.getObjectId();
     }
-} 
\ No newline at end of file
+}
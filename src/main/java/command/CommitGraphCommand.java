@@ -0,0 +1,83 @@
+package command;
+
+import util.CommitGraph;
+import util.ObjectId;
+import util.RevWalk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * git commit-graph 명령어 구현
+ *
+ * 사용법: commit-graph write [--reachable]
+ *
+ * 모든 참조(와 HEAD)에서 도달할 수 있는 커밋으로 .git/objects/info/commit-graph를 다시 만듭니다.
+ * 기존 그래프에 있는 커밋은 그래프에서 읽으므로 새로 생긴 커밋만 객체를 파싱합니다.
+ */
+public class CommitGraphCommand implements GitCommand {
+
+    @Override
+    public void execute(String[] args) {
+        if (args.length < 2 || !args[1].equals("write")) {
+            System.out.println("사용법: commit-graph write [--reachable]");
+            return;
+        }
+        for (int i = 2; i < args.length; i++) {
+            if (!args[i].equals("--reachable")) {
+                System.out.println("지원하지 않는 commit-graph 옵션입니다: " + args[i]);
+                return;
+            }
+        }
+
+        RevWalk walk = new RevWalk();
+        List<Integer> starts = new ArrayList<>();
+        walk.addAllRefs(starts);
+        int[][] commits = {new int[1024]};
+        int[] count = {0};
+        walk.forEach(starts, List.of(), commit -> {
+            if (count[0] == commits[0].length) {
+                commits[0] = Arrays.copyOf(commits[0], count[0] * 2);
+            }
+            commits[0][count[0]++] = commit;
+        });
+        writeGraph(walk, Arrays.copyOf(commits[0], count[0]));
+    }
+
+    /**
+     * 커밋을 ID 순으로 정렬해 부모를 새 위치로 바꾼 뒤 그래프 파일을 기록합니다.
+     */
+    private void writeGraph(RevWalk walk, int[] commits) {
+        int count = commits.length;
+        ObjectId[] ids = new ObjectId[count];
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = walk.getId(commits[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> ids[i1].compareTo(ids[i2]));
+
+        int[] positionOf = new int[walk.size()];
+        for (int position = 0; position < count; position++) {
+            positionOf[commits[order[position]]] = position;
+        }
+
+        ObjectId[] sortedIds = new ObjectId[count];
+        ObjectId[] trees = new ObjectId[count];
+        int[][] parents = new int[count][];
+        long[] commitTimes = new long[count];
+        for (int position = 0; position < count; position++) {
+            int commit = commits[order[position]];
+            sortedIds[position] = ids[order[position]];
+            trees[position] = walk.getTree(commit);
+            commitTimes[position] = walk.getCommitTime(commit);
+            int[] commitParents = new int[walk.getParentCount(commit)];
+            for (int n = 0; n < commitParents.length; n++) {
+                commitParents[n] = positionOf[walk.getParent(commit, n)];
+            }
+            parents[position] = commitParents;
+        }
+        CommitGraph.write(CommitGraph.getPath(), sortedIds, trees, parents, commitTimes);
+    }
+}
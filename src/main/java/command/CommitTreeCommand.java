@@ -1,8 +1,10 @@
 package command;
 
+import util.CommitUtil;
 import util.FileUtil;
 import util.GitObjectUtil;
 import util.HashUtil;
+import util.ObjectId;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -10,6 +12,9 @@ import java.util.List;
 
 /**
  * git commit-tree 명령어 구현
+ *
+ * 작성자와 커미터는 GIT_AUTHOR_* / GIT_COMMITTER_* 환경 변수, 없으면 user.name/user.email 설정에서 가져오고
+ * 둘 다 없으면 기본값을 사용합니다. ({@link CommitUtil#ident})
  */
 public class CommitTreeCommand implements GitCommand {
     
@@ -34,52 +39,33 @@ public class CommitTreeCommand implements GitCommand {
      * @param args 명령어 인수
      */
     private void commitTree(String[] args) {
-        String treeSha = args[1];
-        List<String> parentShas = extractParentShas(args);
+        ObjectId treeId = ObjectId.fromHex(args[1]);
+        List<ObjectId> parentIds = extractParentIds(args);
         String commitMessage = args[args.length - 1];
 
-        long timestamp = System.currentTimeMillis() / 1000;
-        String commitContent = buildCommitContent(treeSha, parentShas, commitMessage, timestamp);
-
-        byte[] commitBytes = commitContent.getBytes(StandardCharsets.UTF_8);
+        byte[] commitBytes = CommitUtil.buildCommitContent(treeId, parentIds,
+            CommitUtil.ident("AUTHOR", AUTHOR_NAME, AUTHOR_EMAIL),
+            CommitUtil.ident("COMMITTER", COMMITTER_NAME, COMMITTER_EMAIL),
+            null, (commitMessage + "\n").getBytes(StandardCharsets.UTF_8));
         byte[] header = ("commit " + commitBytes.length + "\0").getBytes(StandardCharsets.UTF_8);
         byte[] commitObject = FileUtil.concatenate(header, commitBytes);
         
-        String commitHash = HashUtil.computeSHA1(commitObject);
-        GitObjectUtil.writeGitObject(commitHash, commitObject);
+        ObjectId commitId = HashUtil.computeSHA1(commitObject);
+        GitObjectUtil.writeGitObject(commitId, commitObject);
 
-        System.out.println(commitHash);
+        System.out.println(commitId.name());
     }
     
     /**
-     * 부모 커밋 SHA들을 추출합니다.
+     * 부모 커밋 ID들을 추출합니다.
      */
-    private List<String> extractParentShas(String[] args) {
-        List<String> parentShas = new ArrayList<>();
+    private List<ObjectId> extractParentIds(String[] args) {
+        List<ObjectId> parentIds = new ArrayList<>();
         for (int i = 2; i < args.length - 1; i++) {
             if (args[i].equals("-p")) {
-                parentShas.add(args[i + 1]);
+                parentIds.add(ObjectId.fromHex(args[i + 1]));
             }
         }
-        return parentShas;
-    }
-    
-    /**
-     * 커밋 내용을 구성합니다.
-     */
-    private String buildCommitContent(String treeSha, List<String> parentShas, String commitMessage, long timestamp) {
-        StringBuilder content = new StringBuilder();
-        
-        content.append(String.format("tree %s\n", treeSha));
-        
-        for (String parentSha : parentShas) {
-            content.append(String.format("parent %s\n", parentSha));
-        }
-        
-        content.append(String.format("author %s <%s> %d +0000\n", AUTHOR_NAME, AUTHOR_EMAIL, timestamp));
-        content.append(String.format("committer %s <%s> %d +0000\n", COMMITTER_NAME, COMMITTER_EMAIL, timestamp));
-        content.append("\n").append(commitMessage).append("\n");
-        
-        return content.toString();
+        return parentIds;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,276 @@
+package command;
+
+import util.DaemonClient;
+import util.GitRepository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.net.StandardProtocolFamily.UNIX;
+
+/**
+ * git daemon 명령어 구현 (JVM 하나를 띄워 두고 여러 명령을 처리하는 상주 모드)
+ *
+ * 사용법:
+ * - daemon [--socket &lt;경로&gt;] : 유닉스 도메인 소켓에서 명령 요청을 기다립니다.
+ * - daemon --stop [--socket &lt;경로&gt;] : 실행 중인 데몬을 종료합니다.
+ *
+ * 소켓 경로를 지정하지 않으면 GIT_DAEMON_SOCKET 환경 변수, 없으면 임시 디렉토리의 사용자별 경로를 사용합니다.
+ * 클라이언트는 GIT_DAEMON_SOCKET이 설정된 상태로 평소처럼 명령을 실행하면 되며({@link DaemonClient}),
+ * 데몬이 떠 있지 않으면 그 프로세스에서 직접 실행합니다.
+ *
+ * 요청마다 클라이언트의 현재 디렉토리로 저장소를 열고 표준 입출력을 소켓으로 바꾼 뒤
+ * {@link GitCommandFactory}로 명령을 실행합니다. JIT 컴파일 결과, 객체 캐시, 인덱스 캐시, 열어 둔 팩은
+ * 요청 사이에 그대로 남으므로 JVM 시작 비용과 준비 비용을 매번 치르지 않습니다.
+ *
+ * 표준 입출력과 현재 저장소가 JVM 전역 상태이므로 요청은 한 번에 하나씩 순서대로 처리합니다.
+ */
+public class DaemonCommand implements GitCommand {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public void execute(String[] args) {
+        Path socketPath = null;
+        boolean stop = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--stop")) {
+                stop = true;
+            } else if (args[i].equals("--socket") && i + 1 < args.length) {
+                socketPath = Paths.get(args[++i]);
+            } else if (args[i].startsWith("--socket=")) {
+                socketPath = Paths.get(args[i].substring("--socket=".length()));
+            } else {
+                System.out.println("지원하지 않는 daemon 옵션입니다: " + args[i]);
+                return;
+            }
+        }
+        if (socketPath == null) {
+            socketPath = DaemonClient.defaultSocketPath();
+        }
+        socketPath = socketPath.toAbsolutePath();
+
+        if (stop) {
+            System.out.println(DaemonClient.stop(socketPath)
+                ? "데몬을 종료했습니다: " + socketPath
+                : "실행 중인 데몬이 없습니다: " + socketPath);
+            return;
+        }
+        serve(socketPath);
+    }
+
+    /**
+     * 소켓을 열고 종료 요청이 올 때까지 요청을 처리합니다.
+     */
+    private void serve(Path socketPath) {
+        SocketChannel existing = DaemonClient.connect(socketPath);
+        if (existing != null) {
+            try {
+                existing.close();
+            } catch (IOException ignored) {
+                // 확인용 연결이므로 무시합니다.
+            }
+            throw new IllegalStateException("이미 데몬이 실행 중입니다: " + socketPath);
+        }
+
+        PrintStream stdout = System.out;
+        PrintStream stderr = System.err;
+        InputStream stdin = System.in;
+
+        try (ServerSocketChannel server = ServerSocketChannel.open(UNIX)) {
+            // 이전 데몬이 비정상 종료하며 남긴 소켓 파일 정리
+            Files.deleteIfExists(socketPath);
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteQuietly(socketPath)));
+            stdout.println("데몬이 요청을 기다립니다: " + socketPath);
+            stdout.flush();
+
+            boolean running = true;
+            while (running) {
+                try (SocketChannel client = server.accept()) {
+                    running = handle(client);
+                } catch (IOException e) {
+                    // 클라이언트가 중간에 끊어져도 데몬은 계속 실행
+                    stderr.println("데몬 요청 처리 실패: " + e.getMessage());
+                } finally {
+                    System.setOut(stdout);
+                    System.setErr(stderr);
+                    System.setIn(stdin);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("데몬 소켓 열기 실패: " + socketPath, e);
+        } finally {
+            deleteQuietly(socketPath);
+        }
+    }
+
+    /**
+     * 요청 하나를 처리합니다.
+     *
+     * @return 계속 요청을 받아야 하면 true, 종료 요청이면 false
+     */
+    private boolean handle(SocketChannel client) throws IOException {
+        DataInputStream request = new DataInputStream(
+            new BufferedInputStream(Channels.newInputStream(client), BUFFER_SIZE));
+        DataOutputStream response = new DataOutputStream(
+            new BufferedOutputStream(Channels.newOutputStream(client), BUFFER_SIZE));
+
+        int argc = request.readInt();
+        String[] args = new String[argc];
+        for (int i = 0; i < argc; i++) {
+            args[i] = request.readUTF();
+        }
+        Path cwd = Paths.get(request.readUTF());
+
+        if (argc == 0) {
+            writeExit(response, 0);
+            return false;
+        }
+
+        PrintStream out = new PrintStream(new BufferedOutputStream(new FrameOutputStream(response, DaemonClient.STDOUT), BUFFER_SIZE));
+        PrintStream err = new PrintStream(new FrameOutputStream(response, DaemonClient.STDERR), true);
+        System.setOut(out);
+        System.setErr(err);
+        System.setIn(new RemoteInputStream(request, response, out));
+
+        int exitCode = run(cwd, args);
+        out.flush();
+        err.flush();
+        writeExit(response, exitCode);
+        return true;
+    }
+
+    /**
+     * 명령을 실행하고 종료 코드를 반환합니다. 예외는 직접 실행했을 때처럼 표준 에러에 출력합니다.
+     */
+    private int run(Path cwd, String[] args) {
+        try {
+            GitRepository.open(cwd);
+            GitCommand command = GitCommandFactory.getCommand(args[0]);
+            if (command == null || command instanceof DaemonCommand) {
+                System.err.println("알 수 없는 명령어: " + args[0]);
+                return 1;
+            }
+            command.execute(args);
+            return 0;
+        } catch (Throwable t) {
+            System.out.flush();
+            System.err.print("Exception in thread \"main\" ");
+            t.printStackTrace();
+            return 1;
+        }
+    }
+
+    private static void writeExit(DataOutputStream response, int exitCode) throws IOException {
+        synchronized (response) {
+            response.writeByte(DaemonClient.EXIT);
+            response.writeInt(exitCode);
+            response.flush();
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 종료 중 정리이므로 무시합니다.
+        }
+    }
+
+    /**
+     * 쓴 바이트를 지정한 채널의 응답 프레임으로 보내는 스트림
+     */
+    private static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream response;
+        private final int channel;
+
+        FrameOutputStream(DataOutputStream response, int channel) {
+            this.response = response;
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            synchronized (response) {
+                response.writeByte(channel);
+                response.writeInt(len);
+                response.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (response) {
+                response.flush();
+            }
+        }
+    }
+
+    /**
+     * 읽을 때마다 클라이언트에 표준 입력을 요청하는 스트림
+     * 요청 전에 표준 출력을 비워, 대화식으로 쓰는 명령(cat-file --batch 등)이 멈추지 않게 합니다.
+     */
+    private static class RemoteInputStream extends InputStream {
+        private final DataInputStream request;
+        private final DataOutputStream response;
+        private final PrintStream out;
+        private boolean eof;
+
+        RemoteInputStream(DataInputStream request, DataOutputStream response, PrintStream out) {
+            this.request = request;
+            this.response = response;
+            this.out = out;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (eof) {
+                return -1;
+            }
+            out.flush();
+            synchronized (response) {
+                response.writeByte(DaemonClient.STDIN_REQUEST);
+                response.writeInt(len);
+                response.flush();
+            }
+            int count = request.readInt();
+            if (count == 0) {
+                eof = true;
+                return -1;
+            }
+            request.readFully(b, off, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package command;
+
+import util.GitObjectUtil;
+import util.ObjectId;
+import util.RefUtil;
+import util.RevWalk;
+import util.TreeDiff;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * git diff-tree 명령어 구현
+ *
+ * 사용법: diff-tree [-r] [-t] [--name-only | --name-status] [--root] [--no-commit-id] &lt;tree-ish&gt; [&lt;tree-ish&gt;]
+ * - 기본 출력: ":&lt;이전 모드&gt; SP &lt;새 모드&gt; SP &lt;이전 sha&gt; SP &lt;새 sha&gt; SP &lt;상태&gt; TAB &lt;경로&gt;"
+ * - -r             : 바뀐 하위 트리 안의 파일까지 출력 (없으면 최상위 엔트리만)
+ * - -t             : 하위 트리 엔트리도 출력 (-r 포함)
+ * - --name-only    : 경로만 출력
+ * - --name-status  : "&lt;상태&gt; TAB &lt;경로&gt;"만 출력 (A 추가, D 삭제, M 변경, T 타입 변경)
+ * - --root         : 커밋 하나를 줄 때 부모가 없으면 빈 트리와 비교
+ * - --no-commit-id : 커밋 하나를 줄 때 커밋 ID 줄을 출력하지 않음
+ *
+ * 커밋 하나를 주면 첫 부모와 비교합니다. (병합 커밋은 출력하지 않음)
+ * 비교는 {@link TreeDiff}가 하므로 SHA가 같은 하위 트리는 읽지 않습니다.
+ */
+public class DiffTreeCommand implements GitCommand {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] ZERO_ID = new byte[ObjectId.HEX_LENGTH];
+
+    static {
+        Arrays.fill(ZERO_ID, (byte) '0');
+    }
+
+    private enum Format { RAW, NAME_ONLY, NAME_STATUS }
+
+    @Override
+    public void execute(String[] args) {
+        boolean recursive = false;
+        boolean showTrees = false;
+        boolean root = false;
+        boolean showCommitId = true;
+        Format format = Format.RAW;
+        String first = null;
+        String second = null;
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "-r":
+                    recursive = true;
+                    break;
+                case "-t":
+                    recursive = true;
+                    showTrees = true;
+                    break;
+                case "--name-only":
+                    format = Format.NAME_ONLY;
+                    break;
+                case "--name-status":
+                    format = Format.NAME_STATUS;
+                    break;
+                case "--root":
+                    root = true;
+                    break;
+                case "--no-commit-id":
+                    showCommitId = false;
+                    break;
+                default:
+                    if (args[i].startsWith("-")) {
+                        System.out.println("지원하지 않는 diff-tree 옵션입니다: " + args[i]);
+                        return;
+                    }
+                    if (first == null) {
+                        first = args[i];
+                    } else if (second == null) {
+                        second = args[i];
+                    } else {
+                        System.out.println("diff-tree 명령어에는 트리를 두 개까지만 줄 수 있습니다.");
+                        return;
+                    }
+            }
+        }
+        if (first == null) {
+            System.out.println("diff-tree 명령어에는 트리나 커밋이 필요합니다.");
+            return;
+        }
+
+        RevWalk walk = new RevWalk();
+        ObjectId oldTree;
+        ObjectId newTree;
+        byte[] header = null;
+        if (second != null) {
+            oldTree = GitObjectUtil.peelToTree(resolve(walk, first));
+            newTree = GitObjectUtil.peelToTree(resolve(walk, second));
+        } else {
+            int commit = walk.lookup(GitObjectUtil.peelToCommit(resolve(walk, first)));
+            int parentCount = walk.getParentCount(commit);
+            if (parentCount > 1 || (parentCount == 0 && !root)) {
+                return;
+            }
+            oldTree = parentCount == 0 ? null : walk.getTree(walk.getParent(commit, 0));
+            newTree = walk.getTree(commit);
+            if (showCommitId) {
+                header = (walk.getId(commit).name() + "\n").getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+
+        OutputStream out = new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE);
+        Format outputFormat = format;
+        byte[][] pendingHeader = {header};
+        try {
+            new TreeDiff(recursive, showTrees).diff(oldTree, newTree,
+                    (status, oldMode, oldId, newMode, newId, path, pathLength) -> {
+                        // 커밋 ID 줄은 바뀐 것이 있을 때만 출력
+                        if (pendingHeader[0] != null) {
+                            out.write(pendingHeader[0]);
+                            pendingHeader[0] = null;
+                        }
+                        if (outputFormat == Format.RAW) {
+                            writeRaw(out, status, oldMode, oldId, newMode, newId);
+                        } else if (outputFormat == Format.NAME_STATUS) {
+                            out.write(status);
+                            out.write('\t');
+                        }
+                        LsTreeCommand.writeQuotedPath(out, path, pathLength);
+                        out.write('\n');
+                    });
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("트리 비교 결과 출력 실패", e);
+        }
+    }
+
+    /**
+     * 리비전 표현식을 객체 ID로 해석합니다. ~N, ^N이 붙으면 커밋으로 따라갑니다.
+     */
+    private ObjectId resolve(RevWalk walk, String spec) {
+        if (spec.indexOf('~') >= 0 || spec.indexOf('^') >= 0) {
+            return walk.getId(walk.parseRevision(spec));
+        }
+        ObjectId id = RefUtil.resolveRevision(spec);
+        if (id == null) {
+            throw new IllegalArgumentException("알 수 없는 리비전입니다: " + spec);
+        }
+        return id;
+    }
+
+    /**
+     * ":&lt;이전 모드&gt; &lt;새 모드&gt; &lt;이전 sha&gt; &lt;새 sha&gt; &lt;상태&gt;\t"를 출력합니다.
+     */
+    private static void writeRaw(OutputStream out, char status, int oldMode, ObjectId oldId,
+                                 int newMode, ObjectId newId) throws IOException {
+        out.write(':');
+        writeMode(out, oldMode);
+        out.write(' ');
+        writeMode(out, newMode);
+        out.write(' ');
+        out.write(oldId == null ? ZERO_ID : oldId.name().getBytes(StandardCharsets.US_ASCII));
+        out.write(' ');
+        out.write(newId == null ? ZERO_ID : newId.name().getBytes(StandardCharsets.US_ASCII));
+        out.write(' ');
+        out.write(status);
+        out.write('\t');
+    }
+
+    private static void writeMode(OutputStream out, int mode) throws IOException {
+        for (int shift = 15; shift >= 0; shift -= 3) {
+            out.write('0' + ((mode >>> shift) & 7));
+        }
+    }
+}
@@ -0,0 +1,943 @@
+package command;
+
+import util.CommitUtil;
+import util.GitObject;
+import util.GitObjectUtil;
+import util.GitRepository;
+import util.ObjectId;
+import util.PackFile;
+import util.PackWriter;
+import util.RefUtil;
+import util.TreeIterator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * git fast-import 명령어 구현
+ *
+ * 사용법: fast-import [--quiet] [--force] [--done] [--import-marks=파일] [--import-marks-if-exists=파일]
+ *                     [--export-marks=파일] &lt; 스트림
+ *
+ * 표준 입력의 명령 스트림(git fast-export 형식)을 읽어 객체를 loose 파일 대신 팩 하나에 바로 기록합니다.
+ * ({@link PackWriter}) 객체마다 프로세스를 띄우거나 파일을 만들지 않으므로 대량의 히스토리를 한 번에 옮길 수 있습니다.
+ *
+ * 지원하는 명령:
+ * - blob: mark, original-oid, data
+ * - commit &lt;참조&gt;: mark, original-oid, author, committer, encoding, data, from, merge,
+ *   파일 변경(M, D, C, R, deleteall)
+ * - tag &lt;이름&gt;: mark, from, original-oid, tagger, data
+ * - reset &lt;참조&gt; [from], checkpoint, progress, done, feature, option
+ *
+ * 작성자/커미터 정보는 입력에 적힌 그대로(raw 날짜 형식) 기록합니다.
+ * 브랜치마다 작업 트리를 메모리에 두고, 바뀐 디렉토리의 트리만 다시 만듭니다. 바뀌지 않은 하위 트리는
+ * 필요할 때까지 읽지 않고 ID만 들고 있습니다.
+ *
+ * 참조는 스트림이 끝나거나 checkpoint에서 팩을 반영한 뒤 갱신합니다. 기존 참조 값이 새 커밋의 조상이
+ * 아니면 갱신하지 않고 실패하며, --force를 지정하면 덮어씁니다.
+ */
+public class FastImportCommand implements GitCommand {
+
+    private static final ObjectId NULL_ID = ObjectId.fromHex("0000000000000000000000000000000000000000");
+
+    private final Map<String, Branch> branches = new LinkedHashMap<>();
+    private final Map<String, ObjectId> tags = new LinkedHashMap<>();
+    private ObjectId[] marks = new ObjectId[1024];
+    private final int[] objectCounts = new int[5];
+    private final int[] duplicateCounts = new int[5];
+    private final List<String> packNames = new ArrayList<>();
+
+    private StreamReader reader;
+    private PackWriter pack;
+    private boolean quiet;
+    private boolean force;
+    private boolean requireDone;
+    private Path exportMarks;
+
+    @Override
+    public void execute(String[] args) {
+        for (int i = 1; i < args.length; i++) {
+            if (!parseOption(args[i])) {
+                System.out.println("지원하지 않는 fast-import 옵션입니다: " + args[i]);
+                return;
+            }
+        }
+
+        reader = new StreamReader(System.in);
+        pack = new PackWriter();
+        try {
+            boolean done = false;
+            String line;
+            while (!done && (line = reader.readLine()) != null) {
+                done = dispatch(line);
+            }
+            if (requireDone && !done) {
+                throw new IllegalStateException("스트림이 done 명령 없이 끝났습니다.");
+            }
+            checkpoint();
+        } finally {
+            pack.close();
+        }
+
+        if (!quiet) {
+            printStatistics();
+        }
+    }
+
+    /**
+     * 명령 한 줄을 처리합니다.
+     *
+     * @return done 명령이면 true
+     */
+    private boolean dispatch(String line) {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return false;
+        }
+        if (line.equals("blob")) {
+            parseBlob();
+        } else if (line.startsWith("commit ")) {
+            parseCommit(line.substring("commit ".length()));
+        } else if (line.startsWith("tag ")) {
+            parseTag(line.substring("tag ".length()));
+        } else if (line.startsWith("reset ")) {
+            parseReset(line.substring("reset ".length()));
+        } else if (line.equals("checkpoint")) {
+            checkpoint();
+        } else if (line.startsWith("progress ")) {
+            System.out.println(line);
+            System.out.flush();
+        } else if (line.equals("done")) {
+            return true;
+        } else if (line.startsWith("feature ")) {
+            parseFeature(line.substring("feature ".length()));
+        } else if (line.startsWith("option ")) {
+            parseStreamOption(line.substring("option ".length()));
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 fast-import 명령입니다: " + line);
+        }
+        return false;
+    }
+
+    /**
+     * 명령행 옵션 또는 스트림의 option git 명령을 처리합니다.
+     *
+     * @return 처리한 옵션이면 true
+     */
+    private boolean parseOption(String option) {
+        if (option.equals("--quiet")) {
+            quiet = true;
+        } else if (option.equals("--force")) {
+            force = true;
+        } else if (option.equals("--done")) {
+            requireDone = true;
+        } else if (option.startsWith("--import-marks=")) {
+            importMarks(GitRepository.resolve(option.substring("--import-marks=".length())), false);
+        } else if (option.startsWith("--import-marks-if-exists=")) {
+            importMarks(GitRepository.resolve(option.substring("--import-marks-if-exists=".length())), true);
+        } else if (option.startsWith("--export-marks=")) {
+            exportMarks = GitRepository.resolve(option.substring("--export-marks=".length()));
+        } else if (option.equals("--stats") || option.startsWith("--date-format=raw")) {
+            // 통계 출력과 raw 날짜 형식은 기본 동작
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void parseFeature(String feature) {
+        if (feature.equals("done")) {
+            requireDone = true;
+        } else if (feature.equals("force")) {
+            force = true;
+        } else if (!feature.equals("date-format=raw") && !parseOption("--" + feature)) {
+            throw new IllegalArgumentException("지원하지 않는 feature입니다: " + feature);
+        }
+    }
+
+    private void parseStreamOption(String option) {
+        // 다른 도구용 옵션(option 도구이름 ...)은 무시
+        if (option.startsWith("git ") && !parseOption(option.substring("git ".length()))) {
+            throw new IllegalArgumentException("지원하지 않는 option입니다: " + option);
+        }
+    }
+
+    private void parseBlob() {
+        int mark = parseMark();
+        reader.optional("original-oid ");
+        setMark(mark, store(PackFile.OBJ_BLOB, readData()));
+    }
+
+    private void parseCommit(String ref) {
+        Branch branch = branches.computeIfAbsent(ref, Branch::new);
+        int mark = parseMark();
+        reader.optional("original-oid ");
+        String author = reader.optional("author ");
+        String committer = reader.optional("committer ");
+        if (committer == null) {
+            throw new IllegalArgumentException("commit에 committer가 없습니다: " + ref);
+        }
+        String encoding = reader.optional("encoding ");
+        byte[] message = readData();
+
+        String from = reader.optional("from ");
+        if (from != null) {
+            resetBranch(branch, resolveCommit(from));
+        }
+        List<ObjectId> parents = new ArrayList<>();
+        if (branch.head != null) {
+            parents.add(branch.head);
+        }
+        String merge;
+        while ((merge = reader.optional("merge ")) != null) {
+            parents.add(resolveCommit(merge));
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith("M ")) {
+                fileModify(branch.tree, line.substring(2));
+            } else if (line.startsWith("D ")) {
+                remove(branch.tree, unquote(line.substring(2)));
+            } else if (line.startsWith("C ") || line.startsWith("R ")) {
+                fileCopy(branch.tree, line.substring(2), line.charAt(0) == 'R');
+            } else if (line.equals("deleteall")) {
+                branch.tree = Tree.empty();
+            } else if (line.startsWith("#")) {
+                continue;
+            } else {
+                // 빈 줄은 commit의 끝, 그 밖의 줄은 다음 명령
+                if (!line.isEmpty()) {
+                    reader.unread(line);
+                }
+                break;
+            }
+        }
+
+        ObjectId treeId = writeTree(branch.tree);
+        byte[] content = CommitUtil.buildCommitContent(treeId, parents,
+            author != null ? author : committer, committer, encoding, message);
+        branch.head = store(PackFile.OBJ_COMMIT, content);
+        setMark(mark, branch.head);
+    }
+
+    private void parseTag(String name) {
+        int mark = parseMark();
+        String from = reader.optional("from ");
+        if (from == null) {
+            throw new IllegalArgumentException("tag에 from이 없습니다: " + name);
+        }
+        ObjectId target = resolveObject(from);
+        reader.optional("original-oid ");
+        String tagger = reader.optional("tagger ");
+        byte[] message = readData();
+
+        StringBuilder header = new StringBuilder(128);
+        header.append("object ").append(target.name()).append('\n');
+        header.append("type ").append(readObject(target).getType()).append('\n');
+        header.append("tag ").append(name).append('\n');
+        if (tagger != null) {
+            header.append("tagger ").append(tagger).append('\n');
+        }
+        header.append('\n');
+        byte[] headerBytes = header.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] content = Arrays.copyOf(headerBytes, headerBytes.length + message.length);
+        System.arraycopy(message, 0, content, headerBytes.length, message.length);
+
+        ObjectId id = store(PackFile.OBJ_TAG, content);
+        tags.put("refs/tags/" + name, id);
+        setMark(mark, id);
+    }
+
+    private void parseReset(String ref) {
+        Branch branch = branches.computeIfAbsent(ref, Branch::new);
+        String from = reader.optional("from ");
+        resetBranch(branch, from != null ? resolveCommit(from) : null);
+    }
+
+    /**
+     * 브랜치를 커밋으로 옮깁니다. 이미 그 커밋이면 메모리의 트리를 그대로 사용합니다.
+     */
+    private void resetBranch(Branch branch, ObjectId commit) {
+        if (commit == null) {
+            branch.head = null;
+            branch.tree = Tree.empty();
+        } else if (!commit.equals(branch.head)) {
+            branch.head = commit;
+            branch.tree = new Tree(treeOf(commit));
+        }
+    }
+
+    /**
+     * 지금까지 쓴 객체를 팩으로 반영하고 참조와 마크 파일을 갱신합니다.
+     */
+    private void checkpoint() {
+        String packName = pack.commit();
+        if (packName != null) {
+            packNames.add("pack-" + packName);
+        }
+        pack = new PackWriter();
+        updateRefs();
+        if (exportMarks != null) {
+            exportMarks();
+        }
+    }
+
+    private void updateRefs() {
+        List<String> rejected = new ArrayList<>();
+        for (Branch branch : branches.values()) {
+            if (branch.head == null) {
+                continue;
+            }
+            ObjectId old = RefUtil.readRef(branch.ref);
+            if (old != null && !old.equals(branch.head) && !force && !isAncestor(old, branch.head)) {
+                rejected.add(branch.ref);
+                continue;
+            }
+            RefUtil.writeRef(branch.ref, branch.head);
+        }
+        for (Map.Entry<String, ObjectId> tag : tags.entrySet()) {
+            RefUtil.writeRef(tag.getKey(), tag.getValue());
+        }
+        if (!rejected.isEmpty()) {
+            throw new IllegalStateException("기존 값이 새 커밋의 조상이 아니어서 참조를 갱신하지 않았습니다 "
+                + "(--force로 덮어쓸 수 있습니다): " + String.join(", ", rejected));
+        }
+    }
+
+    /**
+     * ancestor가 tip에서 부모를 따라 도달할 수 있는 커밋인지 확인합니다.
+     */
+    private boolean isAncestor(ObjectId ancestor, ObjectId tip) {
+        Deque<ObjectId> queue = new ArrayDeque<>();
+        Set<ObjectId> seen = new HashSet<>();
+        queue.add(tip);
+        seen.add(tip);
+        while (!queue.isEmpty()) {
+            ObjectId commit = queue.poll();
+            if (commit.equals(ancestor)) {
+                return true;
+            }
+            for (ObjectId parent : parentsOf(commit)) {
+                if (seen.add(parent)) {
+                    queue.add(parent);
+                }
+            }
+        }
+        return false;
+    }
+
+    // ---- 파일 변경 ----
+
+    /**
+     * M &lt;모드&gt; &lt;데이터 참조|inline&gt; &lt;경로&gt;
+     */
+    private void fileModify(Tree root, String spec) {
+        int space1 = spec.indexOf(' ');
+        int space2 = space1 < 0 ? -1 : spec.indexOf(' ', space1 + 1);
+        if (space2 < 0) {
+            throw new IllegalArgumentException("잘못된 M 명령입니다: M " + spec);
+        }
+        int mode = parseMode(spec.substring(0, space1));
+        String dataRef = spec.substring(space1 + 1, space2);
+        String path = unquote(spec.substring(space2 + 1));
+
+        ObjectId id;
+        if (dataRef.equals("inline")) {
+            id = store(PackFile.OBJ_BLOB, readData());
+        } else {
+            id = resolveObject(dataRef);
+        }
+        if (path.isEmpty()) {
+            if (mode != TreeIterator.TREE_MODE) {
+                throw new IllegalArgumentException("루트에는 트리만 지정할 수 있습니다: M " + spec);
+            }
+            root.replaceWith(new Tree(id));
+            return;
+        }
+        set(root, path, mode, id, mode == TreeIterator.TREE_MODE ? new Tree(id) : null);
+    }
+
+    /**
+     * C/R &lt;원본 경로&gt; &lt;대상 경로&gt;
+     */
+    private void fileCopy(Tree root, String spec, boolean rename) {
+        String source;
+        String rest;
+        if (spec.startsWith("\"")) {
+            int end = closingQuote(spec);
+            source = unquote(spec.substring(0, end + 1));
+            rest = spec.substring(end + 1).trim();
+        } else {
+            int space = spec.indexOf(' ');
+            if (space < 0) {
+                throw new IllegalArgumentException("대상 경로가 없습니다: " + spec);
+            }
+            source = spec.substring(0, space);
+            rest = spec.substring(space + 1);
+        }
+        String target = unquote(rest);
+
+        TreeEntry entry = rename ? remove(root, source) : lookup(root, source);
+        if (entry == null) {
+            throw new IllegalArgumentException("경로가 없습니다: " + source);
+        }
+        Tree subtree = null;
+        if (entry.mode == TreeIterator.TREE_MODE) {
+            // 복사본은 원본과 트리 노드를 공유하지 않도록 ID로 다시 시작
+            entry.id = writeTree(entry.tree());
+            subtree = new Tree(entry.id);
+        }
+        set(root, target, entry.mode, entry.id, subtree);
+    }
+
+    private void set(Tree root, String path, int mode, ObjectId id, Tree subtree) {
+        String[] names = splitPath(path);
+        Tree tree = root;
+        for (int i = 0; i < names.length - 1; i++) {
+            tree.load(this);
+            tree.id = null;
+            TreeEntry entry = tree.entries.get(names[i]);
+            if (entry == null || entry.mode != TreeIterator.TREE_MODE) {
+                entry = new TreeEntry(names[i], TreeIterator.TREE_MODE, null);
+                entry.subtree = Tree.empty();
+                tree.entries.put(names[i], entry);
+            }
+            tree = entry.tree();
+        }
+        tree.load(this);
+        tree.id = null;
+        TreeEntry entry = new TreeEntry(names[names.length - 1], mode, id);
+        entry.subtree = subtree;
+        tree.entries.put(entry.name, entry);
+    }
+
+    private TreeEntry lookup(Tree root, String path) {
+        String[] names = splitPath(path);
+        Tree tree = root;
+        for (int i = 0; i < names.length - 1; i++) {
+            tree.load(this);
+            TreeEntry entry = tree.entries.get(names[i]);
+            if (entry == null || entry.mode != TreeIterator.TREE_MODE) {
+                return null;
+            }
+            tree = entry.tree();
+        }
+        tree.load(this);
+        return tree.entries.get(names[names.length - 1]);
+    }
+
+    /**
+     * 경로를 지우고, 비게 된 상위 디렉토리도 함께 지웁니다.
+     *
+     * @return 지운 엔트리, 없으면 null
+     */
+    private TreeEntry remove(Tree root, String path) {
+        return remove(root, splitPath(path), 0);
+    }
+
+    private TreeEntry remove(Tree tree, String[] names, int depth) {
+        tree.load(this);
+        TreeEntry entry = tree.entries.get(names[depth]);
+        if (entry == null) {
+            return null;
+        }
+        if (depth == names.length - 1) {
+            tree.entries.remove(names[depth]);
+            tree.id = null;
+            return entry;
+        }
+        if (entry.mode != TreeIterator.TREE_MODE) {
+            return null;
+        }
+        Tree subtree = entry.tree();
+        TreeEntry removed = remove(subtree, names, depth + 1);
+        if (removed != null) {
+            tree.id = null;
+            if (subtree.entries.isEmpty()) {
+                tree.entries.remove(names[depth]);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 바뀐 트리를 아래에서부터 기록하고 루트 트리 ID를 반환합니다.
+     */
+    private ObjectId writeTree(Tree tree) {
+        if (tree.id != null) {
+            return tree.id;
+        }
+        List<TreeEntry> entries = new ArrayList<>(tree.entries.size());
+        for (TreeEntry entry : tree.entries.values()) {
+            if (entry.subtree != null) {
+                // 하위 항목을 모두 지운 디렉토리는 기록하지 않음
+                if (entry.subtree.entries != null && entry.subtree.entries.isEmpty()) {
+                    continue;
+                }
+                entry.id = writeTree(entry.subtree);
+            }
+            entries.add(entry);
+        }
+        entries.sort((e1, e2) -> TreeIterator.compareEntryNames(
+            e1.nameBytes, e1.mode == TreeIterator.TREE_MODE, e2.nameBytes, e2.mode == TreeIterator.TREE_MODE));
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream(entries.size() * 48);
+        byte[] rawId = new byte[ObjectId.RAW_LENGTH];
+        for (TreeEntry entry : entries) {
+            byte[] mode = Integer.toOctalString(entry.mode).getBytes(StandardCharsets.US_ASCII);
+            content.write(mode, 0, mode.length);
+            content.write(' ');
+            content.write(entry.nameBytes, 0, entry.nameBytes.length);
+            content.write(0);
+            entry.id.copyRawTo(rawId, 0);
+            content.write(rawId, 0, rawId.length);
+        }
+        tree.id = store(PackFile.OBJ_TREE, content.toByteArray());
+        return tree.id;
+    }
+
+    // ---- 객체와 참조 해석 ----
+
+    /**
+     * 객체를 팩에 기록하고 타입별 개수를 셉니다.
+     */
+    private ObjectId store(int type, byte[] content) {
+        int before = pack.getObjectCount();
+        ObjectId id = pack.insert(type, content);
+        if (pack.getObjectCount() > before) {
+            objectCounts[type]++;
+        } else {
+            duplicateCounts[type]++;
+        }
+        return id;
+    }
+
+    /**
+     * 아직 반영하지 않은 팩에 있으면 팩에서, 아니면 저장소에서 객체를 읽습니다.
+     */
+    private GitObject readObject(ObjectId id) {
+        GitObject object = pack.read(id);
+        return object != null ? object : GitObjectUtil.readObject(id);
+    }
+
+    private ObjectId treeOf(ObjectId commit) {
+        byte[] content = readObject(commit).getContent();
+        if (content.length < 5 + ObjectId.HEX_LENGTH || content[0] != 't') {
+            throw new IllegalStateException("커밋이 아닙니다: " + commit);
+        }
+        return ObjectId.fromHex(new String(content, 5, ObjectId.HEX_LENGTH, StandardCharsets.US_ASCII));
+    }
+
+    private List<ObjectId> parentsOf(ObjectId commit) {
+        List<ObjectId> parents = new ArrayList<>(2);
+        String content = new String(readObject(commit).getContent(), StandardCharsets.UTF_8);
+        int position = content.indexOf('\n') + 1;
+        while (content.startsWith("parent ", position)) {
+            parents.add(ObjectId.fromHex(content.substring(position + 7, position + 7 + ObjectId.HEX_LENGTH)));
+            position = content.indexOf('\n', position) + 1;
+        }
+        return parents;
+    }
+
+    /**
+     * from/merge의 커밋을 해석합니다. 0으로 채운 ID는 부모 없음(null)입니다.
+     */
+    private ObjectId resolveCommit(String ref) {
+        ObjectId id = resolveObject(ref);
+        return id.equals(NULL_ID) ? null : id;
+    }
+
+    /**
+     * 마크(:n), 40자리 SHA, 이 스트림의 브랜치, 저장소의 참조 순서로 객체를 찾습니다.
+     */
+    private ObjectId resolveObject(String ref) {
+        if (ref.startsWith(":")) {
+            int mark = Integer.parseInt(ref.substring(1));
+            ObjectId id = mark < marks.length ? marks[mark] : null;
+            if (id == null) {
+                throw new IllegalArgumentException("정의되지 않은 마크입니다: " + ref);
+            }
+            return id;
+        }
+        if (ref.length() == ObjectId.HEX_LENGTH && ObjectId.isValidHex(ref)) {
+            return ObjectId.fromHex(ref);
+        }
+        String name = ref.endsWith("^0") ? ref.substring(0, ref.length() - 2) : ref;
+        for (String candidate : new String[] {name, "refs/heads/" + name, "refs/tags/" + name}) {
+            Branch branch = branches.get(candidate);
+            if (branch != null && branch.head != null) {
+                return branch.head;
+            }
+            ObjectId id = RefUtil.readRef(candidate);
+            if (id != null) {
+                return id;
+            }
+        }
+        throw new IllegalArgumentException("객체를 찾을 수 없습니다: " + ref);
+    }
+
+    // ---- 마크 ----
+
+    private int parseMark() {
+        String mark = reader.optional("mark :");
+        return mark == null ? 0 : Integer.parseInt(mark);
+    }
+
+    private void setMark(int mark, ObjectId id) {
+        if (mark <= 0) {
+            return;
+        }
+        if (mark >= marks.length) {
+            marks = Arrays.copyOf(marks, Math.max(mark + 1, marks.length * 2));
+        }
+        marks[mark] = id;
+    }
+
+    private void importMarks(Path path, boolean optional) {
+        if (optional && !Files.exists(path)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                int space = line.indexOf(' ');
+                if (!line.startsWith(":") || space < 0) {
+                    throw new IllegalArgumentException("잘못된 마크 파일 줄입니다: " + line);
+                }
+                setMark(Integer.parseInt(line.substring(1, space)), ObjectId.fromHex(line.substring(space + 1).trim()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("마크 파일 읽기 실패: " + path, e);
+        }
+    }
+
+    private void exportMarks() {
+        try (Writer out = Files.newBufferedWriter(exportMarks, StandardCharsets.UTF_8)) {
+            for (int mark = 1; mark < marks.length; mark++) {
+                if (marks[mark] != null) {
+                    out.append(':').append(Integer.toString(mark)).append(' ').append(marks[mark].name()).append('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("마크 파일 쓰기 실패: " + exportMarks, e);
+        }
+    }
+
+    // ---- 입력 해석 ----
+
+    /**
+     * data &lt;길이&gt; 또는 data &lt;&lt;구분자 형식의 데이터를 읽습니다.
+     */
+    private byte[] readData() {
+        String line = reader.readLine();
+        if (line == null || !line.startsWith("data ")) {
+            throw new IllegalArgumentException("data 명령이 필요합니다: " + line);
+        }
+        String length = line.substring("data ".length());
+        if (length.startsWith("<<")) {
+            String delimiter = length.substring(2);
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            String dataLine;
+            while (!delimiter.equals(dataLine = reader.readLine())) {
+                if (dataLine == null) {
+                    throw new IllegalArgumentException("데이터 구분자를 찾지 못했습니다: " + delimiter);
+                }
+                byte[] bytes = dataLine.getBytes(StandardCharsets.UTF_8);
+                data.write(bytes, 0, bytes.length);
+                data.write('\n');
+            }
+            return data.toByteArray();
+        }
+        byte[] data = reader.readBytes(Integer.parseInt(length));
+        reader.skipNewline();
+        return data;
+    }
+
+    private static int parseMode(String mode) {
+        switch (mode) {
+            case "644":
+            case "100644":
+                return TreeIterator.REGULAR_FILE_MODE;
+            case "755":
+            case "100755":
+                return TreeIterator.EXECUTABLE_MODE;
+            case "120000":
+                return TreeIterator.SYMLINK_MODE;
+            case "160000":
+                return TreeIterator.GITLINK_MODE;
+            case "040000":
+            case "40000":
+                return TreeIterator.TREE_MODE;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 파일 모드입니다: " + mode);
+        }
+    }
+
+    private static String[] splitPath(String path) {
+        String[] names = path.split("/");
+        for (String name : names) {
+            if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+                throw new IllegalArgumentException("잘못된 경로입니다: " + path);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 따옴표로 감싼 C 스타일 경로("a\tb", "\303\244")를 풉니다. 따옴표가 없으면 그대로 반환합니다.
+     */
+    private static String unquote(String path) {
+        if (!path.startsWith("\"")) {
+            return path;
+        }
+        int end = closingQuote(path);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(end);
+        for (int i = 1; i < end; i++) {
+            char c = path.charAt(i);
+            if (c != '\\') {
+                byte[] encoded = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+                bytes.write(encoded, 0, encoded.length);
+                continue;
+            }
+            c = path.charAt(++i);
+            switch (c) {
+                case 'a': bytes.write(7); break;
+                case 'b': bytes.write('\b'); break;
+                case 'f': bytes.write('\f'); break;
+                case 'n': bytes.write('\n'); break;
+                case 'r': bytes.write('\r'); break;
+                case 't': bytes.write('\t'); break;
+                case 'v': bytes.write(11); break;
+                case '0': case '1': case '2': case '3':
+                    bytes.write(Integer.parseInt(path.substring(i, i + 3), 8));
+                    i += 2;
+                    break;
+                default: bytes.write(c);
+            }
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static int closingQuote(String quoted) {
+        for (int i = 1; i < quoted.length(); i++) {
+            char c = quoted.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("닫는 따옴표가 없습니다: " + quoted);
+    }
+
+    private void printStatistics() {
+        String[] types = {null, "commit", "tree", "blob", "tag"};
+        int total = 0;
+        int duplicates = 0;
+        StringBuilder detail = new StringBuilder();
+        for (int type = 1; type < types.length; type++) {
+            total += objectCounts[type];
+            duplicates += duplicateCounts[type];
+            detail.append(type > 1 ? ", " : "").append(types[type]).append(' ').append(objectCounts[type]);
+        }
+        System.err.println("fast-import 통계:");
+        System.err.println("  객체: " + total + " (" + detail + "), 중복 " + duplicates);
+        System.err.println("  브랜치: " + branches.size() + ", 태그: " + tags.size());
+        System.err.println("  팩: " + (packNames.isEmpty() ? "없음" : String.join(", ", packNames)));
+    }
+
+    /**
+     * 스트림에서 만든 브랜치와 그 작업 트리
+     */
+    private static final class Branch {
+        final String ref;
+        ObjectId head;
+        Tree tree = Tree.empty();
+
+        Branch(String ref) {
+            this.ref = ref;
+        }
+    }
+
+    /**
+     * 메모리의 트리 노드
+     * 내용이 바뀌면 id를 null로 두고, 엔트리는 처음 필요할 때 트리 객체에서 읽습니다.
+     */
+    private static final class Tree {
+        /** 현재 내용의 트리 ID (바뀌었으면 null) */
+        ObjectId id;
+        /** 이름 → 엔트리 (읽기 전이면 null) */
+        Map<String, TreeEntry> entries;
+
+        Tree(ObjectId id) {
+            this.id = id;
+        }
+
+        static Tree empty() {
+            Tree tree = new Tree(null);
+            tree.entries = new HashMap<>();
+            return tree;
+        }
+
+        void load(FastImportCommand importer) {
+            if (entries != null) {
+                return;
+            }
+            entries = new HashMap<>();
+            TreeIterator it = new TreeIterator(importer.readObject(id).getContent());
+            while (it.next()) {
+                TreeEntry entry = new TreeEntry(it.getName(), it.getMode(), it.getObjectId());
+                entries.put(entry.name, entry);
+            }
+        }
+
+        void replaceWith(Tree other) {
+            this.id = other.id;
+            this.entries = other.entries;
+        }
+    }
+
+    /**
+     * 트리 엔트리 (디렉토리면 하위 트리 노드를 필요할 때 만듦)
+     */
+    private static final class TreeEntry {
+        final String name;
+        final byte[] nameBytes;
+        final int mode;
+        ObjectId id;
+        Tree subtree;
+
+        TreeEntry(String name, int mode, ObjectId id) {
+            this.name = name;
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.mode = mode;
+            this.id = id;
+        }
+
+        Tree tree() {
+            if (subtree == null) {
+                subtree = new Tree(id);
+            }
+            return subtree;
+        }
+    }
+
+    /**
+     * 줄 단위 명령과 바이트 단위 데이터를 섞어 읽는 입력 스트림
+     */
+    private static final class StreamReader {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private byte[] line = new byte[256];
+        private String pushedBack;
+
+        StreamReader(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * 한 줄을 읽습니다. (줄바꿈 제외, 스트림 끝이면 null)
+         */
+        String readLine() {
+            if (pushedBack != null) {
+                String result = pushedBack;
+                pushedBack = null;
+                return result;
+            }
+            int length = 0;
+            while (true) {
+                if (position == limit && !fill()) {
+                    return length == 0 ? null : new String(line, 0, length, StandardCharsets.UTF_8);
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                int count = position - start;
+                if (length + count > line.length) {
+                    line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+                }
+                System.arraycopy(buffer, start, line, length, count);
+                length += count;
+                if (position < limit) {
+                    position++;
+                    return new String(line, 0, length, StandardCharsets.UTF_8);
+                }
+            }
+        }
+
+        void unread(String value) {
+            pushedBack = value;
+        }
+
+        /**
+         * 다음 줄이 prefix로 시작하면 나머지를 반환하고, 아니면 되돌려 두고 null을 반환합니다.
+         */
+        String optional(String prefix) {
+            String next = readLine();
+            if (next != null && next.startsWith(prefix)) {
+                return next.substring(prefix.length());
+            }
+            if (next != null) {
+                unread(next);
+            }
+            return null;
+        }
+
+        byte[] readBytes(int count) {
+            byte[] data = new byte[count];
+            int filled = 0;
+            while (filled < count) {
+                if (position == limit && !fill()) {
+                    throw new IllegalArgumentException("데이터가 중간에 끝났습니다: " + filled + "/" + count);
+                }
+                int n = Math.min(count - filled, limit - position);
+                System.arraycopy(buffer, position, data, filled, n);
+                position += n;
+                filled += n;
+            }
+            return data;
+        }
+
+        /**
+         * 데이터 뒤에 붙을 수 있는 줄바꿈 하나를 건너뜁니다.
+         */
+        void skipNewline() {
+            if ((position < limit || fill()) && buffer[position] == '\n') {
+                position++;
+            }
+        }
+
+        private boolean fill() {
+            try {
+                int count = in.read(buffer, 0, buffer.length);
+                if (count <= 0) {
+                    return false;
+                }
+                position = 0;
+                limit = count;
+                return true;
+            } catch (IOException e) {
+                throw new RuntimeException("fast-import 입력 읽기 실패", e);
+            }
+        }
+    }
+}
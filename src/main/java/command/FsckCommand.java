@@ -0,0 +1,681 @@
+package command;
+
+import util.CacheTree;
+import util.GitIndex;
+import util.GitObjectUtil;
+import util.GitRepository;
+import util.HashUtil;
+import util.ObjectId;
+import util.ObjectStream;
+import util.PackFile;
+import util.PackIndex;
+import util.RefUtil;
+import util.TreeIterator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * git fsck 명령어 구현 (객체 무결성과 연결성 검사)
+ *
+ * 사용법: fsck [--unreachable] [--no-dangling] [-j N | --jobs=N]
+ * - --unreachable : 참조에서 닿지 않는 객체를 모두 "unreachable 타입 ID"로 출력
+ *                   (기본은 닿지 않는 객체 중 다른 닿지 않는 객체가 가리키지도 않는 것만 "dangling 타입 ID"로 출력)
+ * - --no-dangling : 닿지 않는 객체를 출력하지 않음
+ * - -j N          : 병렬 처리 수준 (기본값: CPU 코어 수)
+ *
+ * 두 단계로 진행합니다.
+ * 1. 검사(병렬): loose 객체는 fan-out 디렉토리(00~ff)마다, 팩 객체는 팩 안의 오프셋 순으로 {@value #OBJECTS_PER_TASK}개씩
+ *    ForkJoin 작업으로 나눠 압축 해제하면서 SHA-1을 다시 계산하고, 파일 경로(팩은 인덱스의 ID)와 비교합니다.
+ *    blob은 고정 크기 버퍼로 흘려보내며 해시만 계산하므로 객체 크기와 관계없이 메모리 사용량이 일정합니다.
+ *    트리, 커밋, 태그는 형식을 확인하고 가리키는 객체 ID만 바이트 배열로 남깁니다. 팩은 트레일러 체크섬과
+ *    엔트리별 CRC32도 확인합니다.
+ * 2. 연결성: 참조, HEAD, 인덱스에서 시작해 남겨 둔 링크를 따라가며 없는 객체를 "missing 타입 ID"로 출력하고,
+ *    끝까지 닿지 않은 객체를 출력합니다.
+ *
+ * 손상된 객체와 잘못된 링크는 표준 오류에 출력하며, 하나라도 있으면 마지막에 예외로 실패합니다.
+ */
+public class FsckCommand implements GitCommand {
+
+    /** 팩 검사 작업 하나가 맡는 최소 객체 수 (이보다 많으면 반으로 나눠 분기) */
+    private static final int OBJECTS_PER_TASK = 256;
+    private static final int BLOB_BUFFER_SIZE = 64 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int OBJ_COMMIT = 1;
+    private static final int OBJ_TREE = 2;
+    private static final int OBJ_BLOB = 3;
+    private static final int OBJ_TAG = 4;
+    private static final String[] TYPE_NAMES = {"object", "commit", "tree", "blob", "tag"};
+
+    private static final byte[] NO_LINKS = new byte[0];
+    /** 모든 blob이 함께 쓰는 노드 (blob은 가리키는 객체가 없음) */
+    private static final Node BLOB = new Node(OBJ_BLOB, NO_LINKS, NO_LINKS);
+    /** 연결성 검사에서 이미 닿은 객체 표시 */
+    private static final Node REACHED = new Node(0, NO_LINKS, NO_LINKS);
+
+    /** 검사를 통과한 객체 ID → 노드 (연결성 검사에서 닿은 객체는 {@link #REACHED}로 바뀜) */
+    private final Map<ObjectId, Node> objects = new ConcurrentHashMap<>();
+    /** 손상된 객체와 잘못된 링크 */
+    private final Queue<String> problems = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void execute(String[] args) {
+        boolean unreachable = false;
+        boolean dangling = true;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            String value = null;
+            switch (args[i]) {
+                case "--unreachable":
+                    unreachable = true;
+                    break;
+                case "--no-dangling":
+                    dangling = false;
+                    break;
+                case "-j":
+                case "--jobs":
+                    if (i + 1 < args.length) {
+                        value = args[++i];
+                    }
+                    break;
+                default:
+                    if (args[i].startsWith("--jobs=")) {
+                        value = args[i].substring("--jobs=".length());
+                    } else {
+                        System.out.println("지원하지 않는 fsck 옵션입니다: " + args[i]);
+                        return;
+                    }
+            }
+            if (value != null) {
+                try {
+                    parallelism = Math.max(1, Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("잘못된 병렬 처리 수준: " + value, e);
+                }
+            }
+        }
+
+        verifyObjects(parallelism);
+
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE), false);
+        int missing = checkConnectivity(out);
+        if (unreachable || dangling) {
+            printUnreachable(out, unreachable);
+        }
+        out.flush();
+
+        if (!problems.isEmpty() || missing > 0) {
+            List<String> sorted = new ArrayList<>(problems);
+            Collections.sort(sorted);
+            for (String problem : sorted) {
+                System.err.println(problem);
+            }
+            throw new IllegalStateException("객체 검사에서 문제를 찾았습니다: 손상 또는 잘못된 링크 " + sorted.size()
+                + "개, 없는 객체 " + missing + "개");
+        }
+    }
+
+    /**
+     * loose 객체와 팩 객체를 ForkJoin 풀에서 모두 검사합니다.
+     */
+    private void verifyObjects(int parallelism) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        Path objectsDir = GitRepository.getObjectsDir();
+        for (int i = 0; i < 256; i++) {
+            Path dir = objectsDir.resolve(String.format("%02x", i));
+            tasks.add(ForkJoinTask.adapt(() -> verifyLooseDirectory(dir)));
+        }
+        for (PackFile pack : openPacks()) {
+            tasks.add(ForkJoinTask.adapt(() -> verifyPackChecksum(pack)));
+            tasks.add(new PackRangeTask(pack, sortByOffset(pack.getIndex()), 0, pack.getIndex().getObjectCount()));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (ForkJoinTask<?> task : tasks) {
+                pool.execute(task);
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * fan-out 디렉토리 하나의 loose 객체를 검사합니다. 객체 이름이 아닌 파일(쓰는 중인 임시 파일 등)은 건너뜁니다.
+     */
+    private void verifyLooseDirectory(Path dir) {
+        String prefix = dir.getFileName().toString();
+        Verifier verifier = new Verifier();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = prefix + file.getFileName();
+                if (!ObjectId.isValidHex(name)) {
+                    continue;
+                }
+                ObjectId id = ObjectId.fromHex(name);
+                try (ObjectStream stream = GitObjectUtil.openLooseObject(id)) {
+                    verifier.verify(id, stream, file);
+                } catch (IOException | RuntimeException e) {
+                    problems.add("손상된 객체: " + file + ": " + describe(e));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // 이 fan-out에는 객체가 없음
+        } catch (IOException e) {
+            throw new RuntimeException("객체 디렉토리 읽기 실패: " + dir, e);
+        }
+    }
+
+    /**
+     * 팩 디렉토리의 인덱스마다 팩을 엽니다. 열거나 매핑하지 못한 팩(잘린 파일, 짝이 없는 인덱스 등)은
+     * 문제로 기록하고 건너뛰어 나머지 팩과 loose 객체 검사는 계속합니다.
+     */
+    private List<PackFile> openPacks() {
+        List<PackFile> packs = new ArrayList<>();
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(GitRepository.getPackDir(), "*.idx")) {
+            for (Path indexPath : indexes) {
+                try {
+                    packs.add(PackFile.open(indexPath));
+                } catch (RuntimeException e) {
+                    problems.add("손상된 팩: " + indexPath.getFileName() + ": " + describe(e));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // 팩이 없음
+        } catch (IOException e) {
+            throw new RuntimeException("팩 디렉토리 읽기 실패: " + GitRepository.getPackDir(), e);
+        }
+        return packs;
+    }
+
+    private void verifyPackChecksum(PackFile pack) {
+        String packName = pack.getPackPath().getFileName().toString();
+        try {
+            if (!pack.getIndex().verifyChecksum()) {
+                problems.add("팩 인덱스 체크섬이 일치하지 않습니다: " + packName);
+            }
+            if (!pack.verifyChecksum()) {
+                problems.add("팩 체크섬이 일치하지 않습니다: " + packName);
+            }
+        } catch (RuntimeException e) {
+            problems.add("손상된 팩: " + packName + ": " + describe(e));
+        }
+    }
+
+    /**
+     * 팩 인덱스의 엔트리를 팩 안의 오프셋 순으로 정렬합니다. 델타의 기준 객체가 먼저 풀려 캐시에 남아 있게 됩니다.
+     *
+     * @return (오프셋 &lt;&lt; 32 | 인덱스 내 위치) 배열 (팩은 2GB 이하라 오프셋이 31비트에 들어감)
+     */
+    private static long[] sortByOffset(PackIndex index) {
+        long[] order = new long[index.getObjectCount()];
+        for (int position = 0; position < order.length; position++) {
+            order[position] = index.getOffset(position) << 32 | position;
+        }
+        Arrays.sort(order);
+        return order;
+    }
+
+    /**
+     * 팩 엔트리 구간을 반씩 나눠 검사하는 작업
+     */
+    private class PackRangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PackFile pack;
+        private final long[] order;
+        private final int from;
+        private final int to;
+
+        PackRangeTask(PackFile pack, long[] order, int from, int to) {
+            this.pack = pack;
+            this.order = order;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > OBJECTS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PackRangeTask(pack, order, from, middle), new PackRangeTask(pack, order, middle, to));
+                return;
+            }
+
+            PackIndex index = pack.getIndex();
+            String packName = pack.getPackPath().getFileName().toString();
+            Verifier verifier = new Verifier();
+            for (int i = from; i < to; i++) {
+                long offset = order[i] >>> 32;
+                int position = (int) order[i];
+                long end = i + 1 < order.length ? order[i + 1] >>> 32 : pack.getDataEnd();
+                ObjectId id = index.getObjectId(position);
+                PackLocation location = new PackLocation(packName, offset, id);
+                try {
+                    if (pack.computeCrc32(offset, end) != index.getCrc32(position)) {
+                        problems.add("손상된 객체: " + location + ": CRC32가 인덱스와 일치하지 않습니다.");
+                        continue;
+                    }
+                    try (ObjectStream stream = pack.openStream(offset)) {
+                        verifier.verify(id, stream, location);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    problems.add("손상된 객체: " + location + ": " + describe(e));
+                }
+            }
+        }
+    }
+
+    /**
+     * 팩 엔트리 위치 (문제를 보고할 때만 문자열로 만듦)
+     */
+    private static final class PackLocation {
+        final String packName;
+        final long offset;
+        final ObjectId id;
+
+        PackLocation(String packName, long offset, ObjectId id) {
+            this.packName = packName;
+            this.offset = offset;
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return packName + " 오프셋 " + offset + " (" + id.name() + ")";
+        }
+    }
+
+    /**
+     * 객체 하나를 해시하고 파싱하는 작업자 (작업마다 하나, MessageDigest와 blob 버퍼를 재사용)
+     */
+    private class Verifier {
+        private final MessageDigest digest = HashUtil.newSHA1();
+        private byte[] buffer;
+
+        /**
+         * 본문을 끝까지 읽으며 SHA-1을 다시 계산해 기대한 ID와 비교하고, 통과하면 노드를 등록합니다.
+         *
+         * @param location 문제를 보고할 때 쓸 위치 (loose 파일 경로나 팩 엔트리 위치)
+         */
+        void verify(ObjectId id, ObjectStream stream, Object location) throws IOException {
+            int type = typeCode(stream.getType());
+            if (type < 0) {
+                problems.add("손상된 객체: " + location + ": 알 수 없는 객체 타입입니다: " + stream.getType());
+                return;
+            }
+            digest.reset();
+            digest.update((stream.getType() + " " + stream.getSize() + "\0").getBytes(StandardCharsets.UTF_8));
+
+            byte[] content = null;
+            if (type == OBJ_BLOB) {
+                hashBlob(stream);
+            } else {
+                content = stream.readAllBytes();
+                digest.update(content);
+            }
+            ObjectId actual = ObjectId.fromRaw(digest.digest());
+            if (!actual.equals(id)) {
+                problems.add("해시가 일치하지 않습니다: " + location + " (실제 " + actual.name() + ")");
+                return;
+            }
+
+            Node node;
+            try {
+                node = type == OBJ_BLOB ? BLOB : parse(type, content);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                problems.add("형식이 올바르지 않습니다: " + TYPE_NAMES[type] + " " + id.name() + ": " + e.getMessage());
+                return;
+            }
+            objects.putIfAbsent(id, node);
+        }
+
+        /**
+         * blob 본문을 고정 크기 버퍼로 읽으며 해시합니다. (본문을 메모리에 모으지 않음)
+         */
+        private void hashBlob(ObjectStream stream) throws IOException {
+            if (buffer == null) {
+                buffer = new byte[BLOB_BUFFER_SIZE];
+            }
+            InputStream in = stream.getInputStream();
+            long total = 0;
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+                total += count;
+            }
+            if (total != stream.getSize()) {
+                throw new IllegalStateException("객체 본문 크기가 헤더와 일치하지 않습니다: " + total + " != " + stream.getSize());
+            }
+        }
+    }
+
+    /**
+     * 트리, 커밋, 태그 본문의 형식을 확인하고 가리키는 객체를 노드로 만듭니다.
+     */
+    private static Node parse(int type, byte[] content) {
+        switch (type) {
+            case OBJ_TREE:
+                return parseTree(content);
+            case OBJ_COMMIT:
+                return parseCommit(content);
+            default:
+                return parseTag(content);
+        }
+    }
+
+    /**
+     * 트리 엔트리의 모드, 이름, 정렬 순서를 확인합니다. 서브모듈(gitlink)은 다른 저장소의 커밋이라 링크로 남기지 않습니다.
+     */
+    private static Node parseTree(byte[] content) {
+        // 엔트리는 최소 "0 x\0" + 20바이트
+        int capacity = content.length / (4 + ObjectId.RAW_LENGTH);
+        byte[] links = new byte[capacity * ObjectId.RAW_LENGTH];
+        byte[] linkTypes = new byte[capacity];
+        int count = 0;
+
+        TreeIterator entries = new TreeIterator(content);
+        byte[] buffer = entries.getBuffer();
+        int previousOffset = -1;
+        int previousLength = 0;
+        boolean previousIsTree = false;
+        while (entries.next()) {
+            int mode = entries.getMode();
+            int linkType;
+            switch (mode) {
+                case TreeIterator.TREE_MODE:
+                    linkType = OBJ_TREE;
+                    break;
+                case TreeIterator.REGULAR_FILE_MODE:
+                case TreeIterator.EXECUTABLE_MODE:
+                case TreeIterator.SYMLINK_MODE:
+                case 0100664: // 오래된 Git이 쓰던 모드 (Git도 허용)
+                    linkType = OBJ_BLOB;
+                    break;
+                case TreeIterator.GITLINK_MODE:
+                    linkType = 0;
+                    break;
+                default:
+                    throw new IllegalStateException("트리 엔트리 모드가 올바르지 않습니다: " + Integer.toOctalString(mode));
+            }
+
+            int nameOffset = entries.getNameOffset();
+            int nameLength = entries.getNameLength();
+            for (int i = nameOffset; i < nameOffset + nameLength; i++) {
+                if (buffer[i] == '/') {
+                    throw new IllegalStateException("트리 엔트리 이름에 '/'가 있습니다: " + entries.getName());
+                }
+            }
+            boolean isTree = entries.isTree();
+            if (previousOffset >= 0) {
+                int cmp = TreeIterator.compareEntryNames(buffer, previousOffset, previousLength, previousIsTree,
+                    buffer, nameOffset, nameLength, isTree);
+                if (cmp >= 0) {
+                    throw new IllegalStateException((cmp == 0 ? "트리 엔트리가 중복됩니다: " : "트리 엔트리가 정렬되어 있지 않습니다: ")
+                        + entries.getName());
+                }
+            }
+            previousOffset = nameOffset;
+            previousLength = nameLength;
+            previousIsTree = isTree;
+
+            if (linkType != 0) {
+                System.arraycopy(buffer, entries.getIdOffset(), links, count * ObjectId.RAW_LENGTH, ObjectId.RAW_LENGTH);
+                linkTypes[count++] = (byte) linkType;
+            }
+        }
+        return new Node(OBJ_TREE, Arrays.copyOf(links, count * ObjectId.RAW_LENGTH), Arrays.copyOf(linkTypes, count));
+    }
+
+    /**
+     * 커밋 헤더가 "tree", "parent"*, "author", "committer" 순으로 있는지 확인합니다.
+     */
+    private static Node parseCommit(byte[] content) {
+        HeaderReader header = new HeaderReader(content);
+        List<ObjectId> ids = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        ids.add(header.readId("tree"));
+        types.add(OBJ_TREE);
+        while (header.startsWith("parent ")) {
+            ids.add(header.readId("parent"));
+            types.add(OBJ_COMMIT);
+        }
+        header.readLine("author");
+        header.readLine("committer");
+        return new Node(OBJ_COMMIT, ids, types);
+    }
+
+    /**
+     * 태그 헤더가 "object", "type", "tag" 순으로 있는지 확인합니다.
+     */
+    private static Node parseTag(byte[] content) {
+        HeaderReader header = new HeaderReader(content);
+        ObjectId object = header.readId("object");
+        String typeName = header.readLine("type");
+        int type = typeCode(typeName);
+        if (type < 0) {
+            throw new IllegalStateException("태그가 가리키는 객체 타입이 올바르지 않습니다: " + typeName);
+        }
+        header.readLine("tag");
+        return new Node(OBJ_TAG, List.of(object), List.of(type));
+    }
+
+    /**
+     * 커밋/태그 헤더를 한 줄씩 읽는 도우미 (헤더는 ASCII 키와 값, 값은 UTF-8일 수 있음)
+     */
+    private static final class HeaderReader {
+        private final byte[] content;
+        private int position;
+
+        HeaderReader(byte[] content) {
+            this.content = content;
+        }
+
+        boolean startsWith(String prefix) {
+            if (position + prefix.length() > content.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (content[position + i] != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * "키 값\n" 줄을 읽어 값을 반환합니다.
+         */
+        String readLine(String key) {
+            if (!startsWith(key + " ")) {
+                throw new IllegalStateException("'" + key + "' 항목이 없습니다.");
+            }
+            int start = position + key.length() + 1;
+            int end = start;
+            while (end < content.length && content[end] != '\n') {
+                end++;
+            }
+            if (end == content.length) {
+                throw new IllegalStateException("'" + key + "' 항목이 줄바꿈 없이 끝납니다.");
+            }
+            position = end + 1;
+            return new String(content, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        ObjectId readId(String key) {
+            String value = readLine(key);
+            if (!ObjectId.isValidHex(value)) {
+                throw new IllegalStateException("'" + key + "' 항목의 객체 ID가 올바르지 않습니다: " + value);
+            }
+            return ObjectId.fromHex(value);
+        }
+    }
+
+    /**
+     * 참조, HEAD, 인덱스에서 시작해 링크를 따라가며 닿는 객체를 표시합니다.
+     *
+     * @return 없는 객체 수
+     */
+    private int checkConnectivity(PrintStream out) {
+        Deque<Node> pending = new ArrayDeque<>();
+        Set<ObjectId> missing = new HashSet<>();
+
+        for (Map.Entry<String, ObjectId> ref : RefUtil.listRefs().entrySet()) {
+            reachRoot(ref.getValue(), ref.getKey(), pending);
+        }
+        ObjectId head = RefUtil.readRef("HEAD");
+        if (head != null) {
+            reachRoot(head, "HEAD", pending);
+        }
+        GitIndex index = GitIndex.read();
+        for (GitIndex.Entry entry : index.getEntries()) {
+            if (entry.getMode() != TreeIterator.GITLINK_MODE) {
+                reach(entry.getObjectId(), OBJ_BLOB, "인덱스 " + entry.getPath(), pending, missing, out);
+            }
+        }
+        CacheTree cacheTree = index.getCacheTree();
+        if (cacheTree != null && cacheTree.isValid()) {
+            reach(cacheTree.getObjectId(), OBJ_TREE, "인덱스 cache-tree", pending, missing, out);
+        }
+
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            for (int i = 0; i < node.linkTypes.length; i++) {
+                reach(ObjectId.fromRaw(node.links, i * ObjectId.RAW_LENGTH), node.linkTypes[i],
+                    TYPE_NAMES[node.type], pending, missing, out);
+            }
+        }
+        return missing.size();
+    }
+
+    private void reachRoot(ObjectId id, String name, Deque<Node> pending) {
+        Node node = objects.get(id);
+        if (node == null) {
+            problems.add("참조가 없거나 손상된 객체를 가리킵니다: " + name + " -> " + id.name());
+        } else if (node != REACHED) {
+            objects.put(id, REACHED);
+            pending.push(node);
+        }
+    }
+
+    /**
+     * 링크가 가리키는 객체를 표시합니다. 없으면 "missing 타입 ID"를 한 번만 출력합니다.
+     */
+    private void reach(ObjectId id, int expectedType, String referrer, Deque<Node> pending, Set<ObjectId> missing,
+                       PrintStream out) {
+        Node node = objects.get(id);
+        if (node == REACHED) {
+            return;
+        }
+        if (node == null) {
+            if (missing.add(id)) {
+                out.println("missing " + TYPE_NAMES[expectedType] + " " + id.name());
+            }
+            return;
+        }
+        if (node.type != expectedType) {
+            problems.add("링크의 객체 타입이 맞지 않습니다: " + referrer + "가 가리키는 " + id.name() + "는 "
+                + TYPE_NAMES[node.type] + "입니다. (기대 타입: " + TYPE_NAMES[expectedType] + ")");
+        }
+        objects.put(id, REACHED);
+        pending.push(node);
+    }
+
+    /**
+     * 닿지 않은 객체를 ID 순으로 출력합니다. all이 아니면 다른 닿지 않은 객체가 가리키는 객체는 빼고 출력합니다.
+     */
+    private void printUnreachable(PrintStream out, boolean all) {
+        List<ObjectId> ids = new ArrayList<>();
+        Set<ObjectId> referenced = new HashSet<>();
+        for (Map.Entry<ObjectId, Node> entry : objects.entrySet()) {
+            Node node = entry.getValue();
+            if (node == REACHED) {
+                continue;
+            }
+            ids.add(entry.getKey());
+            if (!all) {
+                for (int i = 0; i < node.linkTypes.length; i++) {
+                    referenced.add(ObjectId.fromRaw(node.links, i * ObjectId.RAW_LENGTH));
+                }
+            }
+        }
+        Collections.sort(ids);
+        String label = all ? "unreachable " : "dangling ";
+        for (ObjectId id : ids) {
+            if (all || !referenced.contains(id)) {
+                out.println(label + TYPE_NAMES[objects.get(id).type] + " " + id.name());
+            }
+        }
+    }
+
+    private static int typeCode(String type) {
+        switch (type) {
+            case "commit": return OBJ_COMMIT;
+            case "tree": return OBJ_TREE;
+            case "blob": return OBJ_BLOB;
+            case "tag": return OBJ_TAG;
+            default: return -1;
+        }
+    }
+
+    private static String describe(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getMessage() == null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    /**
+     * 검사를 통과한 객체 하나 (타입과 가리키는 객체)
+     */
+    private static final class Node {
+        final int type;
+        /** 가리키는 객체 ID를 20바이트씩 이어 붙인 배열 (객체마다 ObjectId를 만들지 않음) */
+        final byte[] links;
+        /** 각 링크가 가리켜야 하는 객체 타입 */
+        final byte[] linkTypes;
+
+        Node(int type, byte[] links, byte[] linkTypes) {
+            this.type = type;
+            this.links = links;
+            this.linkTypes = linkTypes;
+        }
+
+        Node(int type, List<ObjectId> ids, List<Integer> types) {
+            this(type, new byte[ids.size() * ObjectId.RAW_LENGTH], new byte[ids.size()]);
+            for (int i = 0; i < ids.size(); i++) {
+                ids.get(i).copyRawTo(links, i * ObjectId.RAW_LENGTH);
+                linkTypes[i] = (byte) (int) types.get(i);
+            }
+        }
+    }
+}
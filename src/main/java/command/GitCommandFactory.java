@@ -2,23 +2,40 @@ package command;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Git 명령어 팩토리 클래스
  * 명령어 문자열과 구현체를 매핑하여 관리합니다.
+ *
+ * 구현체 대신 생성 함수를 등록해 두고 실행할 명령어만 만들므로, cat-file 한 번을 실행할 때
+ * clone이나 index-pack이 쓰는 클래스까지 읽어 들이지 않습니다. 생성 함수는 메서드 참조
+ * (InitCommand::new)가 아닌 람다로 등록합니다. 메서드 참조는 등록하는 순간 대상 클래스를 읽어 들입니다.
  */
 public class GitCommandFactory {
     
-    private static final Map<String, GitCommand> COMMANDS = new HashMap<>();
+    private static final Map<String, Supplier<GitCommand>> COMMANDS = new HashMap<>();
     
     static {
-        COMMANDS.put("init", new InitCommand());
-        COMMANDS.put("cat-file", new CatFileCommand());
-        COMMANDS.put("hash-object", new HashObjectCommand());
-        COMMANDS.put("ls-tree", new LsTreeCommand());
-        COMMANDS.put("write-tree", new WriteTreeCommand());
-        COMMANDS.put("commit-tree", new CommitTreeCommand());
-        COMMANDS.put("clone", new CloneCommand());
+        COMMANDS.put("init", () -> new InitCommand());
+        COMMANDS.put("cat-file", () -> new CatFileCommand());
+        COMMANDS.put("hash-object", () -> new HashObjectCommand());
+        COMMANDS.put("ls-tree", () -> new LsTreeCommand());
+        COMMANDS.put("write-tree", () -> new WriteTreeCommand());
+        COMMANDS.put("commit-tree", () -> new CommitTreeCommand());
+        COMMANDS.put("clone", () -> new CloneCommand());
+        COMMANDS.put("index-pack", () -> new IndexPackCommand());
+        COMMANDS.put("daemon", () -> new DaemonCommand());
+        COMMANDS.put("fast-import", () -> new FastImportCommand());
+        COMMANDS.put("commit-graph", () -> new CommitGraphCommand());
+        COMMANDS.put("rev-list", () -> new RevListCommand());
+        COMMANDS.put("log", () -> new LogCommand());
+        COMMANDS.put("merge-base", () -> new MergeBaseCommand());
+        COMMANDS.put("diff-tree", () -> new DiffTreeCommand());
+        COMMANDS.put("status", () -> new StatusCommand());
+        COMMANDS.put("read-tree", () -> new ReadTreeCommand());
+        COMMANDS.put("checkout", () -> new CheckoutCommand());
+        COMMANDS.put("fsck", () -> new FsckCommand());
     }
     
     /**
@@ -28,7 +45,8 @@ public class GitCommandFactory {
      * @return GitCommand 구현체, 존재하지 않으면 null
      */
     public static GitCommand getCommand(String commandName) {
-        return COMMANDS.get(commandName);
+        Supplier<GitCommand> supplier = COMMANDS.get(commandName);
+        return supplier != null ? supplier.get() : null;
     }
     
     /**
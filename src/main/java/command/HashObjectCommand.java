@@ -1,13 +1,10 @@
 package command;
 
-import util.FileUtil;
 import util.GitObjectUtil;
-import util.HashUtil;
+import util.GitRepository;
+import util.ObjectId;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 
 /**
  * git hash-object 명령어 구현
@@ -30,25 +27,15 @@ public class HashObjectCommand implements GitCommand {
      * @param args 명령어 인수
      */
     private void hashObject(String[] args) {
-        try {
-            String fileName = args[2];
-            File file = new File(fileName);
-            if (!file.exists() || !file.isFile()) {
-                System.out.println("파일이 존재하지 않거나 유효하지 않습니다: " + fileName);
-                return;
-            }
-
-            byte[] content = Files.readAllBytes(file.toPath());
-            String header = "blob " + content.length + "\0";
-            byte[] fullContent = FileUtil.concatenate(header.getBytes(StandardCharsets.UTF_8), content);
-
-            String sha1 = HashUtil.computeSHA1(fullContent);
-            GitObjectUtil.writeGitObject(sha1, fullContent);
-            
-            System.out.println(sha1);
-
-        } catch (IOException e) {
-            throw new RuntimeException("파일 읽기 실패: " + args[2], e);
+        String fileName = args[2];
+        File file = GitRepository.resolve(fileName).toFile();
+        if (!file.exists() || !file.isFile()) {
+            System.out.println("파일이 존재하지 않거나 유효하지 않습니다: " + fileName);
+            return;
         }
+
+        // 파일 전체를 메모리에 올리지 않고 스트리밍으로 해시 계산과 압축을 수행
+        ObjectId id = GitObjectUtil.writeBlobObject(file);
+        System.out.println(id.name());
     }
 } 
\ No newline at end of file
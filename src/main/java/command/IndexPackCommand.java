@@ -0,0 +1,53 @@
+package command;
+
+import util.GitConfig;
+import util.GitObjectUtil;
+import util.GitRepository;
+import util.PackIndexer;
+
+/**
+ * git index-pack 명령어 구현
+ *
+ * 사용법:
+ * - index-pack [--threads=N] &lt;팩 파일&gt; : 팩 파일 옆에 .idx 파일을 만듭니다.
+ * - index-pack [--threads=N] --stdin    : 표준 입력의 팩을 .git/objects/pack에 저장하고 인덱싱합니다.
+ *
+ * 스레드 수를 지정하지 않으면 pack.threads 설정, 없으면 사용 가능한 프로세서 수를 사용합니다.
+ */
+public class IndexPackCommand implements GitCommand {
+
+    @Override
+    public void execute(String[] args) {
+        boolean fromStdin = false;
+        String packFile = null;
+        int threads = GitConfig.getInt("pack.threads", 0);
+
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--stdin")) {
+                fromStdin = true;
+            } else if (args[i].startsWith("--threads=")) {
+                threads = Integer.parseInt(args[i].substring("--threads=".length()));
+            } else {
+                packFile = args[i];
+            }
+        }
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+
+        if (!fromStdin && packFile == null) {
+            System.out.println("index-pack 명령어에는 팩 파일 경로 또는 --stdin 옵션이 필요합니다.");
+            return;
+        }
+
+        PackIndexer indexer = new PackIndexer(threads);
+        String checksum;
+        if (fromStdin) {
+            checksum = indexer.indexPackStream(System.in, GitRepository.getPackDir());
+            GitObjectUtil.reloadPacks();
+        } else {
+            checksum = indexer.indexPackFile(GitRepository.resolve(packFile));
+        }
+        System.out.println(checksum);
+    }
+}
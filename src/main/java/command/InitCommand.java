@@ -1,5 +1,7 @@
 package command;
 
+import util.GitRepository;
+
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -18,7 +20,7 @@ public class InitCommand implements GitCommand {
      * Git 저장소를 초기화합니다.
      */
     private void initGitRepository() {
-        final File root = new File(".git");
+        final File root = GitRepository.getGitDir().toFile();
         new File(root, "objects").mkdirs();
         new File(root, "refs").mkdirs();
         final File head = new File(root, "HEAD");
@@ -0,0 +1,158 @@
+package command;
+
+import util.GitObjectUtil;
+import util.ObjectId;
+import util.RevWalk;
+
+import java.io.BufferedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * git log 명령어 구현
+ *
+ * 사용법: log [--oneline] [-n N | -N | --max-count=N] [--all] [&lt;리비전&gt;...] (없으면 HEAD)
+ *
+ * 순서와 범위는 {@link RevWalk}(커밋 그래프 사용)로 정하고, 출력할 커밋만 객체를 읽어 작성자와 메시지를 꺼냅니다.
+ */
+public class LogCommand implements GitCommand {
+
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("EEE MMM d HH:mm:ss yyyy Z", Locale.ENGLISH);
+
+    @Override
+    public void execute(String[] args) {
+        boolean oneline = false;
+        boolean all = false;
+        long maxCount = Long.MAX_VALUE;
+        List<String> revisions = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--oneline")) {
+                oneline = true;
+            } else if (arg.equals("--all")) {
+                all = true;
+            } else if (arg.equals("-n") && i + 1 < args.length) {
+                maxCount = Long.parseLong(args[++i]);
+            } else if (arg.startsWith("--max-count=")) {
+                maxCount = Long.parseLong(arg.substring("--max-count=".length()));
+            } else if (arg.length() > 1 && arg.charAt(0) == '-' && Character.isDigit(arg.charAt(1))) {
+                maxCount = Long.parseLong(arg.substring(1));
+            } else if (arg.startsWith("-")) {
+                System.out.println("지원하지 않는 log 옵션입니다: " + arg);
+                return;
+            } else {
+                revisions.add(arg);
+            }
+        }
+
+        RevWalk walk = new RevWalk();
+        List<Integer> include = new ArrayList<>();
+        List<Integer> exclude = new ArrayList<>();
+        for (String revision : revisions) {
+            walk.addRevisionArgument(revision, include, exclude);
+        }
+        if (all) {
+            walk.addAllRefs(include);
+        }
+        if (include.isEmpty()) {
+            include.add(walk.parseRevision("HEAD"));
+        }
+
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 64 * 1024), false, StandardCharsets.UTF_8);
+        boolean onelineFormat = oneline;
+        long limit = maxCount;
+        long[] printed = {0};
+        walk.walk(include, exclude, commit -> {
+            if (printed[0] >= limit) {
+                return false;
+            }
+            ObjectId id = walk.getId(commit);
+            String content = new String(GitObjectUtil.readObject(id).getContent(), StandardCharsets.UTF_8);
+            if (onelineFormat) {
+                printOneline(out, id, content);
+            } else {
+                printMedium(out, id, content, printed[0] == 0);
+            }
+            printed[0]++;
+            return true;
+        });
+        out.flush();
+    }
+
+    private void printOneline(PrintStream out, ObjectId id, String content) {
+        int body = content.indexOf("\n\n");
+        String subject = "";
+        if (body >= 0) {
+            int end = content.indexOf('\n', body + 2);
+            subject = content.substring(body + 2, end < 0 ? content.length() : end);
+        }
+        out.println(id.name().substring(0, 7) + " " + subject);
+    }
+
+    /**
+     * Git의 기본(medium) 형식으로 커밋 하나를 출력합니다.
+     */
+    private void printMedium(PrintStream out, ObjectId id, String content, boolean first) {
+        if (!first) {
+            out.println();
+        }
+        out.println("commit " + id.name());
+
+        int body = content.indexOf("\n\n");
+        String header = body < 0 ? content : content.substring(0, body);
+        List<String> parents = new ArrayList<>(2);
+        String author = null;
+        for (String line : header.split("\n")) {
+            if (line.startsWith("parent ")) {
+                parents.add(line.substring(7, 14));
+            } else if (line.startsWith("author ")) {
+                author = line.substring(7);
+            }
+        }
+        if (parents.size() > 1) {
+            out.println("Merge: " + String.join(" ", parents));
+        }
+        if (author != null) {
+            int email = author.lastIndexOf('>');
+            out.println("Author: " + author.substring(0, email + 1));
+            out.println("Date:   " + formatDate(author.substring(email + 1).trim()));
+        }
+        out.println();
+
+        if (body >= 0) {
+            String message = content.substring(body + 2);
+            if (message.endsWith("\n")) {
+                message = message.substring(0, message.length() - 1);
+            }
+            for (String line : message.split("\n", -1)) {
+                out.println("    " + line);
+            }
+        }
+    }
+
+    /**
+     * "유닉스 시각 +hhmm"을 작성자 시간대 기준의 날짜 문자열로 바꿉니다.
+     */
+    private String formatDate(String raw) {
+        String[] parts = raw.split(" ");
+        try {
+            long seconds = Long.parseLong(parts[0]);
+            int hhmm = parts.length > 1 ? Integer.parseInt(parts[1].substring(1)) : 0;
+            int minutes = (hhmm / 100) * 60 + hhmm % 100;
+            if (parts.length > 1 && parts[1].charAt(0) == '-') {
+                minutes = -minutes;
+            }
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(minutes * 60);
+            return Instant.ofEpochSecond(seconds).atOffset(offset).format(DATE_FORMAT);
+        } catch (RuntimeException e) {
+            return raw;
+        }
+    }
+}
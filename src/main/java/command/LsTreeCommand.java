@@ -1,118 +1,258 @@
 package command;
 
+import util.GitObject;
 import util.GitObjectUtil;
+import util.ObjectId;
+import util.ObjectInfo;
+import util.TreeIterator;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
+import java.util.Arrays;
 
 /**
  * git ls-tree 명령어 구현
+ *
+ * 사용법: ls-tree [-r] [-t] [-l | --long] [--name-only] &lt;tree-ish&gt;
+ * - 기본 출력: "&lt;모드&gt; SP &lt;타입&gt; SP &lt;sha&gt; TAB &lt;경로&gt;"
+ * - -r          : 하위 트리를 재귀적으로 나열 (트리 엔트리 자체는 출력하지 않음)
+ * - -t          : -r과 함께 쓰면 하위 트리 엔트리도 출력
+ * - -l, --long  : blob 크기를 함께 출력 (트리, 서브모듈은 "-")
+ * - --name-only : 경로만 출력
+ *
+ * 엔트리는 {@link TreeIterator}로 트리 본문 안에서 바로 읽어 출력 버퍼에 쓰므로,
+ * 큰 트리를 재귀적으로 나열해도 중간 목록이나 엔트리별 문자열을 만들지 않습니다.
  */
 public class LsTreeCommand implements GitCommand {
-    
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
     @Override
     public void execute(String[] args) {
-        if (args.length < 3) {
+        boolean recursive = false;
+        boolean showTrees = false;
+        boolean nameOnly = false;
+        boolean longFormat = false;
+        String treeish = null;
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "-r":
+                    recursive = true;
+                    break;
+                case "-t":
+                    showTrees = true;
+                    break;
+                case "-l":
+                case "--long":
+                    longFormat = true;
+                    break;
+                case "--name-only":
+                case "--name-status":
+                    nameOnly = true;
+                    break;
+                default:
+                    if (args[i].startsWith("-")) {
+                        System.out.println("지원하지 않는 ls-tree 옵션입니다: " + args[i]);
+                        return;
+                    }
+                    treeish = args[i];
+            }
+        }
+        if (treeish == null) {
             System.out.println("ls-tree 명령어에는 객체 해시가 필요합니다.");
             return;
         }
-        
-        lsTree(args);
-    }
-    
-    /**
-     * 트리 객체의 내용을 나열합니다.
-     * 
-     * @param args 명령어 인수
-     */
-    private void lsTree(String[] args) {
-        String hash = args[2];
-        
+
+        // 커밋이나 태그를 주면 가리키는 트리를 나열
+        ObjectId treeId = GitObjectUtil.peelToTree(ObjectId.fromHex(treeish));
+        OutputStream out = new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE);
         try {
-            byte[] data = GitObjectUtil.readGitObjectFile(hash);
-            byte[] decompressed = decompressData(data);
-            
-            // 헤더 스킵 (예: "tree 123\0")
-            int headerEnd = findHeaderEnd(decompressed);
-            
-            List<String> files = parseTreeEntries(decompressed, headerEnd);
-            
-            for (String file : files) {
-                System.out.println(file);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("트리 객체 처리 실패", e);
+            new TreeLister(out, recursive, showTrees, nameOnly, longFormat).list(treeId);
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("트리 객체 출력 실패: " + treeish, e);
         }
     }
-    
+
     /**
-     * 데이터를 압축 해제합니다.
+     * 트리 엔트리를 Git의 ls-tree 형식으로 출력하는 클래스 (cat-file -p도 트리 출력에 사용)
+     *
+     * 현재 경로는 바이트 버퍼 하나에 이어 붙였다가 하위 트리에서 돌아올 때 길이만 되돌립니다.
      */
-    private byte[] decompressData(byte[] compressed) throws DataFormatException {
-        Inflater inflater = new Inflater();
-        inflater.setInput(compressed);
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        byte[] buffer = new byte[8192];
-        while (!inflater.finished()) {
-            int count = inflater.inflate(buffer);
-            outputStream.write(buffer, 0, count);
+    static class TreeLister {
+        private static final byte[] SLASH = {'/'};
+
+        private final OutputStream out;
+        private final boolean recursive;
+        private final boolean showTrees;
+        private final boolean nameOnly;
+        private final boolean longFormat;
+
+        private byte[] path = new byte[256];
+        private int pathLength;
+        /** "모드 타입 sha" 부분을 만드는 작업 버퍼 (모드 6 + 타입 최대 6 + 공백 2 + sha 40) */
+        private final byte[] header = new byte[64];
+
+        /**
+         * @param out 출력 스트림
+         * @param recursive 하위 트리를 재귀적으로 나열할지 여부 (-r)
+         * @param showTrees 재귀 시 트리 엔트리도 출력할지 여부 (-t)
+         * @param nameOnly 경로만 출력할지 여부 (--name-only)
+         * @param longFormat blob 크기를 출력할지 여부 (-l)
+         */
+        TreeLister(OutputStream out, boolean recursive, boolean showTrees, boolean nameOnly, boolean longFormat) {
+            this.out = out;
+            this.recursive = recursive;
+            this.showTrees = showTrees;
+            this.nameOnly = nameOnly;
+            this.longFormat = longFormat;
         }
-        inflater.end();
-        
-        return outputStream.toByteArray();
-    }
-    
-    /**
-     * 헤더의 끝 위치를 찾습니다.
-     */
-    private int findHeaderEnd(byte[] decompressed) {
-        for (int i = 0; i < decompressed.length; i++) {
-            if (decompressed[i] == 0) {
-                return i + 1;
+
+        /**
+         * 트리 객체를 읽어 엔트리를 출력합니다.
+         */
+        void list(ObjectId treeId) throws IOException {
+            listContent(readTree(treeId));
+        }
+
+        /**
+         * 이미 읽은 트리 본문의 엔트리를 출력합니다.
+         */
+        void listContent(byte[] treeContent) throws IOException {
+            TreeIterator entries = new TreeIterator(treeContent);
+            while (entries.next()) {
+                int parentLength = pathLength;
+                appendPath(entries.getBuffer(), entries.getNameOffset(), entries.getNameLength());
+
+                if (recursive && entries.isTree()) {
+                    if (showTrees) {
+                        writeEntry(entries);
+                    }
+                    appendPath(SLASH, 0, 1);
+                    listContent(readTree(entries.getObjectId()));
+                } else {
+                    writeEntry(entries);
+                }
+                pathLength = parentLength;
             }
         }
-        return 0;
-    }
-    
-    /**
-     * 트리 엔트리들을 파싱합니다.
-     */
-    private List<String> parseTreeEntries(byte[] decompressed, int offset) {
-        List<String> files = new ArrayList<>();
-        
-        while (offset < decompressed.length) {
-            // 모드와 이름 읽기 (null 바이트까지)
-            int nullIndex = findNextNull(decompressed, offset);
-            if (nullIndex == -1) break;
-            
-            String modeAndName = new String(decompressed, offset, nullIndex - offset, StandardCharsets.UTF_8);
-            int spaceIndex = modeAndName.indexOf(' ');
-            if (spaceIndex != -1) {
-                String name = modeAndName.substring(spaceIndex + 1);
-                files.add(name);
+
+        private byte[] readTree(ObjectId treeId) {
+            GitObject tree = GitObjectUtil.readObject(treeId);
+            if (!tree.getType().equals("tree")) {
+                throw new IllegalStateException("트리 객체가 아닙니다: " + treeId);
+            }
+            return tree.getContent();
+        }
+
+        private void appendPath(byte[] source, int offset, int length) {
+            if (pathLength + length > path.length) {
+                path = Arrays.copyOf(path, Math.max(path.length * 2, pathLength + length));
+            }
+            System.arraycopy(source, offset, path, pathLength, length);
+            pathLength += length;
+        }
+
+        private void writeEntry(TreeIterator entry) throws IOException {
+            if (!nameOnly) {
+                int length = writeHeader(entry);
+                out.write(header, 0, length);
+                if (longFormat) {
+                    writeSize(entry);
+                }
+                out.write('\t');
+            }
+            writeQuotedPath(out, path, pathLength);
+            out.write('\n');
+        }
+
+        /**
+         * "&lt;모드(6자리 8진수)&gt; &lt;타입&gt; &lt;sha&gt;"를 작업 버퍼에 기록하고 길이를 반환합니다.
+         */
+        private int writeHeader(TreeIterator entry) {
+            int mode = entry.getMode();
+            for (int i = 5; i >= 0; i--) {
+                header[i] = (byte) ('0' + (mode & 7));
+                mode >>>= 3;
+            }
+            int position = 6;
+            header[position++] = ' ';
+            String type = entry.getType();
+            for (int i = 0; i < type.length(); i++) {
+                header[position++] = (byte) type.charAt(i);
             }
-            
-            // 20바이트 SHA-1 해시 스킵
-            offset = nullIndex + 1 + 20;
+            header[position++] = ' ';
+            ObjectId.formatHex(entry.getBuffer(), entry.getIdOffset(), header, position);
+            return position + ObjectId.HEX_LENGTH;
+        }
+
+        /**
+         * blob 크기를 7칸 오른쪽 정렬로 출력합니다. (blob이 아니면 "-")
+         */
+        private void writeSize(TreeIterator entry) throws IOException {
+            String size = "-";
+            if (entry.getType().equals("blob")) {
+                ObjectInfo info = GitObjectUtil.readObjectInfo(entry.getObjectId());
+                if (info == null) {
+                    throw new IllegalStateException("객체를 찾을 수 없습니다: " + entry.getObjectId());
+                }
+                size = String.valueOf(info.getSize());
+            }
+            out.write(' ');
+            for (int i = size.length(); i < 7; i++) {
+                out.write(' ');
+            }
+            out.write(size.getBytes(StandardCharsets.US_ASCII));
         }
-        
-        return files;
     }
-    
+
     /**
-     * 다음 null 바이트의 위치를 찾습니다.
+     * 경로를 출력합니다. 제어 문자, 따옴표, 역슬래시, ASCII가 아닌 바이트가 있으면
+     * Git(core.quotePath 기본값)과 같이 큰따옴표로 감싸고 C 스타일로 이스케이프합니다. (diff-tree도 사용)
      */
-    private int findNextNull(byte[] data, int startIndex) {
-        for (int i = startIndex; i < data.length; i++) {
-            if (data[i] == 0) {
-                return i;
+    static void writeQuotedPath(OutputStream out, byte[] path, int pathLength) throws IOException {
+        boolean needsQuote = false;
+        for (int i = 0; i < pathLength && !needsQuote; i++) {
+            int c = path[i] & 0xFF;
+            needsQuote = c < 0x20 || c == '"' || c == '\\' || c >= 0x7F;
+        }
+        if (!needsQuote) {
+            out.write(path, 0, pathLength);
+            return;
+        }
+
+        out.write('"');
+        for (int i = 0; i < pathLength; i++) {
+            int c = path[i] & 0xFF;
+            switch (c) {
+                case 0x07: writeEscape(out, 'a'); break;
+                case '\b': writeEscape(out, 'b'); break;
+                case '\t': writeEscape(out, 't'); break;
+                case '\n': writeEscape(out, 'n'); break;
+                case 0x0B: writeEscape(out, 'v'); break;
+                case '\f': writeEscape(out, 'f'); break;
+                case '\r': writeEscape(out, 'r'); break;
+                case '"': writeEscape(out, '"'); break;
+                case '\\': writeEscape(out, '\\'); break;
+                default:
+                    if (c < 0x20 || c >= 0x7F) {
+                        out.write('\\');
+                        out.write('0' + (c >> 6));
+                        out.write('0' + ((c >> 3) & 7));
+                        out.write('0' + (c & 7));
+                    } else {
+                        out.write(c);
+                    }
             }
         }
-        return -1;
+        out.write('"');
+    }
+
+    private static void writeEscape(OutputStream out, char c) throws IOException {
+        out.write('\\');
+        out.write(c);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package command;
+
+import util.RevWalk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * git merge-base 명령어 구현
+ *
+ * 사용법: merge-base [--all] &lt;커밋&gt; &lt;커밋&gt;
+ *
+ * 두 커밋의 최선 공통 조상을 출력합니다. 커밋 그래프의 세대 번호로 탐색 순서를 정하므로
+ * 공통 조상보다 오래된 히스토리는 거의 보지 않습니다. ({@link RevWalk#mergeBases})
+ */
+public class MergeBaseCommand implements GitCommand {
+
+    @Override
+    public void execute(String[] args) {
+        boolean all = false;
+        List<String> revisions = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--all") || args[i].equals("-a")) {
+                all = true;
+            } else if (args[i].startsWith("-")) {
+                System.out.println("지원하지 않는 merge-base 옵션입니다: " + args[i]);
+                return;
+            } else {
+                revisions.add(args[i]);
+            }
+        }
+        if (revisions.size() != 2) {
+            System.out.println("merge-base 명령어에는 커밋 두 개가 필요합니다.");
+            return;
+        }
+
+        RevWalk walk = new RevWalk();
+        int one = walk.parseRevision(revisions.get(0));
+        int two = walk.parseRevision(revisions.get(1));
+        for (int base : walk.mergeBases(one, two, all)) {
+            System.out.println(walk.getId(base).name());
+        }
+    }
+}
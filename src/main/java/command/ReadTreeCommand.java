@@ -0,0 +1,94 @@
+package command;
+
+import util.CheckoutUtil;
+import util.GitIndex;
+import util.GitObjectUtil;
+import util.ObjectId;
+import util.RefUtil;
+import util.RevWalk;
+
+/**
+ * git read-tree 명령어 구현
+ *
+ * 사용법: read-tree [-u] [--reset | -f] [-j N | --jobs=N] &lt;tree-ish&gt;
+ * - 기본: 트리의 내용으로 .git/index만 바꿈 (작업 트리는 그대로)
+ * - -u          : 작업 트리도 트리의 내용으로 바꿈 (바뀐 파일만 씀)
+ * - --reset, -f : -u일 때 로컬 변경이나 추적하지 않는 파일이 있어도 덮어씀
+ * - -j N        : 병렬 처리 수준 (기본값: CPU 코어 수)
+ *
+ * 인덱스만 바꿀 때는 트리 객체만 읽고 blob은 읽지 않습니다. 이전 인덱스와 경로, SHA, 모드가 같은 엔트리는
+ * stat 정보를 그대로 가져오므로 다음 status가 그 파일을 다시 해시하지 않습니다.
+ */
+public class ReadTreeCommand implements GitCommand {
+
+    @Override
+    public void execute(String[] args) {
+        boolean update = false;
+        boolean force = false;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        String treeish = null;
+        for (int i = 1; i < args.length; i++) {
+            String value = null;
+            switch (args[i]) {
+                case "-u":
+                    update = true;
+                    break;
+                case "--reset":
+                case "-f":
+                    force = true;
+                    break;
+                case "-j":
+                case "--jobs":
+                    if (i + 1 < args.length) {
+                        value = args[++i];
+                    }
+                    break;
+                default:
+                    if (args[i].startsWith("--jobs=")) {
+                        value = args[i].substring("--jobs=".length());
+                    } else if (args[i].startsWith("-")) {
+                        System.out.println("지원하지 않는 read-tree 옵션입니다: " + args[i]);
+                        return;
+                    } else if (treeish == null) {
+                        treeish = args[i];
+                    } else {
+                        System.out.println("read-tree 명령어에는 트리를 하나만 줄 수 있습니다.");
+                        return;
+                    }
+            }
+            if (value != null) {
+                try {
+                    parallelism = Math.max(1, Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("잘못된 병렬 처리 수준: " + value, e);
+                }
+            }
+        }
+        if (treeish == null) {
+            System.out.println("read-tree 명령어에는 트리나 커밋이 필요합니다.");
+            return;
+        }
+
+        ObjectId treeId = GitObjectUtil.peelToTree(resolve(treeish));
+        GitIndex oldIndex = GitIndex.read();
+        GitIndex index = update
+            ? CheckoutUtil.checkoutTree(treeId, oldIndex, force, parallelism)
+            : CheckoutUtil.readTree(treeId, oldIndex);
+        index.write();
+    }
+
+    /**
+     * 리비전 표현식을 객체 ID로 해석합니다. ~N, ^N이 붙으면 커밋으로 따라갑니다.
+     */
+    private ObjectId resolve(String spec) {
+        if (spec.indexOf('~') >= 0 || spec.indexOf('^') >= 0) {
+            RevWalk walk = new RevWalk();
+            return walk.getId(walk.parseRevision(spec));
+        }
+        ObjectId id = RefUtil.resolveRevision(spec);
+        if (id == null) {
+            throw new IllegalArgumentException("알 수 없는 리비전입니다: " + spec);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,73 @@
+package command;
+
+import util.RevWalk;
+
+import java.io.BufferedOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * git rev-list 명령어 구현
+ *
+ * 사용법: rev-list [--count] [-n N | --max-count=N] [--all] &lt;리비전&gt;... (A, ^A, A..B)
+ *
+ * 커밋 그래프가 있으면 커밋 객체를 읽지 않고 그래프만으로 탐색합니다. ({@link RevWalk})
+ * --count는 순서가 필요 없으므로 우선순위 큐 없이 깊이 우선으로 셉니다.
+ */
+public class RevListCommand implements GitCommand {
+
+    @Override
+    public void execute(String[] args) {
+        boolean count = false;
+        boolean all = false;
+        long maxCount = Long.MAX_VALUE;
+        List<String> revisions = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--count")) {
+                count = true;
+            } else if (arg.equals("--all")) {
+                all = true;
+            } else if (arg.equals("-n") && i + 1 < args.length) {
+                maxCount = Long.parseLong(args[++i]);
+            } else if (arg.startsWith("--max-count=")) {
+                maxCount = Long.parseLong(arg.substring("--max-count=".length()));
+            } else if (arg.startsWith("-") && !arg.equals("-")) {
+                System.out.println("지원하지 않는 rev-list 옵션입니다: " + arg);
+                return;
+            } else {
+                revisions.add(arg);
+            }
+        }
+
+        RevWalk walk = new RevWalk();
+        List<Integer> include = new ArrayList<>();
+        List<Integer> exclude = new ArrayList<>();
+        for (String revision : revisions) {
+            walk.addRevisionArgument(revision, include, exclude);
+        }
+        if (all) {
+            walk.addAllRefs(include);
+        }
+        if (include.isEmpty()) {
+            System.out.println("rev-list 명령어에는 리비전이 필요합니다.");
+            return;
+        }
+
+        if (count) {
+            System.out.println(Math.min(walk.count(include, exclude), maxCount));
+            return;
+        }
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 64 * 1024), false);
+        long[] remaining = {maxCount};
+        walk.walk(include, exclude, commit -> {
+            if (remaining[0]-- <= 0) {
+                return false;
+            }
+            out.println(walk.getId(commit).name());
+            return true;
+        });
+        out.flush();
+    }
+}
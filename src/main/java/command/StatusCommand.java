@@ -0,0 +1,367 @@
+package command;
+
+import util.FileUtil;
+import util.GitIndex;
+import util.GitObject;
+import util.GitObjectUtil;
+import util.GitRepository;
+import util.IgnoreRules;
+import util.ObjectId;
+import util.ObjectWriter;
+import util.RefUtil;
+import util.TreeIterator;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.LinkOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * git status 명령어 구현 (짧은 형식)
+ *
+ * 사용법: status [-s | --short | --porcelain] [-j N | --jobs=N]
+ *
+ * 작업 트리를 HEAD의 트리와 비교해 Git의 짧은 형식으로 출력합니다. 이 구현에는 스테이징 단계가 없으므로
+ * (write-tree가 작업 트리 전체로 트리를 만듦) 모든 변경은 작업 트리 열에 표시됩니다.
+ * - " M": 내용이나 실행 권한이 바뀜, " T": 파일/심볼릭 링크 종류가 바뀜, " D": 삭제됨
+ * - "??": HEAD에 없는 파일 (파일이 하나라도 있는 새 디렉토리는 "디렉토리/" 한 줄로 표시, 맨 뒤에 출력)
+ *   인덱스에도 없는 파일 중 무시 규칙({@link IgnoreRules})에 걸리는 것은 표시하지 않고, 무시된 디렉토리는 들어가 보지 않습니다.
+ *
+ * 디렉토리마다 ForkJoin 작업으로 나눠 병렬로 stat하고, 같은 디렉토리의 HEAD 트리 엔트리와 정렬 병합으로 비교합니다.
+ * .git/index의 stat 정보가 일치하는 파일은 기록된 SHA를 쓰고, stat이 바뀐 파일만 내용을 읽어 해시합니다.
+ * 해시해 보니 내용이 그대로인 파일(touch 등)은 새 stat 정보로 인덱스를 갱신해 다음 실행에서는 읽지 않습니다.
+ */
+public class StatusCommand implements GitCommand {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] EMPTY_TREE = new byte[0];
+
+    @Override
+    public void execute(String[] args) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            String value = null;
+            switch (args[i]) {
+                case "-s":
+                case "--short":
+                case "--porcelain":
+                    break;
+                case "-j":
+                case "--jobs":
+                    if (i + 1 < args.length) {
+                        value = args[++i];
+                    }
+                    break;
+                default:
+                    if (args[i].startsWith("--jobs=")) {
+                        value = args[i].substring("--jobs=".length());
+                    } else {
+                        System.out.println("지원하지 않는 status 옵션입니다: " + args[i]);
+                        return;
+                    }
+            }
+            if (value != null) {
+                try {
+                    parallelism = Math.max(1, Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("잘못된 병렬 처리 수준: " + value, e);
+                }
+            }
+        }
+
+        GitIndex index = GitIndex.read();
+        ObjectId head = RefUtil.readRef("HEAD");
+        byte[] headTree = head == null ? EMPTY_TREE : readTree(GitObjectUtil.peelToTree(head));
+
+        File workTree = GitRepository.getWorkTree().toAbsolutePath().toFile();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        DirectoryStatus status;
+        try {
+            status = pool.invoke(new StatusTask(index, workTree, "", IgnoreRules.load().root(), headTree));
+        } finally {
+            pool.shutdown();
+        }
+
+        OutputStream out = new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE);
+        try {
+            for (String change : status.changes) {
+                writeLine(out, change);
+            }
+            for (String path : status.untracked) {
+                writeLine(out, "??" + path);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("상태 출력 실패", e);
+        }
+
+        saveRefreshedEntries(index, status.refreshed);
+    }
+
+    /**
+     * "XY경로" 형식의 문자열을 "XY 경로"로 출력합니다. (경로는 ls-tree와 같은 규칙으로 인용)
+     */
+    private static void writeLine(OutputStream out, String change) throws IOException {
+        out.write(change.charAt(0));
+        out.write(change.charAt(1));
+        out.write(' ');
+        byte[] path = change.substring(2).getBytes(StandardCharsets.UTF_8);
+        LsTreeCommand.writeQuotedPath(out, path, path.length);
+        out.write('\n');
+    }
+
+    /**
+     * 내용은 그대로인데 stat 정보만 바뀐 엔트리를 인덱스에 반영합니다.
+     * 다른 프로세스가 인덱스를 잠그고 있으면 갱신은 다음 기회로 미룹니다. (출력 결과에는 영향 없음)
+     */
+    private static void saveRefreshedEntries(GitIndex index, List<GitIndex.Entry> refreshed) {
+        if (refreshed.isEmpty()) {
+            return;
+        }
+        for (GitIndex.Entry entry : refreshed) {
+            index.putEntry(entry);
+        }
+        try {
+            index.write();
+        } catch (IllegalStateException e) {
+            // 인덱스 잠금 실패
+        }
+    }
+
+    private static byte[] readTree(ObjectId treeId) {
+        GitObject tree = GitObjectUtil.readObject(treeId);
+        if (!tree.getType().equals("tree")) {
+            throw new IllegalStateException("트리 객체가 아닙니다: " + treeId);
+        }
+        return tree.getContent();
+    }
+
+    /**
+     * 디렉토리 하나(와 그 아래)의 비교 결과. 각 목록은 경로 순으로 정렬되어 있습니다.
+     */
+    private static class DirectoryStatus {
+        /** "XY경로" (예: " Ma/b.txt") */
+        final List<String> changes = new ArrayList<>();
+        /** HEAD에 없는 경로 (디렉토리는 '/'로 끝남) */
+        final List<String> untracked = new ArrayList<>();
+        /** stat 정보를 새로 기록할 인덱스 엔트리 */
+        final List<GitIndex.Entry> refreshed = new ArrayList<>();
+
+        void addAll(DirectoryStatus other) {
+            changes.addAll(other.changes);
+            untracked.addAll(other.untracked);
+            refreshed.addAll(other.refreshed);
+        }
+    }
+
+    /**
+     * 작업 트리의 디렉토리 하나를 같은 경로의 HEAD 트리와 비교하고, 양쪽에 있는 하위 디렉토리는 분기(fork)하는 작업
+     */
+    private static class StatusTask extends RecursiveTask<DirectoryStatus> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final GitIndex index;
+        private final File dir;
+        private final String prefix;
+        private final IgnoreRules.Scope ignore;
+        private final byte[] treeContent;
+
+        /**
+         * @param index 현재 인덱스 (stat 캐시)
+         * @param dir 작업 트리 디렉토리
+         * @param prefix 저장소 루트 기준 디렉토리 경로 (루트는 빈 문자열, 그 외에는 '/'로 끝남)
+         * @param ignore 디렉토리의 무시 규칙 범위
+         * @param treeContent 같은 경로의 HEAD 트리 본문
+         */
+        StatusTask(GitIndex index, File dir, String prefix, IgnoreRules.Scope ignore, byte[] treeContent) {
+            this.index = index;
+            this.dir = dir;
+            this.prefix = prefix;
+            this.ignore = ignore;
+            this.treeContent = treeContent;
+        }
+
+        @Override
+        protected DirectoryStatus compute() {
+            WorkEntry[] workEntries = listWorkEntries(dir);
+
+            // 작업 트리 엔트리와 트리 엔트리를 같은 순서로 훑으며, 결과는 자리(순서)를 지켜 모음
+            List<Object> results = new ArrayList<>();
+            List<StatusTask> subtasks = new ArrayList<>();
+            TreeIterator treeEntries = new TreeIterator(treeContent);
+            boolean hasTree = treeEntries.next();
+            int w = 0;
+            while (w < workEntries.length || hasTree) {
+                WorkEntry work = w < workEntries.length ? workEntries[w] : null;
+                int cmp = work == null ? 1 : !hasTree ? -1 : TreeIterator.compareEntryNames(
+                    work.name, 0, work.name.length, work.stat.isDirectory(),
+                    treeEntries.getBuffer(), treeEntries.getNameOffset(), treeEntries.getNameLength(), treeEntries.isTree());
+
+                if (cmp < 0) {
+                    results.add(untracked(work));
+                    w++;
+                } else if (cmp > 0) {
+                    results.add(deleted(treeEntries));
+                    hasTree = treeEntries.next();
+                } else {
+                    String path = prefix + work.nameString;
+                    if (work.stat.isDirectory()) {
+                        // 서브모듈은 내부를 비교하지 않음
+                        if (treeEntries.getMode() != TreeIterator.GITLINK_MODE) {
+                            StatusTask task = new StatusTask(index, new File(dir, work.nameString), path + "/",
+                                ignore.enter(work.nameString), readTree(treeEntries.getObjectId()));
+                            subtasks.add(task);
+                            results.add(task);
+                        }
+                    } else {
+                        results.add(compareFile(work, path, treeEntries));
+                    }
+                    w++;
+                    hasTree = treeEntries.next();
+                }
+            }
+            ForkJoinTask.invokeAll(subtasks);
+
+            DirectoryStatus status = new DirectoryStatus();
+            for (Object result : results) {
+                status.addAll(result instanceof StatusTask ? ((StatusTask) result).join() : (DirectoryStatus) result);
+            }
+            return status;
+        }
+
+        /**
+         * 양쪽에 있는 파일을 비교합니다. stat 정보가 인덱스와 같으면 기록된 SHA를, 아니면 파일을 해시한 SHA를 씁니다.
+         */
+        private DirectoryStatus compareFile(WorkEntry work, String path, TreeIterator treeEntry) {
+            DirectoryStatus status = new DirectoryStatus();
+            File file = new File(dir, work.nameString);
+            int mode = work.stat.getTreeMode();
+
+            GitIndex.Entry entry = index.getEntry(path);
+            ObjectId id;
+            if (index.isUpToDate(entry, work.stat)) {
+                id = entry.getObjectId();
+            } else {
+                id = mode == TreeIterator.SYMLINK_MODE ? ObjectWriter.hashSymlink(file.toPath()) : ObjectWriter.hashBlob(file);
+                if (entry != null && entry.getObjectId().equals(id)) {
+                    status.refreshed.add(new GitIndex.Entry(path, work.stat, id, entry.getMode()));
+                }
+            }
+
+            int treeMode = treeEntry.getMode();
+            if (mode != TreeIterator.SYMLINK_MODE && treeMode != TreeIterator.SYMLINK_MODE
+                && treeMode != TreeIterator.GITLINK_MODE) {
+                if (mode != treeMode || !id.equals(treeEntry.getObjectId())) {
+                    status.changes.add(" M" + path);
+                }
+            } else if ((mode == TreeIterator.SYMLINK_MODE) != (treeMode == TreeIterator.SYMLINK_MODE)) {
+                status.changes.add(" T" + path);
+            } else if (!id.equals(treeEntry.getObjectId())) {
+                status.changes.add(" M" + path);
+            }
+            return status;
+        }
+
+        /**
+         * HEAD에만 있는 엔트리를 삭제로 표시합니다. 트리면 그 아래 파일을 모두 표시합니다.
+         */
+        private DirectoryStatus deleted(TreeIterator treeEntry) {
+            DirectoryStatus status = new DirectoryStatus();
+            addDeleted(status, prefix + treeEntry.getName(), treeEntry.isTree(), treeEntry.getObjectId());
+            return status;
+        }
+
+        private void addDeleted(DirectoryStatus status, String path, boolean isTree, ObjectId id) {
+            if (!isTree) {
+                status.changes.add(" D" + path);
+                return;
+            }
+            TreeIterator entries = new TreeIterator(readTree(id));
+            while (entries.next()) {
+                addDeleted(status, path + "/" + entries.getName(), entries.isTree(), entries.getObjectId());
+            }
+        }
+
+        /**
+         * HEAD에 없는 엔트리를 표시합니다. 디렉토리는 안에 무시되지 않는 파일이 하나라도 있을 때만 표시합니다.
+         * 인덱스에 있는 경로에는 무시 규칙을 적용하지 않습니다.
+         */
+        private DirectoryStatus untracked(WorkEntry work) {
+            DirectoryStatus status = new DirectoryStatus();
+            String path = prefix + work.nameString;
+            boolean isDirectory = work.stat.isDirectory();
+            if (ignore.isIgnored(work.nameString, isDirectory)
+                && !(isDirectory ? index.containsDirectory(path + "/") : index.getEntry(path) != null)) {
+                return status;
+            }
+            if (!isDirectory) {
+                status.untracked.add(path);
+            } else if (containsFile(new File(dir, work.nameString), ignore.enter(work.nameString))) {
+                status.untracked.add(path + "/");
+            }
+            return status;
+        }
+    }
+
+    /**
+     * 디렉토리 아래(하위 디렉토리 포함)에 무시되지 않는 파일이 하나라도 있는지 확인합니다.
+     */
+    private static boolean containsFile(File dir, IgnoreRules.Scope ignore) {
+        for (WorkEntry entry : listWorkEntries(dir)) {
+            boolean isDirectory = entry.stat.isDirectory();
+            if (ignore.isIgnored(entry.nameString, isDirectory)) {
+                continue;
+            }
+            if (!isDirectory || containsFile(new File(dir, entry.nameString), ignore.enter(entry.nameString))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * .git을 제외한 디렉토리 엔트리를 lstat하여 트리 정렬 순서로 반환합니다.
+     */
+    private static WorkEntry[] listWorkEntries(File dir) {
+        String[] names = dir.list((d, name) -> FileUtil.isNotGitDirectory(new File(d, name)));
+        if (names == null) {
+            throw new RuntimeException("디렉토리 읽기 실패: " + dir);
+        }
+        WorkEntry[] entries = new WorkEntry[names.length];
+        for (int i = 0; i < names.length; i++) {
+            try {
+                entries[i] = new WorkEntry(names[i],
+                    GitIndex.FileStat.of(new File(dir, names[i]).toPath(), LinkOption.NOFOLLOW_LINKS));
+            } catch (IOException e) {
+                throw new RuntimeException("파일 정보 읽기 실패: " + new File(dir, names[i]), e);
+            }
+        }
+        Arrays.sort(entries, (e1, e2) -> TreeIterator.compareEntryNames(
+            e1.name, e1.stat.isDirectory(), e2.name, e2.stat.isDirectory()));
+        return entries;
+    }
+
+    /**
+     * 작업 트리의 디렉토리 엔트리 하나 (이름과 lstat 정보)
+     */
+    private static class WorkEntry {
+        final String nameString;
+        final byte[] name;
+        final GitIndex.FileStat stat;
+
+        WorkEntry(String name, GitIndex.FileStat stat) {
+            this.nameString = name;
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.stat = stat;
+        }
+    }
+}
@@ -1,91 +1,426 @@
 package command;
 
+import util.CacheTree;
 import util.FileUtil;
-import util.GitObjectUtil;
-import util.HashUtil;
+import util.GitIndex;
+import util.GitRepository;
+import util.IgnoreRules;
+import util.ObjectId;
+import util.ObjectWriter;
+import util.TreeIterator;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * git write-tree 명령어 구현
+ *
+ * 기본적으로 ForkJoin 풀에서 blob과 하위 트리를 병렬로 해시/압축합니다.
+ * -j 1 (또는 --jobs=1)을 지정하면 기존의 단일 스레드 재귀 방식으로 동작합니다.
+ *
+ * .git/index에 기록된 stat 정보가 일치하는 파일은 내용을 읽지 않고 기록된 SHA를 재사용하고,
+ * 바뀐 파일이 없는 디렉토리는 cache-tree에 기록된 트리 SHA를 재사용합니다.
+ * 새 객체는 {@link ObjectWriter} 하나로 모아 쓰고 인덱스를 기록하기 전에 한 번에 반영합니다.
+ *
+ * 파일은 lstat으로 읽어 심볼릭 링크는 따라가지 않고 대상 경로를 blob으로(120000), 실행 권한이 있는 파일은
+ * 100755로 기록합니다. status와 checkout이 작업 트리를 보는 방식과 같습니다.
+ *
+ * 인덱스에 없는 파일과 디렉토리 중 .gitignore, .git/info/exclude, core.excludesFile 규칙에 걸리는 것은
+ * 트리에 넣지 않습니다. 무시된 디렉토리는 목록을 읽지 않고 통째로 건너뜁니다. ({@link IgnoreRules})
  */
 public class WriteTreeCommand implements GitCommand {
-    
+
     @Override
     public void execute(String[] args) {
-        String treeSha = writeTree(new File("."));
-        System.out.println(treeSha);
+        int parallelism = parseParallelism(args);
+        GitIndex index = GitIndex.read();
+
+        // 새 blob과 트리를 한 트랜잭션으로 쓰고, 인덱스를 기록하기 전에 반영
+        TreeResult root;
+        try (ObjectWriter objects = new ObjectWriter()) {
+            TreeWriter writer = new TreeWriter(index, objects);
+            File workTree = GitRepository.getWorkTree().toAbsolutePath().toFile();
+            IgnoreRules.Scope ignore = IgnoreRules.load().root();
+            root = parallelism > 1
+                ? writer.writeTreeParallel(workTree, ignore, parallelism)
+                : writer.writeTree(workTree, "", ignore, index.getCacheTree());
+            objects.commit();
+            writer.saveIndex(root);
+        }
+
+        System.out.println(root.id.name());
     }
-    
+
     /**
-     * 디렉토리의 트리 객체를 생성합니다.
-     * 
-     * @param dir 대상 디렉토리
-     * @return 트리 객체의 SHA-1 해시
+     * 병렬 처리 수준 옵션(-j N, --jobs=N)을 파싱합니다.
+     *
+     * @param args 명령어 인수
+     * @return 병렬 처리 수준 (기본값: 사용 가능한 프로세서 수)
      */
-    private String writeTree(File dir) {
-        File[] files = dir.listFiles((d, name) -> !name.equals(".git"));
-        if (files == null) return null;
+    private int parseParallelism(String[] args) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            String value = null;
+            if ((args[i].equals("-j") || args[i].equals("--jobs")) && i + 1 < args.length) {
+                value = args[++i];
+            } else if (args[i].startsWith("--jobs=")) {
+                value = args[i].substring("--jobs=".length());
+            }
+            if (value != null) {
+                try {
+                    parallelism = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("잘못된 병렬 처리 수준: " + value, e);
+                }
+            }
+        }
+        return Math.max(1, parallelism);
+    }
 
-        Arrays.sort(files, (f1, f2) -> f1.getName().compareTo(f2.getName()));
-        ByteArrayOutputStream treeContent = new ByteArrayOutputStream();
+    /**
+     * 한 번의 write-tree 실행 상태(이전 인덱스와 새로 만들 인덱스)를 담는 클래스
+     */
+    private static class TreeWriter {
 
-        try {
-            for (File file : files) {
-                String mode, sha, name = file.getName();
-
-                if (file.isDirectory()) {
-                    mode = "40000";
-                    sha = writeTree(file); // 재귀 호출
-                } else {
-                    mode = "100644";
-                    sha = createBlobObject(file);
+        private final GitIndex oldIndex;
+        private final ObjectWriter objects;
+        private final GitIndex newIndex = GitIndex.empty();
+        private final AtomicBoolean indexChanged = new AtomicBoolean();
+
+        TreeWriter(GitIndex oldIndex, ObjectWriter objects) {
+            this.oldIndex = oldIndex;
+            this.objects = objects;
+        }
+
+        /**
+         * 디렉토리의 트리 객체를 생성합니다.
+         *
+         * @param dir 대상 디렉토리
+         * @param prefix 저장소 루트 기준 디렉토리 경로 (루트는 빈 문자열, 그 외에는 '/'로 끝남)
+         * @param ignore 디렉토리의 무시 규칙 범위
+         * @param cached 이전 인덱스의 cache-tree 노드 (없으면 null)
+         * @return 트리 생성 결과
+         */
+        TreeResult writeTree(File dir, String prefix, IgnoreRules.Scope ignore, CacheTree cached) {
+            Listing listing = list(dir, prefix, ignore);
+            String[] names = listing.names;
+            TreeResult[] results = new TreeResult[names.length];
+
+            for (int i = 0; i < names.length; i++) {
+                File file = new File(dir, names[i]);
+                GitIndex.FileStat stat = listing.stats[i];
+                results[i] = stat.isDirectory()
+                    ? writeTree(file, prefix + names[i] + "/", ignore.enter(names[i]), childOf(cached, names[i])) // 재귀 호출
+                    : writeBlob(file, prefix + names[i], stat);
+            }
+
+            return completeTree(prefix.isEmpty() ? "" : dir.getName(), names, results, cached);
+        }
+
+        /**
+         * ForkJoin 풀에서 디렉토리의 트리 객체를 병렬로 생성합니다.
+         * 엔트리 순서와 트리 내용은 순차 버전과 동일합니다.
+         *
+         * @param dir 대상 디렉토리
+         * @param ignore 디렉토리의 무시 규칙 범위
+         * @param parallelism 병렬 처리 수준
+         * @return 트리 생성 결과
+         */
+        TreeResult writeTreeParallel(File dir, IgnoreRules.Scope ignore, int parallelism) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                return pool.invoke(new WriteTreeTask(dir, "", null, ignore, oldIndex.getCacheTree()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        /**
+         * 파일은 blob으로, 디렉토리는 하위 엔트리를 분기(fork)하여 트리로 만드는 작업
+         */
+        private class WriteTreeTask extends RecursiveTask<TreeResult> {
+
+            private static final long serialVersionUID = 1L;
+
+            private final File file;
+            private final String path;
+            private final GitIndex.FileStat stat;
+            private final IgnoreRules.Scope ignore;
+            private final CacheTree cached;
+
+            /**
+             * @param file 대상 파일 또는 디렉토리
+             * @param path 저장소 루트 기준 경로
+             * @param stat 이미 읽은 stat 정보 (루트 디렉토리는 null)
+             * @param ignore 디렉토리의 무시 규칙 범위 (디렉토리가 아니면 null)
+             * @param cached 이전 cache-tree 노드 (디렉토리가 아니거나 없으면 null)
+             */
+            WriteTreeTask(File file, String path, GitIndex.FileStat stat, IgnoreRules.Scope ignore, CacheTree cached) {
+                this.file = file;
+                this.path = path;
+                this.stat = stat;
+                this.ignore = ignore;
+                this.cached = cached;
+            }
+
+            @Override
+            protected TreeResult compute() {
+                if (stat != null && !stat.isDirectory()) {
+                    return writeBlob(file, path, stat);
                 }
 
-                treeContent.write((mode + " " + name).getBytes(StandardCharsets.UTF_8));
-                treeContent.write(0);
-                treeContent.write(HashUtil.hexToBytes(sha));
+                String prefix = path.isEmpty() ? "" : path + "/";
+                Listing listing = list(file, prefix, ignore);
+                String[] names = listing.names;
+                WriteTreeTask[] tasks = new WriteTreeTask[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    GitIndex.FileStat childStat = listing.stats[i];
+                    boolean isDirectory = childStat.isDirectory();
+                    tasks[i] = new WriteTreeTask(new File(file, names[i]), prefix + names[i], childStat,
+                        isDirectory ? ignore.enter(names[i]) : null, isDirectory ? childOf(cached, names[i]) : null);
+                }
+                ForkJoinTask.invokeAll(tasks);
+
+                TreeResult[] results = new TreeResult[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    results[i] = tasks[i].join();
+                }
+                return completeTree(path.isEmpty() ? "" : file.getName(), names, results, cached);
             }
-        } catch (IOException e) {
-            throw new RuntimeException("트리 객체 생성 실패", e);
         }
 
-        return createTreeObject(treeContent.toByteArray());
+        /**
+         * 디렉토리 엔트리를 stat하고, 인덱스에 없는데 무시 규칙에 걸리는 엔트리를 뺍니다.
+         * 무시된 디렉토리는 여기서 빠지므로 그 아래는 목록을 읽지도 stat하지도 않습니다.
+         */
+        private Listing list(File dir, String prefix, IgnoreRules.Scope ignore) {
+            String[] names = listEntries(dir);
+            GitIndex.FileStat[] stats = new GitIndex.FileStat[names.length];
+            int count = 0;
+            for (String name : names) {
+                GitIndex.FileStat stat = stat(new File(dir, name));
+                boolean isDirectory = stat.isDirectory();
+                if (ignore.isIgnored(name, isDirectory) && !isTracked(prefix + name, isDirectory)) {
+                    continue;
+                }
+                names[count] = name;
+                stats[count++] = stat;
+            }
+            return new Listing(Arrays.copyOf(names, count), Arrays.copyOf(stats, count));
+        }
+
+        /**
+         * 이전 인덱스에 경로(디렉토리면 그 아래 엔트리)가 있는지 확인합니다. 추적 중인 경로에는 무시 규칙을 적용하지 않습니다.
+         */
+        private boolean isTracked(String path, boolean isDirectory) {
+            return isDirectory ? oldIndex.containsDirectory(path + "/") : oldIndex.getEntry(path) != null;
+        }
+
+        /**
+         * 하위 엔트리 결과로 트리 객체를 완성합니다.
+         * 모든 하위 엔트리가 바뀌지 않았고 이전 cache-tree 노드가 유효하면 트리를 다시 만들지 않고 SHA를 재사용합니다.
+         */
+        private TreeResult completeTree(String name, String[] names, TreeResult[] results, CacheTree cached) {
+            // Git처럼 파일이 없는 디렉토리(무시된 파일만 있던 디렉토리 포함)는 트리에 넣지 않음
+            int kept = 0;
+            for (int i = 0; i < results.length; i++) {
+                if (results[i].entryCount > 0) {
+                    names[kept] = names[i];
+                    results[kept++] = results[i];
+                }
+            }
+            if (kept < results.length) {
+                names = Arrays.copyOf(names, kept);
+                results = Arrays.copyOf(results, kept);
+            }
+            if (kept == 0 && !name.isEmpty()) {
+                return EMPTY_DIRECTORY;
+            }
+
+            int entryCount = 0;
+            boolean unchanged = cached != null && cached.isValid();
+            List<CacheTree> subtrees = new ArrayList<>();
+            for (TreeResult result : results) {
+                entryCount += result.entryCount;
+                unchanged &= result.unchanged;
+                if (result.cacheNode != null) {
+                    subtrees.add(result.cacheNode);
+                }
+            }
+            // 삭제된 파일이나 디렉토리는 엔트리/하위 트리 수 차이로 드러남
+            unchanged = unchanged
+                && cached.getEntryCount() == entryCount
+                && cached.getChildCount() == subtrees.size();
+
+            ObjectId id;
+            if (unchanged) {
+                id = cached.getObjectId();
+            } else {
+                id = createTreeObject(objects, buildTreeContent(names, results));
+                indexChanged.set(true);
+            }
+            return new TreeResult(id, TreeIterator.TREE_MODE, unchanged, entryCount,
+                new CacheTree(name, entryCount, id, subtrees));
+        }
+
+        /**
+         * 파일로부터 blob 객체를 생성합니다. 심볼릭 링크는 대상 경로 문자열을 blob으로 기록합니다.
+         * 인덱스의 stat 정보와 모드가 일치하면 파일을 읽지 않고 기록된 SHA를 재사용합니다.
+         */
+        private TreeResult writeBlob(File file, String path, GitIndex.FileStat stat) {
+            int mode = stat.getTreeMode();
+            GitIndex.Entry entry = oldIndex.getEntry(path);
+            if (oldIndex.isUpToDate(entry, stat) && entry.getMode() == mode) {
+                newIndex.putEntry(entry);
+                return new TreeResult(entry.getObjectId(), mode, true, 1, null);
+            }
+
+            // 이미 존재하는 객체는 압축하지 않음
+            ObjectId id = mode == TreeIterator.SYMLINK_MODE ? objects.writeSymlink(file.toPath()) : objects.writeBlob(file);
+            newIndex.putEntry(new GitIndex.Entry(path, stat, id, mode));
+            indexChanged.set(true);
+
+            // 내용과 모드가 같은 파일(예: touch)이면 상위 트리는 다시 만들 필요가 없음
+            boolean unchanged = entry != null && entry.getObjectId().equals(id) && entry.getMode() == mode;
+            return new TreeResult(id, mode, unchanged, 1, null);
+        }
+
+        /**
+         * 내용이 바뀌었거나 삭제된 파일, 다시 만든 트리가 있으면 새 인덱스를 기록합니다.
+         */
+        void saveIndex(TreeResult root) {
+            if (indexChanged.get() || newIndex.size() != oldIndex.size() || oldIndex.getCacheTree() == null) {
+                newIndex.setCacheTree(root.cacheNode);
+                newIndex.write();
+            }
+        }
+    }
+
+    /**
+     * 무시 규칙을 적용한 디렉토리 엔트리 이름(정렬됨)과 각 엔트리의 stat 정보
+     */
+    private static class Listing {
+        final String[] names;
+        final GitIndex.FileStat[] stats;
+
+        Listing(String[] names, GitIndex.FileStat[] stats) {
+            this.names = names;
+            this.stats = stats;
+        }
+    }
+
+    /** 파일이 하나도 없는 하위 디렉토리의 결과 (상위 트리에서 빠짐) */
+    private static final TreeResult EMPTY_DIRECTORY = new TreeResult(null, TreeIterator.TREE_MODE, true, 0, null);
+
+    /**
+     * 파일 또는 디렉토리 하나의 처리 결과
+     */
+    private static class TreeResult {
+        final ObjectId id;
+        final int mode;
+        final boolean unchanged;
+        final int entryCount;
+        final CacheTree cacheNode;
+
+        /**
+         * @param id 객체 ID
+         * @param mode 트리 엔트리 모드
+         * @param unchanged 이전 인덱스와 비교해 바뀌지 않았는지 여부
+         * @param entryCount 포함된 인덱스 엔트리 수 (파일은 1)
+         * @param cacheNode 디렉토리의 cache-tree 노드 (파일은 null)
+         */
+        TreeResult(ObjectId id, int mode, boolean unchanged, int entryCount, CacheTree cacheNode) {
+            this.id = id;
+            this.mode = mode;
+            this.unchanged = unchanged;
+            this.entryCount = entryCount;
+            this.cacheNode = cacheNode;
+        }
+
+        boolean isDirectory() {
+            return cacheNode != null;
+        }
+    }
+
+    /**
+     * cache-tree 노드의 하위 디렉토리 노드를 찾습니다.
+     */
+    private static CacheTree childOf(CacheTree cached, String name) {
+        return cached == null ? null : cached.getChild(name);
     }
-    
+
+    /**
+     * .git을 제외한 디렉토리 엔트리 이름을 정렬하여 반환합니다.
+     */
+    private static String[] listEntries(File dir) {
+        String[] names = dir.list((d, name) -> FileUtil.isNotGitDirectory(new File(d, name)));
+        if (names == null) {
+            throw new RuntimeException("디렉토리 읽기 실패: " + dir);
+        }
+
+        Arrays.sort(names);
+        return names;
+    }
+
+    /**
+     * 파일의 stat 정보를 읽습니다. (lstat, 심볼릭 링크는 따라가지 않음)
+     */
+    private static GitIndex.FileStat stat(File file) {
+        try {
+            return GitIndex.FileStat.of(file.toPath(), LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 정보 읽기 실패: " + file, e);
+        }
+    }
+
     /**
-     * 파일로부터 blob 객체를 생성합니다.
+     * 엔트리와 각 엔트리의 SHA로 트리 컨텐츠를 구성합니다.
+     * 엔트리는 Git과 같이 디렉토리 이름 뒤에 '/'가 붙은 것으로 보고 정렬하므로
+     * Git이 만든 cache-tree의 트리 SHA와도 호환됩니다.
      */
-    private String createBlobObject(File file) throws IOException {
-        byte[] content = Files.readAllBytes(file.toPath());
-        String header = "blob " + content.length + "\0";
-        byte[] blob = FileUtil.concatenate(header.getBytes(StandardCharsets.UTF_8), content);
-        String sha = HashUtil.computeSHA1(blob);
-
-        // 이미 존재하지 않는 경우에만 저장
-        String objectPath = ".git/objects/" + sha.substring(0, 2) + "/" + sha.substring(2);
-        File objectFile = new File(objectPath);
-        if (!objectFile.exists()) {
-            GitObjectUtil.writeGitObject(sha, blob);
-        }
-        
-        return sha;
+    private static byte[] buildTreeContent(String[] names, TreeResult[] results) {
+        Integer[] order = new Integer[names.length];
+        byte[][] nameBytes = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            order[i] = i;
+            nameBytes[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        }
+        Arrays.sort(order, (i1, i2) -> TreeIterator.compareEntryNames(
+            nameBytes[i1], results[i1].isDirectory(), nameBytes[i2], results[i2].isDirectory()));
+
+        ByteArrayOutputStream treeContent = new ByteArrayOutputStream();
+        byte[] rawId = new byte[ObjectId.RAW_LENGTH];
+        try {
+            for (int i : order) {
+                treeContent.write((Integer.toOctalString(results[i].mode) + " ").getBytes(StandardCharsets.UTF_8));
+                treeContent.write(nameBytes[i]);
+                treeContent.write(0);
+                results[i].id.copyRawTo(rawId, 0);
+                treeContent.write(rawId);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("트리 객체 생성 실패", e);
+        }
+
+        return treeContent.toByteArray();
     }
-    
+
     /**
      * 트리 컨텐츠로부터 트리 객체를 생성합니다.
      */
-    private String createTreeObject(byte[] treeContent) {
+    private static ObjectId createTreeObject(ObjectWriter objects, byte[] treeContent) {
         String treeHeader = "tree " + treeContent.length + "\0";
         byte[] fullTree = FileUtil.concatenate(treeHeader.getBytes(StandardCharsets.UTF_8), treeContent);
-        String treeSha = HashUtil.computeSHA1(fullTree);
-
-        GitObjectUtil.writeGitObject(treeSha, fullTree);
-        return treeSha;
+        return objects.insert(fullTree);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인덱스의 TREE 확장(cache-tree)을 표현하는 클래스
+ *
+ * 디렉토리별로 마지막으로 만든 트리 객체의 SHA와 그 아래에 포함된 인덱스 엔트리 수를 기록합니다.
+ * write-tree는 내용이 바뀌지 않은 디렉토리의 트리 SHA를 재사용하므로,
+ * 깊은 곳의 파일 하나를 고치면 그 파일에서 루트까지의 경로에 있는 트리만 다시 만듭니다.
+ *
+ * 형식 (디렉토리마다 전위 순회 순서로 반복):
+ * 경로 이름 NUL, 엔트리 수(10진수) SP, 하위 트리 수(10진수) LF, 엔트리 수가 0 이상이면 20바이트 SHA
+ */
+public class CacheTree {
+
+    private final String name;
+    private int entryCount;
+    private ObjectId id;
+    private final Map<String, CacheTree> children;
+
+    /**
+     * 캐시 트리 노드를 생성합니다.
+     *
+     * @param name 디렉토리 이름 (루트는 빈 문자열)
+     * @param entryCount 디렉토리 아래(하위 디렉토리 포함)의 인덱스 엔트리 수
+     * @param id 트리 객체 ID
+     * @param children 하위 디렉토리 노드
+     */
+    public CacheTree(String name, int entryCount, ObjectId id, Collection<CacheTree> children) {
+        this.name = name;
+        this.entryCount = entryCount;
+        this.id = id;
+        this.children = new HashMap<>();
+        for (CacheTree child : children) {
+            this.children.put(child.name, child);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * 트리 객체 ID를 반환합니다. 무효화된 노드는 null을 반환합니다.
+     */
+    public ObjectId getObjectId() {
+        return id;
+    }
+
+    public boolean isValid() {
+        return id != null;
+    }
+
+    public CacheTree getChild(String childName) {
+        return children.get(childName);
+    }
+
+    public int getChildCount() {
+        return children.size();
+    }
+
+    /**
+     * 경로가 바뀌었을 때 그 경로에서 루트까지의 디렉토리만 무효화합니다.
+     *
+     * @param path 저장소 루트 기준 파일 경로 ('/' 구분)
+     */
+    public void invalidate(String path) {
+        CacheTree node = this;
+        int start = 0;
+        while (node != null) {
+            node.entryCount = -1;
+            node.id = null;
+
+            int slash = path.indexOf('/', start);
+            if (slash < 0) break;
+            node = node.children.get(path.substring(start, slash));
+            start = slash + 1;
+        }
+    }
+
+    /**
+     * TREE 확장 데이터를 파싱합니다.
+     *
+     * @param buffer 확장 데이터 (position부터 limit까지)
+     * @return 루트 노드
+     */
+    static CacheTree parse(ByteBuffer buffer) {
+        int nameEnd = buffer.position();
+        while (buffer.get(nameEnd) != 0) {
+            nameEnd++;
+        }
+        byte[] nameBytes = new byte[nameEnd - buffer.position()];
+        buffer.get(nameBytes);
+        buffer.get(); // NUL
+
+        int entryCount = (int) readNumber(buffer, (byte) ' ');
+        int subtreeCount = (int) readNumber(buffer, (byte) '\n');
+
+        ObjectId id = null;
+        if (entryCount >= 0) {
+            id = ObjectId.fromRaw(buffer, buffer.position());
+            buffer.position(buffer.position() + ObjectId.RAW_LENGTH);
+        }
+
+        List<CacheTree> subtrees = new ArrayList<>(subtreeCount);
+        for (int i = 0; i < subtreeCount; i++) {
+            subtrees.add(parse(buffer));
+        }
+        return new CacheTree(new String(nameBytes, StandardCharsets.UTF_8), entryCount, id, subtrees);
+    }
+
+    /**
+     * 구분자까지의 ASCII 10진수(음수 포함)를 읽습니다.
+     */
+    private static long readNumber(ByteBuffer buffer, byte terminator) {
+        boolean negative = false;
+        long value = 0;
+        byte b = buffer.get();
+        if (b == '-') {
+            negative = true;
+            b = buffer.get();
+        }
+        while (b != terminator) {
+            if (b < '0' || b > '9') {
+                throw new IllegalStateException("cache-tree 숫자 형식이 올바르지 않습니다.");
+            }
+            value = value * 10 + (b - '0');
+            b = buffer.get();
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * TREE 확장 데이터(시그니처와 길이 제외)를 기록합니다.
+     * 하위 트리는 Git과 같이 이름 길이, 이름 바이트 순으로 정렬합니다.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.write(name.getBytes(StandardCharsets.UTF_8));
+        out.write(0);
+        out.write((entryCount + " " + children.size() + "\n").getBytes(StandardCharsets.US_ASCII));
+        if (id != null) {
+            out.write(id.toRaw());
+        }
+
+        List<CacheTree> sorted = new ArrayList<>(children.values());
+        sorted.sort((t1, t2) -> {
+            byte[] n1 = t1.name.getBytes(StandardCharsets.UTF_8);
+            byte[] n2 = t2.name.getBytes(StandardCharsets.UTF_8);
+            if (n1.length != n2.length) {
+                return Integer.compare(n1.length, n2.length);
+            }
+            return Arrays.compareUnsigned(n1, n2);
+        });
+        for (CacheTree child : sorted) {
+            child.write(out);
+        }
+    }
+}
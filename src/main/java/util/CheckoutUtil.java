@@ -0,0 +1,499 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 트리 객체를 작업 트리에 풀어 놓는(checkout) 유틸리티 클래스 (clone, checkout, read-tree -u 공통)
+ *
+ * 세 단계로 진행합니다.
+ * 1. 계획: 트리 객체만 읽어 만들 디렉토리와 파일 목록, cache-tree를 구성합니다. (blob은 읽지 않음)
+ * 2. 확인(병렬): 이전 인덱스 엔트리의 SHA와 모드가 대상과 같은 파일은 lstat도 하지 않고 그대로 둡니다.
+ *    나머지는 lstat해 stat 정보가 일치하면 기록된 SHA로, 아니면 내용을 해시해 이미 대상과 같은지 확인합니다.
+ *    덮어쓰면 잃게 되는 로컬 변경이 있으면 아무것도 쓰지 않고 멈춥니다. (Git처럼 무시 규칙에 걸리는 추적하지 않는 파일은 덮어씀)
+ * 3. 쓰기(병렬): 필요 없어진 파일을 지우고 디렉토리를 한꺼번에 만든 뒤, 바뀐 파일만 ForkJoin 풀에서
+ *    blob을 스트림으로 압축 해제해 FileChannel로 씁니다. 디렉토리를 미리 만들어 두므로 작업끼리 mkdir로 경쟁하지 않습니다.
+ *
+ * 파일을 만들면서 stat 정보를 바로 인덱스 엔트리로 기록하므로, 체크아웃 직후의 write-tree나 status는
+ * 파일 내용을 다시 읽지 않습니다.
+ */
+public class CheckoutUtil {
+
+    /** 작업 하나가 맡는 최소 파일 수 (이보다 많으면 반으로 나눠 분기) */
+    private static final int FILES_PER_TASK = 32;
+
+    /**
+     * 트리를 빈 작업 트리 루트에 풉니다. (clone)
+     * 작업 트리에 이미 있는 같은 이름의 파일은 덮어씁니다.
+     *
+     * @param treeId 루트 트리 ID
+     * @return 체크아웃한 파일의 인덱스 (아직 디스크에 기록하지 않음)
+     */
+    public static GitIndex checkoutTree(ObjectId treeId) {
+        return checkoutTree(treeId, GitIndex.empty(), true, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 작업 트리를 트리의 내용으로 바꿉니다.
+     * 이전 인덱스에 있지만 새 트리에 없는 파일은 지우고, stat 정보와 SHA가 이미 같은 파일은 쓰지 않습니다.
+     *
+     * @param treeId 루트 트리 ID
+     * @param oldIndex 현재 작업 트리의 인덱스 (stat 캐시, 추적 중인 파일 목록)
+     * @param force true면 로컬 변경이나 추적하지 않는 파일이 있어도 덮어씀
+     * @param parallelism 병렬 처리 수준
+     * @return 새 인덱스 (cache-tree 포함, 아직 디스크에 기록하지 않음)
+     * @throws IllegalStateException force가 아닌데 덮어쓰면 잃게 되는 변경이 있는 경우 (작업 트리는 그대로)
+     */
+    public static GitIndex checkoutTree(ObjectId treeId, GitIndex oldIndex, boolean force, int parallelism) {
+        Plan plan = new Plan();
+        plan.cacheTree = plan.addTree(treeId, "", "", null);
+        Path workTree = GitRepository.getWorkTree();
+
+        // 충돌 확인에만 쓰므로 덮어쓸 때는 읽지 않음
+        IgnoreRules ignore = force ? null : IgnoreRules.load();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Directory dir : plan.directories) {
+                dir.inspect(workTree);
+            }
+            List<String> conflicts = Collections.synchronizedList(new ArrayList<>());
+            pool.invoke(new FileRangeTask(plan.files, 0, plan.files.size(),
+                file -> file.inspect(workTree, oldIndex, ignore, conflicts)));
+            List<String> removals = findRemovals(plan, workTree, oldIndex, force, conflicts);
+            checkDirectories(plan, removals, ignore, conflicts);
+            if (!conflicts.isEmpty()) {
+                Collections.sort(conflicts);
+                throw new IllegalStateException("체크아웃하면 로컬 변경이 사라지는 파일이 있어 중단합니다 (-f로 덮어쓰기): "
+                    + String.join(", ", conflicts.subList(0, Math.min(conflicts.size(), 10)))
+                    + (conflicts.size() > 10 ? " 외 " + (conflicts.size() - 10) + "개" : ""));
+            }
+
+            for (String path : removals) {
+                removeFile(workTree, path, plan.directoryPaths);
+            }
+            // 상위 디렉토리가 먼저 나오므로 mkdir 한 번씩으로 만들 수 있음
+            for (Directory dir : plan.directories) {
+                if (dir.state == Directory.PRESENT) {
+                    continue;
+                }
+                Path path = workTree.resolve(dir.path);
+                if (dir.state == Directory.NOT_DIRECTORY) {
+                    Files.deleteIfExists(path);
+                }
+                Files.createDirectory(path);
+            }
+            pool.invoke(new FileRangeTask(plan.files, 0, plan.files.size(), file -> file.materialize(workTree)));
+        } catch (IOException e) {
+            throw new RuntimeException("체크아웃 실패: " + treeId, e);
+        } finally {
+            pool.shutdown();
+        }
+
+        GitIndex index = GitIndex.empty();
+        for (FileEntry file : plan.files) {
+            index.putEntry(file.result);
+        }
+        index.setCacheTree(plan.cacheTree);
+        return index;
+    }
+
+    /**
+     * 트리의 내용으로 인덱스만 만듭니다. (read-tree, 작업 트리는 건드리지 않음)
+     * 이전 인덱스에 같은 경로, SHA, 모드의 엔트리가 있으면 stat 정보를 그대로 가져오고, 없으면 stat 정보가 빈 엔트리를 만듭니다.
+     *
+     * @param treeId 루트 트리 ID
+     * @param oldIndex 이전 인덱스
+     * @return 새 인덱스 (cache-tree 포함)
+     */
+    public static GitIndex readTree(ObjectId treeId, GitIndex oldIndex) {
+        Plan plan = new Plan();
+        plan.cacheTree = plan.addTree(treeId, "", "", null);
+        GitIndex index = GitIndex.empty();
+        for (FileEntry file : plan.files) {
+            GitIndex.Entry old = oldIndex.getEntry(file.path);
+            boolean same = old != null && old.getObjectId().equals(file.id) && old.getMode() == file.mode;
+            index.putEntry(same ? old : new GitIndex.Entry(file.path, file.id, file.mode));
+        }
+        index.setCacheTree(plan.cacheTree);
+        return index;
+    }
+
+    /**
+     * 이전 인덱스에는 있지만 새 트리에는 없는 파일을 찾습니다. 로컬 변경이 있으면 충돌로 기록합니다.
+     */
+    private static List<String> findRemovals(Plan plan, Path workTree, GitIndex oldIndex, boolean force,
+                                             List<String> conflicts) throws IOException {
+        List<String> removals = new ArrayList<>();
+        for (GitIndex.Entry entry : oldIndex.getEntries()) {
+            if (plan.filePaths.contains(entry.getPath())) {
+                continue;
+            }
+            Path path = workTree.resolve(entry.getPath());
+            GitIndex.FileStat stat;
+            try {
+                stat = GitIndex.FileStat.of(path, LinkOption.NOFOLLOW_LINKS);
+            } catch (FileSystemException e) {
+                // 없거나 상위 경로가 파일로 바뀐 경우
+                continue;
+            }
+            if (stat.isDirectory()) {
+                continue;
+            }
+            if (!force && !oldIndex.isUpToDate(entry, stat) && !hashWorkFile(path, stat).equals(entry.getObjectId())) {
+                conflicts.add(entry.getPath());
+            }
+            removals.add(entry.getPath());
+        }
+        return removals;
+    }
+
+    /**
+     * 만들어야 할 디렉토리 자리에 지우지 않을 파일(무시되지 않는 추적하지 않는 파일)이 있는지 확인합니다.
+     *
+     * @param ignore 무시 규칙 (덮어쓸 때는 null)
+     */
+    private static void checkDirectories(Plan plan, List<String> removals, IgnoreRules ignore, List<String> conflicts) {
+        if (ignore == null) {
+            return;
+        }
+        Set<String> removed = new HashSet<>(removals);
+        for (Directory dir : plan.directories) {
+            if (dir.state == Directory.NOT_DIRECTORY && !removed.contains(dir.path) && !ignore.isIgnored(dir.path, false)) {
+                conflicts.add(dir.path);
+            }
+        }
+    }
+
+    /**
+     * 파일을 지우고, 비게 된 상위 디렉토리도 작업 트리 루트나 새 트리에 있는 디렉토리를 만나기 전까지 지웁니다.
+     */
+    private static void removeFile(Path workTree, String path, Set<String> keep) throws IOException {
+        Path file = workTree.resolve(path);
+        Files.deleteIfExists(file);
+        Path parent = file.getParent();
+        while (parent != null && !parent.equals(workTree) && parent.startsWith(workTree)
+            && !keep.contains(toEntryPath(workTree, parent))) {
+            try (var children = Files.list(parent)) {
+                if (children.findAny().isPresent()) {
+                    break;
+                }
+            } catch (NoSuchFileException e) {
+                // 이미 지워짐
+            }
+            Files.deleteIfExists(parent);
+            parent = parent.getParent();
+        }
+    }
+
+    /**
+     * 디렉토리 아래에 이전 인덱스가 추적하지 않고 무시 규칙에도 걸리지 않는 파일이 있는지 확인합니다.
+     */
+    private static boolean containsUntracked(Path dir, Path workTree, GitIndex oldIndex, IgnoreRules ignore)
+        throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(file -> !Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS))
+                .map(file -> toEntryPath(workTree, file))
+                .anyMatch(path -> oldIndex.getEntry(path) == null && !ignore.isIgnored(path, false));
+        }
+    }
+
+    private static String toEntryPath(Path workTree, Path file) {
+        return workTree.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * 디렉토리를 하위 항목까지 지웁니다. (심볼릭 링크는 따라가지 않음)
+     */
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            List<Path> paths = files.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            for (Path path : paths) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 작업 트리 파일의 blob ID를 계산합니다. (심볼릭 링크는 대상 경로 문자열)
+     */
+    private static ObjectId hashWorkFile(Path path, GitIndex.FileStat stat) {
+        if (stat.isSymbolicLink()) {
+            return ObjectWriter.hashSymlink(path);
+        }
+        return ObjectWriter.hashBlob(path.toFile());
+    }
+
+    /**
+     * 작업 트리 밖이나 .git 디렉토리에 파일을 쓰게 만드는 이름을 거부합니다.
+     */
+    private static void checkName(String name) {
+        if (name.isEmpty() || name.equals(".") || name.equals("..") || name.indexOf('/') >= 0
+            || name.equalsIgnoreCase(".git")) {
+            throw new IllegalStateException("안전하지 않은 트리 엔트리 이름입니다: " + name);
+        }
+    }
+
+    /**
+     * 트리를 펼친 결과: 디렉토리(상위 먼저), 파일, cache-tree
+     */
+    private static class Plan {
+        final List<Directory> directories = new ArrayList<>();
+        final Set<String> directoryPaths = new HashSet<>();
+        final List<FileEntry> files = new ArrayList<>();
+        final Set<String> filePaths = new HashSet<>();
+        CacheTree cacheTree;
+
+        /**
+         * 트리를 재귀적으로 펼치고 그 트리의 cache-tree 노드를 반환합니다.
+         *
+         * @param parent 트리에 해당하는 디렉토리 (루트는 null)
+         */
+        CacheTree addTree(ObjectId treeId, String name, String prefix, Directory parent) {
+            GitObject tree = GitObjectUtil.readObject(treeId);
+            if (!tree.getType().equals("tree")) {
+                throw new IllegalStateException("트리 객체가 아닙니다: " + treeId);
+            }
+            int entryCount = 0;
+            List<CacheTree> subtrees = new ArrayList<>();
+            TreeIterator entries = new TreeIterator(tree.getContent());
+            while (entries.next()) {
+                String entryName = entries.getName();
+                checkName(entryName);
+                String path = prefix + entryName;
+                if (entries.isTree()) {
+                    CacheTree subtree = addTree(entries.getObjectId(), entryName, path + "/", addDirectory(path, parent));
+                    entryCount += subtree.getEntryCount();
+                    subtrees.add(subtree);
+                } else {
+                    if (entries.getMode() == TreeIterator.GITLINK_MODE) {
+                        // 서브모듈은 빈 디렉토리만 만들고 커밋 SHA를 인덱스에 기록
+                        addDirectory(path, parent);
+                    }
+                    files.add(new FileEntry(path, entries.getMode(), entries.getObjectId(), parent));
+                    filePaths.add(path);
+                    entryCount++;
+                }
+            }
+            return new CacheTree(name, entryCount, treeId, subtrees);
+        }
+
+        private Directory addDirectory(String path, Directory parent) {
+            Directory dir = new Directory(path, parent);
+            directories.add(dir);
+            directoryPaths.add(path);
+            return dir;
+        }
+    }
+
+    /**
+     * 새 트리에 있는 디렉토리와 작업 트리에서의 현재 상태
+     */
+    private static class Directory {
+        static final int MISSING = 0;
+        static final int PRESENT = 1;
+        static final int NOT_DIRECTORY = 2;
+
+        final String path;
+        final Directory parent;
+        int state;
+
+        Directory(String path, Directory parent) {
+            this.path = path;
+            this.parent = parent;
+        }
+
+        /**
+         * 작업 트리의 상태를 확인합니다. 상위 디렉토리가 없으면 stat하지 않고 없는 것으로 봅니다.
+         * (빈 작업 트리에 체크아웃할 때 파일마다 lstat하지 않아도 됨)
+         */
+        void inspect(Path workTree) {
+            if (parent != null && parent.state != PRESENT) {
+                state = MISSING;
+                return;
+            }
+            Path dir = workTree.resolve(path);
+            if (Files.isDirectory(dir, LinkOption.NOFOLLOW_LINKS)) {
+                state = PRESENT;
+            } else {
+                state = Files.exists(dir, LinkOption.NOFOLLOW_LINKS) ? NOT_DIRECTORY : MISSING;
+            }
+        }
+    }
+
+    /**
+     * 체크아웃할 파일 하나와 그 처리 결과
+     */
+    private static class FileEntry {
+        final String path;
+        final int mode;
+        final ObjectId id;
+        /** 파일이 들어 있는 디렉토리 (루트는 null) */
+        final Directory parent;
+        /** 확인 단계에서 본 작업 트리의 파일 (없으면 null) */
+        GitIndex.FileStat diskStat;
+        /** 새 인덱스 엔트리 (이미 같은 파일이면 확인 단계에서, 아니면 쓰기 단계에서 채움) */
+        GitIndex.Entry result;
+
+        FileEntry(String path, int mode, ObjectId id, Directory parent) {
+            this.path = path;
+            this.mode = mode;
+            this.id = id;
+            this.parent = parent;
+        }
+
+        /**
+         * 디스크의 파일이 이미 대상과 같은지 확인합니다. 같으면 result를 채워 쓰기 단계에서 건너뜁니다.
+         *
+         * @param ignore 무시 규칙 (덮어쓸 때는 null)
+         */
+        void inspect(Path workTree, GitIndex oldIndex, IgnoreRules ignore, List<String> conflicts) throws IOException {
+            boolean force = ignore == null;
+            GitIndex.Entry entry = oldIndex.getEntry(path);
+            if (!force && entry != null && entry.getObjectId().equals(id) && entry.getMode() == mode) {
+                // 인덱스가 이미 대상과 같으면 파일을 보지 않고 그대로 둠 (git checkout처럼 로컬 변경은 들고 감)
+                result = entry;
+                return;
+            }
+            if (parent != null && parent.state != Directory.PRESENT) {
+                // 상위 디렉토리가 없거나 파일임 (디렉토리 자리의 충돌은 checkDirectories에서 확인)
+                return;
+            }
+            Path file = workTree.resolve(path);
+            GitIndex.FileStat stat;
+            try {
+                stat = GitIndex.FileStat.of(file, LinkOption.NOFOLLOW_LINKS);
+            } catch (NoSuchFileException e) {
+                return;
+            }
+            diskStat = stat;
+            if (mode == TreeIterator.GITLINK_MODE) {
+                if (stat.isDirectory()) {
+                    result = new GitIndex.Entry(path, stat, id, mode);
+                }
+                return;
+            }
+            if (stat.isDirectory()) {
+                // 디렉토리 자리에 파일을 만들어야 함 (추적 중인 파일만 있으면 지우는 단계에서 사라짐)
+                if (!force && containsUntracked(file, workTree, oldIndex, ignore)) {
+                    conflicts.add(path);
+                }
+                return;
+            }
+
+            ObjectId diskId = oldIndex.isUpToDate(entry, stat) ? entry.getObjectId() : hashWorkFile(file, stat);
+            if (diskId.equals(id) && stat.getTreeMode() == mode) {
+                result = new GitIndex.Entry(path, stat, id, mode);
+            } else if (!force && (entry == null ? !ignore.isIgnored(path, false) : !diskId.equals(entry.getObjectId()))) {
+                // 무시되지 않는 추적하지 않는 파일이거나, 인덱스 이후에 고친 파일
+                conflicts.add(path);
+            }
+        }
+
+        /**
+         * 확인 단계에서 같다고 판단하지 않은 파일을 씁니다.
+         */
+        void materialize(Path workTree) throws IOException {
+            if (result != null) {
+                return;
+            }
+            Path file = workTree.resolve(path);
+            if (mode == TreeIterator.GITLINK_MODE) {
+                Files.createDirectories(file);
+                result = new GitIndex.Entry(path, GitIndex.FileStat.of(file), id, mode);
+                return;
+            }
+            // 확인 단계에서 아무것도 없던 자리면 지우거나 권한을 되돌릴 필요가 없음 (빈 작업 트리에는 open/write/close/stat만)
+            if (diskStat != null && diskStat.isDirectory()) {
+                // 추적 중인 파일만 있던 디렉토리는 지우는 단계에서 이미 사라졌을 수 있음
+                if (Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS)) {
+                    deleteRecursively(file);
+                }
+            } else if (diskStat != null && (diskStat.isSymbolicLink() || mode == TreeIterator.SYMLINK_MODE)) {
+                Files.deleteIfExists(file);
+            }
+            if (mode == TreeIterator.SYMLINK_MODE) {
+                byte[] target = GitObjectUtil.readObject(id).getContent();
+                Files.createSymbolicLink(file, Paths.get(new String(target, StandardCharsets.UTF_8)));
+                result = new GitIndex.Entry(path, GitIndex.FileStat.of(file, LinkOption.NOFOLLOW_LINKS), id, mode);
+                return;
+            }
+
+            // 큰 blob도 메모리에 모두 올리지 않도록 스트림으로 압축 해제하며 씀
+            try (ObjectStream blob = GitObjectUtil.openObject(id);
+                 FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING);
+                 OutputStream out = Channels.newOutputStream(channel)) {
+                blob.transferTo(out);
+            }
+            boolean executable = mode == TreeIterator.EXECUTABLE_MODE;
+            boolean wasExecutable = diskStat != null && !diskStat.isDirectory() && diskStat.isExecutable();
+            if (executable != wasExecutable) {
+                file.toFile().setExecutable(executable, false);
+            }
+            result = new GitIndex.Entry(path, GitIndex.FileStat.of(file), id, mode);
+        }
+    }
+
+    /**
+     * 파일 하나를 처리하는 함수 (IOException 허용)
+     */
+    private interface FileAction {
+        void apply(FileEntry file) throws IOException;
+    }
+
+    /**
+     * 파일 목록의 구간을 반씩 나눠 ForkJoin 풀에서 처리하는 작업
+     */
+    private static class FileRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<FileEntry> files;
+        private final int start;
+        private final int end;
+        private final FileAction action;
+
+        FileRangeTask(List<FileEntry> files, int start, int end, FileAction action) {
+            this.files = files;
+            this.start = start;
+            this.end = end;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > FILES_PER_TASK) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new FileRangeTask(files, start, middle, action), new FileRangeTask(files, middle, end, action));
+                return;
+            }
+            for (int i = start; i < end; i++) {
+                try {
+                    action.apply(files.get(i));
+                } catch (IOException e) {
+                    throw new RuntimeException("파일 체크아웃 실패: " + files.get(i).path, e);
+                }
+            }
+        }
+    }
+}
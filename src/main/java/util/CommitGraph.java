@@ -0,0 +1,367 @@
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * 커밋 그래프 파일(.git/objects/info/commit-graph)을 메모리 매핑하여 읽고 쓰는 클래스
+ *
+ * 커밋마다 루트 트리 ID, 부모의 위치, 세대 번호, 커밋 시각을 고정 크기 레코드로 담고 있으므로
+ * 히스토리를 따라갈 때 커밋 객체를 압축 해제하고 파싱하지 않아도 됩니다.
+ *
+ * 형식 (Git과 동일, 버전 1, SHA-1):
+ * 헤더 "CGPH", 버전(1), 해시 버전(1), 청크 수, 기반 그래프 수(0),
+ * 청크 목록 ((청크 수 + 1) x (4바이트 ID, 8바이트 오프셋)), 청크들, 파일 체크섬
+ * - OIDF: fanout 테이블 (256 x 4바이트)
+ * - OIDL: 정렬된 커밋 ID 목록 (N x 20바이트)
+ * - CDAT: 커밋 데이터 (N x (트리 ID 20바이트, 첫 부모 위치 4바이트, 둘째 부모 위치 4바이트,
+ *         세대 번호 30비트 + 커밋 시각 34비트))
+ * - EDGE: 부모가 셋 이상인 커밋의 나머지 부모 위치 (마지막 항목에 최상위 비트)
+ *
+ * 세대 번호는 위상 단계(부모가 없으면 1, 있으면 부모 중 가장 큰 값 + 1)입니다.
+ * 어떤 커밋의 조상은 항상 그 커밋보다 세대 번호가 작으므로, 탐색 중 세대 번호가 더 작은 쪽은 볼 필요가 없습니다.
+ */
+public class CommitGraph {
+
+    /** 세대 번호가 없는(그래프 밖의) 커밋에 쓰는 값 */
+    public static final int GENERATION_INFINITY = Integer.MAX_VALUE;
+
+    private static final int SIGNATURE = 0x43475048; // "CGPH"
+    private static final int CHUNK_OID_FANOUT = 0x4F494446; // "OIDF"
+    private static final int CHUNK_OID_LOOKUP = 0x4F49444C; // "OIDL"
+    private static final int CHUNK_COMMIT_DATA = 0x43444154; // "CDAT"
+    private static final int CHUNK_EXTRA_EDGES = 0x45444745; // "EDGE"
+    private static final int HEADER_LENGTH = 8;
+    private static final int CHUNK_ENTRY_LENGTH = 12;
+    private static final int SHA_LENGTH = 20;
+    private static final int DATA_LENGTH = SHA_LENGTH + 16;
+    private static final int PARENT_NONE = 0x70000000;
+    private static final int EXTRA_EDGES = 0x80000000;
+    private static final int GENERATION_MAX = 0x3FFFFFFF;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static volatile CommitGraph cached;
+
+    private final Path path;
+    private final long size;
+    private final long modified;
+    private final ByteBuffer buffer;
+    private final int commitCount;
+    private final int fanoutOffset;
+    private final int oidOffset;
+    private final int dataOffset;
+    private final int edgeOffset;
+
+    private CommitGraph(Path path, long size, long modified, ByteBuffer buffer) {
+        this.path = path;
+        this.size = size;
+        this.modified = modified;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != SIGNATURE) {
+            throw new IllegalStateException("커밋 그래프 파일이 아닙니다: " + path);
+        }
+        if (buffer.get(4) != 1 || buffer.get(5) != 1) {
+            throw new IllegalStateException("지원하지 않는 커밋 그래프 버전입니다: " + path);
+        }
+        int chunkCount = buffer.get(6) & 0xFF;
+        int fanout = -1;
+        int oids = -1;
+        int data = -1;
+        int edges = -1;
+        for (int i = 0; i < chunkCount; i++) {
+            int entry = HEADER_LENGTH + i * CHUNK_ENTRY_LENGTH;
+            int offset = (int) buffer.getLong(entry + 4);
+            switch (buffer.getInt(entry)) {
+                case CHUNK_OID_FANOUT: fanout = offset; break;
+                case CHUNK_OID_LOOKUP: oids = offset; break;
+                case CHUNK_COMMIT_DATA: data = offset; break;
+                case CHUNK_EXTRA_EDGES: edges = offset; break;
+                default: // 세대 번호 v2, 블룸 필터 등 사용하지 않는 청크
+            }
+        }
+        if (fanout < 0 || oids < 0 || data < 0) {
+            throw new IllegalStateException("커밋 그래프에 필수 청크가 없습니다: " + path);
+        }
+        this.fanoutOffset = fanout;
+        this.oidOffset = oids;
+        this.dataOffset = data;
+        this.edgeOffset = edges;
+        this.commitCount = buffer.getInt(fanout + 255 * 4);
+    }
+
+    /**
+     * 현재 저장소의 커밋 그래프를 엽니다. 파일이 바뀌지 않았으면 이전에 매핑한 것을 재사용합니다.
+     *
+     * @return 커밋 그래프, 파일이 없으면 null
+     */
+    public static CommitGraph open() {
+        Path path = getPath().toAbsolutePath();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        long modified = attributes.lastModifiedTime().toMillis();
+        CommitGraph graph = cached;
+        if (graph != null && graph.path.equals(path) && graph.size == attributes.size() && graph.modified == modified) {
+            return graph;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            graph = new CommitGraph(path, attributes.size(), modified,
+                channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException("커밋 그래프 열기 실패: " + path, e);
+        }
+        cached = graph;
+        return graph;
+    }
+
+    /**
+     * 커밋 그래프 파일 경로 (.git/objects/info/commit-graph)
+     */
+    public static Path getPath() {
+        return GitRepository.getObjectsDir().resolve("info").resolve("commit-graph");
+    }
+
+    /**
+     * 그래프에 포함된 커밋 수를 반환합니다.
+     */
+    public int size() {
+        return commitCount;
+    }
+
+    /**
+     * fanout 테이블과 이진 탐색으로 커밋의 위치를 찾습니다.
+     *
+     * @return 위치, 그래프에 없으면 -1
+     */
+    public int findPosition(ObjectId id) {
+        int first = id.getFirstByte();
+        int low = first == 0 ? 0 : buffer.getInt(fanoutOffset + (first - 1) * 4);
+        int high = buffer.getInt(fanoutOffset + first * 4);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = id.compareTo(buffer, oidOffset + mid * SHA_LENGTH);
+            if (cmp > 0) {
+                low = mid + 1;
+            } else if (cmp < 0) {
+                high = mid;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public ObjectId getObjectId(int position) {
+        return ObjectId.fromRaw(buffer, oidOffset + position * SHA_LENGTH);
+    }
+
+    public ObjectId getTree(int position) {
+        return ObjectId.fromRaw(buffer, dataOffset + position * DATA_LENGTH);
+    }
+
+    public int getParentCount(int position) {
+        int record = dataOffset + position * DATA_LENGTH + SHA_LENGTH;
+        if (buffer.getInt(record) == PARENT_NONE) {
+            return 0;
+        }
+        int second = buffer.getInt(record + 4);
+        if (second == PARENT_NONE) {
+            return 1;
+        }
+        if ((second & EXTRA_EDGES) == 0) {
+            return 2;
+        }
+        int edge = edgeOffset + (second & ~EXTRA_EDGES) * 4;
+        int count = 2;
+        while ((buffer.getInt(edge) & EXTRA_EDGES) == 0) {
+            edge += 4;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * n번째 부모의 위치를 반환합니다.
+     */
+    public int getParent(int position, int n) {
+        int record = dataOffset + position * DATA_LENGTH + SHA_LENGTH;
+        if (n == 0) {
+            return buffer.getInt(record);
+        }
+        int second = buffer.getInt(record + 4);
+        if ((second & EXTRA_EDGES) == 0) {
+            return second;
+        }
+        return buffer.getInt(edgeOffset + ((second & ~EXTRA_EDGES) + n - 1) * 4) & ~EXTRA_EDGES;
+    }
+
+    public int getGeneration(int position) {
+        return buffer.getInt(dataOffset + position * DATA_LENGTH + SHA_LENGTH + 8) >>> 2;
+    }
+
+    public long getCommitTime(int position) {
+        int record = dataOffset + position * DATA_LENGTH + SHA_LENGTH + 8;
+        return ((long) (buffer.getInt(record) & 0x3) << 32) | (buffer.getInt(record + 4) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 커밋 그래프 파일을 기록합니다. 임시 파일에 쓴 뒤 이름을 바꿉니다.
+     *
+     * @param path 기록할 경로
+     * @param ids ID 순으로 정렬된 커밋 ID
+     * @param trees 커밋별 루트 트리 ID
+     * @param parents 커밋별 부모 위치 (ids 기준)
+     * @param commitTimes 커밋별 커밋 시각 (유닉스 초)
+     */
+    public static void write(Path path, ObjectId[] ids, ObjectId[] trees, int[][] parents, long[] commitTimes) {
+        int count = ids.length;
+        int[] generations = computeGenerations(parents);
+
+        int edgeCount = 0;
+        for (int[] commitParents : parents) {
+            if (commitParents.length > 2) {
+                edgeCount += commitParents.length - 1;
+            }
+        }
+        int chunkCount = edgeCount > 0 ? 4 : 3;
+        long offset = HEADER_LENGTH + (long) (chunkCount + 1) * CHUNK_ENTRY_LENGTH;
+        long[] chunkOffsets = new long[chunkCount + 1];
+        int[] chunkIds = {CHUNK_OID_FANOUT, CHUNK_OID_LOOKUP, CHUNK_COMMIT_DATA, CHUNK_EXTRA_EDGES};
+        long[] chunkSizes = {256 * 4, (long) count * SHA_LENGTH, (long) count * DATA_LENGTH, edgeCount * 4L};
+        for (int i = 0; i < chunkCount; i++) {
+            chunkOffsets[i] = offset;
+            offset += chunkSizes[i];
+        }
+        chunkOffsets[chunkCount] = offset;
+
+        Path tempFile = null;
+        try {
+            Files.createDirectories(path.getParent());
+            tempFile = Files.createTempFile(path.getParent(), "tmp_graph_", null);
+            MessageDigest digest = HashUtil.newSHA1();
+            try (OutputStream fileOut = Files.newOutputStream(tempFile)) {
+                DigestOutputStream digestOut = new DigestOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE), digest);
+                DataOutputStream out = new DataOutputStream(digestOut);
+
+                out.writeInt(SIGNATURE);
+                out.writeByte(1);
+                out.writeByte(1);
+                out.writeByte(chunkCount);
+                out.writeByte(0);
+                for (int i = 0; i <= chunkCount; i++) {
+                    out.writeInt(i < chunkCount ? chunkIds[i] : 0);
+                    out.writeLong(chunkOffsets[i]);
+                }
+
+                int[] fanout = new int[256];
+                for (ObjectId id : ids) {
+                    fanout[id.getFirstByte()]++;
+                }
+                int cumulative = 0;
+                for (int n : fanout) {
+                    cumulative += n;
+                    out.writeInt(cumulative);
+                }
+
+                byte[] raw = new byte[SHA_LENGTH];
+                for (ObjectId id : ids) {
+                    id.copyRawTo(raw, 0);
+                    out.write(raw);
+                }
+
+                int edge = 0;
+                for (int i = 0; i < count; i++) {
+                    trees[i].copyRawTo(raw, 0);
+                    out.write(raw);
+                    int[] commitParents = parents[i];
+                    out.writeInt(commitParents.length > 0 ? commitParents[0] : PARENT_NONE);
+                    if (commitParents.length > 2) {
+                        out.writeInt(EXTRA_EDGES | edge);
+                        edge += commitParents.length - 1;
+                    } else {
+                        out.writeInt(commitParents.length > 1 ? commitParents[1] : PARENT_NONE);
+                    }
+                    long time = commitTimes[i];
+                    out.writeInt((generations[i] << 2) | (int) ((time >>> 32) & 0x3));
+                    out.writeInt((int) time);
+                }
+
+                for (int[] commitParents : parents) {
+                    for (int p = 1; commitParents.length > 2 && p < commitParents.length; p++) {
+                        out.writeInt(p == commitParents.length - 1 ? commitParents[p] | EXTRA_EDGES : commitParents[p]);
+                    }
+                }
+
+                out.flush();
+                digestOut.on(false);
+                out.write(digest.digest());
+                out.flush();
+            }
+            Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // 정리 실패는 원래 예외를 가리지 않도록 무시합니다.
+                }
+            }
+            throw new RuntimeException("커밋 그래프 쓰기 실패: " + path, e);
+        }
+    }
+
+    /**
+     * 부모를 먼저 계산하도록 스택으로 후위 순회하며 세대 번호(위상 단계)를 계산합니다.
+     */
+    private static int[] computeGenerations(int[][] parents) {
+        int[] generations = new int[parents.length];
+        int[] stack = new int[64];
+        for (int start = 0; start < parents.length; start++) {
+            if (generations[start] != 0) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = start;
+            while (top > 0) {
+                int commit = stack[top - 1];
+                if (generations[commit] != 0) {
+                    top--;
+                    continue;
+                }
+                int max = 0;
+                boolean ready = true;
+                for (int parent : parents[commit]) {
+                    if (generations[parent] == 0) {
+                        if (top == stack.length) {
+                            stack = Arrays.copyOf(stack, stack.length * 2);
+                        }
+                        stack[top++] = parent;
+                        ready = false;
+                    } else {
+                        max = Math.max(max, generations[parent]);
+                    }
+                }
+                if (ready) {
+                    generations[commit] = Math.min(max + 1, GENERATION_MAX);
+                    top--;
+                }
+            }
+        }
+        return generations;
+    }
+}
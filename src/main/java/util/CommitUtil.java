@@ -0,0 +1,114 @@
+package util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 커밋 객체 본문과 작성자/커미터 정보를 만드는 유틸리티 클래스
+ *
+ * 커밋 본문 형식:
+ * tree SHA LF, (parent SHA LF)*, author 정보 LF, committer 정보 LF, [encoding 이름 LF], LF, 메시지
+ * 작성자/커미터 정보 형식: 이름 SP &lt;이메일&gt; SP 유닉스 시각 SP 시간대(+hhmm)
+ */
+public class CommitUtil {
+
+    /**
+     * 환경 변수와 설정에서 작성자 또는 커미터 정보를 만듭니다.
+     * 이름과 이메일은 GIT_&lt;역할&gt;_NAME/EMAIL, 없으면 user.name/user.email, 없으면 기본값을 사용하고,
+     * 시각은 GIT_&lt;역할&gt;_DATE("유닉스 시각 시간대" 또는 "@유닉스 시각 시간대"), 없으면 현재 시각을 사용합니다.
+     *
+     * @param role AUTHOR 또는 COMMITTER
+     * @param defaultName 설정이 없을 때 사용할 이름
+     * @param defaultEmail 설정이 없을 때 사용할 이메일
+     * @return "이름 &lt;이메일&gt; 시각 시간대"
+     */
+    public static String ident(String role, String defaultName, String defaultEmail) {
+        String name = firstNonNull(System.getenv("GIT_" + role + "_NAME"), GitConfig.getString("user.name"), defaultName);
+        String email = firstNonNull(System.getenv("GIT_" + role + "_EMAIL"), GitConfig.getString("user.email"), defaultEmail);
+        String date = System.getenv("GIT_" + role + "_DATE");
+
+        StringBuilder ident = new StringBuilder(name.length() + email.length() + 24);
+        ident.append(name).append(" <").append(email).append("> ");
+        if (date != null) {
+            ident.append(parseRawDate(date));
+        } else {
+            long seconds = System.currentTimeMillis() / 1000;
+            ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochSecond(seconds));
+            ident.append(seconds).append(' ');
+            appendTimeZone(ident, offset.getTotalSeconds() / 60);
+        }
+        return ident.toString();
+    }
+
+    /**
+     * 커밋 본문을 만듭니다.
+     *
+     * @param tree 루트 트리 ID
+     * @param parents 부모 커밋 ID
+     * @param author 작성자 정보
+     * @param committer 커미터 정보
+     * @param encoding 메시지 인코딩 (없으면 null)
+     * @param message 메시지 (그대로 기록)
+     * @return 헤더를 제외한 커밋 본문
+     */
+    public static byte[] buildCommitContent(ObjectId tree, List<ObjectId> parents, String author, String committer,
+                                            String encoding, byte[] message) {
+        StringBuilder header = new StringBuilder(128 + parents.size() * 48);
+        header.append("tree ").append(tree.name()).append('\n');
+        for (ObjectId parent : parents) {
+            header.append("parent ").append(parent.name()).append('\n');
+        }
+        header.append("author ").append(author).append('\n');
+        header.append("committer ").append(committer).append('\n');
+        if (encoding != null) {
+            header.append("encoding ").append(encoding).append('\n');
+        }
+        header.append('\n');
+
+        byte[] headerBytes = header.toString().getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream content = new ByteArrayOutputStream(headerBytes.length + message.length);
+        content.write(headerBytes, 0, headerBytes.length);
+        content.write(message, 0, message.length);
+        return content.toByteArray();
+    }
+
+    /**
+     * Git 내부 날짜 형식("1700000000 +0900", 앞에 @ 허용)을 검사해 정규화합니다.
+     */
+    private static String parseRawDate(String date) {
+        String value = date.trim();
+        if (value.startsWith("@")) {
+            value = value.substring(1);
+        }
+        int space = value.indexOf(' ');
+        try {
+            long seconds = Long.parseLong(space < 0 ? value : value.substring(0, space));
+            String zone = space < 0 ? "+0000" : value.substring(space + 1).trim();
+            if (zone.length() != 5 || (zone.charAt(0) != '+' && zone.charAt(0) != '-')) {
+                throw new NumberFormatException(zone);
+            }
+            Integer.parseInt(zone.substring(1));
+            return seconds + " " + zone;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("지원하지 않는 날짜 형식입니다 (유닉스 시각 +hhmm 형식만 지원): " + date, e);
+        }
+    }
+
+    private static void appendTimeZone(StringBuilder target, int offsetMinutes) {
+        target.append(offsetMinutes < 0 ? '-' : '+');
+        int minutes = Math.abs(offsetMinutes);
+        int hhmm = (minutes / 60) * 100 + minutes % 60;
+        if (hhmm < 1000) target.append('0');
+        if (hhmm < 100) target.append('0');
+        if (hhmm < 10) target.append('0');
+        target.append(hhmm);
+    }
+
+    private static String firstNonNull(String first, String second, String fallback) {
+        return first != null ? first : second != null ? second : fallback;
+    }
+}
@@ -0,0 +1,122 @@
+package util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 객체 읽기/쓰기에서 공유하는 zlib 압축 계층
+ *
+ * Inflater와 Deflater(압축 수준별)를 스레드마다 하나씩 두고 재사용하므로, 객체마다 네이티브 zlib 상태와
+ * 작업 버퍼를 새로 만들지 않습니다. 꺼낸 인스턴스는 end()를 호출하지 말고, 같은 스레드에서 다른
+ * 압축/압축 해제를 시작하기 전에 사용을 끝내야 합니다.
+ *
+ * loose 객체의 압축 수준은 Git과 같이 core.looseCompression, 없으면 core.compression, 둘 다 없으면
+ * 1(가장 빠름)을 사용합니다. 팩은 pack.compression, 없으면 core.compression, 둘 다 없으면 -1입니다.
+ * 값은 -1(zlib 기본값, 6)부터 9까지입니다.
+ */
+public class CompressionUtil {
+
+    /** 설정이 없을 때 loose 객체 압축 수준 (Git 기본값과 동일) */
+    public static final int DEFAULT_LOOSE_LEVEL = Deflater.BEST_SPEED;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+    /** 압축 수준(-1~9)별 Deflater, 인덱스는 수준 + 1 */
+    private static final ThreadLocal<Deflater[]> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater[11]);
+    private static final ThreadLocal<byte[]> DEFLATE_BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    /**
+     * 현재 스레드의 Inflater를 초기화하여 반환합니다.
+     */
+    public static Inflater getInflater() {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        return inflater;
+    }
+
+    /**
+     * 현재 스레드에서 해당 압축 수준의 Deflater를 초기화하여 반환합니다.
+     *
+     * @param level 압축 수준 (-1~9)
+     */
+    public static Deflater getDeflater(int level) {
+        Deflater[] deflaters = DEFLATERS.get();
+        Deflater deflater = deflaters[level + 1];
+        if (deflater == null) {
+            deflater = new Deflater(level);
+            deflaters[level + 1] = deflater;
+        } else {
+            deflater.reset();
+        }
+        return deflater;
+    }
+
+    /**
+     * loose 객체 압축 수준을 설정에서 읽습니다.
+     */
+    public static int getLooseCompressionLevel() {
+        return getCompressionLevel("core.looseCompression", DEFAULT_LOOSE_LEVEL);
+    }
+
+    /**
+     * 팩에 쓰는 객체의 압축 수준을 설정에서 읽습니다. (pack.compression, 없으면 core.compression, 기본 -1)
+     */
+    public static int getPackCompressionLevel() {
+        return getCompressionLevel("pack.compression", Deflater.DEFAULT_COMPRESSION);
+    }
+
+    private static int getCompressionLevel(String specificKey, int defaultLevel) {
+        String key = GitConfig.getString(specificKey) != null ? specificKey : "core.compression";
+        int level = GitConfig.getInt(key, defaultLevel);
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("잘못된 압축 수준입니다 (" + key + "): " + level);
+        }
+        return level;
+    }
+
+    /**
+     * 데이터를 zlib 형식으로 압축해 스트림에 씁니다. 스레드의 Deflater와 출력 버퍼를 재사용합니다.
+     *
+     * @param data 원본 데이터
+     * @param offset 시작 위치
+     * @param length 길이
+     * @param level 압축 수준
+     * @param out 압축 결과를 쓸 스트림
+     */
+    public static void deflate(byte[] data, int offset, int length, int level, OutputStream out) throws IOException {
+        Deflater deflater = getDeflater(level);
+        byte[] buffer = DEFLATE_BUFFER.get();
+        deflater.setInput(data, offset, length);
+        deflater.finish();
+        while (!deflater.finished()) {
+            int count = deflater.deflate(buffer);
+            out.write(buffer, 0, count);
+        }
+    }
+
+    /**
+     * 압축 해제한 결과로 배열을 끝까지 채웁니다.
+     *
+     * @param inflater 입력이 설정된 Inflater
+     * @param target 결과 배열
+     * @param offset 채우기 시작할 위치
+     */
+    public static void inflateFully(Inflater inflater, byte[] target, int offset) throws DataFormatException {
+        while (offset < target.length) {
+            int count = inflater.inflate(target, offset, target.length - offset);
+            if (count == 0) {
+                if (inflater.finished() || inflater.needsInput()) {
+                    throw new DataFormatException("압축 데이터가 중간에 끝났습니다.");
+                }
+                if (inflater.needsDictionary()) {
+                    throw new DataFormatException("사전이 필요한 압축 데이터는 지원하지 않습니다.");
+                }
+            }
+            offset += count;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.net.StandardProtocolFamily.UNIX;
+
+/**
+ * 데몬(daemon 명령어)에 명령을 전달하는 클라이언트와 둘 사이의 통신 형식
+ *
+ * 요청 (클라이언트 → 데몬):
+ * - int 인자 개수, 인자들(writeUTF), 현재 디렉토리(writeUTF)
+ * - 인자 개수가 0이면 데몬 종료 요청
+ * - 데몬이 표준 입력을 요청하면 [int 길이][바이트]로 응답 (길이 0은 EOF)
+ *
+ * 응답 (데몬 → 클라이언트): [byte 채널][int 값] 프레임의 연속
+ * - STDOUT, STDERR : 값만큼의 바이트가 이어짐
+ * - STDIN_REQUEST  : 최대 값 바이트의 표준 입력을 요청
+ * - EXIT           : 값이 종료 코드이며 마지막 프레임
+ *
+ * 표준 입력은 명령어가 실제로 읽을 때만 요청하므로, 입력을 읽지 않는 명령어를 셸 루프 안에서
+ * 실행해도 루프의 입력을 가로채지 않습니다.
+ */
+public class DaemonClient {
+
+    /** 데몬 소켓 경로를 지정하는 환경 변수 (설정되어 있으면 명령을 데몬으로 보냄) */
+    public static final String SOCKET_ENV = "GIT_DAEMON_SOCKET";
+
+    /** 응답 프레임 채널 */
+    public static final int STDOUT = 1;
+    public static final int STDERR = 2;
+    public static final int EXIT = 3;
+    public static final int STDIN_REQUEST = 4;
+
+    /** 데몬에 연결하지 못했을 때 {@link #forward}가 반환하는 값 */
+    public static final int NOT_CONNECTED = -1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 소켓 경로를 정합니다. 환경 변수가 없으면 임시 디렉토리 아래 사용자별 경로를 사용합니다.
+     */
+    public static Path defaultSocketPath() {
+        String env = System.getenv(SOCKET_ENV);
+        if (env != null && !env.isEmpty()) {
+            return Paths.get(env);
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"), "codecrafters-git-" + System.getProperty("user.name") + ".sock");
+    }
+
+    /**
+     * 데몬에 연결합니다.
+     *
+     * @param socketPath 소켓 경로
+     * @return 연결된 채널, 데몬이 실행 중이 아니면 null
+     */
+    public static SocketChannel connect(Path socketPath) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open(UNIX);
+            channel.connect(UnixDomainSocketAddress.of(socketPath));
+            return channel;
+        } catch (IOException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // 연결 실패 후 정리이므로 무시합니다.
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 명령을 데몬에서 실행하고, 출력과 종료 코드를 이 프로세스로 전달합니다.
+     *
+     * @param socketPath 소켓 경로
+     * @param args 명령어 인자 (명령어 이름 포함)
+     * @return 명령의 종료 코드, 데몬에 연결하지 못하면 {@link #NOT_CONNECTED}
+     */
+    public static int forward(Path socketPath, String[] args) {
+        SocketChannel channel = connect(socketPath);
+        if (channel == null) {
+            return NOT_CONNECTED;
+        }
+
+        try (channel) {
+            DataOutputStream request = new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            writeRequest(request, args);
+
+            DataInputStream response = new DataInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (true) {
+                int type = response.read();
+                if (type < 0) {
+                    throw new IllegalStateException("데몬과의 연결이 종료 코드 없이 끊어졌습니다.");
+                }
+                int value = response.readInt();
+                switch (type) {
+                    case STDOUT:
+                        copy(response, value, System.out, buffer);
+                        break;
+                    case STDERR:
+                        copy(response, value, System.err, buffer);
+                        break;
+                    case STDIN_REQUEST:
+                        System.out.flush();
+                        sendStdin(request, Math.min(value, buffer.length), buffer);
+                        break;
+                    case EXIT:
+                        System.out.flush();
+                        System.err.flush();
+                        return value;
+                    default:
+                        throw new IllegalStateException("알 수 없는 데몬 응답 채널: " + type);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("데몬 통신 실패: " + socketPath, e);
+        }
+    }
+
+    /**
+     * 데몬에 종료를 요청합니다.
+     *
+     * @param socketPath 소켓 경로
+     * @return 데몬이 실행 중이었으면 true
+     */
+    public static boolean stop(Path socketPath) {
+        return forward(socketPath, new String[0]) != NOT_CONNECTED;
+    }
+
+    private static void writeRequest(DataOutputStream request, String[] args) throws IOException {
+        request.writeInt(args.length);
+        for (String arg : args) {
+            request.writeUTF(arg);
+        }
+        request.writeUTF(Paths.get("").toAbsolutePath().toString());
+        request.flush();
+    }
+
+    private static void copy(DataInputStream in, int length, PrintStream out, byte[] buffer) throws IOException {
+        while (length > 0) {
+            int count = in.read(buffer, 0, Math.min(length, buffer.length));
+            if (count < 0) {
+                throw new IllegalStateException("데몬 출력이 중간에 끊어졌습니다.");
+            }
+            out.write(buffer, 0, count);
+            length -= count;
+        }
+    }
+
+    private static void sendStdin(DataOutputStream request, int max, byte[] buffer) throws IOException {
+        InputStream in = System.in;
+        int count = in.read(buffer, 0, max);
+        if (count <= 0) {
+            request.writeInt(0);
+        } else {
+            request.writeInt(count);
+            request.write(buffer, 0, count);
+        }
+        request.flush();
+    }
+}
@@ -0,0 +1,121 @@
+package util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 델타 체인을 풀 때 복원한 기준 객체를 보관하는 LRU 캐시
+ *
+ * (팩 파일, 오프셋)을 키로 사용하며, 보관 중인 객체 본문의 총 크기가 예산을 넘으면
+ * 가장 오래 사용하지 않은 항목부터 제거합니다. 예산은 core.deltaBaseCacheLimit 설정(기본 96MB)을 따릅니다.
+ *
+ * 캐시에 들어간 객체 본문은 여러 호출자가 공유하므로 수정하면 안 됩니다.
+ */
+public class DeltaBaseCache {
+
+    private static final long DEFAULT_LIMIT = 96L * 1024 * 1024;
+
+    private static volatile DeltaBaseCache instance;
+
+    private final long limit;
+    private final LinkedHashMap<Key, GitObject> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * @param limit 보관할 객체 본문의 최대 총 바이트 수
+     */
+    public DeltaBaseCache(long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * 설정에 따른 예산으로 만든 공용 캐시를 반환합니다.
+     */
+    public static DeltaBaseCache getInstance() {
+        DeltaBaseCache current = instance;
+        if (current == null) {
+            synchronized (DeltaBaseCache.class) {
+                current = instance;
+                if (current == null) {
+                    current = new DeltaBaseCache(GitConfig.getLong("core.deltaBaseCacheLimit", DEFAULT_LIMIT));
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 공용 캐시를 버립니다. 다른 저장소를 열 때 호출하며, 다음 사용 시 설정을 다시 읽어 새로 만듭니다.
+     */
+    public static synchronized void reset() {
+        instance = null;
+    }
+
+    /**
+     * 캐시된 객체를 찾습니다.
+     *
+     * @param pack 팩 파일
+     * @param offset 팩 내 엔트리 오프셋
+     * @return 객체, 없으면 null
+     */
+    public synchronized GitObject get(PackFile pack, long offset) {
+        return entries.get(new Key(pack, offset));
+    }
+
+    /**
+     * 객체를 캐시에 넣고, 예산을 넘으면 오래된 항목을 제거합니다.
+     * 예산보다 큰 객체는 보관하지 않습니다.
+     */
+    public synchronized void put(PackFile pack, long offset, GitObject object) {
+        long size = object.getSize();
+        if (size > limit) {
+            return;
+        }
+
+        GitObject previous = entries.put(new Key(pack, offset), object);
+        if (previous != null) {
+            totalBytes -= previous.getSize();
+        }
+        totalBytes += size;
+
+        Iterator<Map.Entry<Key, GitObject>> iterator = entries.entrySet().iterator();
+        while (totalBytes > limit && iterator.hasNext()) {
+            totalBytes -= iterator.next().getValue().getSize();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 현재 보관 중인 객체 본문의 총 바이트 수를 반환합니다.
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * 캐시 키 (팩 파일 + 오프셋)
+     */
+    private static final class Key {
+        private final PackFile pack;
+        private final long offset;
+
+        Key(PackFile pack, long offset) {
+            this.pack = pack;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return pack == other.pack && offset == other.offset;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(pack) * 31 + Long.hashCode(offset);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package util;
+
+/**
+ * 팩 파일 델타(OFS_DELTA, REF_DELTA) 적용 유틸리티 클래스
+ *
+ * 델타 형식: 기준 객체 크기(가변 길이), 결과 객체 크기(가변 길이), 명령어 목록
+ * - 복사 명령 (최상위 비트 1): 하위 4비트는 오프셋 바이트, 다음 3비트는 크기 바이트의 존재 여부
+ * - 삽입 명령 (최상위 비트 0): 하위 7비트가 뒤따르는 리터럴 바이트 수
+ */
+public class DeltaUtil {
+
+    /**
+     * 기준 객체에 델타를 적용합니다.
+     * 결과 크기는 델타 헤더에서 읽어 출력 버퍼를 한 번에 할당합니다.
+     *
+     * @param base 기준 객체 본문
+     * @param delta 압축 해제된 델타 데이터
+     * @return 결과 객체 본문
+     */
+    public static byte[] applyDelta(byte[] base, byte[] delta) {
+        int[] position = {0};
+        long baseSize = readSize(delta, position);
+        long resultSize = readSize(delta, position);
+        if (baseSize != base.length) {
+            throw new IllegalStateException("델타 기준 객체 크기가 일치하지 않습니다: " + baseSize + " != " + base.length);
+        }
+        if (resultSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("2GB를 넘는 델타 결과는 지원하지 않습니다.");
+        }
+
+        byte[] result = new byte[(int) resultSize];
+        int out = 0;
+        int pos = position[0];
+
+        while (pos < delta.length) {
+            int op = delta[pos++] & 0xFF;
+            if ((op & 0x80) != 0) {
+                // 복사: 비트가 켜진 바이트만 존재하는 리틀 엔디언 오프셋/크기
+                if (Integer.bitCount(op & 0x7F) > delta.length - pos) {
+                    throw new IllegalStateException("델타 복사 명령이 잘렸습니다.");
+                }
+                long offset = 0;
+                int size = 0;
+                if ((op & 0x01) != 0) offset = delta[pos++] & 0xFF;
+                if ((op & 0x02) != 0) offset |= (delta[pos++] & 0xFF) << 8;
+                if ((op & 0x04) != 0) offset |= (delta[pos++] & 0xFF) << 16;
+                if ((op & 0x08) != 0) offset |= (long) (delta[pos++] & 0xFF) << 24;
+                if ((op & 0x10) != 0) size = delta[pos++] & 0xFF;
+                if ((op & 0x20) != 0) size |= (delta[pos++] & 0xFF) << 8;
+                if ((op & 0x40) != 0) size |= (delta[pos++] & 0xFF) << 16;
+                if (size == 0) size = 0x10000;
+
+                if (offset + size > base.length || out + size > result.length) {
+                    throw new IllegalStateException("델타 복사 명령이 범위를 벗어났습니다.");
+                }
+                System.arraycopy(base, (int) offset, result, out, size);
+                out += size;
+            } else if (op != 0) {
+                // 삽입: 델타에 포함된 리터럴 바이트를 그대로 복사
+                if (pos + op > delta.length || out + op > result.length) {
+                    throw new IllegalStateException("델타 삽입 명령이 범위를 벗어났습니다.");
+                }
+                System.arraycopy(delta, pos, result, out, op);
+                pos += op;
+                out += op;
+            } else {
+                throw new IllegalStateException("예약된 델타 명령(0)입니다.");
+            }
+        }
+
+        if (out != result.length) {
+            throw new IllegalStateException("델타 결과 크기가 일치하지 않습니다: " + out + " != " + result.length);
+        }
+        return result;
+    }
+
+    /**
+     * 델타 헤더에서 결과 객체 크기만 읽습니다. (기준 객체를 복원하지 않고 크기를 알 때 사용)
+     *
+     * @param delta 압축 해제된 델타 데이터 (앞부분만 있어도 됨)
+     * @return 결과 객체 크기
+     */
+    public static long readResultSize(byte[] delta) {
+        int[] position = {0};
+        readSize(delta, position);
+        return readSize(delta, position);
+    }
+
+    /**
+     * 7비트 단위 리틀 엔디언 가변 길이 정수를 읽습니다.
+     */
+    private static long readSize(byte[] data, int[] position) {
+        long size = 0;
+        int shift = 0;
+        int c;
+        do {
+            if (position[0] >= data.length) {
+                throw new IllegalStateException("델타 헤더가 잘렸습니다.");
+            }
+            c = data[position[0]++] & 0xFF;
+            size |= (long) (c & 0x7F) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        return size;
+    }
+}
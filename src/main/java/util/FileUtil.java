@@ -22,7 +22,7 @@ public class FileUtil {
     }
     
     /**
-     * Git 디렉토리 확인 (파일 필터링에 사용)
+     * Git 디렉토리 확인 (파일 필터링에 사용, .gitignore 등의 무시 규칙은 {@link IgnoreRules}에서 판단)
      * 
      * @param file 확인할 파일
      * @return .git이 아닌 경우 true
@@ -0,0 +1,221 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Git 설정 파일을 읽는 유틸리티 클래스
+ *
+ * 전역 설정(~/.gitconfig, $XDG_CONFIG_HOME/git/config)과 저장소 설정(.git/config)을 차례로 읽으며,
+ * 같은 키는 나중에 읽은 값이 우선합니다. 처음 조회할 때 한 번만 읽습니다.
+ *
+ * 키는 "section.key" 또는 "section.subsection.key" 형식이며, 섹션과 키 이름은 대소문자를 구분하지 않습니다.
+ */
+public class GitConfig {
+
+    private static volatile Map<String, String> values;
+
+    /**
+     * 설정 값을 문자열로 반환합니다.
+     *
+     * @param name 설정 키 (예: core.compression)
+     * @return 설정 값, 없으면 null
+     */
+    public static String getString(String name) {
+        return getValues().get(normalize(name));
+    }
+
+    /**
+     * 설정 값을 정수로 반환합니다. k, m, g 단위 접미사를 지원합니다.
+     *
+     * @param name 설정 키
+     * @param defaultValue 값이 없을 때 사용할 기본값
+     * @return 설정 값
+     */
+    public static long getLong(String name, long defaultValue) {
+        String value = getString(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        long multiplier = 1;
+        char unit = Character.toLowerCase(value.charAt(value.length() - 1));
+        if (unit == 'k' || unit == 'm' || unit == 'g') {
+            multiplier = unit == 'k' ? 1024L : unit == 'm' ? 1024L * 1024 : 1024L * 1024 * 1024;
+            value = value.substring(0, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value.trim()) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 설정 값: " + name + " = " + getString(name), e);
+        }
+    }
+
+    /**
+     * 설정 값을 정수로 반환합니다.
+     */
+    public static int getInt(String name, int defaultValue) {
+        return (int) getLong(name, defaultValue);
+    }
+
+    /**
+     * 설정 값을 불리언으로 반환합니다. (true/yes/on/1, false/no/off/0)
+     *
+     * @param name 설정 키
+     * @param defaultValue 값이 없을 때 사용할 기본값
+     * @return 설정 값
+     */
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = getString(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true": case "yes": case "on": case "1": case "":
+                return true;
+            case "false": case "no": case "off": case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("잘못된 불리언 설정 값: " + name + " = " + value);
+        }
+    }
+
+    /**
+     * 설정 파일을 다시 읽습니다. 설정을 바꾼 뒤 같은 프로세스에서 다시 조회할 때 호출합니다.
+     */
+    public static synchronized void reload() {
+        values = load();
+    }
+
+    private static Map<String, String> getValues() {
+        Map<String, String> current = values;
+        if (current == null) {
+            synchronized (GitConfig.class) {
+                current = values;
+                if (current == null) {
+                    current = load();
+                    values = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static Map<String, String> load() {
+        Map<String, String> result = new HashMap<>();
+
+        String home = System.getProperty("user.home");
+        String xdgConfigHome = System.getenv("XDG_CONFIG_HOME");
+        Path xdgConfig = xdgConfigHome != null && !xdgConfigHome.isEmpty()
+            ? Paths.get(xdgConfigHome, "git", "config")
+            : Paths.get(home, ".config", "git", "config");
+
+        parseFile(xdgConfig, result);
+        parseFile(Paths.get(home, ".gitconfig"), result);
+        parseFile(GitRepository.getGitDir().resolve("config"), result);
+        return result;
+    }
+
+    /**
+     * 설정 파일 하나를 파싱하여 결과 맵에 추가합니다. 파일이 없으면 무시합니다.
+     */
+    private static void parseFile(Path path, Map<String, String> result) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            throw new RuntimeException("설정 파일 읽기 실패: " + path, e);
+        }
+
+        String section = null;
+        for (String rawLine : lines) {
+            String line = rawLine.trim();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith(";")) {
+                continue;
+            }
+
+            if (line.startsWith("[")) {
+                section = parseSectionHeader(line);
+                continue;
+            }
+            if (section == null) {
+                continue;
+            }
+
+            int equals = line.indexOf('=');
+            String key = (equals < 0 ? line : line.substring(0, equals)).trim();
+            // 값 없이 키만 있으면 true로 간주
+            String value = equals < 0 ? "true" : parseValue(line.substring(equals + 1));
+            result.put(section + "." + key.toLowerCase(Locale.ROOT), value);
+        }
+    }
+
+    /**
+     * [section], [section "subsection"], [section.subsection] 형식의 헤더를 파싱합니다.
+     * 섹션 이름은 소문자로 바꾸고 서브섹션 이름은 그대로 둡니다.
+     */
+    private static String parseSectionHeader(String line) {
+        int end = line.lastIndexOf(']');
+        String header = line.substring(1, end < 0 ? line.length() : end).trim();
+
+        int quote = header.indexOf('"');
+        if (quote >= 0) {
+            String name = header.substring(0, quote).trim().toLowerCase(Locale.ROOT);
+            String subsection = header.substring(quote + 1, header.lastIndexOf('"'))
+                .replace("\\\"", "\"").replace("\\\\", "\\");
+            return name + "." + subsection;
+        }
+
+        int dot = header.indexOf('.');
+        if (dot >= 0) {
+            return header.substring(0, dot).toLowerCase(Locale.ROOT) + "." + header.substring(dot + 1).toLowerCase(Locale.ROOT);
+        }
+        return header.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 따옴표, 이스케이프, 줄 끝 주석을 처리하여 값을 파싱합니다.
+     */
+    private static String parseValue(String raw) {
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\\' && i + 1 < raw.length()) {
+                char next = raw.charAt(++i);
+                value.append(next == 'n' ? '\n' : next == 't' ? '\t' : next);
+            } else if (!quoted && (c == '#' || c == ';')) {
+                break;
+            } else {
+                value.append(c);
+            }
+        }
+        return quoted ? value.toString() : value.toString().trim();
+    }
+
+    /**
+     * 조회용 키를 정규화합니다. 첫 구간(섹션)과 마지막 구간(키)만 소문자로 바꿉니다.
+     */
+    private static String normalize(String name) {
+        int first = name.indexOf('.');
+        int last = name.lastIndexOf('.');
+        if (first < 0) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        return name.substring(0, first).toLowerCase(Locale.ROOT)
+            + name.substring(first, last + 1)
+            + name.substring(last + 1).toLowerCase(Locale.ROOT);
+    }
+}
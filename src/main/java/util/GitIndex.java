@@ -0,0 +1,629 @@
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Git 인덱스(.git/index) 파일을 읽고 쓰는 클래스
+ *
+ * Git의 DIRC 형식(버전 2)을 사용하며, 각 경로의 stat 정보(mtime, ctime, size, inode 등)와
+ * blob SHA를 기록합니다. write-tree는 stat 정보가 일치하는 파일의 SHA를 재사용하여
+ * 내용을 다시 읽지 않습니다.
+ *
+ * TREE 확장(cache-tree)을 함께 읽고 써서 바뀌지 않은 디렉토리의 트리 SHA도 재사용합니다.
+ * 엔트리 맵은 병렬 write-tree에서 동시에 갱신할 수 있습니다.
+ * 끝의 체크섬은 기록할 때만 계산하고 읽을 때는 검증하지 않습니다. (Git의 기본 동작과 같음)
+ * 인덱스 파일과 같은 시각(또는 그 이후)에 수정된 파일은 stat 정보만으로는 변경 여부를
+ * 판단할 수 없으므로(racy timestamp) 항상 다시 해시합니다.
+ */
+public class GitIndex {
+
+
+    private static final int SIGNATURE = 0x44495243; // "DIRC"
+    private static final int VERSION = 2;
+    private static final int ENTRY_FIXED_SIZE = 62;
+    private static final int SHA_LENGTH = 20;
+    private static final int NAME_MASK = 0x0FFF;
+    private static final int EXTENDED_FLAG = 0x4000;
+    private static final int TREE_EXTENSION = 0x54524545; // "TREE"
+
+    /** 일반 파일 모드 (100644) */
+    public static final int REGULAR_FILE_MODE = 0100644;
+
+    private static final String STAT_ATTRIBUTES = "unix:mode,ino,dev,uid,gid,size,lastModifiedTime,ctime";
+    private static final int S_IFMT = 0170000;
+    private static final int S_IFLNK = 0120000;
+    private static final int S_IFDIR = 0040000;
+    private static final boolean UNIX_VIEW_SUPPORTED =
+        FileSystems.getDefault().supportedFileAttributeViews().contains("unix");
+
+    /**
+     * 마지막으로 읽거나 쓴 인덱스 (데몬처럼 한 JVM에서 명령을 여러 번 실행할 때 파일이 그대로면 다시 파싱하지 않음)
+     */
+    private static volatile Snapshot cached;
+
+    private final Map<String, Entry> entries;
+    private final long timestampSeconds;
+    private final int timestampNanos;
+    private CacheTree cacheTree;
+    /** 엔트리가 들어 있는 디렉토리 경로 집합 ('/'로 끝남, 처음 필요할 때 만듦) */
+    private volatile Set<String> directories;
+
+    private GitIndex(Map<String, Entry> entries, long timestampSeconds, int timestampNanos) {
+        this.entries = entries;
+        this.timestampSeconds = timestampSeconds;
+        this.timestampNanos = timestampNanos;
+    }
+
+    /**
+     * 비어 있는 인덱스를 생성합니다.
+     */
+    public static GitIndex empty() {
+        return new GitIndex(new ConcurrentHashMap<>(), 0, 0);
+    }
+
+    /**
+     * .git/index 파일을 읽습니다. 파일이 없으면 빈 인덱스를 반환합니다.
+     *
+     * @return 읽어 들인 인덱스
+     */
+    public static GitIndex read() {
+        Path indexPath = indexPath();
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(indexPath, BasicFileAttributes.class);
+            Snapshot snapshot = cached;
+            if (snapshot != null && snapshot.matches(indexPath, attrs)) {
+                return snapshot.index.copy();
+            }
+
+            byte[] data = Files.readAllBytes(indexPath);
+            long nanos = attrs.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+            GitIndex index = parse(data, Math.floorDiv(nanos, 1_000_000_000L), (int) Math.floorMod(nanos, 1_000_000_000L));
+            cached = new Snapshot(indexPath, attrs, index.copy());
+            return index;
+        } catch (NoSuchFileException e) {
+            return empty();
+        } catch (IOException e) {
+            throw new RuntimeException("인덱스 파일 읽기 실패: " + indexPath, e);
+        }
+    }
+
+    /**
+     * 엔트리 맵만 새로 만든 사본을 반환합니다. 엔트리와 cache-tree는 읽은 뒤 바뀌지 않으므로 공유합니다.
+     */
+    private GitIndex copy() {
+        GitIndex copy = new GitIndex(new ConcurrentHashMap<>(entries), timestampSeconds, timestampNanos);
+        copy.cacheTree = cacheTree;
+        return copy;
+    }
+
+    private static Path indexPath() {
+        return GitRepository.getGitDir().resolve("index");
+    }
+
+    /**
+     * 인덱스 바이트 데이터를 파싱합니다.
+     */
+    private static GitIndex parse(byte[] data, long timestampSeconds, int timestampNanos) {
+        if (data.length < 12 + SHA_LENGTH) {
+            throw new IllegalStateException("인덱스 파일이 너무 짧습니다.");
+        }
+
+        // Git과 같이 평소 읽을 때는 끝의 SHA-1 체크섬을 검증하지 않음 (큰 인덱스에서 읽기 시간의 대부분을 차지)
+        ByteBuffer buffer = ByteBuffer.wrap(data, 0, data.length - SHA_LENGTH);
+        if (buffer.getInt() != SIGNATURE) {
+            throw new IllegalStateException("인덱스 파일 서명이 올바르지 않습니다.");
+        }
+        int version = buffer.getInt();
+        if (version != 2 && version != 3) {
+            throw new IllegalStateException("지원하지 않는 인덱스 버전: " + version);
+        }
+
+        int count = buffer.getInt();
+        Map<String, Entry> entries = new ConcurrentHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            int start = buffer.position();
+            Entry entry = new Entry();
+            entry.ctimeSeconds = Integer.toUnsignedLong(buffer.getInt());
+            entry.ctimeNanos = buffer.getInt();
+            entry.mtimeSeconds = Integer.toUnsignedLong(buffer.getInt());
+            entry.mtimeNanos = buffer.getInt();
+            entry.dev = buffer.getInt();
+            entry.ino = buffer.getInt();
+            entry.mode = buffer.getInt();
+            entry.uid = buffer.getInt();
+            entry.gid = buffer.getInt();
+            entry.size = buffer.getInt();
+            entry.id = ObjectId.fromRaw(buffer, buffer.position());
+            buffer.position(buffer.position() + SHA_LENGTH);
+
+            int flags = buffer.getShort() & 0xFFFF;
+            int headerSize = ENTRY_FIXED_SIZE;
+            if ((flags & EXTENDED_FLAG) != 0) {
+                buffer.getShort();
+                headerSize += 2;
+            }
+
+            int nameStart = buffer.position();
+            int nameEnd = nameStart;
+            while (data[nameEnd] != 0) {
+                nameEnd++;
+            }
+            entry.path = new String(data, nameStart, nameEnd - nameStart, StandardCharsets.UTF_8);
+
+            // 엔트리 전체 길이가 8의 배수가 되도록 1~8바이트의 NUL 패딩이 붙음
+            int entryLength = (headerSize + (nameEnd - nameStart) + 8) & ~7;
+            buffer.position(start + entryLength);
+
+            // 병합 충돌 단계(stage)가 0인 엔트리만 사용
+            if (((flags >> 12) & 0x3) == 0) {
+                entries.put(entry.path, entry);
+            }
+        }
+
+        GitIndex index = new GitIndex(entries, timestampSeconds, timestampNanos);
+        parseExtensions(buffer, index);
+        return index;
+    }
+
+    /**
+     * 엔트리 뒤에 오는 확장 영역을 파싱합니다.
+     * TREE 확장만 해석하며, 대문자로 시작하는 다른 확장은 선택 사항이므로 건너뜁니다.
+     */
+    private static void parseExtensions(ByteBuffer buffer, GitIndex index) {
+        while (buffer.remaining() >= 8) {
+            int signature = buffer.getInt();
+            int size = buffer.getInt();
+            int next = buffer.position() + size;
+
+            if (signature == TREE_EXTENSION) {
+                ByteBuffer extension = buffer.slice();
+                extension.limit(size);
+                index.cacheTree = CacheTree.parse(extension);
+            } else if (signature >>> 24 < 'A' || signature >>> 24 > 'Z') {
+                throw new IllegalStateException("지원하지 않는 필수 인덱스 확장: "
+                    + new String(ByteBuffer.allocate(4).putInt(signature).array(), StandardCharsets.US_ASCII));
+            }
+            buffer.position(next);
+        }
+    }
+
+    /**
+     * 경로에 해당하는 엔트리를 반환합니다.
+     *
+     * @param path 저장소 루트 기준 경로 ('/' 구분)
+     * @return 엔트리, 없으면 null
+     */
+    public Entry getEntry(String path) {
+        return entries.get(path);
+    }
+
+    /**
+     * 엔트리를 추가하거나 교체합니다.
+     */
+    public void putEntry(Entry entry) {
+        entries.put(entry.path, entry);
+        directories = null;
+    }
+
+    /**
+     * 디렉토리 아래에 엔트리가 하나라도 있는지 확인합니다. (무시 규칙에 걸린 디렉토리가 추적 중인지 볼 때 사용)
+     *
+     * @param prefix 저장소 루트 기준 디렉토리 경로 ('/'로 끝남)
+     */
+    public boolean containsDirectory(String prefix) {
+        Set<String> dirs = directories;
+        if (dirs == null) {
+            dirs = new HashSet<>();
+            for (String path : entries.keySet()) {
+                for (int slash = path.indexOf('/'); slash >= 0; slash = path.indexOf('/', slash + 1)) {
+                    dirs.add(path.substring(0, slash + 1));
+                }
+            }
+            directories = dirs;
+        }
+        return dirs.contains(prefix);
+    }
+
+    /**
+     * 모든 엔트리를 반환합니다.
+     */
+    public Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    /**
+     * 엔트리 개수를 반환합니다.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * cache-tree(TREE 확장)를 반환합니다. 없으면 null을 반환합니다.
+     */
+    public CacheTree getCacheTree() {
+        return cacheTree;
+    }
+
+    /**
+     * 인덱스와 함께 기록할 cache-tree를 설정합니다.
+     */
+    public void setCacheTree(CacheTree cacheTree) {
+        this.cacheTree = cacheTree;
+    }
+
+    /**
+     * 엔트리의 stat 정보가 현재 파일 상태와 일치하여 기록된 SHA를 그대로 쓸 수 있는지 확인합니다.
+     * 인덱스 파일보다 늦지 않게 수정된 엔트리는 racy 상태로 보고 false를 반환합니다.
+     *
+     * @param entry 인덱스 엔트리
+     * @param stat 현재 파일의 stat 정보
+     * @return SHA를 재사용할 수 있으면 true
+     */
+    public boolean isUpToDate(Entry entry, FileStat stat) {
+        return entry != null && entry.matches(stat) && !isRacy(entry);
+    }
+
+    /**
+     * 엔트리의 수정 시각이 인덱스 파일의 수정 시각 이후인지 확인합니다.
+     */
+    private boolean isRacy(Entry entry) {
+        if (entry.mtimeSeconds != timestampSeconds) {
+            return entry.mtimeSeconds > timestampSeconds;
+        }
+        return Integer.toUnsignedLong(entry.mtimeNanos) >= timestampNanos;
+    }
+
+    /**
+     * 인덱스를 .git/index 파일에 기록합니다.
+     * .git/index.lock에 먼저 쓴 뒤 이름을 바꾸므로 동시에 실행된 다른 프로세스와 충돌하지 않습니다.
+     */
+    public void write() {
+        Path indexPath = indexPath();
+        Path lockPath = indexPath.resolveSibling("index.lock");
+        List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort((e1, e2) -> comparePaths(e1.path, e2.path));
+
+        try {
+            OutputStream lockStream;
+            try {
+                lockStream = Files.newOutputStream(lockPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                throw new IllegalStateException("인덱스가 다른 프로세스에 의해 잠겨 있습니다: " + lockPath, e);
+            }
+
+            MessageDigest digest = HashUtil.newSHA1();
+            DigestOutputStream digestStream = new DigestOutputStream(new BufferedOutputStream(lockStream, 64 * 1024), digest);
+            byte[] rawId = new byte[SHA_LENGTH];
+            try (DataOutputStream out = new DataOutputStream(digestStream)) {
+                out.writeInt(SIGNATURE);
+                out.writeInt(VERSION);
+                out.writeInt(sorted.size());
+
+                for (Entry entry : sorted) {
+                    byte[] pathBytes = entry.pathBytes();
+                    out.writeInt((int) entry.ctimeSeconds);
+                    out.writeInt(entry.ctimeNanos);
+                    out.writeInt((int) entry.mtimeSeconds);
+                    out.writeInt(entry.mtimeNanos);
+                    out.writeInt(entry.dev);
+                    out.writeInt(entry.ino);
+                    out.writeInt(entry.mode);
+                    out.writeInt(entry.uid);
+                    out.writeInt(entry.gid);
+                    out.writeInt(entry.size);
+                    entry.id.copyRawTo(rawId, 0);
+                    out.write(rawId);
+                    out.writeShort(Math.min(pathBytes.length, NAME_MASK));
+                    out.write(pathBytes);
+
+                    int entryLength = ENTRY_FIXED_SIZE + pathBytes.length;
+                    int padding = ((entryLength + 8) & ~7) - entryLength;
+                    out.write(new byte[padding]);
+                }
+
+                if (cacheTree != null) {
+                    writeCacheTreeExtension(out);
+                }
+
+                // 체크섬은 다이제스트 계산 대상에서 제외하고 기록
+                digestStream.on(false);
+                out.write(digest.digest());
+            }
+
+            Files.move(lockPath, indexPath, StandardCopyOption.ATOMIC_MOVE);
+            rememberWritten(indexPath);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(lockPath);
+            } catch (IOException ignored) {
+                // 잠금 파일 정리 실패는 원래 예외를 가리지 않도록 무시합니다.
+            }
+            throw new RuntimeException("인덱스 파일 쓰기 실패: " + indexPath, e);
+        }
+    }
+
+    /**
+     * 경로를 UTF-8 바이트 순서로 비교합니다. (Git 인덱스의 정렬 순서)
+     * UTF-8 바이트 순서는 코드 포인트 순서와 같으므로, 비교할 때마다 바이트로 인코딩하지 않고
+     * 서로게이트 쌍이 처음 다른 위치에 있을 때만 코드 포인트로 비교합니다.
+     */
+    static int comparePaths(String path1, String path2) {
+        int length = Math.min(path1.length(), path2.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = path1.charAt(i);
+            char c2 = path2.charAt(i);
+            if (c1 != c2) {
+                if (Character.isSurrogate(c1) || Character.isSurrogate(c2)) {
+                    return Integer.compare(path1.codePointAt(i), path2.codePointAt(i));
+                }
+                return Character.compare(c1, c2);
+            }
+        }
+        return path1.length() - path2.length();
+    }
+
+    /**
+     * 방금 기록한 인덱스를 캐시에 넣어 다음 read()가 파일을 다시 파싱하지 않게 합니다.
+     * racy 판정 기준이 되는 타임스탬프는 새 파일의 수정 시각으로 바꿉니다.
+     */
+    private void rememberWritten(Path indexPath) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(indexPath, BasicFileAttributes.class);
+        long nanos = attrs.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        GitIndex snapshot = new GitIndex(new ConcurrentHashMap<>(entries),
+            Math.floorDiv(nanos, 1_000_000_000L), (int) Math.floorMod(nanos, 1_000_000_000L));
+        snapshot.cacheTree = cacheTree;
+        cached = new Snapshot(indexPath, attrs, snapshot);
+    }
+
+    /**
+     * TREE 확장을 시그니처, 길이와 함께 기록합니다.
+     */
+    private void writeCacheTreeExtension(DataOutputStream out) throws IOException {
+        ByteArrayOutputStream extension = new ByteArrayOutputStream();
+        cacheTree.write(new DataOutputStream(extension));
+
+        out.writeInt(TREE_EXTENSION);
+        out.writeInt(extension.size());
+        extension.writeTo(out);
+    }
+
+    /**
+     * 캐시한 인덱스와, 그때 인덱스 파일의 경로/크기/수정 시각/파일 키
+     */
+    private static final class Snapshot {
+        final Path path;
+        final long size;
+        final FileTime modified;
+        final Object fileKey;
+        final GitIndex index;
+
+        Snapshot(Path path, BasicFileAttributes attrs, GitIndex index) {
+            this.path = path.toAbsolutePath();
+            this.size = attrs.size();
+            this.modified = attrs.lastModifiedTime();
+            this.fileKey = attrs.fileKey();
+            this.index = index;
+        }
+
+        boolean matches(Path otherPath, BasicFileAttributes attrs) {
+            return size == attrs.size()
+                && modified.equals(attrs.lastModifiedTime())
+                && Objects.equals(fileKey, attrs.fileKey())
+                && path.equals(otherPath.toAbsolutePath());
+        }
+    }
+
+    /**
+     * 인덱스 엔트리
+     */
+    public static class Entry {
+        long ctimeSeconds;
+        int ctimeNanos;
+        long mtimeSeconds;
+        int mtimeNanos;
+        int dev;
+        int ino;
+        int mode;
+        int uid;
+        int gid;
+        int size;
+        ObjectId id;
+        String path;
+
+        /**
+         * stat 정보와 SHA로 새 엔트리를 생성합니다.
+         *
+         * @param path 저장소 루트 기준 경로
+         * @param stat 파일 stat 정보
+         * @param id blob 객체 ID
+         */
+        public Entry(String path, FileStat stat, ObjectId id) {
+            this(path, stat, id, REGULAR_FILE_MODE);
+        }
+
+        /**
+         * stat 정보, SHA, 트리 엔트리 모드(100755, 120000 등)로 새 엔트리를 생성합니다.
+         *
+         * @param path 저장소 루트 기준 경로
+         * @param stat 파일 stat 정보
+         * @param id 객체 ID
+         * @param mode 트리 엔트리 모드
+         */
+        public Entry(String path, FileStat stat, ObjectId id, int mode) {
+            this.path = path;
+            this.ctimeSeconds = stat.ctimeSeconds;
+            this.ctimeNanos = stat.ctimeNanos;
+            this.mtimeSeconds = stat.mtimeSeconds;
+            this.mtimeNanos = stat.mtimeNanos;
+            this.dev = (int) stat.dev;
+            this.ino = (int) stat.ino;
+            this.mode = mode;
+            this.uid = stat.uid;
+            this.gid = stat.gid;
+            this.size = (int) stat.size;
+            this.id = id;
+        }
+
+        /**
+         * stat 정보 없이 새 엔트리를 생성합니다. (read-tree처럼 작업 트리를 보지 않고 인덱스만 채울 때)
+         * stat 정보가 모두 0이므로 다음 status나 write-tree에서 한 번 내용을 해시해 확인합니다.
+         *
+         * @param path 저장소 루트 기준 경로
+         * @param id 객체 ID
+         * @param mode 트리 엔트리 모드
+         */
+        public Entry(String path, ObjectId id, int mode) {
+            this.path = path;
+            this.id = id;
+            this.mode = mode;
+        }
+
+        private Entry() {
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public ObjectId getObjectId() {
+            return id;
+        }
+
+        public int getMode() {
+            return mode;
+        }
+
+        byte[] pathBytes() {
+            return path.getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 인덱스에 기록된 값과 같은 너비(32비트)로 잘라 stat 정보를 비교합니다.
+         */
+        boolean matches(FileStat stat) {
+            return mtimeSeconds == (stat.mtimeSeconds & 0xFFFFFFFFL)
+                && mtimeNanos == stat.mtimeNanos
+                && ctimeSeconds == (stat.ctimeSeconds & 0xFFFFFFFFL)
+                && ctimeNanos == stat.ctimeNanos
+                && size == (int) stat.size
+                && (ino == 0 || ino == (int) stat.ino);
+        }
+    }
+
+    /**
+     * 한 번의 stat 호출로 얻은 파일 메타데이터
+     */
+    public static class FileStat {
+        final long ctimeSeconds;
+        final int ctimeNanos;
+        final long mtimeSeconds;
+        final int mtimeNanos;
+        final long dev;
+        final long ino;
+        final int mode;
+        final int uid;
+        final int gid;
+        final long size;
+
+        private FileStat(long ctime, long mtime, long dev, long ino, int mode, int uid, int gid, long size) {
+            this.ctimeSeconds = Math.floorDiv(ctime, 1_000_000_000L);
+            this.ctimeNanos = (int) Math.floorMod(ctime, 1_000_000_000L);
+            this.mtimeSeconds = Math.floorDiv(mtime, 1_000_000_000L);
+            this.mtimeNanos = (int) Math.floorMod(mtime, 1_000_000_000L);
+            this.dev = dev;
+            this.ino = ino;
+            this.mode = mode;
+            this.uid = uid;
+            this.gid = gid;
+            this.size = size;
+        }
+
+        /**
+         * 파일의 stat 정보를 읽습니다. (stat 시스템 호출 1회)
+         *
+         * @param path 대상 경로
+         * @param options 심볼릭 링크 자체를 stat하려면 NOFOLLOW_LINKS (lstat)
+         * @return stat 정보
+         */
+        public static FileStat of(Path path, LinkOption... options) throws IOException {
+            if (!UNIX_VIEW_SUPPORTED) {
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, options);
+                long mtime = attrs.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+                int mode = attrs.isDirectory() ? S_IFDIR : REGULAR_FILE_MODE;
+                return new FileStat(mtime, mtime, 0, 0, mode, 0, 0, attrs.size());
+            }
+            Map<String, Object> attrs = Files.readAttributes(path, STAT_ATTRIBUTES, options);
+            return new FileStat(
+                ((FileTime) attrs.get("ctime")).to(TimeUnit.NANOSECONDS),
+                ((FileTime) attrs.get("lastModifiedTime")).to(TimeUnit.NANOSECONDS),
+                (Long) attrs.get("dev"),
+                (Long) attrs.get("ino"),
+                (Integer) attrs.get("mode"),
+                (Integer) attrs.get("uid"),
+                (Integer) attrs.get("gid"),
+                (Long) attrs.get("size"));
+        }
+
+        public boolean isDirectory() {
+            return (mode & S_IFMT) == S_IFDIR;
+        }
+
+        /**
+         * 심볼릭 링크인지 확인합니다. (NOFOLLOW_LINKS로 읽은 경우에만 의미가 있음)
+         */
+        public boolean isSymbolicLink() {
+            return (mode & S_IFMT) == S_IFLNK;
+        }
+
+        /**
+         * 소유자 실행 권한이 있는지 확인합니다.
+         */
+        public boolean isExecutable() {
+            return (mode & 0100) != 0;
+        }
+
+        /**
+         * 파일에 해당하는 트리 엔트리 모드 (심볼릭 링크 120000, 실행 파일 100755, 그 외 100644)
+         * 심볼릭 링크를 구분하려면 NOFOLLOW_LINKS로 읽어야 합니다.
+         */
+        public int getTreeMode() {
+            if (isSymbolicLink()) {
+                return TreeIterator.SYMLINK_MODE;
+            }
+            return isExecutable() ? TreeIterator.EXECUTABLE_MODE : TreeIterator.REGULAR_FILE_MODE;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package util;
+
+/**
+ * 압축 해제된 Git 객체 (타입과 본문)
+ */
+public class GitObject {
+
+    private final String type;
+    private final byte[] content;
+
+    /**
+     * @param type 객체 타입 (blob, tree, commit, tag)
+     * @param content 헤더를 제외한 객체 본문
+     */
+    public GitObject(String type, byte[] content) {
+        this.type = type;
+        this.content = content;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return content.length;
+    }
+}
@@ -1,78 +1,522 @@
 package util;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.zip.DataFormatException;
-import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Git 객체 관련 유틸리티 클래스
  */
 public class GitObjectUtil {
     
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_READ_BUFFER_SIZE = 512;
+    /** 이 크기 이하의 loose 객체 파일은 한 번에 읽어 배열에서 압축 해제 (객체마다 읽기 버퍼와 스트림을 만들지 않음) */
+    private static final int LOOSE_READ_LIMIT = 64 * 1024;
+    
+    private static volatile List<PackFile> packs;
+    
+    /** 객체 헤더("commit 2147483647\0" 등) 최대 길이 */
+    private static final int MAX_HEADER_LENGTH = 32;
+    
     /**
-     * Git 객체를 압축 해제합니다.
+     * zlib으로 압축된 Git 객체 데이터를 압축 해제합니다.
+     * 결과는 헤더("타입 크기\0")를 포함한 원본 바이트이며, 바이너리 내용도 손상되지 않습니다.
      * 
      * @param data 압축된 데이터
-     * @return 압축 해제된 문자열
+     * @return 압축 해제된 바이트 데이터
      */
-    public static String decompressGitObject(byte[] data) {
-        Inflater inflater = new Inflater();
+    public static byte[] decompressGitObject(byte[] data) {
+        try {
+            return inflateObject(data, true).getContent();
+        } catch (DataFormatException e) {
+            throw new RuntimeException("Git 객체 압축 해제 실패", e);
+        }
+    }
+    
+    /**
+     * 압축된 loose 객체 전체를 압축 해제합니다.
+     * 헤더만 먼저 풀어 크기를 알아낸 뒤 정확한 크기의 배열에 나머지를 풀므로, 버퍼를 키우며 복사하지 않습니다.
+     * 
+     * @param data 압축된 데이터
+     * @param includeHeader true면 결과 본문에 헤더("타입 크기\0")를 포함
+     * @return 타입과 본문
+     */
+    private static GitObject inflateObject(byte[] data, boolean includeHeader) throws DataFormatException {
+        Inflater inflater = CompressionUtil.getInflater();
         inflater.setInput(data);
+        
+        byte[] header = new byte[MAX_HEADER_LENGTH];
+        int headerRead = inflater.inflate(header);
+        int space = -1;
+        int nul = -1;
+        for (int i = 0; i < headerRead && nul < 0; i++) {
+            if (header[i] == ' ' && space < 0) {
+                space = i;
+            } else if (header[i] == 0) {
+                nul = i;
+            }
+        }
+        if (space < 0 || nul < 0) {
+            throw new DataFormatException("객체 헤더가 올바르지 않습니다.");
+        }
+        String type = new String(header, 0, space, StandardCharsets.US_ASCII);
+        int size = Integer.parseInt(new String(header, space + 1, nul - space - 1, StandardCharsets.US_ASCII));
+        
+        int bodyStart = includeHeader ? 0 : nul + 1;
+        byte[] content = new byte[nul + 1 + size - bodyStart];
+        int alreadyRead = headerRead - bodyStart;
+        if (alreadyRead > content.length) {
+            throw new DataFormatException("객체 크기가 헤더와 다릅니다: " + type + " " + size);
+        }
+        System.arraycopy(header, bodyStart, content, 0, alreadyRead);
+        CompressionUtil.inflateFully(inflater, content, alreadyRead);
+        return new GitObject(type, content);
+    }
+    
+    /**
+     * Git 객체를 파일 시스템에 저장합니다. 이미 있는 객체는 다시 쓰지 않습니다.
+     * 여러 객체를 쓸 때는 {@link ObjectWriter}로 한 트랜잭션에 묶는 편이 효율적입니다.
+     * 
+     * @param id 객체 ID
+     * @param content 객체 내용
+     */
+    public static void writeGitObject(ObjectId id, byte[] content) {
+        try (ObjectWriter writer = new ObjectWriter()) {
+            writer.write(id, content);
+            writer.commit();
+        }
+    }
+    
+    /**
+     * 파일을 blob 객체로 저장합니다. 먼저 해시를 계산해 이미 있는 객체면 압축하지 않으며,
+     * 큰 파일도 고정 크기 버퍼로 스트리밍하므로 힙 사용량이 일정합니다. ({@link ObjectWriter#writeBlob})
+     * 
+     * @param file 대상 파일
+     * @return blob 객체 ID
+     */
+    public static ObjectId writeBlobObject(File file) {
+        try (ObjectWriter writer = new ObjectWriter()) {
+            ObjectId id = writer.writeBlob(file);
+            writer.commit();
+            return id;
+        }
+    }
+    
+    /**
+     * 객체가 저장소(팩 또는 loose)에 있는지 확인합니다. 객체를 읽거나 압축을 풀지 않습니다.
+     * 
+     * @param id 객체 ID
+     * @return 있으면 true
+     */
+    public static boolean hasObject(ObjectId id) {
+        for (PackFile pack : getPacks()) {
+            if (pack.findOffset(id) >= 0) {
+                return true;
+            }
+        }
+        return Files.exists(looseObjectPath(id));
+    }
+    
+    /**
+     * 객체를 읽어 타입과 본문을 반환합니다.
+     * {@link ObjectCache}에 있으면 그대로 반환하고, 없으면 팩 파일(.git/objects/pack)에서 먼저 찾은 뒤
+     * loose 객체를 읽어 캐시에 넣습니다. 반환된 본문은 캐시와 공유하므로 수정하면 안 됩니다.
+     * 
+     * @param id 객체 ID
+     * @return 압축 해제된 객체
+     */
+    public static GitObject readObject(ObjectId id) {
+        ObjectCache cache = ObjectCache.getInstance();
+        GitObject cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        
+        GitObject object = readObjectUncached(id);
+        cache.put(id, object);
+        return object;
+    }
+    
+    private static GitObject readObjectUncached(ObjectId id) {
+        for (PackFile pack : getPacks()) {
+            long offset = pack.findOffset(id);
+            if (offset >= 0) {
+                return pack.read(offset);
+            }
+        }
+        
+        Path objectPath = looseObjectPath(id);
+        try {
+            return inflateObject(Files.readAllBytes(objectPath), false);
+        } catch (IOException | DataFormatException e) {
+            throw new RuntimeException("객체 파일 읽기 실패: " + objectPath, e);
+        }
+    }
+    
+    /**
+     * 커밋이나 태그를 따라가 트리 객체 ID를 찾습니다. (tree-ish 해석)
+     *
+     * @param id 트리, 커밋 또는 주석 태그 객체 ID
+     * @return 트리 객체 ID
+     */
+    public static ObjectId peelToTree(ObjectId id) {
+        while (true) {
+            ObjectInfo info = readObjectInfo(id);
+            if (info == null) {
+                throw new RuntimeException("객체를 찾을 수 없습니다: " + id);
+            }
+            switch (info.getType()) {
+                case "tree":
+                    return id;
+                case "commit":
+                    return ObjectId.fromHex(readHeaderField(id, "tree "));
+                case "tag":
+                    id = ObjectId.fromHex(readHeaderField(id, "object "));
+                    break;
+                default:
+                    throw new IllegalStateException("트리로 해석할 수 없는 객체입니다: " + id + " (" + info.getType() + ")");
+            }
+        }
+    }
+
+    /**
+     * 주석 태그를 따라가 커밋 객체 ID를 찾습니다.
+     *
+     * @param id 커밋 또는 주석 태그 객체 ID
+     * @return 커밋 객체 ID
+     */
+    public static ObjectId peelToCommit(ObjectId id) {
+        while (true) {
+            ObjectInfo info = readObjectInfo(id);
+            if (info == null) {
+                throw new RuntimeException("객체를 찾을 수 없습니다: " + id);
+            }
+            switch (info.getType()) {
+                case "commit":
+                    return id;
+                case "tag":
+                    id = ObjectId.fromHex(readHeaderField(id, "object "));
+                    break;
+                default:
+                    throw new IllegalStateException("커밋으로 해석할 수 없는 객체입니다: " + id + " (" + info.getType() + ")");
+            }
+        }
+    }
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length)) {
-            byte[] buffer = new byte[1024];
-            while (!inflater.finished()) {
-                int count = inflater.inflate(buffer);
-                outputStream.write(buffer, 0, count);
+    /**
+     * 커밋("tree ...")이나 태그("object ...")의 첫 줄 값을 읽습니다.
+     */
+    private static String readHeaderField(ObjectId id, String prefix) {
+        String content = new String(readObject(id).getContent(), StandardCharsets.UTF_8);
+        int end = content.indexOf('\n');
+        if (!content.startsWith(prefix) || end < 0) {
+            throw new IllegalStateException("객체 헤더에 " + prefix.trim() + " 항목이 없습니다: " + id);
+        }
+        return content.substring(prefix.length(), end);
+    }
+
+    /**
+     * 객체를 스트림으로 엽니다. 본문은 읽는 만큼만 압축 해제되므로 크기와 관계없이 메모리 사용량이 일정합니다.
+     * (팩의 델타 객체는 복원한 본문을 메모리에 둔 채로 스트림을 제공합니다.)
+     * 
+     * 캐시에 있는 객체는 캐시된 본문을 스트림으로 제공하며, 스트림으로 읽은 객체는 캐시에 넣지 않습니다.
+     * 
+     * @param id 객체 ID
+     * @return 타입, 크기와 본문 스트림 (사용 후 닫아야 함)
+     */
+    public static ObjectStream openObject(ObjectId id) {
+        GitObject cached = ObjectCache.getInstance().get(id);
+        if (cached != null) {
+            return new ObjectStream(cached.getType(), cached.getSize(), new ByteArrayInputStream(cached.getContent()));
+        }
+        for (PackFile pack : getPacks()) {
+            long offset = pack.findOffset(id);
+            if (offset >= 0) {
+                return pack.openStream(offset);
             }
-            return outputStream.toString("UTF-8");
+        }
+        
+        try {
+            return openLooseObject(id, new Inflater(), true, STREAM_BUFFER_SIZE);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException("객체를 찾을 수 없습니다: " + id, e);
+        } catch (IOException e) {
+            throw new RuntimeException("객체 파일 읽기 실패: " + looseObjectPath(id), e);
+        }
+    }
+    
+    /**
+     * loose 객체 파일만 스트림으로 엽니다. 캐시와 팩은 보지 않으므로 파일 자체를 검사할 때(fsck) 사용합니다.
+     *
+     * 작은 파일({@value #LOOSE_READ_LIMIT}바이트 이하)은 한 번에 읽어 현재 스레드의 Inflater로 읽는 만큼만 풀고,
+     * 큰 파일은 {@link #openObject(ObjectId)}처럼 파일에서 스트림으로 읽습니다. 어느 쪽이든 본문은 모아 두지 않으므로
+     * 압축률이 높은 큰 blob도 메모리를 일정하게 씁니다.
+     * 현재 스레드의 Inflater를 쓸 수 있으므로, 스트림을 닫기 전에는 같은 스레드에서 다른 객체를 압축 해제하면 안 됩니다.
+     *
+     * @param id 객체 ID (파일 경로)
+     * @return 타입, 크기와 본문 스트림 (사용 후 닫아야 함)
+     * @throws NoSuchFileException loose 객체 파일이 없는 경우
+     */
+    public static ObjectStream openLooseObject(ObjectId id) throws IOException {
+        Path path = looseObjectPath(id);
+        byte[] compressed;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > LOOSE_READ_LIMIT) {
+                return openLooseObject(id, new Inflater(), true, STREAM_BUFFER_SIZE);
+            }
+            compressed = new byte[(int) length];
+            ByteBuffer buffer = ByteBuffer.wrap(compressed);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 끝까지 읽음
+            }
+        }
+
+        Inflater inflater = CompressionUtil.getInflater();
+        inflater.setInput(compressed);
+        byte[] header = new byte[MAX_HEADER_LENGTH];
+        int headerRead;
+        try {
+            headerRead = inflater.inflate(header);
         } catch (DataFormatException e) {
-            throw new RuntimeException("Git 객체 압축 해제 실패", e);
+            throw new IOException("객체 압축 해제 실패: " + path, e);
+        }
+        int space = -1;
+        int nul = -1;
+        for (int i = 0; i < headerRead && nul < 0; i++) {
+            if (header[i] == ' ' && space < 0) {
+                space = i;
+            } else if (header[i] == 0) {
+                nul = i;
+            }
+        }
+        if (space < 0 || nul < 0) {
+            throw new IllegalStateException("객체 헤더가 올바르지 않습니다: " + id);
+        }
+        String type = new String(header, 0, space, StandardCharsets.US_ASCII);
+        long size = Long.parseLong(new String(header, space + 1, nul - space - 1, StandardCharsets.US_ASCII));
+        return new ObjectStream(type, size, new LooseBodyStream(inflater, header, nul + 1, headerRead, path));
+    }
+
+    /**
+     * 헤더를 풀 때 함께 풀린 본문 앞부분을 먼저 돌려주고, 나머지는 입력이 모두 들어 있는 Inflater에서 바로 푸는 스트림
+     */
+    private static final class LooseBodyStream extends InputStream {
+        private final Inflater inflater;
+        private final byte[] head;
+        private int headPosition;
+        private final int headEnd;
+        private final Path path;
+
+        LooseBodyStream(Inflater inflater, byte[] head, int headPosition, int headEnd, Path path) {
+            this.inflater = inflater;
+            this.head = head;
+            this.headPosition = headPosition;
+            this.headEnd = headEnd;
+            this.path = path;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (headPosition < headEnd) {
+                int count = Math.min(length, headEnd - headPosition);
+                System.arraycopy(head, headPosition, target, offset, count);
+                headPosition += count;
+                return count;
+            }
+            try {
+                while (!inflater.finished()) {
+                    int count = inflater.inflate(target, offset, length);
+                    if (count > 0) {
+                        return count;
+                    }
+                    if (inflater.needsInput() || inflater.needsDictionary()) {
+                        throw new IOException("객체 압축 데이터가 중간에 끝났습니다: " + path);
+                    }
+                }
+                return -1;
+            } catch (DataFormatException e) {
+                throw new IOException("객체 압축 해제 실패: " + path, e);
+            }
+        }
+    }
+
+    /**
+     * loose 객체 파일을 열어 헤더("타입 크기\0")까지 압축 해제하고, 본문 스트림을 반환합니다.
+     * 
+     * @param id 객체 ID
+     * @param inflater 사용할 Inflater
+     * @param ownsInflater true면 스트림을 닫을 때 Inflater도 해제
+     * @param bufferSize 압축 데이터 읽기 버퍼 크기
+     */
+    private static ObjectStream openLooseObject(ObjectId id, Inflater inflater, boolean ownsInflater, int bufferSize) throws IOException {
+        InputStream in;
+        try {
+            in = new InflaterInputStream(Files.newInputStream(looseObjectPath(id)), inflater, bufferSize) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (ownsInflater) inf.end();
+                    }
+                }
+            };
         } catch (IOException e) {
-            throw new RuntimeException("압축 해제 중 IO 오류", e);
-        } finally {
-            inflater.end();
+            if (ownsInflater) inflater.end();
+            throw e;
+        }
+        
+        try {
+            StringBuilder header = new StringBuilder(32);
+            int c;
+            while ((c = in.read()) > 0) {
+                header.append((char) c);
+            }
+            int space = header.indexOf(" ");
+            if (c != 0 || space < 0) {
+                throw new IllegalStateException("객체 헤더가 올바르지 않습니다: " + id);
+            }
+            return new ObjectStream(header.substring(0, space), Long.parseLong(header.substring(space + 1)), in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
         }
     }
     
     /**
-     * Git 객체를 파일 시스템에 저장합니다.
+     * 객체 본문을 읽지 않고 타입과 크기만 확인합니다.
+     * 캐시에 있으면 캐시에서 답하고, 없으면 loose 객체는 헤더 부분만 압축 해제하고
+     * 팩 객체는 엔트리 헤더(델타면 델타 헤더)만 읽습니다.
      * 
-     * @param hash 객체 해시
-     * @param content 객체 내용
+     * @param id 객체 ID
+     * @return 객체 헤더 정보, 객체가 없으면 null
      */
-    public static void writeGitObject(String hash, byte[] content) {
-        String dirPath = ".git/objects/" + hash.substring(0, 2);
-        String filePath = dirPath + "/" + hash.substring(2);
-        new File(dirPath).mkdirs();
-
-        try (FileOutputStream fos = new FileOutputStream(filePath);
-             DeflaterOutputStream dos = new DeflaterOutputStream(fos)) {
-            dos.write(content);
-            dos.finish();
+    public static ObjectInfo readObjectInfo(ObjectId id) {
+        ObjectInfo cached = ObjectCache.getInstance().getInfo(id);
+        if (cached != null) {
+            return cached;
+        }
+        for (PackFile pack : getPacks()) {
+            long offset = pack.findOffset(id);
+            if (offset >= 0) {
+                return pack.readInfo(offset);
+            }
+        }
+        
+        Path objectPath = looseObjectPath(id);
+        if (!Files.isRegularFile(objectPath)) {
+            return null;
+        }
+        try (ObjectStream stream = openLooseObject(id, CompressionUtil.getInflater(), false, HEADER_READ_BUFFER_SIZE)) {
+            return new ObjectInfo(stream.getType(), stream.getSize());
+        } catch (IOException e) {
+            throw new RuntimeException("객체 파일 읽기 실패: " + objectPath, e);
+        }
+    }
+    
+    /**
+     * .git/objects/pack 아래의 팩 파일 목록을 반환합니다. 처음 호출할 때 한 번만 엽니다.
+     * 
+     * @return 팩 파일 목록
+     */
+    public static List<PackFile> getPacks() {
+        List<PackFile> current = packs;
+        if (current == null) {
+            synchronized (GitObjectUtil.class) {
+                current = packs;
+                if (current == null) {
+                    current = openPacks();
+                    packs = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * 팩 파일 목록을 다시 읽습니다. 새 팩을 만든 뒤 호출합니다.
+     * 이미 열어 둔 팩은 다시 매핑하지 않고 그대로 사용합니다. (팩 파일은 만든 뒤 바뀌지 않음)
+     */
+    public static synchronized void reloadPacks() {
+        packs = openPacks();
+    }
+    
+    private static List<PackFile> openPacks() {
+        Path packDir = GitRepository.getPackDir();
+        if (!Files.isDirectory(packDir)) {
+            return Collections.emptyList();
+        }
+        
+        Map<Path, PackFile> opened = new HashMap<>();
+        List<PackFile> previous = packs;
+        if (previous != null) {
+            for (PackFile pack : previous) {
+                opened.put(pack.getPackPath().toAbsolutePath(), pack);
+            }
+        }
+        
+        List<PackFile> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(packDir, "*.idx")) {
+            for (Path indexPath : stream) {
+                String indexName = indexPath.getFileName().toString();
+                Path packPath = indexPath.resolveSibling(indexName.substring(0, indexName.length() - ".idx".length()) + ".pack");
+                PackFile pack = opened.get(packPath.toAbsolutePath());
+                result.add(pack != null ? pack : PackFile.open(indexPath));
+            }
         } catch (IOException e) {
-            throw new RuntimeException("Git 객체 파일 쓰기 실패: " + filePath, e);
+            throw new RuntimeException("팩 디렉토리 읽기 실패: " + packDir, e);
         }
+        return Collections.unmodifiableList(result);
     }
     
     /**
      * Git 객체 파일을 읽어 압축된 데이터를 반환합니다.
      * 
-     * @param hash 객체 해시
+     * @param id 객체 ID
      * @return 압축된 바이트 데이터
      */
-    public static byte[] readGitObjectFile(String hash) {
-        String objectPath = ".git/objects/" + hash.substring(0, 2) + "/" + hash.substring(2);
+    public static byte[] readGitObjectFile(ObjectId id) {
+        Path objectPath = looseObjectPath(id);
         try {
-            return Files.readAllBytes(Paths.get(objectPath));
+            return Files.readAllBytes(objectPath);
         } catch (IOException e) {
             throw new RuntimeException("객체 파일 읽기 실패: " + objectPath, e);
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * loose 객체 파일 경로(.git/objects/xx/yyyy...)를 반환합니다.
+     */
+    private static Path looseObjectPath(ObjectId id) {
+        String hash = id.name();
+        return GitRepository.getObjectsDir().resolve(hash.substring(0, 2)).resolve(hash.substring(2));
+    }
+}
\ No newline at end of file
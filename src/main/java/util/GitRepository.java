@@ -0,0 +1,74 @@
+package util;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 현재 다루는 저장소의 위치(작업 트리와 .git 디렉토리)를 관리하는 클래스
+ *
+ * 기본값은 현재 디렉토리이며, clone처럼 다른 디렉토리에 저장소를 만들고 이어서 작업할 때 위치를 바꿉니다.
+ * 위치를 바꾸면 열어 둔 팩 파일 목록, 설정, 객체 캐시를 새 저장소 기준으로 다시 준비합니다.
+ * 데몬 모드에서는 요청마다 클라이언트의 현재 디렉토리로 위치를 바꿉니다.
+ */
+public class GitRepository {
+
+    private static volatile Path workTree = Paths.get("");
+
+    /**
+     * 작업 트리 루트를 반환합니다.
+     */
+    public static Path getWorkTree() {
+        return workTree;
+    }
+
+    /**
+     * .git 디렉토리 경로를 반환합니다.
+     */
+    public static Path getGitDir() {
+        return workTree.resolve(".git");
+    }
+
+    /**
+     * 객체 저장소(.git/objects) 경로를 반환합니다.
+     */
+    public static Path getObjectsDir() {
+        return getGitDir().resolve("objects");
+    }
+
+    /**
+     * 팩 디렉토리(.git/objects/pack) 경로를 반환합니다.
+     */
+    public static Path getPackDir() {
+        return getObjectsDir().resolve("pack");
+    }
+
+    /**
+     * 작업 트리 기준으로 경로를 해석합니다. 절대 경로는 그대로 반환합니다.
+     * 명령어 인자로 받은 파일 경로는 프로세스의 현재 디렉토리가 아니라 이 메서드로 해석합니다.
+     * (데몬은 요청마다 작업 트리만 바꾸고 JVM의 현재 디렉토리는 그대로 둠)
+     *
+     * @param path 명령어 인자로 받은 경로
+     * @return 해석된 경로
+     */
+    public static Path resolve(String path) {
+        return workTree.resolve(path);
+    }
+
+    /**
+     * 다른 작업 트리의 저장소를 사용하도록 전환합니다.
+     * 같은 저장소를 다시 열면 객체 캐시, 델타 기준 캐시와 이미 열어 둔 팩은 그대로 재사용합니다.
+     *
+     * @param newWorkTree 작업 트리 루트 (.git 디렉토리의 부모)
+     */
+    public static synchronized void open(Path newWorkTree) {
+        boolean sameRepository = workTree.toAbsolutePath().normalize()
+            .equals(newWorkTree.toAbsolutePath().normalize());
+        workTree = newWorkTree;
+        GitObjectUtil.reloadPacks();
+        GitConfig.reload();
+        if (!sameRepository) {
+            ObjectCache.reset();
+            DeltaBaseCache.reset();
+        }
+    }
+}
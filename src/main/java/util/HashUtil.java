@@ -1,5 +1,6 @@
 package util;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -12,33 +13,72 @@ public class HashUtil {
      * SHA-1 해시를 계산합니다.
      * 
      * @param data 해시를 계산할 데이터
-     * @return SHA-1 해시 문자열
+     * @return SHA-1 객체 ID
      */
-    public static String computeSHA1(byte[] data) {
+    public static ObjectId computeSHA1(byte[] data) {
+        return ObjectId.fromRaw(newSHA1().digest(data));
+    }
+    
+    /**
+     * 버퍼 끝의 20바이트가 그 앞 내용 전체의 SHA-1과 같은지 확인합니다. (팩, 팩 인덱스 트레일러 검사)
+     * 버퍼의 position/limit은 바꾸지 않습니다.
+     * 
+     * @param buffer 트레일러까지 포함한 파일 내용 (메모리 매핑 버퍼 가능)
+     * @return 일치하면 true
+     */
+    public static boolean matchesTrailer(ByteBuffer buffer) {
+        int end = buffer.limit() - ObjectId.RAW_LENGTH;
+        if (end < 0) {
+            return false;
+        }
+        MessageDigest digest = newSHA1();
+        ByteBuffer content = buffer.duplicate();
+        content.position(0).limit(end);
+        digest.update(content);
+        return ObjectId.fromRaw(digest.digest()).equals(ObjectId.fromRaw(buffer, end));
+    }
+    
+    /**
+     * 새 SHA-1 MessageDigest 인스턴스를 생성합니다.
+     * 스트리밍 방식으로 해시를 계산할 때 사용합니다.
+     * 
+     * @return SHA-1 MessageDigest
+     */
+    public static MessageDigest newSHA1() {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-1");
-            byte[] hash = md.digest(data);
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                hexString.append(String.format("%02x", b));
-            }
-            return hexString.toString();
+            return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-1 알고리즘을 찾을 수 없습니다.", e);
         }
     }
     
     /**
-     * 16진수 문자열을 바이트 배열로 변환합니다.
+     * 바이트 배열을 16진수 문자열로 변환합니다. (테이블 조회, 바이트마다 객체를 만들지 않음)
+     * 
+     * @param bytes 바이트 배열
+     * @return 16진수 문자열
+     */
+    public static String bytesToHex(byte[] bytes) {
+        return ObjectId.toHex(bytes);
+    }
+    
+    /**
+     * 40자리 16진수 객체 해시 형식인지 확인합니다.
+     * 
+     * @param hash 검사할 문자열
+     * @return 올바른 형식이면 true
+     */
+    public static boolean isValidHash(String hash) {
+        return ObjectId.isValidHex(hash);
+    }
+    
+    /**
+     * 16진수 문자열을 바이트 배열로 변환합니다. (테이블 조회, substring/parseInt 없음)
      * 
      * @param hex 16진수 문자열
      * @return 바이트 배열
      */
     public static byte[] hexToBytes(String hex) {
-        byte[] bytes = new byte[hex.length() / 2];
-        for (int i = 0; i < hex.length(); i += 2) {
-            bytes[i / 2] = (byte) Integer.parseInt(hex.substring(i, i + 2), 16);
-        }
-        return bytes;
+        return ObjectId.fromHexBytes(hex);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,508 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 작업 트리의 무시 규칙(.gitignore, .git/info/exclude, core.excludesFile)을 판단하는 클래스
+ *
+ * 작업 트리를 훑는 명령어(write-tree, status, checkout)가 함께 사용합니다. 디렉토리마다 {@link Scope}를 두고,
+ * 훑는 쪽은 하위 디렉토리로 내려가기 전에 {@link Scope#isIgnored}로 확인해 무시된 디렉토리는 열지 않습니다.
+ * (Git과 같이 무시된 디렉토리 안의 파일은 !패턴으로 다시 포함할 수 없음)
+ *
+ * 우선순위는 Git과 같습니다. 경로에 가까운 .gitignore가 먼저이고, 그 다음 .git/info/exclude, core.excludesFile 순이며,
+ * 한 파일 안에서는 마지막으로 일치한 패턴이 결정합니다.
+ *
+ * 패턴은 읽을 때 한 번 컴파일합니다. 와일드카드가 없는 패턴은 문자열 비교로, "*.확장자" 꼴은 접미사 비교로 처리하고,
+ * 나머지는 와일드카드 앞의 고정 접두사를 먼저 비교한 뒤에만 와일드카드 매칭(wildmatch)을 합니다.
+ *
+ * 무시 규칙은 추적하지 않는 파일에만 적용됩니다. 이미 추적 중인 파일을 무시할지는 훑는 쪽에서 인덱스나 HEAD 트리를 보고 정합니다.
+ */
+public class IgnoreRules {
+
+    private static final String IGNORE_FILE = ".gitignore";
+    private static final Rules EMPTY_RULES = new Rules();
+
+    private final Path workTree;
+    private final Rules globalRules;
+    private final Scope root;
+    /** 디렉토리 경로("a/b/") → 범위 ({@link #isIgnored(String, boolean)}처럼 임의 경로를 물을 때 재사용) */
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+
+    private IgnoreRules(Path workTree, Rules globalRules) {
+        this.workTree = workTree;
+        this.globalRules = globalRules;
+        this.root = new Scope(null, "", readIgnoreFile(workTree.resolve(IGNORE_FILE)), false);
+    }
+
+    /**
+     * 현재 저장소의 무시 규칙을 읽습니다. 각 디렉토리의 .gitignore는 그 디렉토리에 처음 들어갈 때 읽습니다.
+     *
+     * @return 무시 규칙
+     */
+    public static IgnoreRules load() {
+        Rules global = new Rules();
+        // 우선순위가 낮은 것부터 넣음 (뒤의 패턴이 먼저 평가됨)
+        global.addAll(readIgnoreFile(excludesFile()));
+        global.addAll(readIgnoreFile(GitRepository.getGitDir().resolve("info").resolve("exclude")));
+        return new IgnoreRules(GitRepository.getWorkTree(), global);
+    }
+
+    /**
+     * 작업 트리 루트 디렉토리의 범위
+     */
+    public Scope root() {
+        return root;
+    }
+
+    /**
+     * 저장소 루트 기준 경로가 무시되는지 확인합니다. 상위 디렉토리가 무시되면 그 아래 경로도 무시됩니다.
+     * (훑지 않고 경로 하나만 물을 때 사용, 지나가는 디렉토리의 .gitignore는 한 번만 읽음)
+     *
+     * @param path 저장소 루트 기준 경로 ('/'로 구분)
+     * @param isDirectory 경로가 디렉토리인지 여부
+     * @return 무시되면 true
+     */
+    public boolean isIgnored(String path, boolean isDirectory) {
+        Scope scope = root;
+        int start = 0;
+        int slash;
+        while ((slash = path.indexOf('/', start)) >= 0 && !scope.excluded) {
+            scope = scope.enter(path.substring(start, slash));
+            start = slash + 1;
+        }
+        return scope.isIgnored(path.substring(start), isDirectory);
+    }
+
+    /**
+     * core.excludesFile 경로 (설정이 없으면 $XDG_CONFIG_HOME/git/ignore 또는 ~/.config/git/ignore)
+     */
+    private static Path excludesFile() {
+        String home = System.getProperty("user.home");
+        String configured = GitConfig.getString("core.excludesFile");
+        if (configured != null && !configured.isEmpty()) {
+            return configured.startsWith("~/") ? Paths.get(home, configured.substring(2)) : Paths.get(configured);
+        }
+        String xdgConfigHome = System.getenv("XDG_CONFIG_HOME");
+        return xdgConfigHome != null && !xdgConfigHome.isEmpty()
+            ? Paths.get(xdgConfigHome, "git", "ignore")
+            : Paths.get(home, ".config", "git", "ignore");
+    }
+
+    /**
+     * 무시 규칙 파일을 읽어 컴파일합니다. 파일이 없으면 빈 목록을 반환합니다.
+     */
+    private static Rules readIgnoreFile(Path path) {
+        Rules rules = new Rules();
+        byte[] content;
+        try {
+            content = Files.readAllBytes(path);
+        } catch (NoSuchFileException | NotDirectoryException e) {
+            return rules;
+        } catch (IOException e) {
+            throw new RuntimeException("무시 규칙 파일 읽기 실패: " + path, e);
+        }
+        for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+            Rule rule = Rule.parse(line);
+            if (rule != null) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * 디렉토리 하나의 무시 규칙 범위 (그 디렉토리의 .gitignore와 상위 범위)
+     *
+     * 추적 중이라 훑어 들어간 디렉토리가 무시 규칙에 걸리면, 그 안의 추적하지 않는 엔트리는 모두 무시됩니다.
+     */
+    public final class Scope {
+        private final Scope parent;
+        /** 저장소 루트 기준 디렉토리 경로 (루트는 빈 문자열, 그 외에는 '/'로 끝남) */
+        private final String prefix;
+        private final Rules rules;
+        /** 이 디렉토리나 상위 디렉토리가 무시됨 */
+        private final boolean excluded;
+
+        private Scope(Scope parent, String prefix, Rules rules, boolean excluded) {
+            this.parent = parent;
+            this.prefix = prefix;
+            this.rules = rules;
+            this.excluded = excluded;
+        }
+
+        /**
+         * 이 디렉토리 안의 엔트리가 무시되는지 확인합니다.
+         *
+         * @param name 엔트리 이름
+         * @param isDirectory 엔트리가 디렉토리인지 여부
+         * @return 무시되면 true
+         */
+        public boolean isIgnored(String name, boolean isDirectory) {
+            if (excluded) {
+                return true;
+            }
+            String path = prefix + name;
+            int nameStart = prefix.length();
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                int decision = scope.rules.match(path, scope.prefix.length(), nameStart, isDirectory);
+                if (decision != Rules.UNDECIDED) {
+                    return decision == Rules.IGNORED;
+                }
+            }
+            return globalRules.match(path, 0, nameStart, isDirectory) == Rules.IGNORED;
+        }
+
+        /**
+         * 하위 디렉토리의 범위를 반환합니다. 그 디렉토리의 .gitignore는 처음 들어갈 때 한 번 읽습니다.
+         *
+         * @param name 하위 디렉토리 이름
+         * @return 하위 디렉토리 범위
+         */
+        public Scope enter(String name) {
+            String childPrefix = prefix + name + "/";
+            Scope child = scopes.get(childPrefix);
+            if (child == null) {
+                // 같은 디렉토리를 두 스레드가 동시에 읽어도 결과는 같으므로 먼저 넣은 쪽을 씀
+                boolean childExcluded = isIgnored(name, true);
+                Rules childRules = childExcluded ? EMPTY_RULES : readIgnoreFile(workTree.resolve(childPrefix + IGNORE_FILE));
+                child = new Scope(this, childPrefix, childRules, childExcluded);
+                Scope existing = scopes.putIfAbsent(childPrefix, child);
+                if (existing != null) {
+                    child = existing;
+                }
+            }
+            return child;
+        }
+    }
+
+    /**
+     * 한 파일에서 읽은 패턴 목록 (뒤의 패턴이 우선)
+     */
+    private static class Rules {
+        static final int UNDECIDED = 0;
+        static final int IGNORED = 1;
+        static final int INCLUDED = 2;
+
+        private final List<Rule> rules = new ArrayList<>();
+
+        void add(Rule rule) {
+            rules.add(rule);
+        }
+
+        void addAll(Rules other) {
+            rules.addAll(other.rules);
+        }
+
+        /**
+         * @param path 저장소 루트 기준 경로
+         * @param baseLength 패턴 기준 디렉토리 경로 길이 (path에서 이 위치부터가 상대 경로)
+         * @param nameStart path에서 마지막 이름이 시작하는 위치
+         * @param isDirectory 디렉토리 여부
+         */
+        int match(String path, int baseLength, int nameStart, boolean isDirectory) {
+            for (int i = rules.size() - 1; i >= 0; i--) {
+                Rule rule = rules.get(i);
+                if (rule.matches(path, baseLength, nameStart, isDirectory)) {
+                    return rule.negated ? INCLUDED : IGNORED;
+                }
+            }
+            return UNDECIDED;
+        }
+    }
+
+    /**
+     * 컴파일한 패턴 하나
+     */
+    private static class Rule {
+        private static final int LITERAL = 0;
+        private static final int SUFFIX = 1;
+        private static final int WILDCARD = 2;
+
+        private static final int MATCH = 0;
+        private static final int NO_MATCH = 1;
+        private static final int ABORT_ALL = 2;
+        private static final int ABORT_TO_STAR_STAR = 3;
+
+        final boolean negated;
+        /** 패턴 끝에 '/'가 있었음: 디렉토리에만 일치 */
+        final boolean directoryOnly;
+        /** 패턴 처음이나 중간에 '/'가 있었음: 기준 디렉토리에서의 상대 경로 전체와 비교 (없으면 이름만 비교) */
+        final boolean matchPath;
+        final int kind;
+        final String text;
+        final char[] pattern;
+        /** 첫 와일드카드 앞까지의 고정 접두사 (빠른 불일치 판정용) */
+        final String literalPrefix;
+
+        private Rule(boolean negated, boolean directoryOnly, boolean matchPath, String pattern) {
+            this.negated = negated;
+            this.directoryOnly = directoryOnly;
+            this.matchPath = matchPath;
+            this.pattern = pattern.toCharArray();
+
+            int firstWildcard = firstWildcard(pattern, 0);
+            if (firstWildcard < 0) {
+                kind = LITERAL;
+                text = pattern;
+            } else if (!matchPath && firstWildcard == 0 && pattern.charAt(0) == '*'
+                && firstWildcard(pattern, 1) < 0) {
+                kind = SUFFIX;
+                text = pattern.substring(1);
+            } else {
+                kind = WILDCARD;
+                text = null;
+            }
+            literalPrefix = firstWildcard < 0 ? pattern : pattern.substring(0, firstWildcard);
+        }
+
+        /**
+         * .gitignore의 한 줄을 패턴으로 컴파일합니다. 빈 줄과 주석(#)은 null을 반환합니다.
+         */
+        static Rule parse(String line) {
+            int end = line.length();
+            if (end > 0 && line.charAt(end - 1) == '\r') {
+                end--;
+            }
+            // 끝의 공백은 '\'로 이스케이프하지 않았으면 무시
+            while (end > 0 && line.charAt(end - 1) == ' ' && !(end > 1 && line.charAt(end - 2) == '\\')) {
+                end--;
+            }
+            if (end == 0 || line.charAt(0) == '#') {
+                return null;
+            }
+
+            int start = 0;
+            boolean negated = line.charAt(0) == '!';
+            if (negated) {
+                start = 1;
+            }
+            boolean directoryOnly = false;
+            if (end > start && line.charAt(end - 1) == '/') {
+                directoryOnly = true;
+                end--;
+            }
+            if (end <= start) {
+                return null;
+            }
+            String pattern = line.substring(start, end);
+            boolean matchPath = pattern.indexOf('/') >= 0;
+            if (pattern.startsWith("/")) {
+                pattern = pattern.substring(1);
+            }
+            return new Rule(negated, directoryOnly, matchPath, pattern);
+        }
+
+        private static int firstWildcard(String pattern, int from) {
+            for (int i = from; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == '*' || c == '?' || c == '[' || c == '\\') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean matches(String path, int baseLength, int nameStart, boolean isDirectory) {
+            if (directoryOnly && !isDirectory) {
+                return false;
+            }
+            int start = matchPath ? baseLength : nameStart;
+            switch (kind) {
+                case LITERAL:
+                    return path.length() - start == text.length() && path.startsWith(text, start);
+                case SUFFIX:
+                    return path.endsWith(text);
+                default:
+                    return path.startsWith(literalPrefix, start) && wildmatch(0, path, start) == MATCH;
+            }
+        }
+
+        /**
+         * Git의 wildmatch(WM_PATHNAME)와 같은 규칙으로 비교합니다.
+         * '*'와 '?'는 '/'에 일치하지 않고, 경로 구성 요소 전체인 "**"만 여러 디렉토리에 일치합니다.
+         */
+        private int wildmatch(int p, String text, int t) {
+            for (; p < pattern.length; p++, t++) {
+                char pc = pattern[p];
+                if (t >= text.length() && pc != '*') {
+                    return ABORT_ALL;
+                }
+                char tc = t < text.length() ? text.charAt(t) : 0;
+                switch (pc) {
+                    case '\\':
+                        // 마지막 문자인 '\'는 그대로 비교
+                        if (p + 1 < pattern.length) {
+                            pc = pattern[++p];
+                        }
+                        if (tc != pc) {
+                            return NO_MATCH;
+                        }
+                        break;
+                    case '?':
+                        if (tc == '/') {
+                            return NO_MATCH;
+                        }
+                        break;
+                    case '[': {
+                        int result = matchBracket(p, tc);
+                        if (result < 0) {
+                            return ABORT_ALL;
+                        }
+                        if ((result & 1) == 0 || tc == '/') {
+                            return NO_MATCH;
+                        }
+                        p = result >>> 1;
+                        break;
+                    }
+                    case '*': {
+                        boolean matchSlash = false;
+                        if (p + 1 < pattern.length && pattern[p + 1] == '*') {
+                            int first = p;
+                            while (p + 1 < pattern.length && pattern[p + 1] == '*') {
+                                p++;
+                            }
+                            if ((first == 0 || pattern[first - 1] == '/')
+                                && (p + 1 == pattern.length || pattern[p + 1] == '/')) {
+                                // "**/"는 디렉토리 0개에도 일치
+                                if (p + 1 < pattern.length && wildmatch(p + 2, text, t) == MATCH) {
+                                    return MATCH;
+                                }
+                                matchSlash = true;
+                            }
+                        }
+                        p++;
+                        if (p == pattern.length) {
+                            // 끝의 "**"는 나머지 전체에, '*'는 '/'가 더 없을 때만 일치
+                            return matchSlash || text.indexOf('/', t) < 0 ? MATCH : NO_MATCH;
+                        }
+                        if (!matchSlash && pattern[p] == '/') {
+                            // "*/"는 다음 '/'까지 건너뜀 (루프 끝에서 '/'끼리 비교)
+                            int slash = text.indexOf('/', t);
+                            if (slash < 0) {
+                                return NO_MATCH;
+                            }
+                            t = slash;
+                            break;
+                        }
+                        for (; t < text.length(); t++) {
+                            int matched = wildmatch(p, text, t);
+                            if (matched != NO_MATCH) {
+                                if (!matchSlash || matched != ABORT_TO_STAR_STAR) {
+                                    return matched;
+                                }
+                            } else if (!matchSlash && text.charAt(t) == '/') {
+                                return ABORT_TO_STAR_STAR;
+                            }
+                        }
+                        return ABORT_ALL;
+                    }
+                    default:
+                        if (tc != pc) {
+                            return NO_MATCH;
+                        }
+                }
+            }
+            return t == text.length() ? MATCH : NO_MATCH;
+        }
+
+        /**
+         * [...] 문자 집합과 비교합니다. ([!...], [^...], 범위 a-z, [:alpha:] 같은 문자 클래스)
+         * 첫 문자로 온 ']'는 집합의 문자로 봅니다.
+         *
+         * @param p 여는 '[' 위치
+         * @param tc 비교할 문자
+         * @return (닫는 ']' 위치 &lt;&lt; 1) | 일치 여부, 닫는 ']'가 없으면 -1
+         */
+        private int matchBracket(int p, char tc) {
+            char pc = charAt(++p);
+            boolean negate = pc == '!' || pc == '^';
+            if (negate) {
+                pc = charAt(++p);
+            }
+            char previous = 0;
+            boolean matched = false;
+            do {
+                if (pc == 0) {
+                    return -1;
+                }
+                if (pc == '\\') {
+                    pc = charAt(++p);
+                    if (pc == 0) {
+                        return -1;
+                    }
+                    matched |= tc == pc;
+                } else if (pc == '-' && previous != 0 && charAt(p + 1) != 0 && charAt(p + 1) != ']') {
+                    pc = charAt(++p);
+                    if (pc == '\\') {
+                        pc = charAt(++p);
+                        if (pc == 0) {
+                            return -1;
+                        }
+                    }
+                    matched |= tc >= previous && tc <= pc;
+                    pc = 0;
+                } else if (pc == '[' && charAt(p + 1) == ':') {
+                    int close = p + 2;
+                    while (charAt(close) != 0 && charAt(close) != ']') {
+                        close++;
+                    }
+                    if (charAt(close) == 0) {
+                        return -1;
+                    }
+                    if (close - (p + 2) < 1 || pattern[close - 1] != ':') {
+                        // ":]"로 끝나지 않으면 '['를 보통 문자로 봄
+                        matched |= tc == '[';
+                    } else {
+                        matched |= matchClass(new String(pattern, p + 2, close - 1 - (p + 2)), tc);
+                        p = close;
+                        pc = 0;
+                    }
+                } else {
+                    matched |= tc == pc;
+                }
+                previous = pc;
+                pc = charAt(++p);
+            } while (pc != ']');
+            return (p << 1) | (matched != negate ? 1 : 0);
+        }
+
+        private char charAt(int index) {
+            return index < pattern.length ? pattern[index] : 0;
+        }
+
+        private static boolean matchClass(String name, char c) {
+            switch (name) {
+                case "alnum":
+                    return Character.isLetterOrDigit(c);
+                case "alpha":
+                    return Character.isLetter(c);
+                case "blank":
+                    return c == ' ' || c == '\t';
+                case "digit":
+                    return c >= '0' && c <= '9';
+                case "lower":
+                    return Character.isLowerCase(c);
+                case "upper":
+                    return Character.isUpperCase(c);
+                case "space":
+                    return Character.isWhitespace(c);
+                case "punct":
+                    return c > ' ' && c < 127 && !Character.isLetterOrDigit(c);
+                case "xdigit":
+                    return Character.digit(c, 16) >= 0;
+                default:
+                    throw new IllegalArgumentException("지원하지 않는 문자 클래스입니다: [:" + name + ":]");
+            }
+        }
+    }
+}
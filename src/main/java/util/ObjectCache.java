@@ -0,0 +1,198 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 압축 해제한 객체를 객체 ID로 보관하는 LRU 캐시
+ *
+ * 재귀 나열, 비교, 순회처럼 같은 트리를 여러 번 읽는 작업이 매번 파일을 열고 압축을 다시 풀지 않도록
+ * {@link GitObjectUtil}의 읽기 경로가 모두 이 캐시를 거칩니다. 보관 중인 본문의 총 크기가 예산을 넘으면
+ * 가장 오래 사용하지 않은 항목부터 제거합니다.
+ *
+ * 설정:
+ * - core.objectCacheLimit  : 예산 (기본 32MB, 0이면 캐시 사용 안 함)
+ * - core.objectCacheOffHeap: true면 본문을 힙 밖(direct 버퍼)에 보관하고 꺼낼 때 복사 (기본 false)
+ *
+ * 큰 blob 하나가 캐시 전체를 밀어내지 않도록 예산의 1/4보다 큰 객체는 보관하지 않습니다.
+ * 캐시에서 꺼낸 객체 본문은 여러 호출자가 공유할 수 있으므로 수정하면 안 됩니다.
+ */
+public class ObjectCache {
+
+    private static final long DEFAULT_LIMIT = 32L * 1024 * 1024;
+
+    private static volatile ObjectCache instance;
+
+    private final long limit;
+    private final boolean offHeap;
+    private final LinkedHashMap<ObjectId, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    /** 타입/크기만 찾은 횟수 (보통 같은 객체의 {@link #get}이 뒤따르므로 적중률과 따로 셈) */
+    private long infoHits;
+    private long infoMisses;
+
+    /**
+     * @param limit 보관할 객체 본문의 최대 총 바이트 수
+     * @param offHeap true면 본문을 direct 버퍼에 보관
+     */
+    public ObjectCache(long limit, boolean offHeap) {
+        this.limit = limit;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * 설정에 따른 예산으로 만든 공용 캐시를 반환합니다.
+     */
+    public static ObjectCache getInstance() {
+        ObjectCache current = instance;
+        if (current == null) {
+            synchronized (ObjectCache.class) {
+                current = instance;
+                if (current == null) {
+                    current = new ObjectCache(
+                        GitConfig.getLong("core.objectCacheLimit", DEFAULT_LIMIT),
+                        GitConfig.getBoolean("core.objectCacheOffHeap", false));
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 공용 캐시를 버립니다. 다른 저장소를 열 때 호출하며, 다음 사용 시 설정을 다시 읽어 새로 만듭니다.
+     */
+    public static synchronized void reset() {
+        instance = null;
+    }
+
+    /**
+     * 캐시된 객체를 찾습니다.
+     *
+     * @param id 객체 ID
+     * @return 객체, 없으면 null
+     */
+    public GitObject get(ObjectId id) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(id);
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        return entry.toObject();
+    }
+
+    /**
+     * 캐시된 객체의 타입과 크기를 찾습니다. 힙 밖에 보관한 본문도 복사하지 않습니다.
+     *
+     * @param id 객체 ID
+     * @return 객체 헤더 정보, 없으면 null
+     */
+    public ObjectInfo getInfo(ObjectId id) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(id);
+            if (entry == null) {
+                infoMisses++;
+                return null;
+            }
+            infoHits++;
+        }
+        return new ObjectInfo(entry.type, entry.size);
+    }
+
+    /**
+     * 객체를 캐시에 넣고, 예산을 넘으면 오래된 항목을 제거합니다.
+     */
+    public void put(ObjectId id, GitObject object) {
+        int size = object.getSize();
+        if (limit <= 0 || size > limit / 4) {
+            return;
+        }
+        Entry entry = offHeap ? Entry.offHeap(object) : Entry.onHeap(object);
+
+        synchronized (this) {
+            Entry previous = entries.put(id, entry);
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += size;
+
+            Iterator<Map.Entry<ObjectId, Entry>> iterator = entries.entrySet().iterator();
+            while (totalBytes > limit && iterator.hasNext()) {
+                totalBytes -= iterator.next().getValue().size;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 현재 보관 중인 객체 본문의 총 바이트 수를 반환합니다.
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 적중/실패 횟수와 사용량을 한 줄로 요약합니다. 적중률은 본문 조회({@link #get})만으로 계산합니다.
+     */
+    public synchronized String describe() {
+        long lookups = hits + misses;
+        return "object cache: hits=" + hits + " misses=" + misses
+            + " hitRate=" + (lookups == 0 ? 0 : hits * 100 / lookups) + "%"
+            + " infoHits=" + infoHits + " infoMisses=" + infoMisses
+            + " objects=" + entries.size() + " bytes=" + totalBytes + "/" + limit
+            + (offHeap ? " (off-heap)" : "");
+    }
+
+    /**
+     * 캐시 항목 (힙 배열 또는 direct 버퍼 중 하나에 본문을 보관)
+     */
+    private static final class Entry {
+        final String type;
+        final int size;
+        final GitObject heapObject;
+        final ByteBuffer offHeapContent;
+
+        private Entry(String type, int size, GitObject heapObject, ByteBuffer offHeapContent) {
+            this.type = type;
+            this.size = size;
+            this.heapObject = heapObject;
+            this.offHeapContent = offHeapContent;
+        }
+
+        static Entry onHeap(GitObject object) {
+            return new Entry(object.getType(), object.getSize(), object, null);
+        }
+
+        static Entry offHeap(GitObject object) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(object.getSize());
+            buffer.put(object.getContent());
+            return new Entry(object.getType(), object.getSize(), null, buffer);
+        }
+
+        GitObject toObject() {
+            if (heapObject != null) {
+                return heapObject;
+            }
+            byte[] content = new byte[size];
+            offHeapContent.get(0, content);
+            return new GitObject(type, content);
+        }
+    }
+}
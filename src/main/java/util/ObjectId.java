@@ -0,0 +1,279 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 20바이트 SHA-1 객체 ID를 나타내는 불변 값 타입
+ *
+ * 바이트 배열이나 16진수 문자열 대신 int 필드 5개에 값을 담으므로, 맵 키나 캐시 키로 쓸 때
+ * 해시마다 배열이나 문자열을 만들지 않습니다. 16진수 변환은 테이블 조회로 처리합니다.
+ */
+public final class ObjectId implements Comparable<ObjectId> {
+
+    /** 바이너리 길이 (바이트) */
+    public static final int RAW_LENGTH = 20;
+    /** 16진수 문자열 길이 */
+    public static final int HEX_LENGTH = 40;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private final int w1;
+    private final int w2;
+    private final int w3;
+    private final int w4;
+    private final int w5;
+
+    private ObjectId(int w1, int w2, int w3, int w4, int w5) {
+        this.w1 = w1;
+        this.w2 = w2;
+        this.w3 = w3;
+        this.w4 = w4;
+        this.w5 = w5;
+    }
+
+    /**
+     * 20바이트 배열에서 ID를 만듭니다.
+     */
+    public static ObjectId fromRaw(byte[] raw) {
+        return fromRaw(raw, 0);
+    }
+
+    /**
+     * 배열의 offset 위치부터 20바이트를 읽어 ID를 만듭니다. (트리 엔트리처럼 큰 버퍼 안의 SHA를 복사 없이 읽을 때 사용)
+     */
+    public static ObjectId fromRaw(byte[] raw, int offset) {
+        return new ObjectId(
+            readInt(raw, offset),
+            readInt(raw, offset + 4),
+            readInt(raw, offset + 8),
+            readInt(raw, offset + 12),
+            readInt(raw, offset + 16));
+    }
+
+    /**
+     * 버퍼의 절대 위치 position부터 20바이트를 읽어 ID를 만듭니다.
+     */
+    public static ObjectId fromRaw(ByteBuffer buffer, int position) {
+        return new ObjectId(
+            buffer.getInt(position),
+            buffer.getInt(position + 4),
+            buffer.getInt(position + 8),
+            buffer.getInt(position + 12),
+            buffer.getInt(position + 16));
+    }
+
+    /**
+     * 40자리 16진수 문자열에서 ID를 만듭니다.
+     *
+     * @param hex 16진수 문자열 (대소문자 구분 없음)
+     * @return 객체 ID
+     */
+    public static ObjectId fromHex(CharSequence hex) {
+        if (hex.length() != HEX_LENGTH) {
+            throw new IllegalArgumentException("올바른 객체 해시가 아닙니다: " + hex);
+        }
+        return new ObjectId(
+            parseHexInt(hex, 0),
+            parseHexInt(hex, 8),
+            parseHexInt(hex, 16),
+            parseHexInt(hex, 24),
+            parseHexInt(hex, 32));
+    }
+
+    /**
+     * 40자리 16진수 객체 해시 형식인지 확인합니다.
+     */
+    public static boolean isValidHex(CharSequence hex) {
+        if (hex.length() != HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < HEX_LENGTH; i++) {
+            char c = hex.charAt(i);
+            if (c >= 128 || HEX_VALUES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 첫 바이트(팩 인덱스 fanout 테이블의 위치)를 반환합니다.
+     */
+    public int getFirstByte() {
+        return w1 >>> 24;
+    }
+
+    /**
+     * 20바이트 배열로 변환합니다.
+     */
+    public byte[] toRaw() {
+        byte[] raw = new byte[RAW_LENGTH];
+        copyRawTo(raw, 0);
+        return raw;
+    }
+
+    /**
+     * 배열의 offset 위치에 20바이트를 기록합니다.
+     */
+    public void copyRawTo(byte[] target, int offset) {
+        writeInt(target, offset, w1);
+        writeInt(target, offset + 4, w2);
+        writeInt(target, offset + 8, w3);
+        writeInt(target, offset + 12, w4);
+        writeInt(target, offset + 16, w5);
+    }
+
+    /**
+     * 버퍼의 절대 위치 position에 저장된 20바이트와 부호 없는 순서로 비교합니다.
+     *
+     * @return 이 ID가 작으면 음수, 같으면 0, 크면 양수
+     */
+    public int compareTo(ByteBuffer buffer, int position) {
+        int cmp = Integer.compareUnsigned(w1, buffer.getInt(position));
+        if (cmp != 0) return cmp;
+        cmp = Integer.compareUnsigned(w2, buffer.getInt(position + 4));
+        if (cmp != 0) return cmp;
+        cmp = Integer.compareUnsigned(w3, buffer.getInt(position + 8));
+        if (cmp != 0) return cmp;
+        cmp = Integer.compareUnsigned(w4, buffer.getInt(position + 12));
+        if (cmp != 0) return cmp;
+        return Integer.compareUnsigned(w5, buffer.getInt(position + 16));
+    }
+
+    /**
+     * 버퍼의 offset 위치에 있는 20바이트 SHA를 40자리 16진수 ASCII로 target에 기록합니다.
+     * 트리 엔트리처럼 원본 버퍼의 SHA를 객체를 만들지 않고 바로 출력할 때 사용합니다.
+     */
+    public static void formatHex(byte[] raw, int offset, byte[] target, int targetOffset) {
+        for (int i = 0; i < RAW_LENGTH; i++) {
+            int b = raw[offset + i];
+            target[targetOffset + i * 2] = (byte) HEX_DIGITS[(b >> 4) & 0xF];
+            target[targetOffset + i * 2 + 1] = (byte) HEX_DIGITS[b & 0xF];
+        }
+    }
+
+    /**
+     * 40자리 16진수 문자열로 변환합니다.
+     */
+    public String name() {
+        char[] hex = new char[HEX_LENGTH];
+        formatHex(hex, 0, w1);
+        formatHex(hex, 8, w2);
+        formatHex(hex, 16, w3);
+        formatHex(hex, 24, w4);
+        formatHex(hex, 32, w5);
+        return new String(hex);
+    }
+
+    @Override
+    public int compareTo(ObjectId other) {
+        int cmp = Integer.compareUnsigned(w1, other.w1);
+        if (cmp != 0) return cmp;
+        cmp = Integer.compareUnsigned(w2, other.w2);
+        if (cmp != 0) return cmp;
+        cmp = Integer.compareUnsigned(w3, other.w3);
+        if (cmp != 0) return cmp;
+        cmp = Integer.compareUnsigned(w4, other.w4);
+        if (cmp != 0) return cmp;
+        return Integer.compareUnsigned(w5, other.w5);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ObjectId)) return false;
+        ObjectId other = (ObjectId) o;
+        return w1 == other.w1 && w2 == other.w2 && w3 == other.w3 && w4 == other.w4 && w5 == other.w5;
+    }
+
+    @Override
+    public int hashCode() {
+        // SHA-1 값은 고르게 분포하므로 두 번째 워드를 그대로 사용
+        return w2;
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+
+    private static int readInt(byte[] raw, int offset) {
+        return (raw[offset] & 0xFF) << 24
+            | (raw[offset + 1] & 0xFF) << 16
+            | (raw[offset + 2] & 0xFF) << 8
+            | (raw[offset + 3] & 0xFF);
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private static int parseHexInt(CharSequence hex, int offset) {
+        int value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            char c = hex.charAt(i);
+            int digit = c < 128 ? HEX_VALUES[c] : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("올바른 객체 해시가 아닙니다: " + hex);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private static void formatHex(char[] target, int offset, int value) {
+        for (int i = 7; i >= 0; i--) {
+            target[offset + i] = HEX_DIGITS[value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * 임의 길이 바이트 배열을 16진수 문자열로 변환합니다. ({@link HashUtil#bytesToHex}에서 사용)
+     */
+    static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * 16진수 문자열을 바이트 배열로 변환합니다. ({@link HashUtil#hexToBytes}에서 사용)
+     */
+    static byte[] fromHexBytes(CharSequence hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("16진수 문자열 길이가 홀수입니다: " + hex);
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            char high = hex.charAt(i * 2);
+            char low = hex.charAt(i * 2 + 1);
+            int h = high < 128 ? HEX_VALUES[high] : -1;
+            int l = low < 128 ? HEX_VALUES[low] : -1;
+            if (h < 0 || l < 0) {
+                throw new IllegalArgumentException("올바른 16진수 문자열이 아닙니다: " + hex);
+            }
+            bytes[i] = (byte) ((h << 4) | l);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,27 @@
+package util;
+
+/**
+ * 객체 본문을 읽지 않고 얻은 객체 헤더 정보 (타입과 크기)
+ */
+public class ObjectInfo {
+
+    private final String type;
+    private final long size;
+
+    /**
+     * @param type 객체 타입 (blob, tree, commit, tag)
+     * @param size 헤더를 제외한 본문 크기
+     */
+    public ObjectInfo(String type, long size) {
+        this.type = type;
+        this.size = size;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,79 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 헤더(타입, 크기)를 읽은 뒤 본문을 스트림으로 제공하는 객체
+ *
+ * 본문은 읽는 만큼만 압축 해제되므로 큰 blob도 고정 크기 버퍼로 처리할 수 있습니다.
+ * 사용이 끝나면 반드시 닫아야 합니다.
+ */
+public class ObjectStream extends ObjectInfo implements Closeable {
+
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+
+    /**
+     * @param type 객체 타입
+     * @param size 본문 크기
+     * @param in 본문 스트림 (헤더 다음부터)
+     */
+    public ObjectStream(String type, long size, InputStream in) {
+        super(type, size);
+        this.in = in;
+    }
+
+    /**
+     * 본문 스트림을 반환합니다.
+     */
+    public InputStream getInputStream() {
+        return in;
+    }
+
+    /**
+     * 본문 전체를 헤더의 크기만큼 할당한 배열 하나에 읽어 들입니다.
+     *
+     * @return 객체 본문
+     */
+    public byte[] readAllBytes() throws IOException {
+        if (getSize() > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("2GB를 넘는 객체는 메모리로 읽을 수 없습니다.");
+        }
+        byte[] content = new byte[(int) getSize()];
+        int count = in.readNBytes(content, 0, content.length);
+        if (count != content.length || in.read() != -1) {
+            throw new IllegalStateException("객체 본문 크기가 헤더와 일치하지 않습니다.");
+        }
+        return content;
+    }
+
+    /**
+     * 본문 전체를 출력 스트림으로 복사합니다.
+     *
+     * @param out 출력 스트림
+     * @return 복사한 바이트 수
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        // 작은 객체마다 큰 버퍼를 할당하지 않도록 본문 크기에 맞춤
+        byte[] buffer = new byte[(int) Math.max(1, Math.min(TRANSFER_BUFFER_SIZE, getSize()))];
+        long total = 0;
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+            total += count;
+        }
+        if (total != getSize()) {
+            throw new IllegalStateException("객체 본문 크기가 헤더와 일치하지 않습니다: " + total + " != " + getSize());
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,367 @@
+package util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * loose 객체를 트랜잭션 단위로 기록하는 클래스
+ *
+ * - 이미 저장소(loose 또는 팩)에 있거나 같은 트랜잭션에서 이미 쓴 객체는 압축하지 않고 건너뜁니다.
+ * - 객체는 팬아웃 디렉토리(.git/objects/xx) 안의 임시 파일에 쓰고, {@link #commit()}에서 최종 이름으로 바꿉니다.
+ *   중간에 실패하거나 commit 없이 {@link #close()}하면 임시 파일을 지우므로 잘린 객체가 남지 않습니다.
+ * - 한 번 확인하거나 만든 팬아웃 디렉토리는 기억해 두고 객체마다 mkdir을 호출하지 않습니다.
+ * - 압축은 {@link CompressionUtil}의 스레드별 Deflater로 core.looseCompression 수준(기본 1)을 사용합니다.
+ * - core.fsync에 loose-object가 포함되면(또는 이전 설정 core.fsyncObjectFiles가 true이면) commit에서
+ *   임시 파일을 한꺼번에(병렬로) fsync한 뒤 이름을 바꾸고, 이름을 바꾼 팬아웃 디렉토리를 디렉토리당
+ *   한 번씩 fsync합니다. 기본값은 Git과 같이 loose 객체를 fsync하지 않습니다.
+ *
+ * 여러 스레드에서 동시에 write를 호출할 수 있습니다. commit과 close는 쓰기가 모두 끝난 뒤 호출합니다.
+ *
+ * <pre>
+ * try (ObjectWriter writer = new ObjectWriter()) {
+ *     ObjectId id = writer.insert(object);
+ *     writer.commit();
+ * }
+ * </pre>
+ */
+public class ObjectWriter implements AutoCloseable {
+
+    /** 이보다 작은 파일은 한 번 읽어 해시와 압축에 함께 사용하고, 큰 파일은 해시와 압축을 따로 스트리밍 */
+    private static final int IN_MEMORY_LIMIT = 1024 * 1024;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    /** Git처럼 반영한 loose 객체는 읽기 전용 (임시 파일은 0600으로 만들어지므로 옮기기 전에 바꿈) */
+    private static final Set<PosixFilePermission> OBJECT_PERMISSIONS = PosixFilePermissions.fromString("r--r--r--");
+
+    private final Path objectsDir;
+    private final int level;
+    private final boolean fsync;
+    private final boolean posix;
+    /** 팬아웃 디렉토리 존재 여부 (첫 바이트별, 1이면 존재) */
+    private final AtomicIntegerArray fanoutDirs = new AtomicIntegerArray(256);
+    private final Set<ObjectId> pendingIds = ConcurrentHashMap.newKeySet();
+    private final Queue<PendingObject> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 현재 저장소의 객체 디렉토리에 쓰는 writer를 만듭니다.
+     */
+    public ObjectWriter() {
+        this.objectsDir = GitRepository.getObjectsDir();
+        this.level = CompressionUtil.getLooseCompressionLevel();
+        this.fsync = fsyncLooseObjects();
+        this.posix = objectsDir.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    /**
+     * loose 객체를 fsync할지 설정에서 읽습니다.
+     * core.fsync는 쉼표로 구분한 구성 요소 목록이며 "-이름"은 제외, "none"은 모두 해제를 뜻합니다.
+     * (loose-object를 포함하는 묶음: objects, committed, added, all)
+     */
+    private static boolean fsyncLooseObjects() {
+        String components = GitConfig.getString("core.fsync");
+        if (components == null) {
+            return GitConfig.getBoolean("core.fsyncObjectFiles", false);
+        }
+        boolean enabled = false;
+        for (String component : components.split(",")) {
+            component = component.trim();
+            boolean remove = component.startsWith("-");
+            String name = remove ? component.substring(1) : component;
+            switch (name) {
+                case "none":
+                    enabled = false;
+                    break;
+                case "loose-object":
+                case "objects":
+                case "committed":
+                case "added":
+                case "all":
+                    enabled = !remove;
+                    break;
+                default:
+                    // pack, index, reference 등 loose 객체와 무관한 구성 요소
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * 객체가 저장소에 있거나 이 트랜잭션에서 이미 기록되었는지 확인합니다.
+     */
+    public boolean has(ObjectId id) {
+        return pendingIds.contains(id) || GitObjectUtil.hasObject(id);
+    }
+
+    /**
+     * 헤더를 포함한 객체의 ID를 계산해 기록합니다.
+     *
+     * @param object 헤더("타입 크기\0")를 포함한 객체 데이터
+     * @return 객체 ID
+     */
+    public ObjectId insert(byte[] object) {
+        ObjectId id = HashUtil.computeSHA1(object);
+        write(id, object);
+        return id;
+    }
+
+    /**
+     * ID를 이미 아는 객체를 기록합니다.
+     *
+     * @param id 객체 ID
+     * @param object 헤더를 포함한 객체 데이터
+     * @return 새로 기록했으면 true, 이미 있어서 건너뛰었으면 false
+     */
+    public boolean write(ObjectId id, byte[] object) {
+        if (has(id) || !pendingIds.add(id)) {
+            return false;
+        }
+        Path temp = null;
+        try {
+            temp = createTempFile(id);
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                CompressionUtil.deflate(object, 0, object.length, level, out);
+            }
+            pending.add(new PendingObject(id, temp));
+            return true;
+        } catch (IOException e) {
+            pendingIds.remove(id);
+            deleteQuietly(temp);
+            throw new RuntimeException("Git 객체 파일 쓰기 실패: " + id, e);
+        }
+    }
+
+    /**
+     * 파일 내용을 blob 객체로 기록합니다.
+     * 먼저 해시를 계산해 이미 있는 객체면 압축하지 않습니다. 큰 파일은 고정 크기 버퍼로 두 번 읽으며
+     * (해시, 압축), 두 번째 읽기에서도 해시를 다시 계산해 그 사이 파일이 바뀌었으면 실패합니다.
+     *
+     * @param file 대상 파일
+     * @return blob 객체 ID
+     */
+    public ObjectId writeBlob(File file) {
+        try {
+            long size = Files.size(file.toPath());
+            byte[] header = ("blob " + size + "\0").getBytes(StandardCharsets.UTF_8);
+
+            if (size <= IN_MEMORY_LIMIT) {
+                byte[] object = new byte[header.length + (int) size];
+                System.arraycopy(header, 0, object, 0, header.length);
+                try (InputStream in = new FileInputStream(file)) {
+                    if (in.readNBytes(object, header.length, (int) size) != size || in.read() != -1) {
+                        throw new IOException("읽는 도중 파일 크기가 변경되었습니다: " + file);
+                    }
+                }
+                return insert(object);
+            }
+
+            ObjectId id = hashFile(file, header, size, null);
+            if (has(id) || !pendingIds.add(id)) {
+                return id;
+            }
+            Path temp = null;
+            try {
+                temp = createTempFile(id);
+                // 스레드의 Deflater를 빌려 쓰므로 스트림을 닫아도 Deflater는 해제되지 않음
+                Deflater deflater = CompressionUtil.getDeflater(level);
+                try (OutputStream out = new DeflaterOutputStream(Files.newOutputStream(temp), deflater, STREAM_BUFFER_SIZE)) {
+                    out.write(header);
+                    if (!hashFile(file, header, size, out).equals(id)) {
+                        throw new IOException("읽는 도중 파일 내용이 변경되었습니다: " + file);
+                    }
+                }
+                pending.add(new PendingObject(id, temp));
+                return id;
+            } catch (IOException e) {
+                pendingIds.remove(id);
+                deleteQuietly(temp);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("blob 객체 쓰기 실패: " + file, e);
+        }
+    }
+
+    /**
+     * 심볼릭 링크를 따라가지 않고 링크 대상 경로 문자열을 blob 객체로 기록합니다.
+     *
+     * @param link 심볼릭 링크 경로
+     * @return blob 객체 ID
+     */
+    public ObjectId writeSymlink(Path link) {
+        return insert(symlinkObject(link));
+    }
+
+    /**
+     * 파일을 저장하지 않고 blob ID만 계산합니다. (status의 변경 확인용)
+     *
+     * @param file 대상 파일
+     * @return blob 객체 ID
+     */
+    public static ObjectId hashBlob(File file) {
+        try {
+            long size = Files.size(file.toPath());
+            return hashFile(file, ("blob " + size + "\0").getBytes(StandardCharsets.UTF_8), size, null);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 해시 계산 실패: " + file, e);
+        }
+    }
+
+    /**
+     * 심볼릭 링크를 따라가지 않고 링크 대상 경로 문자열의 blob ID를 계산합니다. (status, checkout의 변경 확인용)
+     *
+     * @param link 심볼릭 링크 경로
+     * @return blob 객체 ID
+     */
+    public static ObjectId hashSymlink(Path link) {
+        return HashUtil.computeSHA1(symlinkObject(link));
+    }
+
+    /**
+     * 심볼릭 링크 대상 경로(UTF-8)를 본문으로 하는, 헤더를 포함한 blob 객체 데이터를 만듭니다.
+     */
+    private static byte[] symlinkObject(Path link) {
+        try {
+            byte[] target = Files.readSymbolicLink(link).toString().getBytes(StandardCharsets.UTF_8);
+            byte[] header = ("blob " + target.length + "\0").getBytes(StandardCharsets.UTF_8);
+            return FileUtil.concatenate(header, target);
+        } catch (IOException e) {
+            throw new RuntimeException("심볼릭 링크 읽기 실패: " + link, e);
+        }
+    }
+
+    /**
+     * 파일을 스트리밍으로 읽어 blob ID를 계산합니다. out이 있으면 읽은 내용을 함께 씁니다.
+     */
+    private static ObjectId hashFile(File file, byte[] header, long size, OutputStream out) throws IOException {
+        MessageDigest digest = HashUtil.newSHA1();
+        digest.update(header);
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        long total = 0;
+        try (InputStream in = new FileInputStream(file)) {
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+                if (out != null) {
+                    out.write(buffer, 0, count);
+                }
+                total += count;
+            }
+        }
+        if (total != size) {
+            throw new IOException("읽는 도중 파일 크기가 변경되었습니다: " + file);
+        }
+        return ObjectId.fromRaw(digest.digest());
+    }
+
+    /**
+     * 기록한 객체를 최종 경로로 옮겨 저장소에 반영합니다.
+     */
+    public void commit() {
+        List<PendingObject> batch = new ArrayList<>(pending);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (fsync) {
+                // 객체마다 쓰고 바로 fsync하지 않고 한꺼번에 요청해 파일 시스템이 저널 커밋을 묶을 수 있게 함
+                batch.parallelStream().forEach(object -> force(object.temp, false));
+            }
+
+            Set<Path> dirs = new LinkedHashSet<>();
+            for (PendingObject object : batch) {
+                Path target = object.temp.resolveSibling(object.id.name().substring(2));
+                if (posix) {
+                    Files.setPosixFilePermissions(object.temp, OBJECT_PERMISSIONS);
+                }
+                Files.move(object.temp, target, StandardCopyOption.ATOMIC_MOVE);
+                dirs.add(target.getParent());
+            }
+            pending.clear();
+            pendingIds.clear();
+
+            if (fsync) {
+                for (Path dir : dirs) {
+                    force(dir, true);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Git 객체 반영 실패: " + objectsDir, e);
+        }
+    }
+
+    /**
+     * 반영하지 않은 임시 파일을 모두 지웁니다.
+     */
+    @Override
+    public void close() {
+        PendingObject object;
+        while ((object = pending.poll()) != null) {
+            deleteQuietly(object.temp);
+        }
+        pendingIds.clear();
+    }
+
+    /**
+     * 객체가 들어갈 팬아웃 디렉토리에 임시 파일을 만듭니다. (최종 이름으로 바꿀 때 같은 디렉토리 안에서 rename)
+     */
+    private Path createTempFile(ObjectId id) throws IOException {
+        int fanout = id.getFirstByte();
+        Path dir = objectsDir.resolve(id.name().substring(0, 2));
+        if (fanoutDirs.get(fanout) == 0) {
+            Files.createDirectories(dir);
+            fanoutDirs.set(fanout, 1);
+        }
+        return Files.createTempFile(dir, "tmp_obj_", null);
+    }
+
+    private static void force(Path path, boolean directory) {
+        try (FileChannel channel = FileChannel.open(path, directory ? StandardOpenOption.READ : StandardOpenOption.WRITE)) {
+            channel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("fsync 실패: " + path, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 정리 실패는 원래 예외를 가리지 않도록 무시합니다.
+        }
+    }
+
+    /**
+     * 임시 파일에 기록했지만 아직 반영하지 않은 객체
+     */
+    private static final class PendingObject {
+        final ObjectId id;
+        final Path temp;
+
+        PendingObject(ObjectId id, Path temp) {
+            this.id = id;
+            this.temp = temp;
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 팩 파일(.pack)과 짝이 되는 인덱스(.idx)를 메모리 매핑하여 객체를 읽는 클래스
+ *
+ * 객체 데이터는 매핑된 버퍼에서 바로 압축 해제하므로 팩 파일 내용을 힙으로 복사하지 않습니다.
+ * 델타 엔트리는 체인을 따라 기준 객체를 찾아 복원하며, 복원한 기준은 {@link DeltaBaseCache}에 보관합니다.
+ */
+public class PackFile {
+
+    /** 팩 엔트리 타입 코드 */
+    public static final int OBJ_COMMIT = 1;
+    public static final int OBJ_TREE = 2;
+    public static final int OBJ_BLOB = 3;
+    public static final int OBJ_TAG = 4;
+    public static final int OBJ_OFS_DELTA = 6;
+    public static final int OBJ_REF_DELTA = 7;
+
+    private static final int PACK_SIGNATURE = 0x5041434B; // "PACK"
+
+    /** 이 크기 이하의 객체는 스트림 대신 한 번에 압축 해제 */
+    private static final int STREAM_THRESHOLD = 64 * 1024;
+
+    private final Path packPath;
+    private final PackIndex index;
+    private final ByteBuffer buffer;
+
+    private PackFile(Path packPath, PackIndex index, ByteBuffer buffer) {
+        this.packPath = packPath;
+        this.index = index;
+        this.buffer = buffer;
+
+        if (buffer.limit() < 12 + ObjectId.RAW_LENGTH) {
+            throw new IllegalStateException("팩 파일이 너무 짧습니다: " + packPath);
+        }
+        if (buffer.getInt(0) != PACK_SIGNATURE) {
+            throw new IllegalStateException("팩 파일 서명이 올바르지 않습니다: " + packPath);
+        }
+        int version = buffer.getInt(4);
+        if (version != 2 && version != 3) {
+            throw new IllegalStateException("지원하지 않는 팩 버전: " + version);
+        }
+    }
+
+    /**
+     * .idx 파일 경로로부터 팩 파일과 인덱스를 엽니다.
+     *
+     * @param indexPath .idx 파일 경로
+     * @return 팩 파일
+     */
+    public static PackFile open(Path indexPath) {
+        String indexName = indexPath.getFileName().toString();
+        Path packPath = indexPath.resolveSibling(indexName.substring(0, indexName.length() - ".idx".length()) + ".pack");
+
+        try (FileChannel channel = FileChannel.open(packPath, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("2GB를 넘는 팩 파일은 지원하지 않습니다: " + packPath);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PackFile(packPath, PackIndex.open(indexPath), buffer);
+        } catch (IOException e) {
+            throw new RuntimeException("팩 파일 열기 실패: " + packPath, e);
+        }
+    }
+
+    /**
+     * 인덱스 없이 팩 파일만 엽니다. 인덱스를 만드는 중(index-pack)에 엔트리를 읽을 때 사용합니다.
+     *
+     * @param packPath .pack 파일 경로
+     * @return 팩 파일 (findOffset, REF_DELTA 해석은 사용할 수 없음)
+     */
+    static PackFile openWithoutIndex(Path packPath) {
+        try (FileChannel channel = FileChannel.open(packPath, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("2GB를 넘는 팩 파일은 지원하지 않습니다: " + packPath);
+            }
+            return new PackFile(packPath, null, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException("팩 파일 열기 실패: " + packPath, e);
+        }
+    }
+
+    public Path getPackPath() {
+        return packPath;
+    }
+
+    public PackIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * 팩 파일 끝의 SHA-1 체크섬이 내용과 일치하고, 인덱스에 기록된 팩 체크섬과도 같은지 확인합니다.
+     */
+    public boolean verifyChecksum() {
+        return HashUtil.matchesTrailer(buffer)
+            && index.getPackChecksum().equals(ObjectId.fromRaw(buffer, buffer.limit() - ObjectId.RAW_LENGTH));
+    }
+
+    /**
+     * 엔트리 데이터가 끝나는 위치(트레일러 체크섬 시작 위치)를 반환합니다.
+     * 오프셋 순으로 정렬한 마지막 엔트리의 끝을 알 때 사용합니다.
+     */
+    public long getDataEnd() {
+        return buffer.limit() - ObjectId.RAW_LENGTH;
+    }
+
+    /**
+     * 팩 파일의 [start, end) 구간(엔트리 하나의 헤더와 압축 데이터)의 CRC32를 계산합니다.
+     * 인덱스에 기록된 CRC32({@link PackIndex#getCrc32(int)})와 비교해 압축 해제 전에 손상을 찾을 때 사용합니다.
+     *
+     * @throws IllegalStateException 구간이 엔트리 데이터 범위를 벗어난 경우 (잘린 팩 등)
+     */
+    public int computeCrc32(long start, long end) {
+        if (start < 0 || start > end || end > getDataEnd()) {
+            throw new IllegalStateException("팩 엔트리 구간 [" + start + ", " + end + ")이 팩 데이터 범위(0~"
+                + Math.max(0, getDataEnd()) + ")를 벗어났습니다: " + packPath);
+        }
+        ByteBuffer entry = buffer.duplicate();
+        entry.position((int) start).limit((int) end);
+        CRC32 crc = new CRC32();
+        crc.update(entry);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 팩에 객체가 있는지 확인합니다.
+     *
+     * @param id 객체 ID
+     * @return 팩 내 오프셋, 없으면 -1
+     */
+    public long findOffset(ObjectId id) {
+        return index.findOffset(id);
+    }
+
+    /**
+     * 오프셋 위치의 객체를 읽습니다.
+     *
+     * @param offset 팩 파일 내 엔트리 시작 오프셋
+     * @return 압축 해제된 객체
+     */
+    public GitObject read(long offset) {
+        EntryHeader header = readEntryHeader(offset);
+        if (!isDelta(header.type)) {
+            return new GitObject(typeName(header.type), inflate(header.dataOffset, header.size));
+        }
+        return resolveDelta(header);
+    }
+
+    /**
+     * 오프셋 위치의 객체를 스트림으로 엽니다.
+     * 큰 객체는 매핑된 버퍼에서 읽는 만큼만 압축 해제하고, 작은 객체({@value #STREAM_THRESHOLD}바이트 이하)는
+     * 스레드의 Inflater로 한 번에 풀어 둡니다. 체크아웃처럼 작은 blob을 많이 열 때 스트림마다 zlib 상태를 만들지 않습니다.
+     * 델타 객체는 체인을 복원한 본문을 스트림으로 제공합니다.
+     *
+     * @param offset 팩 파일 내 엔트리 시작 오프셋
+     * @return 객체 스트림 (사용 후 닫아야 함)
+     */
+    public ObjectStream openStream(long offset) {
+        EntryHeader header = readEntryHeader(offset);
+        if (isDelta(header.type)) {
+            GitObject object = resolveDelta(header);
+            return new ObjectStream(object.getType(), object.getSize(), new ByteArrayInputStream(object.getContent()));
+        }
+        if (header.size <= STREAM_THRESHOLD) {
+            return new ObjectStream(typeName(header.type), header.size,
+                new ByteArrayInputStream(inflate(header.dataOffset, header.size)));
+        }
+        return new ObjectStream(typeName(header.type), header.size, new EntryInputStream(header.dataOffset));
+    }
+
+    /**
+     * 오프셋 위치 객체의 타입과 크기만 읽습니다.
+     * 델타 엔트리는 델타 데이터 앞부분만 압축 해제해 결과 크기를 읽고, 타입은 체인 끝의 기준 엔트리에서 가져옵니다.
+     *
+     * @param offset 팩 파일 내 엔트리 시작 오프셋
+     * @return 객체 헤더 정보
+     */
+    public ObjectInfo readInfo(long offset) {
+        EntryHeader header = readEntryHeader(offset);
+        if (!isDelta(header.type)) {
+            return new ObjectInfo(typeName(header.type), header.size);
+        }
+
+        // 델타 헤더는 기준 크기와 결과 크기 (각각 최대 10바이트 가변 길이 정수)
+        long size = DeltaUtil.readResultSize(inflatePrefix(header.dataOffset, 20));
+        EntryHeader current = header;
+        while (isDelta(current.type)) {
+            if (current.type == OBJ_OFS_DELTA) {
+                current = readEntryHeader(current.baseOffset);
+                continue;
+            }
+            long baseOffset = index.findOffset(current.baseId);
+            if (baseOffset < 0) {
+                ObjectInfo base = GitObjectUtil.readObjectInfo(current.baseId);
+                if (base == null) {
+                    throw new IllegalStateException("델타 기준 객체를 찾을 수 없습니다: " + current.baseId);
+                }
+                return new ObjectInfo(base.getType(), size);
+            }
+            current = readEntryHeader(baseOffset);
+        }
+        return new ObjectInfo(typeName(current.type), size);
+    }
+
+    /**
+     * 델타 체인을 풀어 객체를 복원합니다.
+     * 캐시된 기준 객체나 델타가 아닌 객체가 나올 때까지 체인을 따라 내려간 뒤,
+     * 위로 올라오면서 델타를 차례로 적용하고 중간 결과를 델타 기준 캐시에 넣습니다.
+     * 같은 체인의 객체를 연달아 읽으면 이미 복원한 기준을 재사용하므로 체인 길이에 비례한 시간이 듭니다.
+     */
+    private GitObject resolveDelta(EntryHeader header) {
+        DeltaBaseCache cache = DeltaBaseCache.getInstance();
+        Deque<EntryHeader> chain = new ArrayDeque<>();
+        GitObject base;
+
+        EntryHeader current = header;
+        while (true) {
+            GitObject cached = cache.get(this, current.offset);
+            if (cached != null) {
+                base = cached;
+                break;
+            }
+            if (!isDelta(current.type)) {
+                base = new GitObject(typeName(current.type), inflate(current.dataOffset, current.size));
+                cache.put(this, current.offset, base);
+                break;
+            }
+
+            chain.push(current);
+            if (current.type == OBJ_OFS_DELTA) {
+                current = readEntryHeader(current.baseOffset);
+            } else {
+                long baseOffset = index.findOffset(current.baseId);
+                if (baseOffset < 0) {
+                    // 기준 객체가 다른 팩이나 loose 객체에 있는 경우
+                    base = GitObjectUtil.readObject(current.baseId);
+                    break;
+                }
+                current = readEntryHeader(baseOffset);
+            }
+        }
+
+        while (!chain.isEmpty()) {
+            EntryHeader delta = chain.pop();
+            byte[] content = DeltaUtil.applyDelta(base.getContent(), inflate(delta.dataOffset, delta.size));
+            base = new GitObject(base.getType(), content);
+            cache.put(this, delta.offset, base);
+        }
+        return base;
+    }
+
+    /**
+     * 델타 엔트리 타입인지 확인합니다.
+     */
+    static boolean isDelta(int type) {
+        return type == OBJ_OFS_DELTA || type == OBJ_REF_DELTA;
+    }
+
+    /**
+     * 엔트리 헤더(타입과 압축 해제 후 크기)를 읽습니다.
+     * 첫 바이트의 4~6비트가 타입, 하위 4비트와 이어지는 바이트의 하위 7비트가 크기입니다.
+     */
+    EntryHeader readEntryHeader(long offset) {
+        int position = (int) offset;
+        int c = buffer.get(position++) & 0xFF;
+        int type = (c >> 4) & 0x7;
+        long size = c & 0x0F;
+        int shift = 4;
+        while ((c & 0x80) != 0) {
+            c = buffer.get(position++) & 0xFF;
+            size |= (long) (c & 0x7F) << shift;
+            shift += 7;
+        }
+
+        EntryHeader header = new EntryHeader();
+        header.offset = offset;
+        header.type = type;
+        header.size = size;
+
+        if (type == OBJ_OFS_DELTA) {
+            // 기준 객체까지의 음의 상대 오프셋 (각 바이트마다 1을 더하는 가변 길이 인코딩)
+            c = buffer.get(position++) & 0xFF;
+            long distance = c & 0x7F;
+            while ((c & 0x80) != 0) {
+                c = buffer.get(position++) & 0xFF;
+                distance = ((distance + 1) << 7) | (c & 0x7F);
+            }
+            header.baseOffset = offset - distance;
+        } else if (type == OBJ_REF_DELTA) {
+            header.baseId = ObjectId.fromRaw(buffer, position);
+            position += ObjectId.RAW_LENGTH;
+        }
+
+        header.dataOffset = position;
+        return header;
+    }
+
+    /**
+     * 매핑된 버퍼의 position 위치부터 zlib 스트림을 압축 해제합니다.
+     *
+     * @param position 압축 데이터 시작 위치
+     * @param size 압축 해제 후 크기
+     * @return 압축 해제된 데이터
+     */
+    byte[] inflate(long position, long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("2GB를 넘는 객체는 지원하지 않습니다: " + packPath);
+        }
+
+        ByteBuffer input = buffer.duplicate();
+        input.position((int) position);
+
+        byte[] output = new byte[(int) size];
+        Inflater inflater = CompressionUtil.getInflater();
+        try {
+            inflater.setInput(input);
+            int total = 0;
+            byte[] overflow = new byte[1];
+            while (!inflater.finished()) {
+                int count;
+                if (total < output.length) {
+                    count = inflater.inflate(output, total, output.length - total);
+                } else {
+                    // 출력 버퍼가 찼으면 zlib 트레일러만 남아 있어야 함
+                    count = inflater.inflate(overflow);
+                    if (count > 0) {
+                        throw new IllegalStateException("팩 엔트리 크기가 일치하지 않습니다: " + packPath);
+                    }
+                }
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("팩 엔트리 압축 데이터가 손상되었습니다: " + packPath);
+                }
+                total += count;
+            }
+            if (total != size) {
+                throw new IllegalStateException("팩 엔트리 크기가 일치하지 않습니다: " + packPath);
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new RuntimeException("팩 엔트리 압축 해제 실패: " + packPath, e);
+        }
+    }
+
+    /**
+     * zlib 스트림의 앞부분만 압축 해제합니다. (델타 헤더처럼 앞쪽 몇 바이트만 필요할 때 사용)
+     *
+     * @param position 압축 데이터 시작 위치
+     * @param length 최대 출력 길이
+     * @return 압축 해제된 앞부분 (스트림이 더 짧으면 그만큼만)
+     */
+    byte[] inflatePrefix(long position, int length) {
+        ByteBuffer input = buffer.duplicate();
+        input.position((int) position);
+
+        byte[] output = new byte[length];
+        Inflater inflater = CompressionUtil.getInflater();
+        try {
+            inflater.setInput(input);
+            int total = 0;
+            while (total < length && !inflater.finished()) {
+                int count = inflater.inflate(output, total, length - total);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("팩 엔트리 압축 데이터가 손상되었습니다: " + packPath);
+                }
+                total += count;
+            }
+            return total == length ? output : Arrays.copyOf(output, total);
+        } catch (DataFormatException e) {
+            throw new RuntimeException("팩 엔트리 압축 해제 실패: " + packPath, e);
+        }
+    }
+
+    /**
+     * 타입 코드를 객체 타입 이름으로 변환합니다.
+     */
+    static String typeName(int type) {
+        switch (type) {
+            case OBJ_COMMIT: return "commit";
+            case OBJ_TREE: return "tree";
+            case OBJ_BLOB: return "blob";
+            case OBJ_TAG: return "tag";
+            default: throw new IllegalStateException("알 수 없는 팩 객체 타입: " + type);
+        }
+    }
+
+    /**
+     * 매핑된 버퍼의 zlib 스트림을 읽는 만큼만 압축 해제하는 입력 스트림
+     * 여러 스트림을 동시에 열 수 있도록 스트림마다 Inflater를 따로 두고, 닫을 때 해제합니다.
+     */
+    private class EntryInputStream extends InputStream {
+        private final Inflater inflater = new Inflater();
+        private boolean closed;
+
+        EntryInputStream(long position) {
+            ByteBuffer input = buffer.duplicate();
+            input.position((int) position);
+            inflater.setInput(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (closed) {
+                throw new IOException("닫힌 스트림입니다.");
+            }
+            if (length == 0) {
+                return 0;
+            }
+            try {
+                while (true) {
+                    if (inflater.finished()) {
+                        return -1;
+                    }
+                    int count = inflater.inflate(target, offset, length);
+                    if (count > 0) {
+                        return count;
+                    }
+                    if (inflater.needsInput() || inflater.needsDictionary()) {
+                        throw new IOException("팩 엔트리 압축 데이터가 손상되었습니다: " + packPath);
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("팩 엔트리 압축 해제 실패: " + packPath, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * 팩 엔트리 헤더 정보
+     */
+    static class EntryHeader {
+        long offset;
+        int type;
+        long size;
+        long dataOffset;
+        long baseOffset;
+        ObjectId baseId;
+    }
+}
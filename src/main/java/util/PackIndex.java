@@ -0,0 +1,150 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 팩 인덱스(.idx, 버전 2) 파일을 메모리 매핑하여 객체 위치를 찾는 클래스
+ *
+ * 형식: 매직 "\377tOc", 버전(2), fanout 테이블(256 x 4바이트),
+ * 정렬된 SHA 목록(N x 20바이트), CRC32(N x 4바이트), 오프셋(N x 4바이트),
+ * 2GB 이상 오프셋을 위한 64비트 오프셋 테이블, 팩 체크섬, 인덱스 체크섬
+ */
+public class PackIndex {
+
+    private static final int MAGIC = 0xFF744F63; // "\377tOc"
+    private static final int SHA_LENGTH = 20;
+    private static final int FANOUT_OFFSET = 8;
+    private static final int FANOUT_SIZE = 256 * 4;
+
+    private final ByteBuffer buffer;
+    private final int objectCount;
+    private final int shaTableOffset;
+    private final int crcTableOffset;
+    private final int offsetTableOffset;
+    private final int largeOffsetTableOffset;
+
+    private PackIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.limit() < FANOUT_OFFSET + FANOUT_SIZE) {
+            throw new IllegalStateException("팩 인덱스 파일이 너무 짧습니다.");
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("지원하지 않는 팩 인덱스 형식입니다. (버전 1)");
+        }
+        int version = buffer.getInt(4);
+        if (version != 2) {
+            throw new IllegalStateException("지원하지 않는 팩 인덱스 버전: " + version);
+        }
+
+        this.objectCount = buffer.getInt(FANOUT_OFFSET + 255 * 4);
+        this.shaTableOffset = FANOUT_OFFSET + FANOUT_SIZE;
+        this.crcTableOffset = shaTableOffset + objectCount * SHA_LENGTH;
+        this.offsetTableOffset = crcTableOffset + objectCount * 4;
+        this.largeOffsetTableOffset = offsetTableOffset + objectCount * 4;
+        if (objectCount < 0 || buffer.limit() < (long) largeOffsetTableOffset + 2 * SHA_LENGTH) {
+            throw new IllegalStateException("팩 인덱스 파일이 잘렸습니다. (객체 " + objectCount + "개)");
+        }
+    }
+
+    /**
+     * 팩 인덱스 파일을 메모리 매핑하여 엽니다.
+     *
+     * @param path .idx 파일 경로
+     * @return 팩 인덱스
+     */
+    public static PackIndex open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new PackIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException("팩 인덱스 파일 열기 실패: " + path, e);
+        }
+    }
+
+    /**
+     * 인덱스에 포함된 객체 수를 반환합니다.
+     */
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * fanout 테이블로 검색 범위를 좁힌 뒤 이진 탐색으로 객체의 팩 내 오프셋을 찾습니다.
+     *
+     * @param id 객체 ID
+     * @return 팩 파일 내 오프셋, 없으면 -1
+     */
+    public long findOffset(ObjectId id) {
+        int position = findPosition(id);
+        return position < 0 ? -1 : getOffset(position);
+    }
+
+    /**
+     * 객체의 인덱스 내 위치(정렬 순서)를 찾습니다.
+     * 매핑된 SHA 테이블과 4바이트 단위로 바로 비교하므로 탐색 중에 배열을 만들지 않습니다.
+     *
+     * @param id 객체 ID
+     * @return 위치, 없으면 -1
+     */
+    public int findPosition(ObjectId id) {
+        int first = id.getFirstByte();
+        int low = first == 0 ? 0 : buffer.getInt(FANOUT_OFFSET + (first - 1) * 4);
+        int high = buffer.getInt(FANOUT_OFFSET + first * 4);
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = id.compareTo(buffer, shaTableOffset + mid * SHA_LENGTH);
+            if (cmp > 0) {
+                low = mid + 1;
+            } else if (cmp < 0) {
+                high = mid;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * position 위치의 객체 ID를 반환합니다.
+     */
+    public ObjectId getObjectId(int position) {
+        return ObjectId.fromRaw(buffer, shaTableOffset + position * SHA_LENGTH);
+    }
+
+    /**
+     * position 위치의 객체가 팩 파일에서 시작하는 오프셋을 반환합니다.
+     */
+    public long getOffset(int position) {
+        int offset = buffer.getInt(offsetTableOffset + position * 4);
+        if (offset >= 0) {
+            return offset;
+        }
+        // 최상위 비트가 켜져 있으면 64비트 오프셋 테이블의 인덱스
+        return buffer.getLong(largeOffsetTableOffset + (offset & 0x7FFFFFFF) * 8);
+    }
+
+    /**
+     * position 위치의 객체(팩 내 압축 데이터)의 CRC32를 반환합니다.
+     */
+    public int getCrc32(int position) {
+        return buffer.getInt(crcTableOffset + position * 4);
+    }
+
+    /**
+     * 인덱스에 기록된 팩 파일 체크섬(팩 파일 끝의 SHA-1)을 반환합니다.
+     */
+    public ObjectId getPackChecksum() {
+        return ObjectId.fromRaw(buffer, buffer.limit() - 2 * SHA_LENGTH);
+    }
+
+    /**
+     * 인덱스 끝의 SHA-1 체크섬이 나머지 내용과 일치하는지 확인합니다.
+     */
+    public boolean verifyChecksum() {
+        return HashUtil.matchesTrailer(buffer);
+    }
+}
@@ -0,0 +1,510 @@
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 팩 파일을 읽어 인덱스(.idx, 버전 2)를 만드는 클래스 (git index-pack)
+ *
+ * 1단계: 팩 스트림을 한 번 읽으면서 디스크에 기록하고, 엔트리마다 오프셋과 CRC32를 기록합니다.
+ *        델타가 아닌 객체는 압축을 풀면서 바로 SHA를 계산하므로 내용을 메모리에 두지 않습니다.
+ * 2단계: 델타 객체를 기준 객체별 트리로 묶어 ForkJoin 풀에서 병렬로 복원하고 SHA를 계산합니다.
+ * 3단계: SHA 순으로 정렬하여 fanout, SHA, CRC32, 오프셋 테이블과 체크섬을 기록합니다.
+ */
+public class PackIndexer {
+
+    private static final int SHA_LENGTH = 20;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PACK_SIGNATURE = 0x5041434B; // "PACK"
+    private static final int INDEX_MAGIC = 0xFF744F63; // "\377tOc"
+
+    private final int threads;
+
+    /**
+     * @param threads 델타 복원에 사용할 스레드 수
+     */
+    public PackIndexer(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * 디스크에 있는 팩 파일의 인덱스를 같은 디렉토리에 만듭니다. (pack-xxx.pack → pack-xxx.idx)
+     *
+     * @param packPath .pack 파일 경로
+     * @return 팩 체크섬 (16진수)
+     */
+    public String indexPackFile(Path packPath) {
+        List<Entry> entries;
+        byte[] checksum;
+        try (InputStream in = Files.newInputStream(packPath)) {
+            PackStreamParser parser = new PackStreamParser(in, null);
+            entries = parser.parse();
+            checksum = parser.checksum;
+        } catch (IOException e) {
+            throw new RuntimeException("팩 파일 읽기 실패: " + packPath, e);
+        }
+
+        resolveDeltas(packPath, entries);
+
+        String fileName = packPath.getFileName().toString();
+        String baseName = fileName.endsWith(".pack") ? fileName.substring(0, fileName.length() - ".pack".length()) : fileName;
+        writeIndex(packPath.resolveSibling(baseName + ".idx"), entries, checksum);
+        return HashUtil.bytesToHex(checksum);
+    }
+
+    /**
+     * 스트림으로 들어오는 팩을 packDir에 기록하면서 인덱싱합니다.
+     * 완료되면 pack-&lt;체크섬&gt;.pack, pack-&lt;체크섬&gt;.idx 이름으로 옮깁니다.
+     *
+     * @param in 팩 데이터 스트림
+     * @param packDir 팩을 저장할 디렉토리 (보통 .git/objects/pack)
+     * @return 팩 체크섬 (16진수)
+     */
+    public String indexPackStream(InputStream in, Path packDir) {
+        Path tempPack = null;
+        Path tempIndex = null;
+        try {
+            Files.createDirectories(packDir);
+            tempPack = Files.createTempFile(packDir, "tmp_pack_", null);
+
+            List<Entry> entries;
+            byte[] checksum;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempPack), BUFFER_SIZE)) {
+                PackStreamParser parser = new PackStreamParser(in, out);
+                entries = parser.parse();
+                checksum = parser.checksum;
+            }
+
+            resolveDeltas(tempPack, entries);
+
+            tempIndex = Files.createTempFile(packDir, "tmp_idx_", null);
+            writeIndex(tempIndex, entries, checksum);
+
+            String name = "pack-" + HashUtil.bytesToHex(checksum);
+            Files.move(tempPack, packDir.resolve(name + ".pack"), StandardCopyOption.ATOMIC_MOVE);
+            // .idx가 생기는 순간 팩이 보이므로 .pack을 먼저 옮김
+            Files.move(tempIndex, packDir.resolve(name + ".idx"), StandardCopyOption.ATOMIC_MOVE);
+            return HashUtil.bytesToHex(checksum);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tempPack);
+            deleteQuietly(tempIndex);
+            if (e instanceof RuntimeException) throw (RuntimeException) e;
+            throw new RuntimeException("팩 저장 실패: " + packDir, e);
+        }
+    }
+
+    /**
+     * 델타 엔트리를 기준 객체별로 묶은 뒤 병렬로 복원합니다.
+     */
+    private void resolveDeltas(Path packPath, List<Entry> entries) {
+        Map<Long, List<Entry>> ofsChildren = new HashMap<>();
+        Map<ObjectId, List<Entry>> refChildren = new HashMap<>();
+        List<Entry> roots = new ArrayList<>();
+        int deltaCount = 0;
+
+        for (Entry entry : entries) {
+            if (entry.type == PackFile.OBJ_OFS_DELTA) {
+                ofsChildren.computeIfAbsent(entry.baseOffset, k -> new ArrayList<>()).add(entry);
+                deltaCount++;
+            } else if (entry.type == PackFile.OBJ_REF_DELTA) {
+                refChildren.computeIfAbsent(entry.baseId, k -> new ArrayList<>()).add(entry);
+                deltaCount++;
+            } else {
+                roots.add(entry);
+            }
+        }
+        if (deltaCount == 0) {
+            return;
+        }
+
+        PackFile pack = PackFile.openWithoutIndex(packPath);
+        DeltaResolver resolver = new DeltaResolver(pack, ofsChildren, refChildren);
+        List<DeltaResolver.ResolveTask> tasks = new ArrayList<>();
+        for (Entry root : roots) {
+            if (resolver.hasChildren(root)) {
+                tasks.add(resolver.new ResolveTask(root, null));
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        if (resolver.resolved.get() != deltaCount) {
+            throw new IllegalStateException("기준 객체를 찾을 수 없는 델타가 있습니다 (thin pack은 지원하지 않습니다): "
+                + (deltaCount - resolver.resolved.get()) + "개");
+        }
+    }
+
+    /**
+     * 델타 트리를 따라 객체를 복원하는 작업 모음
+     */
+    private static class DeltaResolver {
+        private final PackFile pack;
+        private final Map<Long, List<Entry>> ofsChildren;
+        private final Map<ObjectId, List<Entry>> refChildren;
+        private final AtomicInteger resolved = new AtomicInteger();
+
+        DeltaResolver(PackFile pack, Map<Long, List<Entry>> ofsChildren, Map<ObjectId, List<Entry>> refChildren) {
+            this.pack = pack;
+            this.ofsChildren = ofsChildren;
+            this.refChildren = refChildren;
+        }
+
+        boolean hasChildren(Entry entry) {
+            return ofsChildren.containsKey(entry.offset)
+                || (!refChildren.isEmpty() && refChildren.containsKey(entry.id));
+        }
+
+        private List<Entry> childrenOf(Entry entry) {
+            List<Entry> children = new ArrayList<>();
+            List<Entry> ofs = ofsChildren.get(entry.offset);
+            if (ofs != null) children.addAll(ofs);
+            if (!refChildren.isEmpty()) {
+                List<Entry> ref = refChildren.get(entry.id);
+                if (ref != null) children.addAll(ref);
+            }
+            return children;
+        }
+
+        /**
+         * 기준 객체 하나와 그 객체를 기준으로 하는 모든 델타(재귀적으로)를 복원하는 작업
+         */
+        class ResolveTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final Entry base;
+            private byte[] content;
+
+            /**
+             * @param base 기준 엔트리 (SHA와 복원 타입이 정해진 상태)
+             * @param content 기준 객체 본문 (null이면 팩에서 압축 해제)
+             */
+            ResolveTask(Entry base, byte[] content) {
+                this.base = base;
+                this.content = content;
+            }
+
+            @Override
+            protected void compute() {
+                if (content == null) {
+                    content = pack.inflate(base.dataOffset, base.size);
+                }
+
+                List<ResolveTask> subtasks = new ArrayList<>();
+                for (Entry child : childrenOf(base)) {
+                    byte[] result = DeltaUtil.applyDelta(content, pack.inflate(child.dataOffset, child.size));
+                    child.resolvedType = base.resolvedType;
+                    child.id = hashObject(child.resolvedType, result);
+                    resolved.incrementAndGet();
+
+                    if (hasChildren(child)) {
+                        subtasks.add(new ResolveTask(child, result));
+                    }
+                }
+                // 자식 작업을 분기하기 전에 이 단계의 본문 참조를 놓아 메모리를 줄임
+                content = null;
+                ForkJoinTask.invokeAll(subtasks);
+            }
+        }
+    }
+
+    /**
+     * 객체 헤더와 본문으로 SHA를 계산합니다.
+     */
+    private static ObjectId hashObject(int type, byte[] content) {
+        MessageDigest digest = HashUtil.newSHA1();
+        digest.update((PackFile.typeName(type) + " " + content.length + "\0").getBytes(StandardCharsets.UTF_8));
+        return ObjectId.fromRaw(digest.digest(content));
+    }
+
+    /**
+     * 버전 2 팩 인덱스를 기록합니다. ({@link PackWriter}와 공유)
+     *
+     * @param indexPath 기록할 .idx 경로
+     * @param entries 팩의 모든 엔트리 (ID, CRC32, 오프셋)
+     * @param packChecksum 팩 체크섬
+     */
+    static void writeIndex(Path indexPath, List<? extends IndexEntry> entries, byte[] packChecksum) {
+        IndexEntry[] sorted = entries.toArray(new IndexEntry[0]);
+        Arrays.sort(sorted, (e1, e2) -> e1.id.compareTo(e2.id));
+
+        MessageDigest digest = HashUtil.newSHA1();
+        try (OutputStream fileOut = Files.newOutputStream(indexPath)) {
+            DigestOutputStream digestOut = new DigestOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE), digest);
+            DataOutputStream out = new DataOutputStream(digestOut);
+
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(2);
+
+            int[] fanout = new int[256];
+            for (IndexEntry entry : sorted) {
+                fanout[entry.id.getFirstByte()]++;
+            }
+            int cumulative = 0;
+            for (int count : fanout) {
+                cumulative += count;
+                out.writeInt(cumulative);
+            }
+
+            byte[] rawId = new byte[SHA_LENGTH];
+            for (IndexEntry entry : sorted) {
+                entry.id.copyRawTo(rawId, 0);
+                out.write(rawId);
+            }
+            for (IndexEntry entry : sorted) {
+                out.writeInt(entry.crc32);
+            }
+
+            // 2^31 이상 오프셋은 64비트 테이블에 두고 최상위 비트를 켠 인덱스를 기록
+            List<Long> largeOffsets = new ArrayList<>();
+            for (IndexEntry entry : sorted) {
+                if (entry.offset < 0x80000000L) {
+                    out.writeInt((int) entry.offset);
+                } else {
+                    out.writeInt(0x80000000 | largeOffsets.size());
+                    largeOffsets.add(entry.offset);
+                }
+            }
+            for (long offset : largeOffsets) {
+                out.writeLong(offset);
+            }
+
+            out.write(packChecksum);
+            out.flush();
+            digestOut.on(false);
+            out.write(digest.digest());
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("팩 인덱스 쓰기 실패: " + indexPath, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 정리 실패는 원래 예외를 가리지 않도록 무시합니다.
+        }
+    }
+
+    /**
+     * 인덱스에 기록하는 엔트리 정보
+     */
+    static class IndexEntry {
+        ObjectId id;
+        long offset;
+        int crc32;
+    }
+
+    /**
+     * 팩 엔트리 정보
+     */
+    private static class Entry extends IndexEntry {
+        int type;
+        long size;
+        long dataOffset;
+        long baseOffset;
+        ObjectId baseId;
+        /** 델타를 풀었을 때의 실제 타입 (델타가 아니면 type과 같음) */
+        int resolvedType;
+    }
+
+    /**
+     * 팩 스트림을 순서대로 한 번 읽으면서 엔트리 정보를 모으는 파서
+     * 읽은 바이트는 그대로 출력 스트림(있으면)에 기록하고, 팩 체크섬과 엔트리별 CRC32를 함께 계산합니다.
+     */
+    private static class PackStreamParser {
+        private final InputStream in;
+        private final OutputStream copy;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] scratch = new byte[BUFFER_SIZE];
+        private final MessageDigest packDigest = HashUtil.newSHA1();
+        private final MessageDigest objectDigest = HashUtil.newSHA1();
+        private final CRC32 crc = new CRC32();
+        private final Inflater inflater = new Inflater();
+        private int position;
+        private int limit;
+        private long streamOffset;
+        byte[] checksum;
+
+        PackStreamParser(InputStream in, OutputStream copy) {
+            this.in = in;
+            this.copy = copy;
+        }
+
+        List<Entry> parse() throws IOException {
+            try {
+                if (readInt() != PACK_SIGNATURE) {
+                    throw new IllegalStateException("팩 파일 서명이 올바르지 않습니다.");
+                }
+                int version = readInt();
+                if (version != 2 && version != 3) {
+                    throw new IllegalStateException("지원하지 않는 팩 버전: " + version);
+                }
+                long count = Integer.toUnsignedLong(readInt());
+
+                List<Entry> entries = new ArrayList<>((int) Math.min(count, 1 << 20));
+                for (long i = 0; i < count; i++) {
+                    entries.add(readEntry());
+                }
+
+                byte[] expected = packDigest.digest();
+                checksum = new byte[SHA_LENGTH];
+                for (int i = 0; i < SHA_LENGTH; i++) {
+                    ensureAvailable();
+                    checksum[i] = buffer[position++];
+                }
+                if (!MessageDigest.isEqual(expected, checksum)) {
+                    throw new IllegalStateException("팩 체크섬이 일치하지 않습니다.");
+                }
+                return entries;
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("팩 엔트리 압축 해제 실패", e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        private Entry readEntry() throws IOException, DataFormatException {
+            Entry entry = new Entry();
+            entry.offset = streamOffset;
+            crc.reset();
+
+            int c = readByte();
+            entry.type = (c >> 4) & 0x7;
+            long size = c & 0x0F;
+            int shift = 4;
+            while ((c & 0x80) != 0) {
+                c = readByte();
+                size |= (long) (c & 0x7F) << shift;
+                shift += 7;
+            }
+            entry.size = size;
+
+            if (entry.type == PackFile.OBJ_OFS_DELTA) {
+                c = readByte();
+                long distance = c & 0x7F;
+                while ((c & 0x80) != 0) {
+                    c = readByte();
+                    distance = ((distance + 1) << 7) | (c & 0x7F);
+                }
+                entry.baseOffset = entry.offset - distance;
+            } else if (entry.type == PackFile.OBJ_REF_DELTA) {
+                byte[] rawId = new byte[SHA_LENGTH];
+                for (int i = 0; i < SHA_LENGTH; i++) {
+                    rawId[i] = (byte) readByte();
+                }
+                entry.baseId = ObjectId.fromRaw(rawId);
+            } else {
+                entry.resolvedType = entry.type;
+                objectDigest.reset();
+                objectDigest.update((PackFile.typeName(entry.type) + " " + size + "\0").getBytes(StandardCharsets.UTF_8));
+            }
+
+            entry.dataOffset = streamOffset;
+            boolean hashContent = !PackFile.isDelta(entry.type);
+            long inflated = inflateEntry(hashContent);
+            if (inflated != size) {
+                throw new IllegalStateException("팩 엔트리 크기가 일치하지 않습니다: 오프셋 " + entry.offset);
+            }
+            if (hashContent) {
+                entry.id = ObjectId.fromRaw(objectDigest.digest());
+            }
+            entry.crc32 = (int) crc.getValue();
+            return entry;
+        }
+
+        /**
+         * 현재 위치의 zlib 스트림을 끝까지 압축 해제하고 정확히 소비한 만큼만 입력을 진행합니다.
+         */
+        private long inflateEntry(boolean hashContent) throws IOException, DataFormatException {
+            inflater.reset();
+            long total = 0;
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    ensureAvailable();
+                    inflater.setInput(buffer, position, limit - position);
+                }
+                int count = inflater.inflate(scratch);
+                if (hashContent && count > 0) {
+                    objectDigest.update(scratch, 0, count);
+                }
+                total += count;
+
+                // 인플레이터가 실제로 소비한 바이트만 CRC/체크섬에 반영
+                int consumedEnd = limit - inflater.getRemaining();
+                consume(consumedEnd - position);
+                if (count == 0 && inflater.needsDictionary()) {
+                    throw new DataFormatException("사전이 필요한 zlib 스트림은 지원하지 않습니다.");
+                }
+            }
+            return total;
+        }
+
+        private int readInt() throws IOException {
+            return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        }
+
+        private int readByte() throws IOException {
+            ensureAvailable();
+            int b = buffer[position] & 0xFF;
+            consume(1);
+            return b;
+        }
+
+        private void consume(int count) {
+            if (count <= 0) return;
+            crc.update(buffer, position, count);
+            packDigest.update(buffer, position, count);
+            position += count;
+            streamOffset += count;
+        }
+
+        /**
+         * 버퍼에 읽을 바이트가 없으면 스트림에서 더 읽고, 읽은 내용을 출력 스트림에 복사합니다.
+         */
+        private void ensureAvailable() throws IOException {
+            if (position < limit) return;
+            int count = in.read(buffer, 0, buffer.length);
+            if (count < 0) {
+                throw new IOException("팩 스트림이 중간에 끝났습니다.");
+            }
+            if (copy != null) {
+                copy.write(buffer, 0, count);
+            }
+            position = 0;
+            limit = count;
+        }
+    }
+}
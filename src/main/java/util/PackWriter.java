@@ -0,0 +1,309 @@
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 객체를 loose 파일 대신 팩 파일 하나에 이어 쓰는 클래스 (git fast-import의 팩 기록 방식)
+ *
+ * - 객체는 델타 없이 전체 내용을 압축해 .git/objects/pack의 임시 파일에 순서대로 덧붙입니다.
+ *   객체마다 파일을 만들지 않으므로 수백만 개의 객체도 파일 하나와 인덱스 하나로 끝납니다.
+ * - 이미 저장소에 있거나 이 팩에 이미 쓴 객체는 건너뜁니다.
+ * - 아직 반영하지 않은 팩의 객체도 {@link #read(ObjectId)}로 다시 읽을 수 있습니다.
+ * - {@link #commit()}에서 헤더의 객체 수와 체크섬을 채우고 인덱스(.idx v2)를 만든 뒤
+ *   pack-&lt;체크섬&gt;.pack/.idx로 옮깁니다. commit 없이 {@link #close()}하면 임시 파일을 지웁니다.
+ *
+ * 압축 수준은 pack.compression (없으면 core.compression)을 사용합니다. 한 스레드에서만 사용합니다.
+ */
+public class PackWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_LENGTH = 12;
+    private static final int PACK_SIGNATURE = 0x5041434B; // "PACK"
+
+    private final Path packDir;
+    private final int level;
+    private final Path tempPack;
+    private final FileChannel channel;
+    private final OutputStream out;
+    private final EntryOutputStream entryOut;
+    private final Map<ObjectId, PackIndexer.IndexEntry> entries = new HashMap<>();
+    private final List<PackIndexer.IndexEntry> order = new ArrayList<>();
+    private final byte[] entryHeader = new byte[16];
+    private long position;
+    private boolean flushed = true;
+
+    /**
+     * 현재 저장소의 팩 디렉토리에 새 팩을 시작합니다.
+     */
+    public PackWriter() {
+        this.packDir = GitRepository.getPackDir();
+        this.level = CompressionUtil.getPackCompressionLevel();
+        try {
+            Files.createDirectories(packDir);
+            this.tempPack = Files.createTempFile(packDir, "tmp_pack_", null);
+            this.channel = FileChannel.open(tempPack, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new RuntimeException("팩 파일 생성 실패: " + packDir, e);
+        }
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        this.entryOut = new EntryOutputStream();
+        try {
+            // 객체 수는 commit에서 채움
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(PACK_SIGNATURE).putInt(2).putInt(0);
+            out.write(header.array());
+            position = HEADER_LENGTH;
+        } catch (IOException e) {
+            close();
+            throw new RuntimeException("팩 파일 쓰기 실패: " + tempPack, e);
+        }
+    }
+
+    /**
+     * 이 팩에 쓴 객체 수를 반환합니다.
+     */
+    public int getObjectCount() {
+        return order.size();
+    }
+
+    /**
+     * 객체가 저장소나 이 팩에 있는지 확인합니다.
+     */
+    public boolean has(ObjectId id) {
+        return entries.containsKey(id) || GitObjectUtil.hasObject(id);
+    }
+
+    /**
+     * 객체의 ID를 계산해 기록합니다.
+     *
+     * @param type 객체 타입 ({@link PackFile#OBJ_COMMIT} 등)
+     * @param content 헤더를 제외한 본문
+     * @return 객체 ID
+     */
+    public ObjectId insert(int type, byte[] content) {
+        MessageDigest digest = HashUtil.newSHA1();
+        digest.update((PackFile.typeName(type) + " " + content.length + "\0").getBytes(StandardCharsets.UTF_8));
+        ObjectId id = ObjectId.fromRaw(digest.digest(content));
+        write(id, type, content);
+        return id;
+    }
+
+    /**
+     * ID를 이미 아는 객체를 기록합니다.
+     *
+     * @return 새로 기록했으면 true, 이미 있어서 건너뛰었으면 false
+     */
+    public boolean write(ObjectId id, int type, byte[] content) {
+        if (has(id)) {
+            return false;
+        }
+        PackIndexer.IndexEntry entry = new PackIndexer.IndexEntry();
+        entry.id = id;
+        entry.offset = position;
+        try {
+            entryOut.start();
+            int headerLength = encodeEntryHeader(type, content.length);
+            entryOut.write(entryHeader, 0, headerLength);
+            CompressionUtil.deflate(content, 0, content.length, level, entryOut);
+        } catch (IOException e) {
+            throw new RuntimeException("팩 파일 쓰기 실패: " + tempPack, e);
+        }
+        entry.crc32 = (int) entryOut.crc.getValue();
+        position += entryOut.count;
+        flushed = false;
+        entries.put(id, entry);
+        order.add(entry);
+        return true;
+    }
+
+    /**
+     * 팩 엔트리 헤더(타입 3비트 + 가변 길이 크기)를 만듭니다.
+     */
+    private int encodeEntryHeader(int type, long size) {
+        int length = 0;
+        int b = (type << 4) | (int) (size & 0x0F);
+        size >>>= 4;
+        while (size != 0) {
+            entryHeader[length++] = (byte) (b | 0x80);
+            b = (int) (size & 0x7F);
+            size >>>= 7;
+        }
+        entryHeader[length++] = (byte) b;
+        return length;
+    }
+
+    /**
+     * 이 팩에 쓴 객체를 읽습니다.
+     *
+     * @param id 객체 ID
+     * @return 객체, 이 팩에 없으면 null
+     */
+    public GitObject read(ObjectId id) {
+        PackIndexer.IndexEntry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            if (!flushed) {
+                out.flush();
+                flushed = true;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long readPosition = entry.offset;
+            channel.read(buffer, readPosition);
+            buffer.flip();
+
+            int b = buffer.get() & 0xFF;
+            int type = (b >> 4) & 0x07;
+            long size = b & 0x0F;
+            int shift = 4;
+            while ((b & 0x80) != 0) {
+                b = buffer.get() & 0xFF;
+                size |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            }
+
+            byte[] content = new byte[(int) size];
+            int filled = 0;
+            Inflater inflater = CompressionUtil.getInflater();
+            while (true) {
+                inflater.setInput(buffer);
+                filled += inflater.inflate(content, filled, content.length - filled);
+                if (inflater.finished()) {
+                    break;
+                }
+                if (!inflater.needsInput()) {
+                    throw new DataFormatException("압축 데이터를 풀 수 없습니다.");
+                }
+                readPosition += buffer.limit();
+                buffer.clear();
+                if (channel.read(buffer, readPosition) <= 0) {
+                    throw new DataFormatException("압축 데이터가 중간에 끝났습니다.");
+                }
+                buffer.flip();
+            }
+            if (filled != content.length) {
+                throw new DataFormatException("객체 크기가 헤더와 다릅니다.");
+            }
+            return new GitObject(PackFile.typeName(type), content);
+        } catch (IOException | DataFormatException e) {
+            throw new RuntimeException("팩 객체 읽기 실패: " + id, e);
+        }
+    }
+
+    /**
+     * 팩을 완성해 저장소에 반영합니다. 기록한 객체가 없으면 팩을 만들지 않습니다.
+     *
+     * @return 팩 체크섬 (16진수), 객체가 없으면 null
+     */
+    public String commit() {
+        if (order.isEmpty()) {
+            close();
+            return null;
+        }
+        Path tempIndex = null;
+        try {
+            out.flush();
+            ByteBuffer count = ByteBuffer.allocate(4).putInt(0, order.size());
+            channel.write(count, 8);
+
+            // 헤더를 고쳤으므로 체크섬은 파일 전체를 다시 읽어 계산
+            MessageDigest digest = HashUtil.newSHA1();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long readPosition = 0;
+            int read;
+            while ((read = channel.read(buffer, readPosition)) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+                readPosition += read;
+            }
+            byte[] checksum = digest.digest();
+            channel.write(ByteBuffer.wrap(checksum), position);
+            channel.force(true);
+            channel.close();
+
+            tempIndex = Files.createTempFile(packDir, "tmp_idx_", null);
+            PackIndexer.writeIndex(tempIndex, order, checksum);
+
+            String name = "pack-" + HashUtil.bytesToHex(checksum);
+            Files.move(tempPack, packDir.resolve(name + ".pack"), StandardCopyOption.ATOMIC_MOVE);
+            // .idx가 생기는 순간 팩이 보이므로 .pack을 먼저 옮김
+            Files.move(tempIndex, packDir.resolve(name + ".idx"), StandardCopyOption.ATOMIC_MOVE);
+            entries.clear();
+            order.clear();
+            GitObjectUtil.reloadPacks();
+            return HashUtil.bytesToHex(checksum);
+        } catch (IOException e) {
+            deleteQuietly(tempIndex);
+            close();
+            throw new RuntimeException("팩 반영 실패: " + tempPack, e);
+        }
+    }
+
+    /**
+     * 반영하지 않은 임시 팩을 지웁니다.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 임시 파일을 지우는 중이므로 무시합니다.
+        }
+        deleteQuietly(tempPack);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 정리 실패는 원래 예외를 가리지 않도록 무시합니다.
+        }
+    }
+
+    /**
+     * 엔트리 하나를 쓰는 동안 CRC32와 바이트 수를 함께 세는 스트림
+     */
+    private final class EntryOutputStream extends OutputStream {
+        final CRC32 crc = new CRC32();
+        long count;
+
+        void start() {
+            crc.reset();
+            count = 0;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            crc.update(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            crc.update(b, off, len);
+            count += len;
+        }
+    }
+}
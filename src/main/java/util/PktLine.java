@@ -0,0 +1,134 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Git 전송 프로토콜의 pkt-line 형식을 읽고 쓰는 유틸리티 클래스
+ *
+ * 각 패킷은 4자리 16진수 길이(길이 필드 4바이트 포함)와 내용으로 이루어집니다.
+ * 길이가 0000, 0001, 0002인 패킷은 내용 없이 각각 flush, delimiter, response-end를 뜻합니다.
+ */
+public class PktLine {
+
+    /** 패킷 하나의 최대 길이 (길이 필드 포함) */
+    public static final int MAX_PACKET_LENGTH = 65520;
+
+    /** {@link Reader#next()}가 특수 패킷을 만났을 때 반환하는 값 */
+    public static final int FLUSH = -1;
+    public static final int DELIM = -2;
+    public static final int RESPONSE_END = -3;
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * 문자열 한 줄을 패킷으로 기록합니다. 줄바꿈이 없으면 덧붙입니다.
+     *
+     * @param out 출력 스트림
+     * @param line 기록할 내용
+     */
+    public static void writeLine(OutputStream out, String line) throws IOException {
+        byte[] data = (line.endsWith("\n") ? line : line + "\n").getBytes(StandardCharsets.UTF_8);
+        int length = data.length + 4;
+        if (length > MAX_PACKET_LENGTH) {
+            throw new IllegalArgumentException("pkt-line 최대 길이를 넘었습니다: " + length);
+        }
+        out.write(new byte[] {
+            HEX_DIGITS[(length >> 12) & 0xF],
+            HEX_DIGITS[(length >> 8) & 0xF],
+            HEX_DIGITS[(length >> 4) & 0xF],
+            HEX_DIGITS[length & 0xF]
+        });
+        out.write(data);
+    }
+
+    /**
+     * flush 패킷(0000)을 기록합니다.
+     */
+    public static void writeFlush(OutputStream out) throws IOException {
+        out.write(new byte[] {'0', '0', '0', '0'});
+    }
+
+    /**
+     * delimiter 패킷(0001)을 기록합니다.
+     */
+    public static void writeDelim(OutputStream out) throws IOException {
+        out.write(new byte[] {'0', '0', '0', '1'});
+    }
+
+    /**
+     * pkt-line 스트림을 패킷 단위로 읽는 클래스
+     * 패킷 내용은 재사용하는 내부 버퍼에 담기므로 다음 패킷을 읽기 전에 처리해야 합니다.
+     */
+    public static class Reader {
+        private final InputStream in;
+        private final byte[] buffer = new byte[MAX_PACKET_LENGTH];
+
+        public Reader(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * 다음 패킷을 읽습니다.
+         *
+         * @return 내용 길이 (내용은 {@link #buffer()}의 앞부분), 특수 패킷이면 FLUSH, DELIM, RESPONSE_END
+         */
+        public int next() throws IOException {
+            readFully(buffer, 4);
+            int length = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(buffer[i], 16);
+                if (digit < 0) {
+                    throw new IOException("잘못된 pkt-line 길이: " + new String(buffer, 0, 4, StandardCharsets.US_ASCII));
+                }
+                length = (length << 4) | digit;
+            }
+
+            switch (length) {
+                case 0: return FLUSH;
+                case 1: return DELIM;
+                case 2: return RESPONSE_END;
+                case 3: throw new IOException("잘못된 pkt-line 길이: 3");
+                default:
+                    readFully(buffer, length - 4);
+                    return length - 4;
+            }
+        }
+
+        /**
+         * 마지막으로 읽은 패킷 내용이 담긴 버퍼를 반환합니다.
+         */
+        public byte[] buffer() {
+            return buffer;
+        }
+
+        /**
+         * 다음 패킷을 문자열로 읽습니다. 끝의 줄바꿈은 제거합니다.
+         *
+         * @return 패킷 내용, 특수 패킷이면 null
+         */
+        public String readLine() throws IOException {
+            int length = next();
+            if (length < 0) {
+                return null;
+            }
+            if (length > 0 && buffer[length - 1] == '\n') {
+                length--;
+            }
+            return new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private void readFully(byte[] target, int length) throws IOException {
+            int total = 0;
+            while (total < length) {
+                int count = in.read(target, total, length - total);
+                if (count < 0) {
+                    throw new IOException("pkt-line 스트림이 중간에 끝났습니다.");
+                }
+                total += count;
+            }
+        }
+    }
+}
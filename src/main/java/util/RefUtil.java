@@ -0,0 +1,186 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * 참조(.git/refs, .git/packed-refs, HEAD)를 읽고 기록하는 유틸리티 클래스
+ *
+ * 참조 파일은 임시 파일에 쓴 뒤 이름을 바꾸므로 읽는 쪽에서 절반만 기록된 내용을 보지 않습니다.
+ */
+public class RefUtil {
+
+    private static final int MAX_SYMREF_DEPTH = 5;
+
+    /**
+     * 참조가 객체를 직접 가리키도록 기록합니다.
+     *
+     * @param name 참조 이름 (예: refs/heads/main)
+     * @param id 객체 ID
+     */
+    public static void writeRef(String name, ObjectId id) {
+        writeRefFile(name, id.name() + "\n");
+    }
+
+    /**
+     * 심볼릭 참조를 기록합니다.
+     *
+     * @param name 참조 이름 (예: HEAD)
+     * @param target 가리킬 참조 이름 (예: refs/heads/main)
+     */
+    public static void writeSymbolicRef(String name, String target) {
+        writeRefFile(name, "ref: " + target + "\n");
+    }
+
+    /**
+     * 여러 참조를 packed-refs 파일 하나에 기록합니다.
+     * 태그가 많은 저장소를 복제할 때 참조마다 파일을 만들지 않아도 됩니다.
+     *
+     * @param refs 참조 이름 → 객체 ID (이름순 정렬)
+     * @param peeled 주석 태그 참조 이름 → 태그가 가리키는 객체 ID
+     */
+    public static void writePackedRefs(SortedMap<String, ObjectId> refs, Map<String, ObjectId> peeled) {
+        StringBuilder content = new StringBuilder("# pack-refs with: peeled fully-peeled sorted \n");
+        for (Map.Entry<String, ObjectId> ref : refs.entrySet()) {
+            content.append(ref.getValue().name()).append(' ').append(ref.getKey()).append('\n');
+            ObjectId target = peeled.get(ref.getKey());
+            if (target != null) {
+                content.append('^').append(target.name()).append('\n');
+            }
+        }
+        writeRefFile("packed-refs", content.toString());
+    }
+
+    /**
+     * 참조가 가리키는 객체 ID를 읽습니다. 심볼릭 참조는 따라가고, 참조 파일이 없으면 packed-refs에서 찾습니다.
+     *
+     * @param name 참조 이름 (예: HEAD, refs/heads/main)
+     * @return 객체 ID, 참조가 없으면 null
+     */
+    public static ObjectId readRef(String name) {
+        for (int depth = 0; depth < MAX_SYMREF_DEPTH; depth++) {
+            Path path = GitRepository.getGitDir().resolve(name);
+            if (!Files.isRegularFile(path)) {
+                return readPackedRef(name);
+            }
+            String content;
+            try {
+                content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+            } catch (IOException e) {
+                throw new RuntimeException("참조 읽기 실패: " + name, e);
+            }
+            if (!content.startsWith("ref: ")) {
+                return ObjectId.fromHex(content);
+            }
+            name = content.substring("ref: ".length()).trim();
+        }
+        throw new IllegalStateException("심볼릭 참조가 너무 깊게 중첩되어 있습니다: " + name);
+    }
+
+    /**
+     * 모든 참조(.git/refs 아래의 파일과 packed-refs)를 이름순으로 반환합니다. 같은 이름이면 참조 파일이 우선합니다.
+     *
+     * @return 참조 이름 → 객체 ID
+     */
+    public static SortedMap<String, ObjectId> listRefs() {
+        SortedMap<String, ObjectId> refs = new TreeMap<>();
+        Path gitDir = GitRepository.getGitDir();
+        Path packed = gitDir.resolve("packed-refs");
+        try {
+            if (Files.isRegularFile(packed)) {
+                for (String line : Files.readAllLines(packed, StandardCharsets.UTF_8)) {
+                    if (line.length() > ObjectId.HEX_LENGTH + 1 && line.charAt(ObjectId.HEX_LENGTH) == ' ') {
+                        refs.put(line.substring(ObjectId.HEX_LENGTH + 1), ObjectId.fromHex(line.substring(0, ObjectId.HEX_LENGTH)));
+                    }
+                }
+            }
+            Path refsDir = gitDir.resolve("refs");
+            if (Files.isDirectory(refsDir)) {
+                try (Stream<Path> files = Files.walk(refsDir)) {
+                    for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                        String name = gitDir.relativize(file).toString().replace(File.separatorChar, '/');
+                        ObjectId id = readRef(name);
+                        if (id != null) {
+                            refs.put(name, id);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("참조 목록 읽기 실패: " + gitDir, e);
+        }
+        return refs;
+    }
+
+    /**
+     * 리비전 이름을 객체 ID로 해석합니다. (40자리 SHA, 참조 이름, 또는 Git과 같은 순서로
+     * refs/, refs/tags/, refs/heads/, refs/remotes/ 아래의 짧은 이름)
+     *
+     * @param name 리비전 이름
+     * @return 객체 ID, 해석할 수 없으면 null
+     */
+    public static ObjectId resolveRevision(String name) {
+        if (name.length() == ObjectId.HEX_LENGTH && ObjectId.isValidHex(name)) {
+            return ObjectId.fromHex(name);
+        }
+        if (name.isEmpty() || name.contains("..")) {
+            return null;
+        }
+        String[] candidates = {name, "refs/" + name, "refs/tags/" + name, "refs/heads/" + name,
+            "refs/remotes/" + name, "refs/remotes/" + name + "/HEAD"};
+        for (String candidate : candidates) {
+            ObjectId id = readRef(candidate);
+            if (id != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    private static ObjectId readPackedRef(String name) {
+        Path path = GitRepository.getGitDir().resolve("packed-refs");
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                // "SHA SP 이름" 줄만 보고 주석(#)과 태그 대상(^SHA) 줄은 건너뜀
+                if (line.length() > ObjectId.HEX_LENGTH + 1 && line.charAt(ObjectId.HEX_LENGTH) == ' '
+                    && line.startsWith(name, ObjectId.HEX_LENGTH + 1) && line.length() == ObjectId.HEX_LENGTH + 1 + name.length()) {
+                    return ObjectId.fromHex(line.substring(0, ObjectId.HEX_LENGTH));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("packed-refs 읽기 실패: " + path, e);
+        }
+        return null;
+    }
+
+    private static void writeRefFile(String name, String content) {
+        Path target = GitRepository.getGitDir().resolve(name);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tempFile = Files.createTempFile(target.getParent(), "tmp_ref_", null);
+            Files.write(tempFile, content.getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // 정리 실패는 원래 예외를 가리지 않도록 무시합니다.
+                }
+            }
+            throw new RuntimeException("참조 쓰기 실패: " + name, e);
+        }
+    }
+}
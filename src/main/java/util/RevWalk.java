@@ -0,0 +1,528 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * 커밋 히스토리를 따라가는 클래스 (rev-list, log, merge-base, commit-graph 공통)
+ *
+ * 커밋은 정수 번호로 다룹니다. 커밋 그래프({@link CommitGraph})에 있는 커밋은 그래프 안의 위치를 그대로
+ * 번호로 쓰고, 부모와 커밋 시각, 세대 번호도 매핑된 그래프에서 바로 읽으므로 커밋 객체를 압축 해제하지 않습니다.
+ * 그래프가 없거나 그래프를 만든 뒤에 생긴 커밋은 처음 만날 때 한 번만 객체를 파싱해 그래프 뒤 번호를 붙입니다.
+ *
+ * 탐색 상태는 커밋 번호로 색인하는 바이트 배열 하나에 비트 플래그로 기록합니다.
+ */
+public class RevWalk {
+
+    private static final int SEEN = 1;
+    private static final int UNINTERESTING = 1 << 1;
+    private static final int PARENT1 = 1 << 2;
+    private static final int PARENT2 = 1 << 3;
+    private static final int STALE = 1 << 4;
+    private static final int RESULT = 1 << 5;
+
+    private final CommitGraph graph;
+    private final int graphSize;
+    private final Map<ObjectId, Integer> parsedIndex = new HashMap<>();
+    private final List<ParsedCommit> parsed = new ArrayList<>();
+
+    /**
+     * 현재 저장소의 커밋 그래프(있으면)를 사용하는 탐색기를 만듭니다.
+     */
+    public RevWalk() {
+        this(CommitGraph.open());
+    }
+
+    /**
+     * @param graph 사용할 커밋 그래프 (없으면 null, 모든 커밋을 객체에서 파싱)
+     */
+    public RevWalk(CommitGraph graph) {
+        this.graph = graph;
+        this.graphSize = graph == null ? 0 : graph.size();
+    }
+
+    /**
+     * 커밋 ID의 번호를 찾습니다.
+     *
+     * @param id 커밋 ID
+     * @return 커밋 번호
+     */
+    public int lookup(ObjectId id) {
+        if (graph != null) {
+            int position = graph.findPosition(id);
+            if (position >= 0) {
+                return position;
+            }
+        }
+        Integer index = parsedIndex.get(id);
+        if (index != null) {
+            return index;
+        }
+        GitObject object = GitObjectUtil.readObject(id);
+        if (!object.getType().equals("commit")) {
+            throw new IllegalStateException("커밋이 아닙니다: " + id + " (" + object.getType() + ")");
+        }
+        index = graphSize + parsed.size();
+        parsed.add(new ParsedCommit(id, object.getContent()));
+        parsedIndex.put(id, index);
+        return index;
+    }
+
+    /**
+     * 지금까지 번호를 붙인 커밋 수 (번호의 상한)
+     */
+    public int size() {
+        return graphSize + parsed.size();
+    }
+
+    public ObjectId getId(int commit) {
+        return commit < graphSize ? graph.getObjectId(commit) : parsed(commit).id;
+    }
+
+    public ObjectId getTree(int commit) {
+        return commit < graphSize ? graph.getTree(commit) : parsed(commit).tree;
+    }
+
+    public long getCommitTime(int commit) {
+        return commit < graphSize ? graph.getCommitTime(commit) : parsed(commit).commitTime;
+    }
+
+    /**
+     * 세대 번호를 반환합니다. 그래프 밖의 커밋은 {@link CommitGraph#GENERATION_INFINITY}입니다.
+     */
+    public int getGeneration(int commit) {
+        return commit < graphSize ? graph.getGeneration(commit) : CommitGraph.GENERATION_INFINITY;
+    }
+
+    public int getParentCount(int commit) {
+        return commit < graphSize ? graph.getParentCount(commit) : parsed(commit).parentIds.length;
+    }
+
+    /**
+     * n번째 부모의 커밋 번호를 반환합니다.
+     */
+    public int getParent(int commit, int n) {
+        if (commit < graphSize) {
+            return graph.getParent(commit, n);
+        }
+        ParsedCommit c = parsed(commit);
+        if (c.parents == null) {
+            int[] parents = new int[c.parentIds.length];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = lookup(c.parentIds[i]);
+            }
+            c.parents = parents;
+        }
+        return c.parents[n];
+    }
+
+    private ParsedCommit parsed(int commit) {
+        return parsed.get(commit - graphSize);
+    }
+
+    /**
+     * 리비전 표현식을 커밋 번호로 해석합니다.
+     * 이름 뒤에 ~N(첫 부모를 N번 따라감), ^N(N번째 부모, ^0은 자신)을 이어 붙일 수 있습니다.
+     *
+     * @param spec 리비전 (예: HEAD, main~3, v1.0^2, 40자리 SHA)
+     * @return 커밋 번호
+     */
+    public int parseRevision(String spec) {
+        int end = 0;
+        while (end < spec.length() && spec.charAt(end) != '~' && spec.charAt(end) != '^') {
+            end++;
+        }
+        String name = spec.substring(0, end);
+        ObjectId id = RefUtil.resolveRevision(name.isEmpty() ? "HEAD" : name);
+        if (id == null) {
+            throw new IllegalArgumentException("알 수 없는 리비전입니다: " + spec);
+        }
+        int commit = lookup(GitObjectUtil.peelToCommit(id));
+
+        int position = end;
+        while (position < spec.length()) {
+            char op = spec.charAt(position++);
+            int digits = position;
+            while (position < spec.length() && Character.isDigit(spec.charAt(position))) {
+                position++;
+            }
+            int n = digits == position ? 1 : Integer.parseInt(spec.substring(digits, position));
+            if (op == '~') {
+                for (int i = 0; i < n; i++) {
+                    commit = parentOrFail(commit, 0, spec);
+                }
+            } else if (n > 0) {
+                commit = parentOrFail(commit, n - 1, spec);
+            }
+        }
+        return commit;
+    }
+
+    private int parentOrFail(int commit, int n, String spec) {
+        if (n >= getParentCount(commit)) {
+            throw new IllegalArgumentException("부모 커밋이 없습니다: " + spec);
+        }
+        return getParent(commit, n);
+    }
+
+    /**
+     * 리비전 인자 하나를 포함/제외 목록에 추가합니다. (A, ^A, A..B)
+     *
+     * @param spec 리비전 인자
+     * @param include 결과에 포함할 커밋
+     * @param exclude 조상까지 결과에서 제외할 커밋
+     */
+    public void addRevisionArgument(String spec, List<Integer> include, List<Integer> exclude) {
+        int range = spec.indexOf("..");
+        if (range >= 0) {
+            String from = spec.substring(0, range);
+            String to = spec.substring(range + 2);
+            exclude.add(parseRevision(from.isEmpty() ? "HEAD" : from));
+            include.add(parseRevision(to.isEmpty() ? "HEAD" : to));
+        } else if (spec.startsWith("^")) {
+            exclude.add(parseRevision(spec.substring(1)));
+        } else {
+            include.add(parseRevision(spec));
+        }
+    }
+
+    /**
+     * 모든 참조가 가리키는 커밋을 목록에 추가합니다. (--all, 커밋이 아닌 대상은 건너뜀)
+     */
+    public void addAllRefs(List<Integer> include) {
+        for (ObjectId id : RefUtil.listRefs().values()) {
+            try {
+                include.add(lookup(GitObjectUtil.peelToCommit(id)));
+            } catch (IllegalStateException e) {
+                // 트리나 blob을 가리키는 태그
+            }
+        }
+        ObjectId head = RefUtil.readRef("HEAD");
+        if (head != null) {
+            include.add(lookup(head));
+        }
+    }
+
+    /**
+     * include에서 도달할 수 있지만 exclude에서는 도달할 수 없는 커밋 수를 셉니다. (rev-list --count)
+     */
+    public long count(List<Integer> include, List<Integer> exclude) {
+        long[] count = {0};
+        forEach(include, exclude, commit -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * include에서 도달할 수 있지만 exclude에서는 도달할 수 없는 커밋을 순서 없이(깊이 우선) 모두 방문합니다.
+     * 우선순위 큐를 쓰지 않으므로 순서가 필요 없는 개수 세기나 그래프 기록에 사용합니다.
+     */
+    public void forEach(List<Integer> include, List<Integer> exclude, IntConsumer action) {
+        byte[] flags = new byte[size() + 1];
+        flags = markAncestors(exclude, flags, UNINTERESTING);
+        int[] stack = new int[64];
+        int top = 0;
+        for (int start : include) {
+            flags = ensure(flags, start);
+            if (flags[start] == 0) {
+                flags[start] = SEEN;
+                stack = push(stack, top++, start);
+            }
+        }
+        while (top > 0) {
+            int commit = stack[--top];
+            action.accept(commit);
+            int parentCount = getParentCount(commit);
+            for (int i = 0; i < parentCount; i++) {
+                int parent = getParent(commit, i);
+                flags = ensure(flags, parent);
+                if (flags[parent] == 0) {
+                    flags[parent] = SEEN;
+                    stack = push(stack, top++, parent);
+                }
+            }
+        }
+    }
+
+    /**
+     * include에서 도달할 수 있지만 exclude에서는 도달할 수 없는 커밋을 커밋 시각의 역순으로 방문합니다.
+     * (Git의 기본 출력 순서와 같이 시각이 같으면 먼저 만난 커밋부터)
+     *
+     * @param visitor 커밋 번호를 받아 계속하려면 true를 반환하는 함수
+     */
+    public void walk(List<Integer> include, List<Integer> exclude, IntPredicate visitor) {
+        byte[] flags = new byte[size() + 1];
+        flags = markAncestors(exclude, flags, UNINTERESTING);
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>();
+        long sequence = 0;
+        for (int start : include) {
+            flags = ensure(flags, start);
+            if (flags[start] == 0) {
+                flags[start] = SEEN;
+                queue.add(new QueueEntry(start, getCommitTime(start), 0, sequence++));
+            }
+        }
+        while (!queue.isEmpty()) {
+            int commit = queue.poll().commit;
+            if (!visitor.test(commit)) {
+                return;
+            }
+            int parentCount = getParentCount(commit);
+            for (int i = 0; i < parentCount; i++) {
+                int parent = getParent(commit, i);
+                flags = ensure(flags, parent);
+                if (flags[parent] == 0) {
+                    flags[parent] = SEEN;
+                    queue.add(new QueueEntry(parent, getCommitTime(parent), 0, sequence++));
+                }
+            }
+        }
+    }
+
+    /**
+     * 두 커밋의 최선 공통 조상(merge base)을 찾습니다.
+     * 세대 번호가 큰 커밋부터 두 쪽의 표시를 아래로 칠해 내려가고, 양쪽 표시를 모두 받은 커밋을 후보로 삼습니다.
+     * 후보의 조상은 더 이상 최선일 수 없으므로 STALE로 표시하고, 큐에 STALE이 아닌 커밋이 없으면 멈춥니다.
+     *
+     * @param all false면 가장 최근 것 하나만, true면 모두 반환
+     * @return 커밋 번호 목록 (커밋 시각의 역순)
+     */
+    public List<Integer> mergeBases(int one, int two, boolean all) {
+        List<Integer> result = new ArrayList<>();
+        if (one == two) {
+            result.add(one);
+            return result;
+        }
+        byte[] flags = new byte[size() + 1];
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>();
+        long sequence = 0;
+        flags[one] |= PARENT1;
+        flags[two] |= PARENT2;
+        queue.add(new QueueEntry(one, getCommitTime(one), getGeneration(one), sequence++));
+        queue.add(new QueueEntry(two, getCommitTime(two), getGeneration(two), sequence++));
+
+        List<Integer> candidates = new ArrayList<>();
+        while (hasNonStale(queue, flags)) {
+            int commit = queue.poll().commit;
+            int paint = flags[commit] & (PARENT1 | PARENT2 | STALE);
+            if (paint == (PARENT1 | PARENT2)) {
+                if ((flags[commit] & RESULT) == 0) {
+                    flags[commit] |= RESULT;
+                    candidates.add(commit);
+                }
+                paint |= STALE;
+            }
+            int parentCount = getParentCount(commit);
+            for (int i = 0; i < parentCount; i++) {
+                int parent = getParent(commit, i);
+                flags = ensure(flags, parent);
+                if ((flags[parent] & paint) == paint) {
+                    continue;
+                }
+                flags[parent] |= paint;
+                queue.add(new QueueEntry(parent, getCommitTime(parent), getGeneration(parent), sequence++));
+            }
+        }
+
+        for (int candidate : candidates) {
+            if ((flags[candidate] & STALE) == 0) {
+                result.add(candidate);
+            }
+        }
+        if (result.size() > 1) {
+            result = removeRedundant(result);
+        }
+        result.sort((c1, c2) -> Long.compare(getCommitTime(c2), getCommitTime(c1)));
+        return all || result.isEmpty() ? result : result.subList(0, 1);
+    }
+
+    private static boolean hasNonStale(PriorityQueue<QueueEntry> queue, byte[] flags) {
+        for (QueueEntry entry : queue) {
+            if ((flags[entry.commit] & STALE) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 다른 후보의 조상인 후보를 제외합니다. 세대 번호가 후보보다 작아지면 더 내려가지 않습니다.
+     */
+    private List<Integer> removeRedundant(List<Integer> candidates) {
+        List<Integer> result = new ArrayList<>();
+        for (int candidate : candidates) {
+            boolean redundant = false;
+            for (int other : candidates) {
+                if (other != candidate && isAncestor(candidate, other)) {
+                    redundant = true;
+                    break;
+                }
+            }
+            if (!redundant) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ancestor가 descendant에서 부모를 따라 도달할 수 있는 커밋인지 확인합니다.
+     */
+    public boolean isAncestor(int ancestor, int descendant) {
+        int minGeneration = getGeneration(ancestor);
+        boolean generationUsable = minGeneration != CommitGraph.GENERATION_INFINITY;
+        byte[] flags = new byte[size() + 1];
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = descendant;
+        flags[descendant] = SEEN;
+        while (top > 0) {
+            int commit = stack[--top];
+            if (commit == ancestor) {
+                return true;
+            }
+            int parentCount = getParentCount(commit);
+            for (int i = 0; i < parentCount; i++) {
+                int parent = getParent(commit, i);
+                flags = ensure(flags, parent);
+                if (flags[parent] != 0 || (generationUsable && getGeneration(parent) < minGeneration)) {
+                    continue;
+                }
+                flags[parent] = SEEN;
+                stack = push(stack, top++, parent);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 시작 커밋과 그 모든 조상에 플래그를 표시합니다.
+     */
+    private byte[] markAncestors(List<Integer> starts, byte[] flags, int flag) {
+        int[] stack = new int[64];
+        int top = 0;
+        for (int start : starts) {
+            flags = ensure(flags, start);
+            if ((flags[start] & flag) == 0) {
+                flags[start] |= flag;
+                stack = push(stack, top++, start);
+            }
+        }
+        while (top > 0) {
+            int commit = stack[--top];
+            int parentCount = getParentCount(commit);
+            for (int i = 0; i < parentCount; i++) {
+                int parent = getParent(commit, i);
+                flags = ensure(flags, parent);
+                if ((flags[parent] & flag) == 0) {
+                    flags[parent] |= flag;
+                    stack = push(stack, top++, parent);
+                }
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * 그래프 밖의 커밋을 파싱하면서 번호가 늘어날 수 있으므로 필요하면 플래그 배열을 늘립니다.
+     */
+    private static byte[] ensure(byte[] flags, int commit) {
+        return commit < flags.length ? flags : Arrays.copyOf(flags, Math.max(commit + 1, flags.length * 2));
+    }
+
+    private static int[] push(int[] stack, int top, int commit) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = commit;
+        return stack;
+    }
+
+    /**
+     * 우선순위 큐 항목: 세대 번호가 큰 것, 커밋 시각이 늦은 것, 먼저 넣은 것 순
+     */
+    private static final class QueueEntry implements Comparable<QueueEntry> {
+        final int commit;
+        final long time;
+        final int generation;
+        final long sequence;
+
+        QueueEntry(int commit, long time, int generation, long sequence) {
+            this.commit = commit;
+            this.time = time;
+            this.generation = generation;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(QueueEntry other) {
+            if (generation != other.generation) {
+                return Integer.compare(other.generation, generation);
+            }
+            if (time != other.time) {
+                return Long.compare(other.time, time);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * 커밋 그래프에 없어 객체를 파싱한 커밋
+     */
+    private static final class ParsedCommit {
+        final ObjectId id;
+        final ObjectId tree;
+        final ObjectId[] parentIds;
+        final long commitTime;
+        /** 부모의 커밋 번호 (처음 필요할 때 계산) */
+        int[] parents;
+
+        ParsedCommit(ObjectId id, byte[] content) {
+            this.id = id;
+            String text = new String(content, StandardCharsets.UTF_8);
+            ObjectId treeId = null;
+            List<ObjectId> parentList = new ArrayList<>(2);
+            long time = 0;
+            int position = 0;
+            while (position < text.length()) {
+                int end = text.indexOf('\n', position);
+                if (end < 0 || end == position) {
+                    break;
+                }
+                if (text.startsWith("tree ", position)) {
+                    treeId = ObjectId.fromHex(text.substring(position + 5, end));
+                } else if (text.startsWith("parent ", position)) {
+                    parentList.add(ObjectId.fromHex(text.substring(position + 7, end)));
+                } else if (text.startsWith("committer ", position)) {
+                    time = parseIdentTime(text.substring(position, end));
+                }
+                position = end + 1;
+            }
+            if (treeId == null) {
+                throw new IllegalStateException("커밋에 tree 항목이 없습니다: " + id);
+            }
+            this.tree = treeId;
+            this.parentIds = parentList.toArray(new ObjectId[0]);
+            this.commitTime = time;
+        }
+    }
+
+    /**
+     * "이름 &lt;이메일&gt; 시각 시간대" 형식에서 시각을 읽습니다.
+     */
+    static long parseIdentTime(String ident) {
+        int email = ident.lastIndexOf('>');
+        String[] parts = ident.substring(email + 1).trim().split(" ");
+        try {
+            return Long.parseLong(parts[0]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 두 트리 객체를 비교해 바뀐 엔트리를 알려 주는 클래스 (diff-tree)
+ *
+ * 두 트리의 엔트리는 이미 Git의 정렬 순서로 기록되어 있으므로 병합 정렬처럼 양쪽을 한 번씩만 훑습니다.
+ * 이름이 같고 모드와 SHA까지 같은 엔트리는 내용도 같으므로, 하위 트리라면 읽지 않고 통째로 건너뜁니다.
+ * 따라서 몇 개 파일만 바뀐 큰 트리를 비교해도 바뀐 경로 위의 트리만 압축 해제합니다.
+ *
+ * 현재 경로는 바이트 버퍼 하나에 이어 붙였다가 하위 트리에서 돌아올 때 길이만 되돌립니다.
+ */
+public class TreeDiff {
+
+    public static final char ADDED = 'A';
+    public static final char DELETED = 'D';
+    public static final char MODIFIED = 'M';
+    public static final char TYPE_CHANGED = 'T';
+
+    private static final byte[] EMPTY_TREE = new byte[0];
+    private static final int TYPE_MASK = 0170000;
+
+    /**
+     * 바뀐 엔트리 하나를 받는 함수
+     */
+    public interface ChangeVisitor {
+        /**
+         * @param status {@link #ADDED}, {@link #DELETED}, {@link #MODIFIED}, {@link #TYPE_CHANGED}
+         * @param oldMode 이전 모드 (추가면 0)
+         * @param oldId 이전 객체 ID (추가면 null)
+         * @param newMode 새 모드 (삭제면 0)
+         * @param newId 새 객체 ID (삭제면 null)
+         * @param path 경로 버퍼 (호출이 끝나면 내용이 바뀌므로 보관하지 말 것)
+         * @param pathLength 경로 길이
+         */
+        void change(char status, int oldMode, ObjectId oldId, int newMode, ObjectId newId,
+                    byte[] path, int pathLength) throws IOException;
+    }
+
+    private final boolean recursive;
+    private final boolean showTrees;
+
+    private byte[] path = new byte[256];
+    private int pathLength;
+    private int treesRead;
+
+    /**
+     * @param recursive 바뀐 하위 트리 안으로 들어가 파일 단위로 알려 줄지 여부 (-r)
+     * @param showTrees 재귀 시 바뀐 트리 엔트리 자체도 알려 줄지 여부 (-t)
+     */
+    public TreeDiff(boolean recursive, boolean showTrees) {
+        this.recursive = recursive;
+        this.showTrees = showTrees;
+    }
+
+    /**
+     * 두 트리를 비교합니다.
+     *
+     * @param oldTree 이전 트리 ID (null이면 빈 트리)
+     * @param newTree 새 트리 ID (null이면 빈 트리)
+     * @param visitor 바뀐 엔트리를 받을 함수 (트리 정렬 순서로 호출)
+     */
+    public void diff(ObjectId oldTree, ObjectId newTree, ChangeVisitor visitor) throws IOException {
+        pathLength = 0;
+        if (oldTree != null && oldTree.equals(newTree)) {
+            return;
+        }
+        diffContent(oldTree == null ? EMPTY_TREE : readTree(oldTree),
+                newTree == null ? EMPTY_TREE : readTree(newTree), visitor);
+    }
+
+    /**
+     * 지금까지 압축 해제한 트리 객체 수 (건너뛴 하위 트리는 세지 않음)
+     */
+    public int getTreesRead() {
+        return treesRead;
+    }
+
+    private void diffContent(byte[] oldContent, byte[] newContent, ChangeVisitor visitor) throws IOException {
+        TreeIterator oldEntries = new TreeIterator(oldContent);
+        TreeIterator newEntries = new TreeIterator(newContent);
+        boolean hasOld = oldEntries.next();
+        boolean hasNew = newEntries.next();
+        while (hasOld || hasNew) {
+            int cmp = !hasOld ? 1 : !hasNew ? -1 : TreeIterator.compareEntries(oldEntries, newEntries);
+            if (cmp < 0) {
+                removed(oldEntries, visitor);
+                hasOld = oldEntries.next();
+            } else if (cmp > 0) {
+                added(newEntries, visitor);
+                hasNew = newEntries.next();
+            } else {
+                if (oldEntries.getMode() != newEntries.getMode() || !TreeIterator.sameObject(oldEntries, newEntries)) {
+                    modified(oldEntries, newEntries, visitor);
+                }
+                hasOld = oldEntries.next();
+                hasNew = newEntries.next();
+            }
+        }
+    }
+
+    private void removed(TreeIterator entry, ChangeVisitor visitor) throws IOException {
+        int parentLength = enter(entry);
+        if (recursive && entry.isTree()) {
+            if (showTrees) {
+                visitor.change(DELETED, entry.getMode(), entry.getObjectId(), 0, null, path, pathLength);
+            }
+            descend(readTree(entry.getObjectId()), EMPTY_TREE, visitor);
+        } else {
+            visitor.change(DELETED, entry.getMode(), entry.getObjectId(), 0, null, path, pathLength);
+        }
+        pathLength = parentLength;
+    }
+
+    private void added(TreeIterator entry, ChangeVisitor visitor) throws IOException {
+        int parentLength = enter(entry);
+        if (recursive && entry.isTree()) {
+            if (showTrees) {
+                visitor.change(ADDED, 0, null, entry.getMode(), entry.getObjectId(), path, pathLength);
+            }
+            descend(EMPTY_TREE, readTree(entry.getObjectId()), visitor);
+        } else {
+            visitor.change(ADDED, 0, null, entry.getMode(), entry.getObjectId(), path, pathLength);
+        }
+        pathLength = parentLength;
+    }
+
+    /**
+     * 이름이 같은 두 엔트리가 다를 때 호출됩니다. 정렬 규칙상 이름이 같으면 둘 다 트리이거나 둘 다 트리가 아닙니다.
+     */
+    private void modified(TreeIterator oldEntry, TreeIterator newEntry, ChangeVisitor visitor) throws IOException {
+        int parentLength = enter(newEntry);
+        if (recursive && newEntry.isTree()) {
+            if (showTrees) {
+                visitor.change(MODIFIED, oldEntry.getMode(), oldEntry.getObjectId(),
+                        newEntry.getMode(), newEntry.getObjectId(), path, pathLength);
+            }
+            descend(readTree(oldEntry.getObjectId()), readTree(newEntry.getObjectId()), visitor);
+        } else {
+            char status = (oldEntry.getMode() & TYPE_MASK) == (newEntry.getMode() & TYPE_MASK) ? MODIFIED : TYPE_CHANGED;
+            visitor.change(status, oldEntry.getMode(), oldEntry.getObjectId(),
+                    newEntry.getMode(), newEntry.getObjectId(), path, pathLength);
+        }
+        pathLength = parentLength;
+    }
+
+    private void descend(byte[] oldContent, byte[] newContent, ChangeVisitor visitor) throws IOException {
+        appendPath('/');
+        diffContent(oldContent, newContent, visitor);
+    }
+
+    /**
+     * 엔트리 이름을 경로에 붙이고 붙이기 전 길이를 반환합니다.
+     */
+    private int enter(TreeIterator entry) {
+        int parentLength = pathLength;
+        int length = entry.getNameLength();
+        ensurePathCapacity(length);
+        System.arraycopy(entry.getBuffer(), entry.getNameOffset(), path, pathLength, length);
+        pathLength += length;
+        return parentLength;
+    }
+
+    private void appendPath(char c) {
+        ensurePathCapacity(1);
+        path[pathLength++] = (byte) c;
+    }
+
+    private void ensurePathCapacity(int extra) {
+        if (pathLength + extra > path.length) {
+            path = Arrays.copyOf(path, Math.max(path.length * 2, pathLength + extra));
+        }
+    }
+
+    private byte[] readTree(ObjectId treeId) {
+        GitObject tree = GitObjectUtil.readObject(treeId);
+        if (!tree.getType().equals("tree")) {
+            throw new IllegalStateException("트리 객체가 아닙니다: " + treeId);
+        }
+        treesRead++;
+        return tree.getContent();
+    }
+}
@@ -0,0 +1,200 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 트리 객체 본문을 엔트리 단위로 순회하는 반복자
+ *
+ * 트리 엔트리 형식: 모드(8진수 ASCII) SP 이름 NUL 20바이트 SHA
+ *
+ * 엔트리마다 문자열이나 배열을 만들지 않고, 원본 버퍼 안에서 이름과 SHA의 위치만 알려 줍니다.
+ * 이름이나 ID가 필요할 때만 {@link #getName()}, {@link #getObjectId()}로 객체를 만듭니다.
+ *
+ * <pre>
+ * TreeIterator it = new TreeIterator(tree.getContent());
+ * while (it.next()) {
+ *     if (it.isTree()) { ... it.getObjectId() ... }
+ * }
+ * </pre>
+ */
+public class TreeIterator {
+
+    /** 트리 엔트리 모드 */
+    public static final int TREE_MODE = 040000;
+    public static final int REGULAR_FILE_MODE = 0100644;
+    public static final int EXECUTABLE_MODE = 0100755;
+    public static final int SYMLINK_MODE = 0120000;
+    public static final int GITLINK_MODE = 0160000;
+
+    private final byte[] buffer;
+    private final int end;
+    private int position;
+
+    private int mode;
+    private int nameOffset;
+    private int nameLength;
+    private int idOffset;
+
+    /**
+     * @param treeContent 헤더를 제외한 트리 객체 본문
+     */
+    public TreeIterator(byte[] treeContent) {
+        this(treeContent, 0, treeContent.length);
+    }
+
+    /**
+     * @param buffer 트리 본문이 들어 있는 버퍼
+     * @param offset 본문 시작 위치
+     * @param length 본문 길이
+     */
+    public TreeIterator(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * 다음 엔트리로 이동합니다.
+     *
+     * @return 엔트리가 있으면 true, 끝에 도달했으면 false
+     */
+    public boolean next() {
+        if (position >= end) {
+            return false;
+        }
+
+        int value = 0;
+        int p = position;
+        while (p < end && buffer[p] != ' ') {
+            int digit = buffer[p] - '0';
+            if (digit < 0 || digit > 7) {
+                throw new IllegalStateException("트리 엔트리 모드가 올바르지 않습니다: 위치 " + position);
+            }
+            value = (value << 3) | digit;
+            p++;
+        }
+        int nameStart = ++p;
+        while (p < end && buffer[p] != 0) {
+            p++;
+        }
+        if (p + 1 + ObjectId.RAW_LENGTH > end || p == nameStart) {
+            throw new IllegalStateException("트리 엔트리가 잘렸거나 올바르지 않습니다: 위치 " + position);
+        }
+
+        mode = value;
+        nameOffset = nameStart;
+        nameLength = p - nameStart;
+        idOffset = p + 1;
+        position = idOffset + ObjectId.RAW_LENGTH;
+        return true;
+    }
+
+    /**
+     * 엔트리 모드 (예: 0100644, 040000)
+     */
+    public int getMode() {
+        return mode;
+    }
+
+    public boolean isTree() {
+        return mode == TREE_MODE;
+    }
+
+    /**
+     * 모드에 해당하는 객체 타입 (tree, commit(서브모듈), blob)
+     */
+    public String getType() {
+        return typeOf(mode);
+    }
+
+    /**
+     * 이름과 SHA가 들어 있는 원본 버퍼
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * 원본 버퍼에서 이름이 시작하는 위치
+     */
+    public int getNameOffset() {
+        return nameOffset;
+    }
+
+    /**
+     * 이름의 바이트 길이
+     */
+    public int getNameLength() {
+        return nameLength;
+    }
+
+    /**
+     * 원본 버퍼에서 20바이트 SHA가 시작하는 위치
+     */
+    public int getIdOffset() {
+        return idOffset;
+    }
+
+    /**
+     * 엔트리 이름을 문자열로 반환합니다. (호출할 때마다 새 문자열을 만듦)
+     */
+    public String getName() {
+        return new String(buffer, nameOffset, nameLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 엔트리가 가리키는 객체 ID를 반환합니다.
+     */
+    public ObjectId getObjectId() {
+        return ObjectId.fromRaw(buffer, idOffset);
+    }
+
+    /**
+     * 트리 엔트리 모드에 해당하는 객체 타입을 반환합니다.
+     */
+    public static String typeOf(int mode) {
+        if (mode == TREE_MODE) {
+            return "tree";
+        }
+        return mode == GITLINK_MODE ? "commit" : "blob";
+    }
+
+    /**
+     * Git의 트리 엔트리 정렬 규칙으로 두 이름을 비교합니다.
+     * 디렉토리는 이름 뒤에 '/'가 붙은 것으로 보고 비교합니다.
+     */
+    public static int compareEntryNames(byte[] name1, boolean dir1, byte[] name2, boolean dir2) {
+        return compareEntryNames(name1, 0, name1.length, dir1, name2, 0, name2.length, dir2);
+    }
+
+    /**
+     * 버퍼 안의 두 이름을 Git의 트리 엔트리 정렬 규칙으로 비교합니다. (이름을 복사하지 않음)
+     */
+    public static int compareEntryNames(byte[] buffer1, int offset1, int length1, boolean dir1,
+                                        byte[] buffer2, int offset2, int length2, boolean dir2) {
+        int length = Math.min(length1, length2);
+        int cmp = Arrays.compareUnsigned(buffer1, offset1, offset1 + length, buffer2, offset2, offset2 + length);
+        if (cmp != 0) return cmp;
+
+        int c1 = length1 > length ? buffer1[offset1 + length] & 0xFF : (dir1 ? '/' : 0);
+        int c2 = length2 > length ? buffer2[offset2 + length] & 0xFF : (dir2 ? '/' : 0);
+        return Integer.compare(c1, c2);
+    }
+
+    /**
+     * 두 반복자의 현재 엔트리를 트리 정렬 순서로 비교합니다.
+     */
+    public static int compareEntries(TreeIterator a, TreeIterator b) {
+        return compareEntryNames(a.buffer, a.nameOffset, a.nameLength, a.isTree(),
+                b.buffer, b.nameOffset, b.nameLength, b.isTree());
+    }
+
+    /**
+     * 두 반복자의 현재 엔트리가 같은 객체를 가리키는지 SHA 바이트로 비교합니다.
+     */
+    public static boolean sameObject(TreeIterator a, TreeIterator b) {
+        return Arrays.equals(a.buffer, a.idOffset, a.idOffset + ObjectId.RAW_LENGTH,
+                b.buffer, b.idOffset, b.idOffset + ObjectId.RAW_LENGTH);
+    }
+}
@@ -0,0 +1,409 @@
+package util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Git 프로토콜 v2로 원격 저장소의 upload-pack 서비스와 통신하는 클라이언트
+ *
+ * 지원하는 전송 방식:
+ * - 로컬 경로, file:// URL : git upload-pack을 하위 프로세스로 실행하고 표준 입출력으로 통신
+ * - http://, https:// URL   : smart HTTP (GET info/refs, POST git-upload-pack)
+ *
+ * ls-refs로 참조 목록을 받고, fetch로 원하는 객체를 담은 팩을 받습니다.
+ * 팩 데이터는 side-band 패킷에서 꺼내 스트림으로 넘겨주므로 메모리에 모아 두지 않습니다.
+ */
+public class UploadPackClient implements Closeable {
+
+    private static final String PROTOCOL_HEADER = "version=2";
+
+    private final Transport transport;
+    private final Set<String> capabilities = new HashSet<>();
+
+    private UploadPackClient(Transport transport) throws IOException {
+        this.transport = transport;
+        readCapabilities(transport.openAdvertisement());
+    }
+
+    /**
+     * URL 형식에 맞는 전송 방식으로 원격 저장소에 연결합니다.
+     *
+     * @param url 저장소 URL 또는 로컬 경로
+     * @return 연결된 클라이언트
+     */
+    public static UploadPackClient open(String url) {
+        Transport transport;
+        if (url.startsWith("http://") || url.startsWith("https://")) {
+            transport = new HttpTransport(url);
+        } else if (url.startsWith("file://")) {
+            transport = new ProcessTransport(URI.create(url).getPath());
+        } else if (new File(url).isDirectory()) {
+            transport = new ProcessTransport(url);
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 저장소 URL입니다: " + url);
+        }
+
+        try {
+            return new UploadPackClient(transport);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(transport);
+            if (e instanceof RuntimeException) throw (RuntimeException) e;
+            throw new RuntimeException("원격 저장소 연결 실패: " + url, e);
+        }
+    }
+
+    /**
+     * 서버의 capability advertisement를 읽습니다.
+     * HTTP 응답은 "# service=git-upload-pack" 패킷과 flush로 시작할 수 있으므로 건너뜁니다.
+     */
+    private void readCapabilities(InputStream in) throws IOException {
+        PktLine.Reader reader = new PktLine.Reader(in);
+        String line = reader.readLine();
+        if (line != null && line.startsWith("# service=")) {
+            while (reader.readLine() != null) {
+                // service 헤더 뒤 flush까지 건너뜀
+            }
+            line = reader.readLine();
+        }
+        if (!"version 2".equals(line)) {
+            throw new IllegalStateException("프로토콜 v2를 지원하지 않는 서버입니다: " + line);
+        }
+        while ((line = reader.readLine()) != null) {
+            capabilities.add(line);
+        }
+    }
+
+    /**
+     * ls-refs 명령으로 HEAD, 브랜치, 태그 참조 목록을 받습니다.
+     *
+     * @return 원격 참조 목록 (빈 저장소면 빈 목록)
+     */
+    public List<RemoteRef> listRefs() {
+        try {
+            ByteArrayOutputStream request = new ByteArrayOutputStream();
+            PktLine.writeLine(request, "command=ls-refs");
+            PktLine.writeDelim(request);
+            PktLine.writeLine(request, "symrefs");
+            PktLine.writeLine(request, "peel");
+            PktLine.writeLine(request, "ref-prefix HEAD");
+            PktLine.writeLine(request, "ref-prefix refs/heads/");
+            PktLine.writeLine(request, "ref-prefix refs/tags/");
+            PktLine.writeFlush(request);
+
+            PktLine.Reader reader = new PktLine.Reader(transport.request(request.toByteArray()));
+            List<RemoteRef> refs = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                refs.add(RemoteRef.parse(line));
+            }
+            return refs;
+        } catch (IOException e) {
+            throw new RuntimeException("원격 참조 목록 읽기 실패", e);
+        }
+    }
+
+    /**
+     * fetch 명령으로 객체를 요청하고 응답의 팩 데이터 스트림을 반환합니다.
+     * 반환된 스트림은 팩 끝(flush 패킷)에서 EOF가 되며, 다 읽은 뒤 클라이언트를 닫아야 합니다.
+     *
+     * @param wants 받을 객체 ID 목록
+     * @return 팩 데이터 스트림
+     */
+    public InputStream fetch(Collection<ObjectId> wants) {
+        if (!capabilities.stream().anyMatch(c -> c.equals("fetch") || c.startsWith("fetch="))) {
+            throw new IllegalStateException("서버가 fetch 명령을 지원하지 않습니다.");
+        }
+
+        try {
+            ByteArrayOutputStream request = new ByteArrayOutputStream();
+            PktLine.writeLine(request, "command=fetch");
+            PktLine.writeDelim(request);
+            PktLine.writeLine(request, "ofs-delta");
+            PktLine.writeLine(request, "no-progress");
+            for (ObjectId want : wants) {
+                PktLine.writeLine(request, "want " + want.name());
+            }
+            PktLine.writeLine(request, "done");
+            PktLine.writeFlush(request);
+
+            PktLine.Reader reader = new PktLine.Reader(transport.request(request.toByteArray()));
+            // packfile 섹션 앞에 올 수 있는 acknowledgments, shallow-info, wanted-refs 등은 건너뜀
+            while (true) {
+                String section = reader.readLine();
+                if (section == null) {
+                    throw new IllegalStateException("fetch 응답에 packfile 섹션이 없습니다.");
+                }
+                if (section.equals("packfile")) {
+                    return new SideBandInputStream(reader);
+                }
+                while (reader.readLine() != null) {
+                    // 섹션 끝(delimiter)까지 건너뜀
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("원격 객체 받기 실패", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(transport);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // 연결 정리 실패는 결과에 영향을 주지 않으므로 무시합니다.
+        }
+    }
+
+    /**
+     * ls-refs 응답의 참조 한 줄
+     * 형식: "&lt;sha&gt; &lt;이름&gt;[ symref-target:&lt;대상&gt;][ peeled:&lt;sha&gt;]"
+     */
+    public static class RemoteRef {
+        private final String name;
+        private final ObjectId objectId;
+        private final String symrefTarget;
+        private final ObjectId peeled;
+
+        private RemoteRef(String name, ObjectId objectId, String symrefTarget, ObjectId peeled) {
+            this.name = name;
+            this.objectId = objectId;
+            this.symrefTarget = symrefTarget;
+            this.peeled = peeled;
+        }
+
+        static RemoteRef parse(String line) {
+            String[] parts = line.split(" ");
+            if (parts.length < 2) {
+                throw new IllegalStateException("잘못된 ls-refs 응답: " + line);
+            }
+            String symrefTarget = null;
+            ObjectId peeled = null;
+            for (int i = 2; i < parts.length; i++) {
+                if (parts[i].startsWith("symref-target:")) {
+                    symrefTarget = parts[i].substring("symref-target:".length());
+                } else if (parts[i].startsWith("peeled:")) {
+                    peeled = ObjectId.fromHex(parts[i].substring("peeled:".length()));
+                }
+            }
+            return new RemoteRef(parts[1], ObjectId.fromHex(parts[0]), symrefTarget, peeled);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ObjectId getObjectId() {
+            return objectId;
+        }
+
+        /**
+         * 심볼릭 참조(HEAD 등)가 가리키는 참조 이름, 아니면 null
+         */
+        public String getSymrefTarget() {
+            return symrefTarget;
+        }
+
+        /**
+         * 주석 태그가 가리키는 객체 ID, 아니면 null
+         */
+        public ObjectId getPeeled() {
+            return peeled;
+        }
+    }
+
+    /**
+     * side-band-64k 패킷에서 팩 데이터(1번 채널)만 꺼내는 스트림
+     * 2번 채널(진행 상황)은 버리고, 3번 채널(오류)을 받으면 예외를 던집니다.
+     */
+    private static class SideBandInputStream extends InputStream {
+        private final PktLine.Reader reader;
+        private int position;
+        private int limit;
+        private boolean finished;
+
+        SideBandInputStream(PktLine.Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (position >= limit) {
+                if (finished || !nextPacket()) {
+                    return -1;
+                }
+            }
+            int count = Math.min(length, limit - position);
+            System.arraycopy(reader.buffer(), position, target, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextPacket() throws IOException {
+            int length = reader.next();
+            if (length < 0) {
+                finished = true;
+                return false;
+            }
+            byte[] packet = reader.buffer();
+            switch (packet[0]) {
+                case 1:
+                    position = 1;
+                    limit = length;
+                    return true;
+                case 2:
+                    position = limit = 0;
+                    return true;
+                case 3:
+                    throw new IOException("원격 오류: " + new String(packet, 1, length - 1, StandardCharsets.UTF_8).trim());
+                default:
+                    throw new IOException("알 수 없는 side-band 채널: " + packet[0]);
+            }
+        }
+    }
+
+    /**
+     * upload-pack 서비스와 요청/응답을 주고받는 전송 계층
+     */
+    private interface Transport extends Closeable {
+        /**
+         * 서버가 처음 보내는 capability advertisement 스트림을 엽니다.
+         */
+        InputStream openAdvertisement() throws IOException;
+
+        /**
+         * 명령 요청을 보내고 응답 스트림을 반환합니다.
+         */
+        InputStream request(byte[] body) throws IOException;
+    }
+
+    /**
+     * git upload-pack 하위 프로세스와 표준 입출력으로 통신하는 전송 계층
+     * 한 프로세스에서 여러 명령을 차례로 보내며, 표준 입력을 닫으면 서버가 종료됩니다.
+     */
+    private static class ProcessTransport implements Transport {
+        private final String path;
+        private Process process;
+        private InputStream in;
+        private OutputStream out;
+
+        ProcessTransport(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public InputStream openAdvertisement() throws IOException {
+            ProcessBuilder builder = new ProcessBuilder("git", "upload-pack", "--strict", path);
+            builder.environment().put("GIT_PROTOCOL", PROTOCOL_HEADER);
+            builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+            process = builder.start();
+            in = new BufferedInputStream(process.getInputStream(), PktLine.MAX_PACKET_LENGTH);
+            out = new BufferedOutputStream(process.getOutputStream());
+            return in;
+        }
+
+        @Override
+        public InputStream request(byte[] body) throws IOException {
+            out.write(body);
+            out.flush();
+            return in;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (process == null) {
+                return;
+            }
+            try {
+                out.close();
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                process.destroy();
+            }
+        }
+    }
+
+    /**
+     * smart HTTP 전송 계층
+     * 요청마다 별도의 POST를 보내며, 응답 본문은 스트림으로 읽습니다.
+     */
+    private static class HttpTransport implements Transport {
+        private final String url;
+        private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+        HttpTransport(String url) {
+            this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        }
+
+        @Override
+        public InputStream openAdvertisement() throws IOException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/info/refs?service=git-upload-pack"))
+                .header("Git-Protocol", PROTOCOL_HEADER)
+                .GET()
+                .build();
+            return send(request);
+        }
+
+        @Override
+        public InputStream request(byte[] body) throws IOException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/git-upload-pack"))
+                .header("Git-Protocol", PROTOCOL_HEADER)
+                .header("Content-Type", "application/x-git-upload-pack-request")
+                .header("Accept", "application/x-git-upload-pack-result")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+            return send(request);
+        }
+
+        private InputStream send(HttpRequest request) throws IOException {
+            try {
+                HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                if (response.statusCode() != 200) {
+                    response.body().close();
+                    throw new IOException("HTTP 요청 실패 (" + response.statusCode() + "): " + request.uri());
+                }
+                return new BufferedInputStream(response.body(), PktLine.MAX_PACKET_LENGTH);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("HTTP 요청이 중단되었습니다: " + request.uri(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            // HttpClient는 명시적으로 닫을 필요가 없음
+        }
+    }
+}